@@ -0,0 +1,129 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.apicatalog.rdf.api.RdfConsumerException;
+import com.apicatalog.rdf.model.RdfQuad;
+import com.apicatalog.rdf.model.RdfQuadSet;
+import com.apicatalog.rdf.model.RdfResource;
+import com.apicatalog.rdf.primitive.Quad;
+import com.apicatalog.rdf.primitive.Resource;
+import com.apicatalog.rdf.primitive.flow.QuadAcceptor;
+import com.apicatalog.rdf.primitive.set.ColumnarQuadDataset;
+import com.apicatalog.rdf.primitive.set.ConcurrentQuadDataset;
+import com.apicatalog.rdf.primitive.set.OrderedQuadDataset;
+import com.apicatalog.rdf.primitive.set.OrderedQuadSet;
+import com.apicatalog.rdf.primitive.set.QuadDataset;
+import com.apicatalog.rdf.primitive.set.QuadSet;
+
+/**
+ * Measures {@code add} and {@code contains} of already materialized quads, so
+ * the cost of term resolution is excluded. A half of the probed quads is not
+ * present in the set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class DatasetBenchmark {
+
+    public enum SetType {
+        QUAD_SET(QuadSet::new),
+        QUAD_DATASET(QuadDataset::new),
+        ORDERED_QUAD_DATASET(OrderedQuadDataset::new),
+        COLUMNAR_QUAD_DATASET(ColumnarQuadDataset::new),
+        CONCURRENT_QUAD_DATASET(ConcurrentQuadDataset::new),
+        ;
+
+        final Supplier<RdfQuadSet> factory;
+
+        SetType(Supplier<RdfQuadSet> factory) {
+            this.factory = factory;
+        }
+    }
+
+    @Param({ "QUAD_SET", "QUAD_DATASET", "ORDERED_QUAD_DATASET", "COLUMNAR_QUAD_DATASET", "CONCURRENT_QUAD_DATASET" })
+    public SetType setType;
+
+    RdfQuad[] quads;
+
+    RdfQuad[] probes;
+
+    RdfQuadSet set;
+
+    @Setup(Level.Trial)
+    public void setup(WorkloadState state) throws RdfConsumerException {
+
+        final OrderedQuadSet materialized = new OrderedQuadSet();
+        state.workload.provide(new QuadAcceptor(materialized));
+
+        quads = materialized.toArray(new RdfQuad[0]);
+
+        final RdfResource absent = Resource.createIRI("http://example.org/absent");
+
+        probes = new RdfQuad[quads.length];
+        for (int index = 0; index < quads.length; index++) {
+            probes[index] = index % 2 == 0
+                    ? quads[index]
+                    : Quad.of(quads[index].subject(), quads[index].predicate(), quads[index].object(), absent);
+        }
+
+        set = setType.factory.get();
+        for (final RdfQuad quad : quads) {
+            set.add(quad);
+        }
+    }
+
+    @Benchmark
+    public RdfQuadSet add(QuadCounter counter) {
+        final RdfQuadSet target = setType.factory.get();
+        for (final RdfQuad quad : quads) {
+            target.add(quad);
+        }
+        counter.quads += quads.length;
+        return target;
+    }
+
+    @Benchmark
+    public int contains(QuadCounter counter) {
+        int found = 0;
+        for (final RdfQuad probe : probes) {
+            if (set.contains(probe)) {
+                found++;
+            }
+        }
+        counter.quads += probes.length;
+        return found;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.apicatalog.rdf.api.RdfConsumerException;
+import com.apicatalog.rdf.api.RdfQuadConsumer;
+import com.apicatalog.rdf.model.RdfDataset;
+import com.apicatalog.rdf.primitive.flow.QuadAcceptor;
+import com.apicatalog.rdf.primitive.flow.QuadEmitter;
+import com.apicatalog.rdf.primitive.set.ColumnarQuadDataset;
+import com.apicatalog.rdf.primitive.set.OrderedQuadDataset;
+import com.apicatalog.rdf.primitive.set.QuadDataset;
+
+/**
+ * Emits a materialized dataset by {@link QuadEmitter} into a consumer
+ * discarding all quads. Run with {@code -prof gc} to see allocations per quad.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class EmitBenchmark {
+
+    public enum DatasetType {
+        QUAD_DATASET,
+        ORDERED_QUAD_DATASET,
+        COLUMNAR_QUAD_DATASET,
+    }
+
+    @Param({ "QUAD_DATASET", "ORDERED_QUAD_DATASET", "COLUMNAR_QUAD_DATASET" })
+    public DatasetType datasetType;
+
+    RdfDataset dataset;
+
+    RdfQuadConsumer consumer;
+
+    @Setup(Level.Trial)
+    public void setup(WorkloadState state, Blackhole blackhole) throws RdfConsumerException {
+
+        switch (datasetType) {
+        case QUAD_DATASET: {
+            final QuadDataset quads = new QuadDataset();
+            state.workload.provide(new QuadAcceptor(quads));
+            dataset = quads;
+            break;
+        }
+        case ORDERED_QUAD_DATASET: {
+            final OrderedQuadDataset quads = new OrderedQuadDataset();
+            state.workload.provide(new QuadAcceptor(quads));
+            dataset = quads;
+            break;
+        }
+        case COLUMNAR_QUAD_DATASET: {
+            final ColumnarQuadDataset quads = new ColumnarQuadDataset();
+            state.workload.provide(new QuadAcceptor(quads, quads.terms()));
+            dataset = quads;
+            break;
+        }
+        }
+
+        consumer = (subject, predicate, object, datatype, language, direction, graph) -> {
+            blackhole.consume(subject);
+            blackhole.consume(predicate);
+            blackhole.consume(object);
+            blackhole.consume(datatype);
+            blackhole.consume(language);
+            blackhole.consume(direction);
+            blackhole.consume(graph);
+            return null;
+        };
+    }
+
+    @Benchmark
+    public void emit(WorkloadState state, QuadCounter counter) throws RdfConsumerException {
+        QuadEmitter.emit(consumer, dataset);
+        counter.quads += state.workload.size();
+    }
+}
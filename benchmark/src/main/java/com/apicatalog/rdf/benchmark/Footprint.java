@@ -0,0 +1,106 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.benchmark;
+
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+import com.apicatalog.rdf.benchmark.Workload.Shape;
+import com.apicatalog.rdf.model.RdfQuadSet;
+import com.apicatalog.rdf.primitive.flow.QuadAcceptor;
+import com.apicatalog.rdf.primitive.set.ColumnarQuadDataset;
+import com.apicatalog.rdf.primitive.set.ConcurrentQuadDataset;
+import com.apicatalog.rdf.primitive.set.OrderedQuadDataset;
+import com.apicatalog.rdf.primitive.set.QuadDataset;
+import com.apicatalog.rdf.primitive.set.QuadSet;
+
+/**
+ * Prints retained heap bytes per quad of materialized datasets, measured as
+ * used heap after a full collection.
+ * <p>
+ * Usage: {@code java -cp target/benchmarks.jar com.apicatalog.rdf.benchmark.Footprint [size | file.nq]}
+ */
+public final class Footprint {
+
+    static final String[] NAMES = { "QuadSet", "QuadDataset", "OrderedQuadDataset", "ColumnarQuadDataset", "ConcurrentQuadDataset" };
+
+    static final Supplier<?>[] ACCEPTORS = {
+            () -> new QuadAcceptor(new QuadSet()),
+            () -> new QuadAcceptor(new QuadDataset()),
+            () -> new QuadAcceptor(new OrderedQuadDataset()),
+            () -> {
+                final ColumnarQuadDataset dataset = new ColumnarQuadDataset();
+                return new QuadAcceptor(dataset, dataset.terms());
+            },
+            QuadAcceptor::concurrent,
+    };
+
+    public static void main(String[] args) throws Exception {
+
+        if (args.length > 0 && !args[0].matches("\\d+")) {
+            print(args[0], Workload.load(Paths.get(args[0])));
+            return;
+        }
+
+        final int size = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        for (final Shape shape : Shape.values()) {
+            for (final double blankNodeRatio : new double[] { 0.0, 0.5 }) {
+                print(shape + " blankNodeRatio=" + blankNodeRatio,
+                        Workload.generate(size, shape, blankNodeRatio, Workload.SEED));
+            }
+        }
+    }
+
+    static void print(final String label, final Workload workload) throws Exception {
+
+        System.out.println(label + ", " + workload.size() + " quads");
+
+        for (int index = 0; index < NAMES.length; index++) {
+
+            final long before = usedHeap();
+
+            final QuadAcceptor acceptor = (QuadAcceptor) ACCEPTORS[index].get();
+            workload.provide(acceptor);
+
+            final long after = usedHeap();
+
+            final RdfQuadSet set = acceptor.get();
+
+            System.out.println(String.format(Locale.ROOT, "  %-24s %8.1f bytes/quad",
+                    NAMES[index],
+                    (after - before) / (double) workload.size()));
+
+            // keep the set reachable until measured
+            if (set.stream().count() < 0) {
+                throw new IllegalStateException();
+            }
+        }
+    }
+
+    static long usedHeap() throws InterruptedException {
+        final Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        // a few rounds, a single System.gc() is only a hint
+        for (int round = 0; round < 5; round++) {
+            System.gc();
+            Thread.sleep(50);
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return used;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.apicatalog.rdf.api.RdfConsumerException;
+import com.apicatalog.rdf.model.RdfQuadSet;
+import com.apicatalog.rdf.primitive.flow.PipelinedQuadAcceptor;
+import com.apicatalog.rdf.primitive.flow.QuadAcceptor;
+import com.apicatalog.rdf.primitive.flow.QuadBatch;
+import com.apicatalog.rdf.primitive.set.ColumnarQuadDataset;
+import com.apicatalog.rdf.primitive.set.OrderedQuadDataset;
+import com.apicatalog.rdf.primitive.set.QuadDataset;
+import com.apicatalog.rdf.primitive.set.QuadSet;
+
+/**
+ * Materializes a workload by {@link QuadAcceptor} into various quad sets.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class IngestBenchmark {
+
+    List<QuadBatch> batches;
+
+    @Setup(Level.Trial)
+    public void setup(WorkloadState state) {
+        batches = state.workload.batches(QuadBatch.DEFAULT_CAPACITY);
+    }
+
+    @Benchmark
+    public RdfQuadSet quadSet(WorkloadState state, QuadCounter counter) throws RdfConsumerException {
+        return accept(new QuadAcceptor(new QuadSet()), state, counter);
+    }
+
+    @Benchmark
+    public RdfQuadSet quadDataset(WorkloadState state, QuadCounter counter) throws RdfConsumerException {
+        return accept(new QuadAcceptor(new QuadDataset()), state, counter);
+    }
+
+    @Benchmark
+    public RdfQuadSet orderedQuadDataset(WorkloadState state, QuadCounter counter) throws RdfConsumerException {
+        return accept(new QuadAcceptor(new OrderedQuadDataset()), state, counter);
+    }
+
+    @Benchmark
+    public RdfQuadSet columnarQuadDataset(WorkloadState state, QuadCounter counter) throws RdfConsumerException {
+        final ColumnarQuadDataset dataset = new ColumnarQuadDataset();
+        return accept(new QuadAcceptor(dataset, dataset.terms()), state, counter);
+    }
+
+    @Benchmark
+    public RdfQuadSet concurrentQuadDataset(WorkloadState state, QuadCounter counter) throws RdfConsumerException {
+        return accept(QuadAcceptor.concurrent(), state, counter);
+    }
+
+    @Benchmark
+    public RdfQuadSet pipelinedQuadDataset(WorkloadState state, QuadCounter counter) throws RdfConsumerException {
+        try (PipelinedQuadAcceptor pipeline = PipelinedQuadAcceptor.create(new QuadAcceptor(new QuadDataset()))) {
+            state.workload.provide(pipeline);
+            counter.quads += state.workload.size();
+            return pipeline.get();
+        }
+    }
+
+    @Benchmark
+    public RdfQuadSet quadBatch(WorkloadState state, QuadCounter counter) {
+        final QuadAcceptor acceptor = new QuadAcceptor(new QuadDataset());
+        for (final QuadBatch batch : batches) {
+            acceptor.quads(batch);
+        }
+        counter.quads += state.workload.size();
+        return acceptor.get();
+    }
+
+    static RdfQuadSet accept(QuadAcceptor acceptor, WorkloadState state, QuadCounter counter) throws RdfConsumerException {
+        state.workload.provide(acceptor);
+        counter.quads += state.workload.size();
+        return acceptor.get();
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.apicatalog.rdf.api.RdfConsumerException;
+import com.apicatalog.rdf.model.RdfQuadSet;
+import com.apicatalog.rdf.nquads.NQuadsReader;
+import com.apicatalog.rdf.nquads.NQuadsReaderException;
+import com.apicatalog.rdf.nquads.NQuadsWriter;
+import com.apicatalog.rdf.primitive.flow.QuadAcceptor;
+import com.apicatalog.rdf.primitive.flow.QuadEmitter;
+import com.apicatalog.rdf.primitive.set.QuadSet;
+import com.apicatalog.rdf.primitive.store.BinaryQuadReader;
+import com.apicatalog.rdf.primitive.store.BinaryQuadWriter;
+
+/**
+ * Loads a serialized dataset into a {@link QuadSet}, parsing N-Quads text
+ * versus reading the binary format. The serialized sizes are printed at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class LoadBenchmark {
+
+    String text;
+
+    byte[] binary;
+
+    @Setup(Level.Trial)
+    public void setup(WorkloadState state) throws RdfConsumerException, IOException {
+
+        final QuadSet quads = new QuadSet();
+        state.workload.provide(new QuadAcceptor(quads));
+
+        final StringWriter writer = new StringWriter();
+        QuadEmitter.emit(new NQuadsWriter(writer), (RdfQuadSet) quads);
+        text = writer.toString();
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (BinaryQuadWriter binaryWriter = new BinaryQuadWriter(output)) {
+            binaryWriter.write(quads);
+        }
+        binary = output.toByteArray();
+
+        System.out.println();
+        System.out.println("N-Quads: " + text.length() + " chars, binary: " + binary.length + " bytes");
+    }
+
+    @Benchmark
+    public QuadSet nquads(WorkloadState state, QuadCounter counter) throws NQuadsReaderException, RdfConsumerException {
+        final QuadSet quads = new QuadSet();
+        new NQuadsReader(new StringReader(text)).provide(new QuadAcceptor(quads));
+        counter.quads += state.workload.size();
+        return quads;
+    }
+
+    @Benchmark
+    public QuadSet binary(WorkloadState state, QuadCounter counter) throws IOException {
+        final QuadSet quads = new QuadSet();
+        try (BinaryQuadReader reader = new BinaryQuadReader(new ByteArrayInputStream(binary))) {
+            reader.read(quads);
+        }
+        counter.quads += state.workload.size();
+        return quads;
+    }
+}
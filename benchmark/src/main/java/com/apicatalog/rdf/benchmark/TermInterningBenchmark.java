@@ -0,0 +1,121 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.apicatalog.rdf.api.RdfConsumerException;
+import com.apicatalog.rdf.api.RdfQuadConsumer;
+import com.apicatalog.rdf.model.RdfTermFactory;
+import com.apicatalog.rdf.primitive.ConcurrentTermHashMap;
+import com.apicatalog.rdf.primitive.TermDictionary;
+import com.apicatalog.rdf.primitive.TermHashMap;
+
+/**
+ * Resolves the subjects, predicates and resource objects of a workload by a
+ * term factory. {@code cold} starts with an empty factory, {@code warm}
+ * resolves already interned terms only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class TermInterningBenchmark {
+
+    public enum FactoryType {
+        TERM_HASH_MAP(TermHashMap::new),
+        CONCURRENT_TERM_HASH_MAP(ConcurrentTermHashMap::new),
+        TERM_DICTIONARY(TermDictionary::new),
+        ;
+
+        final Supplier<RdfTermFactory> factory;
+
+        FactoryType(Supplier<RdfTermFactory> factory) {
+            this.factory = factory;
+        }
+    }
+
+    @Param({ "TERM_HASH_MAP", "CONCURRENT_TERM_HASH_MAP", "TERM_DICTIONARY" })
+    public FactoryType factoryType;
+
+    String[] names;
+
+    RdfTermFactory warmFactory;
+
+    @Setup(Level.Trial)
+    public void setup(WorkloadState state) throws RdfConsumerException {
+
+        final List<String> resources = new ArrayList<>(state.workload.size() * 3);
+
+        state.workload.provide((subject, predicate, object, datatype, language, direction, graph) -> {
+            resources.add(subject);
+            resources.add(predicate);
+            if (datatype == null) {
+                resources.add(object);
+            }
+            return null;
+        });
+
+        names = resources.toArray(new String[0]);
+
+        warmFactory = factoryType.factory.get();
+        resolve(warmFactory, names, null);
+    }
+
+    @Benchmark
+    public RdfTermFactory cold(QuadCounter counter, Blackhole blackhole) {
+        final RdfTermFactory factory = factoryType.factory.get();
+        resolve(factory, names, blackhole);
+        counter.quads += names.length;
+        return factory;
+    }
+
+    @Benchmark
+    public void warm(QuadCounter counter, Blackhole blackhole) {
+        resolve(warmFactory, names, blackhole);
+        counter.quads += names.length;
+    }
+
+    static void resolve(RdfTermFactory factory, String[] names, Blackhole blackhole) {
+        for (final String name : names) {
+            final Object term = RdfQuadConsumer.isBlank(name)
+                    ? factory.createBlankNode(name.substring(2))
+                    : factory.createIRI(name);
+            if (blackhole != null) {
+                blackhole.consume(term);
+            }
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.benchmark;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.apicatalog.rdf.api.RdfConsumerException;
+import com.apicatalog.rdf.api.RdfQuadConsumer;
+import com.apicatalog.rdf.nquads.NQuadsReader;
+import com.apicatalog.rdf.nquads.NQuadsReaderException;
+import com.apicatalog.rdf.primitive.flow.QuadBatch;
+
+/**
+ * A set of quads kept as the string components passed to
+ * {@link RdfQuadConsumer}, generated from a fixed seed or loaded from an
+ * N-Quads file, so all benchmarks measure the same input on each run.
+ */
+public final class Workload {
+
+    public static final long SEED = 0x5EED;
+
+    static final String XSD = "http://www.w3.org/2001/XMLSchema#";
+    static final String RDF_LANG_STRING = "http://www.w3.org/1999/02/22-rdf-syntax-ns#langString";
+
+    static final String[] LANGUAGES = { "en", "de", "fr", "cs", "ja" };
+
+    /**
+     * A shape of a synthetic workload.
+     */
+    public enum Shape {
+        /** IRI and blank node objects in the default graph */
+        RESOURCES,
+        /** mostly literal objects of various datatypes in the default graph */
+        LITERALS,
+        /** many small named graphs of eight quads each */
+        NAMED_GRAPHS,
+    }
+
+    final List<String[]> quads;
+
+    Workload(List<String[]> quads) {
+        this.quads = quads;
+    }
+
+    /**
+     * Generates a synthetic workload. A subject is shared by four consecutive
+     * quads, predicates are drawn from a small vocabulary.
+     *
+     * @param size           a number of quads
+     * @param shape          a workload shape
+     * @param blankNodeRatio a ratio of blank node subjects and resource objects
+     * @param seed           a random seed
+     * @return a new workload
+     */
+    public static Workload generate(final int size, final Shape shape, final double blankNodeRatio, final long seed) {
+
+        final Random random = new Random(seed);
+        final List<String[]> quads = new ArrayList<>(size);
+
+        for (int index = 0; index < size; index++) {
+
+            final String[] quad = new String[7];
+
+            quad[0] = resource(random, blankNodeRatio, index / 4);
+            quad[1] = "http://example.org/vocab#p" + random.nextInt(20);
+
+            if (shape == Shape.LITERALS || (shape == Shape.NAMED_GRAPHS && random.nextBoolean())) {
+                literal(random, quad);
+
+            } else {
+                quad[2] = resource(random, blankNodeRatio, random.nextInt(Math.max(1, size / 4)));
+            }
+
+            if (shape == Shape.NAMED_GRAPHS) {
+                quad[6] = "http://example.org/graph/" + (index / 8);
+            }
+
+            quads.add(quad);
+        }
+
+        return new Workload(quads);
+    }
+
+    /**
+     * Loads a workload from an N-Quads file.
+     *
+     * @param file an N-Quads file
+     * @return a new workload
+     * @throws IOException if the file cannot be read or is not valid N-Quads
+     */
+    public static Workload load(final Path file) throws IOException {
+
+        final List<String[]> quads = new ArrayList<>();
+
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            new NQuadsReader(reader).provide((subject, predicate, object, datatype, language, direction, graph) -> {
+                quads.add(new String[] { subject, predicate, object, datatype, language, direction, graph });
+                return null;
+            });
+
+        } catch (NQuadsReaderException | RdfConsumerException e) {
+            throw new IOException(e);
+        }
+
+        return new Workload(quads);
+    }
+
+    static String resource(final Random random, final double blankNodeRatio, final int id) {
+        return random.nextDouble() < blankNodeRatio
+                ? "_:b" + id
+                : "http://example.org/resource/" + id;
+    }
+
+    static void literal(final Random random, final String[] quad) {
+
+        final int kind = random.nextInt(10);
+
+        if (kind < 4) {
+            quad[2] = "lorem ipsum " + random.nextInt(10000);
+            quad[3] = XSD + "string";
+
+        } else if (kind < 6) {
+            quad[2] = Integer.toString(random.nextInt(100000));
+            quad[3] = XSD + "integer";
+
+        } else if (kind < 8) {
+            quad[2] = "dolor sit amet " + random.nextInt(10000);
+            quad[3] = RDF_LANG_STRING;
+            quad[4] = LANGUAGES[random.nextInt(LANGUAGES.length)];
+
+        } else if (kind < 9) {
+            quad[2] = String.format("20%02d-%02d-%02dT12:00:00Z", random.nextInt(25), 1 + random.nextInt(12), 1 + random.nextInt(28));
+            quad[3] = XSD + "dateTime";
+
+        } else {
+            quad[2] = Double.toString(random.nextDouble() * 1000);
+            quad[3] = XSD + "double";
+        }
+    }
+
+    public void provide(final RdfQuadConsumer consumer) throws RdfConsumerException {
+        for (final String[] quad : quads) {
+            consumer.quad(quad[0], quad[1], quad[2], quad[3], quad[4], quad[5], quad[6]);
+        }
+    }
+
+    /**
+     * Splits the workload into filled batches.
+     *
+     * @param capacity a batch capacity
+     * @return a list of batches
+     */
+    public List<QuadBatch> batches(final int capacity) {
+
+        final List<QuadBatch> batches = new ArrayList<>();
+
+        QuadBatch batch = new QuadBatch(capacity);
+
+        for (final String[] quad : quads) {
+            if (batch.isFull()) {
+                batches.add(batch);
+                batch = new QuadBatch(capacity);
+            }
+            batch.quad(quad[0], quad[1], quad[2], quad[3], quad[4], quad[5], quad[6]);
+        }
+
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    public int size() {
+        return quads.size();
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.apicatalog.rdf.benchmark.Workload.Shape;
+
+/**
+ * Workload parameters shared by all benchmarks. A non-empty {@code file}
+ * parameter replaces the synthetic workload by an N-Quads file, e.g.
+ * {@code -p file=/data/dump.nq}.
+ */
+@State(Scope.Benchmark)
+public class WorkloadState {
+
+    @Param({ "100000" })
+    public int size;
+
+    @Param({ "RESOURCES", "LITERALS", "NAMED_GRAPHS" })
+    public Shape shape;
+
+    @Param({ "0.0", "0.5" })
+    public double blankNodeRatio;
+
+    @Param({ "" })
+    public String file;
+
+    public Workload workload;
+
+    @Setup(Level.Trial)
+    public void loadWorkload() throws IOException {
+        workload = file.isEmpty()
+                ? Workload.generate(size, shape, blankNodeRatio, Workload.SEED)
+                : Workload.load(Paths.get(file));
+    }
+}
@@ -53,6 +53,24 @@ public interface RdfGraph {
      */
     Stream<RdfTriple> stream();
 
+    /**
+     * Returns a stream of the triples matching the given pattern.
+     * <p>
+     * A {@code null} value is a wildcard matching any term at the position. The
+     * default implementation filters {@link #stream()}, implementations backed by
+     * an index should override this method to avoid a full scan.
+     *
+     * @param subject   the subject to match or {@code null}
+     * @param predicate the predicate to match or {@code null}
+     * @param object    the object to match or {@code null}
+     * @return a {@link Stream} of the matching {@link RdfTriple}s
+     */
+    default Stream<RdfTriple> match(RdfResource subject, RdfResource predicate, RdfTerm object) {
+        return stream().filter(triple -> (subject == null || subject.equals(triple.subject()))
+                && (predicate == null || predicate.equals(triple.predicate()))
+                && (object == null || object.equals(triple.object())));
+    }
+
     /**
      * Adds a triple to the RDF graph.
      * <p>
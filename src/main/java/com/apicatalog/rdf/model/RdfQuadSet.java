@@ -49,6 +49,30 @@ public interface RdfQuadSet {
      */
     Stream<RdfQuad> stream();
 
+    /**
+     * Returns a stream of the quads matching the given pattern.
+     * <p>
+     * A {@code null} value is a wildcard matching any term at the position, a
+     * {@code null} graph name matches quads of all graphs including the default
+     * graph. Use {@link RdfDataset#defaultGraph()} to match the default graph
+     * only.
+     * <p>
+     * The default implementation filters {@link #stream()}, implementations
+     * backed by an index should override this method to avoid a full scan.
+     *
+     * @param subject   the subject to match or {@code null}
+     * @param predicate the predicate to match or {@code null}
+     * @param object    the object to match or {@code null}
+     * @param graphName the graph name to match or {@code null}
+     * @return a {@link Stream} of the matching {@link RdfQuad}s
+     */
+    default Stream<RdfQuad> match(RdfResource subject, RdfResource predicate, RdfTerm object, RdfResource graphName) {
+        return stream().filter(quad -> (subject == null || subject.equals(quad.subject()))
+                && (predicate == null || predicate.equals(quad.predicate()))
+                && (object == null || object.equals(quad.object()))
+                && (graphName == null || graphName.equals(quad.graphName().orElse(null))));
+    }
+
     /**
      * Adds {@link RdfQuad} to the RDF graph.
      * <p>
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive;
+
+/**
+ * An {@code xsd:boolean} literal.
+ */
+public final class BooleanLiteral extends TypedLiteral {
+
+    BooleanLiteral(String lexicalValue) {
+        super(lexicalValue, XSD_BOOLEAN);
+    }
+
+    /**
+     * Returns a new literal or {@code null} if the lexical value is not valid.
+     */
+    static BooleanLiteral of(String lexicalValue) {
+        switch (lexicalValue) {
+        case "true":
+        case "1":
+        case "false":
+        case "0":
+            return new BooleanLiteral(lexicalValue);
+
+        default:
+            return null;
+        }
+    }
+
+    public boolean booleanValue() {
+        // the lexical value is one of true, 1, false, 0
+        final char ch = lexicalValue.charAt(0);
+        return ch == 't' || ch == '1';
+    }
+
+    @Override
+    public Boolean value() {
+        return booleanValue();
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import com.apicatalog.rdf.model.RdfLiteral;
+import com.apicatalog.rdf.model.RdfLiteral.Direction;
+import com.apicatalog.rdf.model.RdfQuad;
+import com.apicatalog.rdf.model.RdfResource;
+import com.apicatalog.rdf.model.RdfTerm;
+import com.apicatalog.rdf.model.RdfTermFactory;
+import com.apicatalog.rdf.model.RdfTriple;
+import com.apicatalog.rdf.primitive.metrics.MetricsListener;
+
+/**
+ * A thread-safe variant of {@link TermHashMap}, resources are interned in a
+ * {@link ConcurrentHashMap} so many threads can share one factory.
+ * <p>
+ * A lookup of an already interned resource does not lock, a new resource locks
+ * a single bin of the map only.
+ */
+public class ConcurrentTermHashMap extends ConcurrentHashMap<String, RdfTerm> implements RdfTermFactory {
+
+    private static final long serialVersionUID = -2411283570346126457L;
+
+    /** {@code null} if disabled */
+    transient volatile MetricsListener metrics;
+
+    /** {@code null} for the shared pool */
+    transient LiteralPool pool;
+
+    /** interned triple terms, {@code null} if none created yet */
+    transient volatile ConcurrentHashMap<RdfTriple, RdfTriple> triples;
+
+    public ConcurrentTermHashMap() {
+        super();
+    }
+
+    public ConcurrentTermHashMap(int initialCapacity) {
+        super(initialCapacity);
+    }
+
+    /**
+     * Creates a new factory pooling literal datatypes and language tags by the
+     * given pool.
+     *
+     * @param pool a literal pool
+     */
+    public ConcurrentTermHashMap(LiteralPool pool) {
+        super();
+        this.pool = pool;
+    }
+
+    /**
+     * Sets a listener receiving term hits and misses, the listener is called
+     * by all threads sharing the factory and must be thread-safe, e.g.
+     * {@link com.apicatalog.rdf.primitive.metrics.Metrics}.
+     *
+     * @param metrics a listener, use {@link MetricsListener#NONE} to disable
+     * @return this instance
+     */
+    public ConcurrentTermHashMap metrics(MetricsListener metrics) {
+        if (metrics == null) {
+            throw new IllegalArgumentException("Metrics listener must not be null, use MetricsListener.NONE instead.");
+        }
+        this.metrics = metrics != MetricsListener.NONE
+                ? metrics
+                : null;
+        return this;
+    }
+
+    final LiteralPool pool() {
+        return pool != null
+                ? pool
+                : LiteralPool.SHARED;
+    }
+
+    @Override
+    public RdfResource createBlankNode(String value) {
+        final String key = Resource.key(value, true);
+        final RdfTerm term = super.get(key);
+        if (term != null) {
+            count(true);
+            return (RdfResource) term;
+        }
+        return (RdfResource) intern(key, k -> Resource.createBlankNode(value, k));
+    }
+
+    @Override
+    public RdfResource createIRI(String value) {
+        final String key = Resource.key(value, false);
+        final RdfTerm term = super.get(key);
+        if (term != null) {
+            count(true);
+            return (RdfResource) term;
+        }
+        return (RdfResource) intern(key, k -> Resource.createIRI(value, k));
+    }
+
+    /**
+     * Returns an interned triple term, see
+     * {@link TermHashMap#createTriple(RdfResource, RdfResource, RdfTerm)}.
+     */
+    @Override
+    public RdfTriple createTriple(RdfResource subject, RdfResource predicate, RdfTerm object) {
+
+        final RdfTriple triple = Triple.of(
+                subject,
+                predicate,
+                object != null && object.isTriple()
+                        ? createTriple(object.asTriple().subject(), object.asTriple().predicate(), object.asTriple().object())
+                        : object);
+
+        final RdfTriple interned = triples().putIfAbsent(triple, triple);
+
+        count(interned != null);
+
+        return interned != null
+                ? interned
+                : triple;
+    }
+
+    /**
+     * Interns a term not found by a lookup, another thread may have interned
+     * it in the meantime.
+     */
+    final RdfTerm intern(final String key, final Function<String, RdfTerm> factory) {
+
+        if (metrics == null) {
+            return super.computeIfAbsent(key, factory);
+        }
+
+        final boolean[] created = new boolean[1];
+
+        final RdfTerm term = super.computeIfAbsent(key, k -> {
+            created[0] = true;
+            return factory.apply(k);
+        });
+
+        count(!created[0]);
+        return term;
+    }
+
+    final void count(final boolean hit) {
+        final MetricsListener listener = metrics;
+        if (listener != null) {
+            if (hit) {
+                listener.termHit();
+            } else {
+                listener.termMiss();
+            }
+        }
+    }
+
+    final ConcurrentHashMap<RdfTriple, RdfTriple> triples() {
+        ConcurrentHashMap<RdfTriple, RdfTriple> map = triples;
+        if (map == null) {
+            synchronized (this) {
+                map = triples;
+                if (map == null) {
+                    map = new ConcurrentHashMap<>();
+                    triples = map;
+                }
+            }
+        }
+        return map;
+    }
+
+    @Override
+    public RdfQuad createQuad(RdfResource subject, RdfResource predicate, RdfTerm object, RdfResource graph) {
+        return Quad.of(subject, predicate, object, graph);
+    }
+
+    @Override
+    public RdfLiteral createLiteral(String lexicalValue, String datatype) {
+        return TypedLiteral.of(lexicalValue, datatype, pool());
+    }
+
+    @Override
+    public RdfLiteral createLangString(String lexicalValue, String datatype, String langTag, Direction direction) {
+        return LangString.of(lexicalValue, datatype, langTag, direction, pool());
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.ZoneOffset;
+import java.time.chrono.IsoChronology;
+
+/**
+ * An {@code xsd:date} literal with an optional timezone offset.
+ */
+public final class DateLiteral extends TypedLiteral {
+
+    /** {@code null} until the first access */
+    LocalDate value;
+
+    DateLiteral(String lexicalValue) {
+        super(lexicalValue, XSD_DATE);
+        this.value = null;
+    }
+
+    /**
+     * Returns a new literal or {@code null} if the lexical value is not valid,
+     * the value is parsed on the first access.
+     */
+    static DateLiteral of(String lexicalValue) {
+        final int index = date(lexicalValue);
+        return index != -1 && offset(lexicalValue, index)
+                ? new DateLiteral(lexicalValue)
+                : null;
+    }
+
+    public LocalDate localDate() {
+        LocalDate date = value;
+        if (date == null) {
+            date = localDate(lexicalValue);
+            value = date;
+        }
+        return date;
+    }
+
+    /**
+     * Returns the timezone offset or {@code null} if the value has no timezone.
+     *
+     * @return the offset or {@code null}
+     */
+    public ZoneOffset offsetOrNull() {
+        return zoneOffset(lexicalValue, end(lexicalValue));
+    }
+
+    @Override
+    public LocalDate value() {
+        return localDate();
+    }
+
+    /**
+     * Returns the end of a valid date at the start of the value, a year of
+     * four digits with an optional minus sign, a month and a day, or
+     * {@code -1}.
+     */
+    static int date(final String value) {
+
+        final int start = value.startsWith("-") ? 1 : 0;
+
+        final int year = digits(value, start, 4);
+
+        if (year == -1 || (start == 1 && year == 0) || !at(value, start + 4, '-')) {
+            return -1;
+        }
+
+        final int month = digits(value, start + 5, 2);
+
+        if (month < 1 || month > 12 || !at(value, start + 7, '-')) {
+            return -1;
+        }
+
+        final int day = digits(value, start + 8, 2);
+
+        if (day < 1 || day > Month.of(month).length(IsoChronology.INSTANCE.isLeapYear(start == 1 ? -year : year))) {
+            return -1;
+        }
+
+        return start + 10;
+    }
+
+    /**
+     * Returns the end of a date at the start of a valid value.
+     */
+    static int end(final String value) {
+        return value.startsWith("-") ? 11 : 10;
+    }
+
+    static LocalDate localDate(final String value) {
+        final int start = value.startsWith("-") ? 1 : 0;
+        final int year = digits(value, start, 4);
+        return LocalDate.of(
+                start == 1 ? -year : year,
+                digits(value, start + 5, 2),
+                digits(value, start + 8, 2));
+    }
+
+    /**
+     * Checks an optional timezone offset from the index to the end of the
+     * value, {@code Z} or a signed offset of hours and minutes up to 14:00.
+     */
+    static boolean offset(final String value, final int index) {
+
+        if (index == value.length()) {
+            return true;
+        }
+
+        if (value.charAt(index) == 'Z') {
+            return index + 1 == value.length();
+        }
+
+        if ((value.charAt(index) != '+' && value.charAt(index) != '-')
+                || index + 6 != value.length()
+                || value.charAt(index + 3) != ':') {
+            return false;
+        }
+
+        final int hours = digits(value, index + 1, 2);
+        final int minutes = digits(value, index + 4, 2);
+
+        return hours != -1
+                && minutes != -1
+                && minutes <= 59
+                && (hours < 14 || (hours == 14 && minutes == 0));
+    }
+
+    /**
+     * Returns a valid timezone offset at the index or {@code null} if there is
+     * none.
+     */
+    static ZoneOffset zoneOffset(final String value, final int index) {
+
+        if (index == value.length()) {
+            return null;
+        }
+
+        if (value.charAt(index) == 'Z') {
+            return ZoneOffset.UTC;
+        }
+
+        final int sign = value.charAt(index) == '-' ? -1 : 1;
+
+        return ZoneOffset.ofHoursMinutes(
+                sign * digits(value, index + 1, 2),
+                sign * digits(value, index + 4, 2));
+    }
+
+    /**
+     * Returns a number of the given count of digits at the index or
+     * {@code -1}.
+     */
+    static int digits(final String value, final int index, final int count) {
+
+        if (index + count > value.length()) {
+            return -1;
+        }
+
+        int number = 0;
+
+        for (int position = index; position < index + count; position++) {
+            final char ch = value.charAt(position);
+            if (ch < '0' || ch > '9') {
+                return -1;
+            }
+            number = number * 10 + ch - '0';
+        }
+        return number;
+    }
+
+    static boolean at(final String value, final int index, final char ch) {
+        return index < value.length() && value.charAt(index) == ch;
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAccessor;
+
+/**
+ * An {@code xsd:dateTime} literal with an optional timezone offset.
+ * <p>
+ * Seconds are required, a fraction of a second may have up to nine digits.
+ */
+public final class DateTimeLiteral extends TypedLiteral {
+
+    /**
+     * {@link OffsetDateTime} or {@link LocalDateTime}, {@code null} until the
+     * first access
+     */
+    TemporalAccessor value;
+
+    DateTimeLiteral(String lexicalValue) {
+        super(lexicalValue, XSD_DATE_TIME);
+        this.value = null;
+    }
+
+    /**
+     * Returns a new literal or {@code null} if the lexical value is not valid,
+     * the value is parsed on the first access.
+     */
+    static DateTimeLiteral of(String lexicalValue) {
+        final int index = time(lexicalValue, DateLiteral.date(lexicalValue));
+        return index != -1 && DateLiteral.offset(lexicalValue, index)
+                ? new DateTimeLiteral(lexicalValue)
+                : null;
+    }
+
+    public LocalDateTime localDateTime() {
+        final TemporalAccessor dateTime = value();
+        return dateTime instanceof OffsetDateTime
+                ? ((OffsetDateTime) dateTime).toLocalDateTime()
+                : (LocalDateTime) dateTime;
+    }
+
+    /**
+     * Returns the timezone offset or {@code null} if the value has no timezone.
+     *
+     * @return the offset or {@code null}
+     */
+    public ZoneOffset offsetOrNull() {
+        final TemporalAccessor dateTime = value();
+        return dateTime instanceof OffsetDateTime
+                ? ((OffsetDateTime) dateTime).getOffset()
+                : null;
+    }
+
+    /**
+     * Returns {@link OffsetDateTime} if the value has a timezone, otherwise
+     * {@link LocalDateTime}.
+     */
+    @Override
+    public TemporalAccessor value() {
+
+        TemporalAccessor dateTime = value;
+
+        if (dateTime == null) {
+
+            final int index = DateLiteral.end(lexicalValue);
+
+            int end = index + 9;
+            int nanos = 0;
+
+            if (DateLiteral.at(lexicalValue, end, '.')) {
+                int scale = 100_000_000;
+                for (end++; end < lexicalValue.length() && lexicalValue.charAt(end) >= '0' && lexicalValue.charAt(end) <= '9'; end++) {
+                    nanos += (lexicalValue.charAt(end) - '0') * scale;
+                    scale /= 10;
+                }
+            }
+
+            final LocalDateTime local = LocalDateTime.of(
+                    DateLiteral.localDate(lexicalValue),
+                    LocalTime.of(
+                            DateLiteral.digits(lexicalValue, index + 1, 2),
+                            DateLiteral.digits(lexicalValue, index + 4, 2),
+                            DateLiteral.digits(lexicalValue, index + 7, 2),
+                            nanos));
+
+            final ZoneOffset offset = DateLiteral.zoneOffset(lexicalValue, end);
+
+            dateTime = offset != null
+                    ? OffsetDateTime.of(local, offset)
+                    : local;
+
+            value = dateTime;
+        }
+        return dateTime;
+    }
+
+    /**
+     * Returns the end of a valid time following a date at the index, hours,
+     * minutes, seconds and an optional fraction of up to nine digits, or
+     * {@code -1}.
+     */
+    static int time(final String value, final int index) {
+
+        if (index == -1 || !DateLiteral.at(value, index, 'T')) {
+            return -1;
+        }
+
+        final int hours = DateLiteral.digits(value, index + 1, 2);
+        final int minutes = DateLiteral.digits(value, index + 4, 2);
+        final int seconds = DateLiteral.digits(value, index + 7, 2);
+
+        if (hours == -1 || hours > 23 || !DateLiteral.at(value, index + 3, ':')
+                || minutes == -1 || minutes > 59 || !DateLiteral.at(value, index + 6, ':')
+                || seconds == -1 || seconds > 59) {
+            return -1;
+        }
+
+        int end = index + 9;
+
+        if (DateLiteral.at(value, end, '.')) {
+
+            final int fraction = ++end;
+
+            while (end < value.length() && value.charAt(end) >= '0' && value.charAt(end) <= '9') {
+                end++;
+            }
+
+            if (end == fraction || end - fraction > 9) {
+                return -1;
+            }
+        }
+
+        return end;
+    }
+}
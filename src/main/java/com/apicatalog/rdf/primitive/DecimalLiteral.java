@@ -0,0 +1,77 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive;
+
+import java.math.BigDecimal;
+
+/**
+ * An {@code xsd:decimal} literal.
+ */
+public final class DecimalLiteral extends TypedLiteral {
+
+    /** {@code null} until the first access */
+    BigDecimal value;
+
+    DecimalLiteral(String lexicalValue) {
+        super(lexicalValue, XSD_DECIMAL);
+        this.value = null;
+    }
+
+    /**
+     * Returns a new literal or {@code null} if the lexical value is not valid,
+     * the value is parsed on the first access.
+     */
+    static DecimalLiteral of(String lexicalValue) {
+
+        final int length = lexicalValue.length();
+
+        int index = length > 0 && (lexicalValue.charAt(0) == '+' || lexicalValue.charAt(0) == '-') ? 1 : 0;
+
+        boolean digits = false;
+        boolean point = false;
+
+        for (; index < length; index++) {
+            final char ch = lexicalValue.charAt(index);
+            if (ch >= '0' && ch <= '9') {
+                digits = true;
+
+            } else if (ch == '.' && !point) {
+                point = true;
+
+            } else {
+                return null;
+            }
+        }
+
+        return digits
+                ? new DecimalLiteral(lexicalValue)
+                : null;
+    }
+
+    public BigDecimal decimalValue() {
+        return value();
+    }
+
+    @Override
+    public BigDecimal value() {
+        BigDecimal decimal = value;
+        if (decimal == null) {
+            decimal = new BigDecimal(lexicalValue);
+            value = decimal;
+        }
+        return decimal;
+    }
+}
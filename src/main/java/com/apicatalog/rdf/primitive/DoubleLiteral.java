@@ -0,0 +1,127 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive;
+
+/**
+ * An {@code xsd:double} literal.
+ */
+public final class DoubleLiteral extends TypedLiteral {
+
+    /** {@code null} until the first access */
+    Double value;
+
+    DoubleLiteral(String lexicalValue) {
+        super(lexicalValue, XSD_DOUBLE);
+        this.value = null;
+    }
+
+    /**
+     * Returns a new literal or {@code null} if the lexical value is not valid,
+     * the value is parsed on the first access.
+     */
+    static DoubleLiteral of(String lexicalValue) {
+
+        switch (lexicalValue) {
+        case "INF":
+        case "+INF":
+        case "-INF":
+        case "NaN":
+            return new DoubleLiteral(lexicalValue);
+
+        default:
+        }
+
+        // a mantissa with an optional exponent, rejects forms accepted by
+        // Java only, e.g. Infinity, 1d or hexadecimal
+        final int length = lexicalValue.length();
+
+        int index = sign(lexicalValue, 0);
+
+        int digits = 0;
+
+        for (; index < length && isDigit(lexicalValue.charAt(index)); index++) {
+            digits++;
+        }
+
+        if (index < length && lexicalValue.charAt(index) == '.') {
+            for (index++; index < length && isDigit(lexicalValue.charAt(index)); index++) {
+                digits++;
+            }
+        }
+
+        if (digits == 0) {
+            return null;
+        }
+
+        if (index < length && (lexicalValue.charAt(index) == 'e' || lexicalValue.charAt(index) == 'E')) {
+
+            index = sign(lexicalValue, index + 1);
+
+            final int exponent = index;
+
+            while (index < length && isDigit(lexicalValue.charAt(index))) {
+                index++;
+            }
+
+            if (index == exponent) {
+                return null;
+            }
+        }
+
+        return index == length
+                ? new DoubleLiteral(lexicalValue)
+                : null;
+    }
+
+    static int sign(final String value, final int index) {
+        return index < value.length() && (value.charAt(index) == '+' || value.charAt(index) == '-')
+                ? index + 1
+                : index;
+    }
+
+    static boolean isDigit(final char ch) {
+        return ch >= '0' && ch <= '9';
+    }
+
+    public double doubleValue() {
+        return value();
+    }
+
+    @Override
+    public Double value() {
+
+        Double number = value;
+
+        if (number == null) {
+            switch (lexicalValue) {
+            case "INF":
+            case "+INF":
+                number = Double.POSITIVE_INFINITY;
+                break;
+
+            case "-INF":
+                number = Double.NEGATIVE_INFINITY;
+                break;
+
+            default:
+                // NaN is parsed by Java as well
+                number = Double.parseDouble(lexicalValue);
+            }
+            value = number;
+        }
+        return number;
+    }
+}
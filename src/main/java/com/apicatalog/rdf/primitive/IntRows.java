@@ -0,0 +1,195 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive;
+
+/**
+ * Utilities for rows of {@code int} identifiers kept in a single array, a row
+ * after row, each row of the same length (stride). Rows are ordered
+ * lexicographically, column by column.
+ * <p>
+ * Rows are sorted in place without boxing, shared by the columnar datasets and
+ * the binary writer.
+ */
+public final class IntRows {
+
+    static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private IntRows() {
+    }
+
+    /**
+     * Compares two rows of the same array.
+     */
+    public static int compare(final int[] rows, final int stride, final int a, final int b) {
+        final int left = a * stride;
+        final int right = b * stride;
+        for (int column = 0; column < stride; column++) {
+            final int result = Integer.compare(rows[left + column], rows[right + column]);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Compares the first columns of a row to the given key.
+     */
+    public static int compare(final int[] rows, final int stride, final int row, final int[] key, final int columns) {
+        final int offset = row * stride;
+        for (int column = 0; column < columns; column++) {
+            final int result = Integer.compare(rows[offset + column], key[column]);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    public static void swap(final int[] rows, final int stride, final int a, final int b) {
+        final int left = a * stride;
+        final int right = b * stride;
+        for (int column = 0; column < stride; column++) {
+            final int value = rows[left + column];
+            rows[left + column] = rows[right + column];
+            rows[right + column] = value;
+        }
+    }
+
+    /**
+     * Sorts the first {@code count} rows in place.
+     */
+    public static void sort(final int[] rows, final int stride, final int count) {
+        sort(rows, stride, 0, count - 1);
+    }
+
+    public static void sort(final int[] rows, final int stride, final int low, final int high) {
+        sort(rows, stride, low, high, new int[stride]);
+    }
+
+    /**
+     * Sorts rows in {@code [low, high]} by a three-way partition, rows equal
+     * to a pivot are excluded from both parts, so many equal rows do not
+     * degrade the sort.
+     */
+    static void sort(final int[] rows, final int stride, int low, int high, final int[] pivot) {
+
+        while (high - low >= INSERTION_SORT_THRESHOLD) {
+
+            // median of three as a pivot
+            final int middle = (low + high) >>> 1;
+
+            if (compare(rows, stride, middle, low) < 0) {
+                swap(rows, stride, middle, low);
+            }
+            if (compare(rows, stride, high, low) < 0) {
+                swap(rows, stride, high, low);
+            }
+            if (compare(rows, stride, middle, high) < 0) {
+                swap(rows, stride, middle, high);
+            }
+
+            System.arraycopy(rows, high * stride, pivot, 0, stride);
+
+            // [low, less) < pivot, [less, index) = pivot, (greater, high] > pivot
+            int less = low;
+            int greater = high;
+            int index = low;
+
+            while (index <= greater) {
+                final int result = compare(rows, stride, index, pivot, stride);
+                if (result < 0) {
+                    swap(rows, stride, index++, less++);
+
+                } else if (result > 0) {
+                    swap(rows, stride, index, greater--);
+
+                } else {
+                    index++;
+                }
+            }
+
+            // recurse into the smaller part, loop over the larger one
+            if (less - low < high - greater) {
+                sort(rows, stride, low, less - 1, pivot);
+                low = greater + 1;
+
+            } else {
+                sort(rows, stride, greater + 1, high, pivot);
+                high = less - 1;
+            }
+        }
+
+        for (int index = low + 1; index <= high; index++) {
+            for (int row = index; row > low && compare(rows, stride, row, row - 1) < 0; row--) {
+                swap(rows, stride, row, row - 1);
+            }
+        }
+    }
+
+    /**
+     * Removes duplicates of sorted rows in place.
+     *
+     * @return the number of distinct rows
+     */
+    public static int distinct(final int[] rows, final int stride, final int count) {
+        if (count == 0) {
+            return 0;
+        }
+        int last = 0;
+        for (int row = 1; row < count; row++) {
+            if (compare(rows, stride, row, last) != 0) {
+                last++;
+                if (last != row) {
+                    System.arraycopy(rows, row * stride, rows, last * stride, stride);
+                }
+            }
+        }
+        return last + 1;
+    }
+
+    /**
+     * Returns the first row in {@code [from, to)} whose first columns are not
+     * less than the key.
+     */
+    public static int lowerBound(final int[] rows, final int stride, int from, int to, final int[] key, final int columns) {
+        while (from < to) {
+            final int middle = (from + to) >>> 1;
+            if (compare(rows, stride, middle, key, columns) < 0) {
+                from = middle + 1;
+            } else {
+                to = middle;
+            }
+        }
+        return from;
+    }
+
+    /**
+     * Returns the first row in {@code [from, to)} whose first columns are
+     * greater than the key.
+     */
+    public static int upperBound(final int[] rows, final int stride, int from, int to, final int[] key, final int columns) {
+        while (from < to) {
+            final int middle = (from + to) >>> 1;
+            if (compare(rows, stride, middle, key, columns) <= 0) {
+                from = middle + 1;
+            } else {
+                to = middle;
+            }
+        }
+        return from;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive;
+
+import java.math.BigInteger;
+
+/**
+ * An {@code xsd:integer} literal.
+ */
+public final class IntegerLiteral extends TypedLiteral {
+
+    /** {@link Long} or {@link BigInteger}, {@code null} until the first access */
+    Number value;
+
+    IntegerLiteral(String lexicalValue) {
+        super(lexicalValue, XSD_INTEGER);
+        this.value = null;
+    }
+
+    /**
+     * Returns a new literal or {@code null} if the lexical value is not valid,
+     * the value is parsed on the first access.
+     */
+    static IntegerLiteral of(String lexicalValue) {
+
+        final int length = lexicalValue.length();
+
+        int index = length > 0 && (lexicalValue.charAt(0) == '+' || lexicalValue.charAt(0) == '-') ? 1 : 0;
+
+        if (index == length) {
+            return null;
+        }
+
+        for (; index < length; index++) {
+            final char ch = lexicalValue.charAt(index);
+            if (ch < '0' || ch > '9') {
+                return null;
+            }
+        }
+
+        return new IntegerLiteral(lexicalValue);
+    }
+
+    /**
+     * Checks if the value fits in {@code long}.
+     *
+     * @return {@code true} if {@link #longValue()} can be called
+     */
+    public boolean isLong() {
+        return value() instanceof Long;
+    }
+
+    /**
+     * Returns the value as {@code long}.
+     *
+     * @return the value
+     * @throws ArithmeticException if the value does not fit in {@code long}
+     */
+    public long longValue() {
+        final Number number = value();
+        if (number instanceof BigInteger) {
+            throw new ArithmeticException("Integer value [" + lexicalValue + "] does not fit in long.");
+        }
+        return number.longValue();
+    }
+
+    public BigInteger bigIntegerValue() {
+        final Number number = value();
+        return number instanceof BigInteger
+                ? (BigInteger) number
+                : BigInteger.valueOf(number.longValue());
+    }
+
+    @Override
+    public Number value() {
+
+        Number number = value;
+
+        if (number == null) {
+            // up to 18 digits always fit
+            if (lexicalValue.length() <= 18) {
+                number = Long.parseLong(lexicalValue);
+
+            } else {
+                final BigInteger bigValue = new BigInteger(lexicalValue);
+                number = bigValue.bitLength() < Long.SIZE
+                        ? (Number) bigValue.longValue()
+                        : bigValue;
+            }
+            value = number;
+        }
+        return number;
+    }
+}
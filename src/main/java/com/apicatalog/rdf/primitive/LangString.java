@@ -68,14 +68,15 @@ public class LangString extends Literal implements RdfLiteral {
      */
     public static LangString of(String lexicalValue, String datatype, String langTag, String direction) {
         if (direction != null) {
-            return new LangString(lexicalValue, datatype, langTag, Direction.valueOf(direction.toUpperCase()));
+            return of(lexicalValue, datatype, langTag, Direction.valueOf(direction.toUpperCase()));
         }
         return of(lexicalValue, datatype, langTag, (Direction) null);
     }
 
     /**
      * Factory method to create a {@link LangString} with the specified lexical
-     * value, datatype, language tag, and direction.
+     * value, datatype, language tag, and direction. The datatype and the
+     * language tag are pooled by {@link LiteralPool#shared()}.
      * 
      * @param lexicalValue the lexical value of the language-tagged string
      * @param datatype     the datatype of the literal (e.g.,
@@ -85,7 +86,11 @@ public class LangString extends Literal implements RdfLiteral {
      * @return a new {@link LangString} instance
      */
     public static LangString of(String lexicalValue, String datatype, String langTag, Direction direction) {
-        return new LangString(lexicalValue, datatype, langTag, direction);
+        return of(lexicalValue, datatype, langTag, direction, LiteralPool.SHARED);
+    }
+
+    static LangString of(String lexicalValue, String datatype, String langTag, Direction direction, LiteralPool pool) {
+        return new LangString(lexicalValue, pool.datatype(datatype), pool.language(langTag), direction);
     }
 
     @Override
@@ -98,9 +103,24 @@ public class LangString extends Literal implements RdfLiteral {
         return Optional.ofNullable(direction);
     }
 
+    @Override
+    public String languageOrNull() {
+        return langTag;
+    }
+
+    @Override
+    public Direction directionOrNull() {
+        return direction;
+    }
+
     @Override
     public int hashCode() {
-        return Objects.hash(lexicalValue, datatype, langTag, direction);
+        int h = hash;
+        if (h == 0) {
+            h = hashCode(lexicalValue, datatype, langTag, direction);
+            hash = h;
+        }
+        return h;
     }
 
     @Override
@@ -113,7 +133,8 @@ public class LangString extends Literal implements RdfLiteral {
         }
         if (getClass() == obj.getClass()) {
             LangString other = (LangString) obj;
-            return Objects.equals(lexicalValue, other.lexicalValue)
+            return hashCode() == other.hashCode()
+                    && Objects.equals(lexicalValue, other.lexicalValue)
                     && Objects.equals(datatype, other.datatype)
                     && Objects.equals(langTag, other.langTag)
                     && Objects.equals(direction, other.direction);
@@ -128,6 +149,18 @@ public class LangString extends Literal implements RdfLiteral {
                 && Objects.equals(direction, other.direction().orElse(null));
     }
 
+    /**
+     * Computes a hash code of a language-tagged string without allocating an
+     * array. The direction contributes its ordinal, so the value is stable
+     * across runs.
+     */
+    static final int hashCode(String lexicalValue, String datatype, String langTag, Direction direction) {
+        int hash = 31 + Objects.hashCode(lexicalValue);
+        hash = 31 * hash + Objects.hashCode(datatype);
+        hash = 31 * hash + Objects.hashCode(langTag);
+        return 31 * hash + (direction != null ? direction.ordinal() + 1 : 0);
+    }
+
     @Override
     public String toString() {
         return new StringBuilder()
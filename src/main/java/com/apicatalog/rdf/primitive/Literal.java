@@ -25,13 +25,24 @@ public class Literal implements RdfLiteral {
     final String lexicalValue;
     final String datatype;
 
+    /** cached hash code, 0 = not computed yet */
+    int hash;
+
     Literal(String lexicalValue, String datatype) {
         this.lexicalValue = lexicalValue;
         this.datatype = datatype;
     }
 
+    /**
+     * Creates a literal, the datatype IRI is pooled by
+     * {@link LiteralPool#shared()}.
+     *
+     * @param lexicalValue the lexical value
+     * @param datatype     the datatype IRI
+     * @return a new literal
+     */
     public static Literal of(String lexicalValue, String datatype) {
-        return new Literal(lexicalValue, datatype);
+        return new Literal(lexicalValue, LiteralPool.SHARED.datatype(datatype));
     }
 
     @Override
@@ -54,9 +65,34 @@ public class Literal implements RdfLiteral {
         return Optional.empty();
     }
 
+    /**
+     * Returns the language tag or {@code null}, an allocation-free alternative
+     * to {@link #language()}.
+     *
+     * @return the language tag or {@code null} if not set
+     */
+    public String languageOrNull() {
+        return null;
+    }
+
+    /**
+     * Returns the direction or {@code null}, an allocation-free alternative to
+     * {@link #direction()}.
+     *
+     * @return the direction or {@code null} if not set
+     */
+    public Direction directionOrNull() {
+        return null;
+    }
+
     @Override
     public int hashCode() {
-        return Objects.hash(lexicalValue, datatype);
+        int h = hash;
+        if (h == 0) {
+            h = hashCode(lexicalValue, datatype);
+            hash = h;
+        }
+        return h;
     }
 
     @Override
@@ -69,7 +105,8 @@ public class Literal implements RdfLiteral {
         }
         if (getClass() == obj.getClass()) {
             Literal other = (Literal) obj;
-            return Objects.equals(lexicalValue, other.lexicalValue)
+            return hashCode() == other.hashCode()
+                    && Objects.equals(lexicalValue, other.lexicalValue)
                     && Objects.equals(datatype, other.datatype)
                     && !other.language().isPresent()
                     && !other.direction().isPresent();
@@ -84,6 +121,14 @@ public class Literal implements RdfLiteral {
                 && !other.direction().isPresent();
     }
 
+    /**
+     * Computes the same value as {@code Objects.hash(lexicalValue, datatype)}
+     * without allocating an array.
+     */
+    static final int hashCode(String lexicalValue, String datatype) {
+        return 31 * (31 + Objects.hashCode(lexicalValue)) + Objects.hashCode(datatype);
+    }
+
     @Override
     public String toString() {
         return new StringBuilder()
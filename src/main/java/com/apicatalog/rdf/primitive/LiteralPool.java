@@ -0,0 +1,202 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A canonicalizing pool of literal datatype IRIs and language tags, so equal
+ * values share a single instance, and its cached hash code, across all
+ * literals.
+ * <p>
+ * A pool is bounded, a value not yet pooled is returned as is once the pool is
+ * full. A pool is thread-safe.
+ * <p>
+ * Language tags are pooled as they are by default, a pool created by
+ * {@link #normalizing()} converts them to the BCP47 case conventions first,
+ * e.g. {@code en-gb} to {@code en-GB}. Language tags are compared
+ * case-sensitively by {@link LangString#equals(Object)}, so normalization
+ * makes tags differing in case equal.
+ */
+public final class LiteralPool {
+
+    public static final int DEFAULT_LIMIT = 4096;
+
+    static final String RDF_LANG_STRING = "http://www.w3.org/1999/02/22-rdf-syntax-ns#langString";
+    static final String RDF_DIR_LANG_STRING = "http://www.w3.org/1999/02/22-rdf-syntax-ns#dirLangString";
+    static final String XSD_STRING = TypedLiteral.XSD + "string";
+
+    static final LiteralPool SHARED = new LiteralPool(false, DEFAULT_LIMIT);
+
+    final ConcurrentHashMap<String, String> datatypes;
+    final ConcurrentHashMap<String, String> languages;
+
+    final boolean normalize;
+    final int limit;
+
+    LiteralPool(boolean normalize, int limit) {
+        this.normalize = normalize;
+        this.limit = limit;
+        this.datatypes = new ConcurrentHashMap<>();
+        this.languages = new ConcurrentHashMap<>();
+
+        // well known datatypes share the constants
+        for (final String datatype : new String[] {
+                XSD_STRING,
+                RDF_LANG_STRING,
+                RDF_DIR_LANG_STRING,
+                TypedLiteral.XSD_INTEGER,
+                TypedLiteral.XSD_DECIMAL,
+                TypedLiteral.XSD_DOUBLE,
+                TypedLiteral.XSD_BOOLEAN,
+                TypedLiteral.XSD_DATE_TIME,
+                TypedLiteral.XSD_DATE,
+        }) {
+            datatypes.put(datatype, datatype);
+        }
+    }
+
+    /**
+     * Returns a pool shared by the primitive factories, language tags are kept
+     * as they are.
+     *
+     * @return the shared pool
+     */
+    public static LiteralPool shared() {
+        return SHARED;
+    }
+
+    /**
+     * Creates a new pool normalizing language tags to the BCP47 case
+     * conventions.
+     *
+     * @return a new pool
+     */
+    public static LiteralPool normalizing() {
+        return new LiteralPool(true, DEFAULT_LIMIT);
+    }
+
+    /**
+     * Creates a new pool.
+     *
+     * @param normalize {@code true} to normalize language tags
+     * @param limit     a maximum number of pooled values of each kind
+     * @return a new pool
+     */
+    public static LiteralPool create(boolean normalize, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Pool limit must be a non-negative number, but was [" + limit + "].");
+        }
+        return new LiteralPool(normalize, limit);
+    }
+
+    /**
+     * Returns the pooled instance of the given datatype IRI.
+     *
+     * @param datatype a datatype IRI or {@code null}
+     * @return the pooled instance or the given value
+     */
+    public String datatype(final String datatype) {
+        return pool(datatypes, datatype);
+    }
+
+    /**
+     * Returns the pooled instance of the given language tag, normalized if the
+     * pool normalizes language tags.
+     *
+     * @param langTag a language tag or {@code null}
+     * @return the pooled instance or the given, possibly normalized, value
+     */
+    public String language(final String langTag) {
+        if (langTag == null) {
+            return null;
+        }
+        final String pooled = languages.get(langTag);
+        if (pooled != null) {
+            return pooled;
+        }
+        if (!normalize) {
+            return pool(languages, langTag);
+        }
+        final String normalized = pool(languages, normalizeLanguage(langTag));
+        // the original form maps to the normalized instance too
+        if (languages.size() < limit) {
+            languages.putIfAbsent(langTag, normalized);
+        }
+        return normalized;
+    }
+
+    final String pool(final ConcurrentHashMap<String, String> values, final String value) {
+        if (value == null) {
+            return null;
+        }
+        final String pooled = values.get(value);
+        if (pooled != null) {
+            return pooled;
+        }
+        if (values.size() >= limit) {
+            return value;
+        }
+        final String previous = values.putIfAbsent(value, value);
+        return previous != null
+                ? previous
+                : value;
+    }
+
+    /**
+     * Converts a language tag to the BCP47 case conventions, a language is lower
+     * case, a script title case, and a region upper case, e.g.
+     * {@code zh-hant-tw} to {@code zh-Hant-TW}. Subtags following a singleton
+     * are lower case.
+     *
+     * @param langTag a language tag
+     * @return the normalized language tag
+     */
+    public static String normalizeLanguage(final String langTag) {
+
+        final String[] subtags = langTag.toLowerCase(Locale.ROOT).split("-", -1);
+
+        final StringBuilder builder = new StringBuilder(langTag.length()).append(subtags[0]);
+
+        boolean extension = false;
+
+        for (int index = 1; index < subtags.length; index++) {
+
+            final String subtag = subtags[index];
+
+            builder.append('-');
+
+            if (subtag.length() == 1) {
+                extension = true;
+            }
+
+            if (extension) {
+                builder.append(subtag);
+
+            } else if (subtag.length() == 2) {
+                builder.append(subtag.toUpperCase(Locale.ROOT));
+
+            } else if (subtag.length() == 4) {
+                builder.append(Character.toUpperCase(subtag.charAt(0))).append(subtag, 1, 4);
+
+            } else {
+                builder.append(subtag);
+            }
+        }
+        return builder.toString();
+    }
+}
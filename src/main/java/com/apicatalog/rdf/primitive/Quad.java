@@ -49,6 +49,16 @@ public class Quad extends Triple implements RdfQuad {
         return Optional.ofNullable(graphName);
     }
 
+    /**
+     * Returns the graph name or {@code null}, an allocation-free alternative to
+     * {@link #graphName()}.
+     *
+     * @return the graph name or {@code null} if the quad is in the default graph
+     */
+    public RdfResource graphNameOrNull() {
+        return graphName;
+    }
+
     @Override
     public String toString() {
 
@@ -67,7 +77,13 @@ public class Quad extends Triple implements RdfQuad {
 
     @Override
     public int hashCode() {
-        return Objects.hash(subject, predicate, object, graphName);
+        int h = hash;
+        if (h == 0) {
+            h = 31 * hashCode(subject.hashCode(), predicate.hashCode(), object.hashCode())
+                    + Objects.hashCode(graphName);
+            hash = h;
+        }
+        return h;
     }
 
     @Override
@@ -26,6 +26,9 @@ public class Resource implements RdfResource {
     final boolean blankNode;
     String key;
 
+    /** cached hash code, 0 = not computed yet */
+    int hash;
+
     Resource(final String value, boolean isBlankNode, String key) {
         this.value = value;
         this.blankNode = isBlankNode;
@@ -71,7 +74,12 @@ public class Resource implements RdfResource {
 
     @Override
     public int hashCode() {
-        return Objects.hash(value, blankNode);
+        int h = hash;
+        if (h == 0) {
+            h = hashCode(value, blankNode);
+            hash = h;
+        }
+        return h;
     }
 
     @Override
@@ -84,8 +92,9 @@ public class Resource implements RdfResource {
         }
         if (getClass() == obj.getClass()) {
             Resource other = (Resource) obj;
-            return Objects.equals(value, other.value)
-                    && blankNode == other.blankNode;
+            return hashCode() == other.hashCode()
+                    && blankNode == other.blankNode
+                    && Objects.equals(value, other.value);
         }
         if (!(obj instanceof RdfResource)) {
             return false;
@@ -103,6 +112,14 @@ public class Resource implements RdfResource {
         return key;
     }
 
+    /**
+     * Computes the same value as {@code Objects.hash(value, blankNode)} without
+     * allocating an array.
+     */
+    static final int hashCode(String value, boolean blankNode) {
+        return 31 * (31 + Objects.hashCode(value)) + Boolean.hashCode(blankNode);
+    }
+
     static final String key(String value, boolean blankNode) {
         return blankNode
                 ? (RdfQuadConsumer.isBlank(value)
@@ -0,0 +1,449 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import com.apicatalog.rdf.model.RdfLiteral;
+import com.apicatalog.rdf.model.RdfLiteral.Direction;
+import com.apicatalog.rdf.model.RdfQuad;
+import com.apicatalog.rdf.model.RdfResource;
+import com.apicatalog.rdf.model.RdfTerm;
+import com.apicatalog.rdf.model.RdfTermFactory;
+import com.apicatalog.rdf.model.RdfTriple;
+
+/**
+ * A dictionary encoding {@link RdfTermFactory}.
+ * <p>
+ * Every distinct term, i.e. IRI, blank node, literal, language-tagged string
+ * and triple term, is stored exactly once and gets a dense, stable
+ * {@code int} identifier starting at {@code 0}. Both directions, identifier to
+ * term and term to identifier, are resolved in constant time.
+ * <p>
+ * Terms are kept in a primitive open-addressing table, no per-entry objects
+ * are allocated except the interned terms themselves. Quads are not terms and
+ * are never interned, but their components are.
+ * <p>
+ * This class is not thread-safe.
+ */
+public class TermDictionary implements RdfTermFactory {
+
+    static final int DEFAULT_CAPACITY = 1024;
+
+    /** identifier to term */
+    RdfTerm[] terms;
+
+    /** identifier to term hash code, equal to {@link RdfTerm#hashCode()} */
+    int[] hashes;
+
+    /** open-addressing table, an identifier + 1, 0 = empty slot */
+    int[] table;
+
+    int size;
+
+    public TermDictionary() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public TermDictionary(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity must be a non-negative number, but was [" + initialCapacity + "].");
+        }
+        final int capacity = Math.max(16, initialCapacity);
+        this.terms = new RdfTerm[capacity];
+        this.hashes = new int[capacity];
+        this.table = new int[tableSize(capacity)];
+        this.size = 0;
+    }
+
+    @Override
+    public RdfResource createBlankNode(String value) {
+        // the identifier first, the terms array may grow
+        final int id = resource(value, true);
+        return (RdfResource) terms[id];
+    }
+
+    @Override
+    public RdfResource createIRI(String value) {
+        final int id = resource(value, false);
+        return (RdfResource) terms[id];
+    }
+
+    @Override
+    public RdfTriple createTriple(RdfResource subject, RdfResource predicate, RdfTerm object) {
+        if (subject == null) {
+            throw new IllegalArgumentException("Triple subject must not be null.");
+        }
+        if (predicate == null) {
+            throw new IllegalArgumentException("Triple predicate must not be null.");
+        }
+        if (object == null) {
+            throw new IllegalArgumentException("Triple object must not be null.");
+        }
+        final int id = triple(encode(subject), encode(predicate), encode(object));
+        return (RdfTriple) terms[id];
+    }
+
+    @Override
+    public RdfQuad createQuad(RdfResource subject, RdfResource predicate, RdfTerm object, RdfResource graph) {
+        if (subject == null) {
+            throw new IllegalArgumentException("Quad subject must not be null.");
+        }
+        if (predicate == null) {
+            throw new IllegalArgumentException("Quad predicate must not be null.");
+        }
+        if (object == null) {
+            throw new IllegalArgumentException("Quad object must not be null.");
+        }
+        return new Quad(
+                (RdfResource) intern(subject),
+                (RdfResource) intern(predicate),
+                intern(object),
+                graph != null
+                        ? (RdfResource) intern(graph)
+                        : null);
+    }
+
+    @Override
+    public RdfLiteral createLiteral(String lexicalValue, String datatype) {
+        final int id = literal(lexicalValue, datatype);
+        return (RdfLiteral) terms[id];
+    }
+
+    @Override
+    public RdfLiteral createLangString(String lexicalValue, String datatype, String langTag, Direction direction) {
+        final int id = langString(lexicalValue, datatype, langTag, direction);
+        return (RdfLiteral) terms[id];
+    }
+
+    /**
+     * Returns the identifier of the given term, the term is added to the
+     * dictionary if not present yet.
+     *
+     * @param term a term to encode
+     * @return the term identifier, a non-negative number
+     */
+    public int encode(final RdfTerm term) {
+
+        if (term == null) {
+            throw new IllegalArgumentException("Term must not be null.");
+        }
+
+        if (term.isResource()) {
+            final RdfResource resource = term.asResource();
+            return resource(resource.value(), resource.isBlank());
+        }
+
+        if (term.isLiteral()) {
+            final RdfLiteral literal = term.asLiteral();
+            final String langTag = literal.language().orElse(null);
+            final Direction direction = literal.direction().orElse(null);
+            if (langTag != null || direction != null) {
+                return langString(literal.lexicalValue(), literal.datatype(), langTag, direction);
+            }
+            return literal(literal.lexicalValue(), literal.datatype());
+        }
+
+        if (term.isTriple()) {
+            final RdfTriple triple = term.asTriple();
+            return triple(encode(triple.subject()), encode(triple.predicate()), encode(triple.object()));
+        }
+
+        throw new IllegalArgumentException("An unknown term [" + term + "].");
+    }
+
+    /**
+     * Returns the identifier of the given term without modifying the dictionary.
+     *
+     * @param term a term to look up
+     * @return the term identifier or {@code -1} if the term is not present
+     */
+    public int indexOf(final RdfTerm term) {
+
+        if (term == null) {
+            return -1;
+        }
+
+        if (term.isResource()) {
+            final RdfResource resource = term.asResource();
+            return findResource(resource.value(), resource.isBlank(), hashResource(resource.value(), resource.isBlank()));
+        }
+
+        if (term.isLiteral()) {
+            final RdfLiteral literal = term.asLiteral();
+            final String langTag = literal.language().orElse(null);
+            final Direction direction = literal.direction().orElse(null);
+            if (langTag != null || direction != null) {
+                return findLangString(literal.lexicalValue(), literal.datatype(), langTag, direction,
+                        hashLangString(literal.lexicalValue(), literal.datatype(), langTag, direction));
+            }
+            return findLiteral(literal.lexicalValue(), literal.datatype(), hashLiteral(literal.lexicalValue(), literal.datatype()));
+        }
+
+        if (term.isTriple()) {
+            final RdfTriple triple = term.asTriple();
+            final int subject = indexOf(triple.subject());
+            if (subject == -1) {
+                return -1;
+            }
+            final int predicate = indexOf(triple.predicate());
+            if (predicate == -1) {
+                return -1;
+            }
+            final int object = indexOf(triple.object());
+            if (object == -1) {
+                return -1;
+            }
+            return findTriple(subject, predicate, object, hashTriple(subject, predicate, object));
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns the term identified by the given identifier.
+     *
+     * @param id a term identifier
+     * @return the term
+     * @throws IndexOutOfBoundsException if there is no such identifier
+     */
+    public RdfTerm decode(final int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("Term identifier [" + id + "] is out of range [0, " + size + ").");
+        }
+        return terms[id];
+    }
+
+    /**
+     * Returns the interned instance equal to the given term, the term is added to
+     * the dictionary if not present yet.
+     *
+     * @param term a term to intern
+     * @return the interned term instance
+     */
+    public RdfTerm intern(final RdfTerm term) {
+        final int id = encode(term);
+        return terms[id];
+    }
+
+    /**
+     * Returns the number of distinct terms held by the dictionary.
+     *
+     * @return the number of terms
+     */
+    public int size() {
+        return size;
+    }
+
+    final int resource(final String value, final boolean blankNode) {
+        final int hash = hashResource(value, blankNode);
+        final int id = findResource(value, blankNode, hash);
+        if (id != -1) {
+            return id;
+        }
+        final Resource resource = blankNode
+                ? Resource.createBlankNode(value, null)
+                : Resource.createIRI(value, null);
+        resource.hash = hash;
+        return insert(resource, hash);
+    }
+
+    final int literal(final String lexicalValue, final String datatype) {
+        final int hash = hashLiteral(lexicalValue, datatype);
+        final int id = findLiteral(lexicalValue, datatype, hash);
+        if (id != -1) {
+            return id;
+        }
+        final Literal literal = TypedLiteral.of(lexicalValue, datatype);
+        literal.hash = hash;
+        return insert(literal, hash);
+    }
+
+    final int langString(final String lexicalValue, final String datatype, final String langTag, final Direction direction) {
+        final int hash = hashLangString(lexicalValue, datatype, langTag, direction);
+        final int id = findLangString(lexicalValue, datatype, langTag, direction, hash);
+        if (id != -1) {
+            return id;
+        }
+        final LangString literal = LangString.of(lexicalValue, datatype, langTag, direction);
+        literal.hash = hash;
+        return insert(literal, hash);
+    }
+
+    final int triple(final int subject, final int predicate, final int object) {
+        final int hash = hashTriple(subject, predicate, object);
+        final int id = findTriple(subject, predicate, object, hash);
+        if (id != -1) {
+            return id;
+        }
+        final Triple triple = new Triple(
+                (RdfResource) terms[subject],
+                (RdfResource) terms[predicate],
+                terms[object]);
+        triple.hash = hash;
+        return insert(triple, hash);
+    }
+
+    final int findResource(final String value, final boolean blankNode, final int hash) {
+        final int mask = table.length - 1;
+        for (int slot = mix(hash) & mask;; slot = (slot + 1) & mask) {
+            final int entry = table[slot];
+            if (entry == 0) {
+                return -1;
+            }
+            final int id = entry - 1;
+            if (hashes[id] == hash && terms[id] instanceof Resource) {
+                final Resource resource = (Resource) terms[id];
+                if (resource.blankNode == blankNode && Objects.equals(resource.value, value)) {
+                    return id;
+                }
+            }
+        }
+    }
+
+    final int findLiteral(final String lexicalValue, final String datatype, final int hash) {
+        final int mask = table.length - 1;
+        for (int slot = mix(hash) & mask;; slot = (slot + 1) & mask) {
+            final int entry = table[slot];
+            if (entry == 0) {
+                return -1;
+            }
+            final int id = entry - 1;
+            if (hashes[id] == hash && terms[id] instanceof Literal && !(terms[id] instanceof LangString)) {
+                final Literal literal = (Literal) terms[id];
+                if (Objects.equals(literal.lexicalValue, lexicalValue)
+                        && Objects.equals(literal.datatype, datatype)) {
+                    return id;
+                }
+            }
+        }
+    }
+
+    final int findLangString(final String lexicalValue, final String datatype, final String langTag, final Direction direction, final int hash) {
+        final int mask = table.length - 1;
+        for (int slot = mix(hash) & mask;; slot = (slot + 1) & mask) {
+            final int entry = table[slot];
+            if (entry == 0) {
+                return -1;
+            }
+            final int id = entry - 1;
+            if (hashes[id] == hash && terms[id] instanceof LangString) {
+                final LangString literal = (LangString) terms[id];
+                if (Objects.equals(literal.lexicalValue, lexicalValue)
+                        && Objects.equals(literal.datatype, datatype)
+                        && Objects.equals(literal.langTag, langTag)
+                        && literal.direction == direction) {
+                    return id;
+                }
+            }
+        }
+    }
+
+    final int findTriple(final int subject, final int predicate, final int object, final int hash) {
+        final int mask = table.length - 1;
+        for (int slot = mix(hash) & mask;; slot = (slot + 1) & mask) {
+            final int entry = table[slot];
+            if (entry == 0) {
+                return -1;
+            }
+            final int id = entry - 1;
+            if (hashes[id] == hash && terms[id] instanceof Triple) {
+                final Triple triple = (Triple) terms[id];
+                if (triple.subject == terms[subject]
+                        && triple.predicate == terms[predicate]
+                        && triple.object == terms[object]) {
+                    return id;
+                }
+            }
+        }
+    }
+
+    final int insert(final RdfTerm term, final int hash) {
+
+        if (size == terms.length) {
+            final int capacity = terms.length << 1;
+            if (capacity < 0) {
+                throw new IllegalStateException("Term dictionary capacity exceeded.");
+            }
+            terms = Arrays.copyOf(terms, capacity);
+            hashes = Arrays.copyOf(hashes, capacity);
+        }
+
+        // keep load factor under 0.5
+        if ((size + 1) << 1 > table.length) {
+            rehash(table.length << 1);
+        }
+
+        final int id = size++;
+        terms[id] = term;
+        hashes[id] = hash;
+
+        final int mask = table.length - 1;
+        int slot = mix(hash) & mask;
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = id + 1;
+
+        return id;
+    }
+
+    final void rehash(final int capacity) {
+        final int[] next = new int[capacity];
+        final int mask = capacity - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = mix(hashes[id]) & mask;
+            while (next[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            next[slot] = id + 1;
+        }
+        table = next;
+    }
+
+    static final int tableSize(final int capacity) {
+        int tableSize = 32;
+        while (tableSize < (capacity << 1)) {
+            tableSize <<= 1;
+        }
+        return tableSize;
+    }
+
+    static final int hashResource(final String value, final boolean blankNode) {
+        return Resource.hashCode(value, blankNode);
+    }
+
+    static final int hashLiteral(final String lexicalValue, final String datatype) {
+        return Literal.hashCode(lexicalValue, datatype);
+    }
+
+    static final int hashLangString(final String lexicalValue, final String datatype, final String langTag, final Direction direction) {
+        return LangString.hashCode(lexicalValue, datatype, langTag, direction);
+    }
+
+    final int hashTriple(final int subject, final int predicate, final int object) {
+        return Triple.hashCode(hashes[subject], hashes[predicate], hashes[object]);
+    }
+
+    /**
+     * Spreads higher bits to lower, the table is indexed by the lowest bits.
+     */
+    static final int mix(final int hash) {
+        final int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
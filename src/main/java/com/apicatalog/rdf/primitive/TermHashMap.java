@@ -1,6 +1,7 @@
 package com.apicatalog.rdf.primitive;
 
 import java.util.HashMap;
+import java.util.Map;
 
 import com.apicatalog.rdf.model.RdfLiteral;
 import com.apicatalog.rdf.model.RdfQuad;
@@ -9,13 +10,61 @@ import com.apicatalog.rdf.model.RdfTerm;
 import com.apicatalog.rdf.model.RdfTermFactory;
 import com.apicatalog.rdf.model.RdfTriple;
 import com.apicatalog.rdf.model.RdfLiteral.Direction;
+import com.apicatalog.rdf.primitive.metrics.MetricsListener;
 
 public class TermHashMap extends HashMap<String, RdfTerm> implements RdfTermFactory {
 
     private static final long serialVersionUID = 560481899503078382L;
 
+    /** {@code null} if disabled */
+    transient MetricsListener metrics;
+
+    /** {@code null} for the shared pool */
+    transient LiteralPool pool;
+
+    /** interned triple terms, {@code null} if none created yet */
+    transient Map<RdfTriple, RdfTriple> triples;
+
+    public TermHashMap() {
+        super();
+    }
+
+    /**
+     * Creates a new factory pooling literal datatypes and language tags by the
+     * given pool.
+     *
+     * @param pool a literal pool
+     */
+    public TermHashMap(LiteralPool pool) {
+        super();
+        this.pool = pool;
+    }
+
+    /**
+     * Sets a listener receiving term hits and misses.
+     *
+     * @param metrics a listener, use {@link MetricsListener#NONE} to disable
+     * @return this instance
+     */
+    public TermHashMap metrics(MetricsListener metrics) {
+        if (metrics == null) {
+            throw new IllegalArgumentException("Metrics listener must not be null, use MetricsListener.NONE instead.");
+        }
+        this.metrics = metrics != MetricsListener.NONE
+                ? metrics
+                : null;
+        return this;
+    }
+
     @Override
     public RdfResource createBlankNode(String value) {
+
+        if (metrics != null) {
+            return (RdfResource) count(super.size(), super.computeIfAbsent(
+                    Resource.key(value, true),
+                    key -> Resource.createBlankNode(value, key)));
+        }
+
         return (RdfResource) super.computeIfAbsent(
                 Resource.key(value, true),
                 key -> Resource.createBlankNode(value, key));
@@ -23,14 +72,54 @@ public class TermHashMap extends HashMap<String, RdfTerm> implements RdfTermFact
 
     @Override
     public RdfResource createIRI(String value) {
+
+        if (metrics != null) {
+            return (RdfResource) count(super.size(), super.computeIfAbsent(
+                    Resource.key(value, false),
+                    key -> Resource.createIRI(value, key)));
+        }
+
         return (RdfResource) super.computeIfAbsent(
                 Resource.key(value, false),
                 key -> Resource.createIRI(value, key));
     }
 
+    /**
+     * Returns an interned triple term, equal triple terms are the same
+     * instance, so nested triple terms are stored once and compared by
+     * identity. A nested triple term object is interned first.
+     */
     @Override
     public RdfTriple createTriple(RdfResource subject, RdfResource predicate, RdfTerm object) {
-        return Triple.of(subject, predicate, object);
+
+        final RdfTriple triple = Triple.of(
+                subject,
+                predicate,
+                object != null && object.isTriple()
+                        ? createTriple(object.asTriple())
+                        : object);
+
+        if (triples == null) {
+            triples = new HashMap<>();
+        }
+
+        final RdfTriple interned = triples.putIfAbsent(triple, triple);
+
+        if (metrics != null) {
+            if (interned != null) {
+                metrics.termHit();
+            } else {
+                metrics.termMiss();
+            }
+        }
+
+        return interned != null
+                ? interned
+                : triple;
+    }
+
+    final RdfTriple createTriple(final RdfTriple triple) {
+        return createTriple(triple.subject(), triple.predicate(), triple.object());
     }
 
     @Override
@@ -40,11 +129,26 @@ public class TermHashMap extends HashMap<String, RdfTerm> implements RdfTermFact
 
     @Override
     public RdfLiteral createLiteral(String lexicalValue, String datatype) {
-        return Literal.of(lexicalValue, datatype);
+        return TypedLiteral.of(lexicalValue, datatype, pool());
     }
 
     @Override
     public RdfLiteral createLangString(String lexicalValue, String datatype, String langTag, Direction direction) {
-        return LangString.of(lexicalValue, datatype, langTag, direction);
+        return LangString.of(lexicalValue, datatype, langTag, direction, pool());
+    }
+
+    final LiteralPool pool() {
+        return pool != null
+                ? pool
+                : LiteralPool.SHARED;
+    }
+
+    final RdfTerm count(final int size, final RdfTerm term) {
+        if (super.size() > size) {
+            metrics.termMiss();
+        } else {
+            metrics.termHit();
+        }
+        return term;
     }
 }
@@ -29,6 +29,9 @@ public class Triple implements RdfTriple {
 
     final RdfTerm object;
 
+    /** cached hash code, 0 = not computed yet */
+    int hash;
+
     Triple(final RdfResource subject, final RdfResource predicate, final RdfTerm object) {
         this.subject = subject;
         this.predicate = predicate;
@@ -77,7 +80,12 @@ public class Triple implements RdfTriple {
 
     @Override
     public int hashCode() {
-        return Objects.hash(subject, predicate, object);
+        int h = hash;
+        if (h == 0) {
+            h = hashCode(subject.hashCode(), predicate.hashCode(), object.hashCode());
+            hash = h;
+        }
+        return h;
     }
 
     @Override
@@ -90,7 +98,8 @@ public class Triple implements RdfTriple {
         }
         if (getClass() == obj.getClass()) {
             Triple other = (Triple) obj;
-            return Objects.equals(subject, other.subject)
+            return hashCode() == other.hashCode()
+                    && Objects.equals(subject, other.subject)
                     && Objects.equals(predicate, other.predicate)
                     && Objects.equals(object, other.object);
         }
@@ -103,6 +112,14 @@ public class Triple implements RdfTriple {
                 && Objects.equals(object, other.object());
     }
 
+    /**
+     * Computes the same value as {@code Objects.hash(subject, predicate, object)}
+     * from the component hash codes without allocating an array.
+     */
+    static final int hashCode(int subject, int predicate, int object) {
+        return 31 * (31 * (31 + subject) + predicate) + object;
+    }
+
     static final StringBuilder printTriple(StringBuilder builder, RdfResource subject, RdfResource predicate, RdfTerm object) {
         builder.append(subject)
                 .append(',')
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive;
+
+/**
+ * A literal of a common XSD datatype. The lexical form is validated when the
+ * literal is created, the value is parsed on the first access and kept, a
+ * literal whose value is never used is never parsed.
+ * <p>
+ * A typed literal is equal to a {@link Literal} of the same lexical value and
+ * datatype. Use {@link #of(String, String)} to create a literal, an ill-typed
+ * lexical value or another datatype yields a plain {@link Literal}.
+ */
+public abstract class TypedLiteral extends Literal {
+
+    public static final String XSD = "http://www.w3.org/2001/XMLSchema#";
+
+    public static final String XSD_INTEGER = XSD + "integer";
+    public static final String XSD_DECIMAL = XSD + "decimal";
+    public static final String XSD_DOUBLE = XSD + "double";
+    public static final String XSD_BOOLEAN = XSD + "boolean";
+    public static final String XSD_DATE_TIME = XSD + "dateTime";
+    public static final String XSD_DATE = XSD + "date";
+
+    /**
+     * @param lexicalValue the lexical value
+     * @param datatype     one of the shared datatype constants
+     */
+    TypedLiteral(String lexicalValue, String datatype) {
+        super(lexicalValue, datatype);
+    }
+
+    /**
+     * Creates a literal, a typed literal is returned if the datatype is one of
+     * integer, decimal, double, boolean, dateTime or date and the lexical value
+     * is valid. The typed literal shares a single datatype IRI instance.
+     *
+     * @param lexicalValue the lexical value
+     * @param datatype     the datatype IRI
+     * @return a new typed or plain literal
+     */
+    public static Literal of(String lexicalValue, String datatype) {
+        return of(lexicalValue, datatype, LiteralPool.SHARED);
+    }
+
+    static Literal of(String lexicalValue, String datatype, LiteralPool pool) {
+
+        if (lexicalValue == null || datatype == null || !datatype.startsWith(XSD)) {
+            return new Literal(lexicalValue, pool.datatype(datatype));
+        }
+
+        final TypedLiteral literal;
+
+        switch (datatype.substring(XSD.length())) {
+        case "integer":
+            literal = IntegerLiteral.of(lexicalValue);
+            break;
+
+        case "decimal":
+            literal = DecimalLiteral.of(lexicalValue);
+            break;
+
+        case "double":
+            literal = DoubleLiteral.of(lexicalValue);
+            break;
+
+        case "boolean":
+            literal = BooleanLiteral.of(lexicalValue);
+            break;
+
+        case "dateTime":
+            literal = DateTimeLiteral.of(lexicalValue);
+            break;
+
+        case "date":
+            literal = DateLiteral.of(lexicalValue);
+            break;
+
+        default:
+            literal = null;
+        }
+
+        return literal != null
+                ? literal
+                : new Literal(lexicalValue, pool.datatype(datatype));
+    }
+
+    /**
+     * Returns the parsed value.
+     *
+     * @return the value, never {@code null}
+     */
+    public abstract Object value();
+}
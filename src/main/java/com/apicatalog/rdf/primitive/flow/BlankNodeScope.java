@@ -0,0 +1,300 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.flow;
+
+import java.util.Arrays;
+
+import com.apicatalog.rdf.api.RdfConsumerException;
+import com.apicatalog.rdf.api.RdfQuadConsumer;
+import com.apicatalog.rdf.model.RdfResource;
+import com.apicatalog.rdf.model.RdfTermFactory;
+
+/**
+ * Relabels blank nodes of a document, a label seen for the first time in the
+ * current document is issued a fresh blank node or a skolem IRI, repeated
+ * occurrences resolve to the same interned resource.
+ * <p>
+ * Issued labels are numbered by a counter that is not reset between
+ * documents, so documents merged into a single dataset never share a blank
+ * node. {@link #reset()} starts a new document in constant time, labels are
+ * kept in an open-addressing table whose entries are stamped with a document
+ * generation.
+ * <p>
+ * An instance is not thread-safe.
+ */
+public final class BlankNodeScope {
+
+    static final int INITIAL_CAPACITY = 64;
+
+    final RdfTermFactory terms;
+
+    /** a prefix of issued blank node labels or skolem IRIs */
+    final String prefix;
+
+    final boolean skolem;
+
+    String[] labels;
+    RdfResource[] resources;
+    /** N-Quads names of issued resources */
+    String[] names;
+    /** a generation in which an entry has been issued, 0 = never */
+    int[] stamps;
+
+    int generation;
+
+    /** number of labels in the current document */
+    int size;
+
+    long issued;
+
+    BlankNodeScope(final RdfTermFactory terms, final String prefix, final boolean skolem) {
+        this.terms = terms;
+        this.prefix = prefix;
+        this.skolem = skolem;
+        this.labels = new String[INITIAL_CAPACITY];
+        this.resources = new RdfResource[INITIAL_CAPACITY];
+        this.names = new String[INITIAL_CAPACITY];
+        this.stamps = new int[INITIAL_CAPACITY];
+        this.generation = 1;
+        this.size = 0;
+        this.issued = 0;
+    }
+
+    /**
+     * Creates a scope issuing blank nodes labeled {@code b0}, {@code b1}, ...
+     *
+     * @param terms a factory of issued blank nodes
+     * @return a new scope
+     */
+    public static BlankNodeScope labels(final RdfTermFactory terms) {
+        return labels(terms, "b");
+    }
+
+    /**
+     * Creates a scope issuing blank nodes labeled by the given prefix followed
+     * by a counter.
+     *
+     * @param terms  a factory of issued blank nodes
+     * @param prefix a label prefix, e.g. {@code b}
+     * @return a new scope
+     */
+    public static BlankNodeScope labels(final RdfTermFactory terms, final String prefix) {
+
+        if (terms == null) {
+            throw new IllegalArgumentException("Term factory must not be null.");
+        }
+        if (prefix == null || prefix.isEmpty()) {
+            throw new IllegalArgumentException("Label prefix must be non empty string, but was [" + prefix + "].");
+        }
+
+        return new BlankNodeScope(terms, prefix, false);
+    }
+
+    /**
+     * Creates a scope replacing blank nodes by skolem IRIs, the given base
+     * followed by a counter.
+     *
+     * @param terms a factory of issued IRIs
+     * @param base  an IRI prefix, e.g.
+     *              {@code https://example.org/.well-known/genid/}
+     * @return a new scope
+     */
+    public static BlankNodeScope skolem(final RdfTermFactory terms, final String base) {
+
+        if (terms == null) {
+            throw new IllegalArgumentException("Term factory must not be null.");
+        }
+        if (base == null || base.isEmpty()) {
+            throw new IllegalArgumentException("Skolem IRI base must be non empty string, but was [" + base + "].");
+        }
+
+        return new BlankNodeScope(terms, base, true);
+    }
+
+    /**
+     * Returns a resource issued for the given blank node label in the current
+     * document.
+     *
+     * @param label a blank node label as found in a document, e.g.
+     *              {@code _:b0}
+     * @return an issued blank node or skolem IRI
+     */
+    public RdfResource resource(final String label) {
+        // the table may grow, resolve a slot first
+        final int index = slot(label);
+        return resources[index];
+    }
+
+    /**
+     * Returns an N-Quads name of a resource issued for the given blank node
+     * label in the current document, {@code _:} followed by a label or a
+     * skolem IRI.
+     *
+     * @param label a blank node label as found in a document
+     * @return an issued name
+     */
+    public String name(final String label) {
+        final int index = slot(label);
+        return names[index];
+    }
+
+    /**
+     * Starts a new document, labels seen so far are forgotten. Runs in
+     * constant time.
+     *
+     * @return this scope
+     */
+    public BlankNodeScope reset() {
+        if (++generation == 0) {
+            Arrays.fill(stamps, 0);
+            generation = 1;
+        }
+        size = 0;
+        return this;
+    }
+
+    /**
+     * Returns a consumer relabeling blank nodes of quads passed to the given
+     * consumer, subjects, objects and graph names are relabeled.
+     *
+     * @param consumer a consumer receiving relabeled quads
+     * @return a new consumer
+     */
+    public RdfQuadConsumer relabel(final RdfQuadConsumer consumer) {
+
+        if (consumer == null) {
+            throw new IllegalArgumentException("Consumer must not be null.");
+        }
+
+        return new RdfQuadConsumer() {
+
+            @Override
+            public RdfQuadConsumer quad(String subject, String predicate, String object, String datatype, String language, String direction, String graph) throws RdfConsumerException {
+                consumer.quad(
+                        RdfQuadConsumer.isBlank(subject) ? name(subject) : subject,
+                        predicate,
+                        datatype == null && RdfQuadConsumer.isBlank(object) ? name(object) : object,
+                        datatype,
+                        language,
+                        direction,
+                        graph != null && RdfQuadConsumer.isBlank(graph) ? name(graph) : graph);
+                return this;
+            }
+        };
+    }
+
+    /**
+     * Returns the number of labels seen in the current document.
+     *
+     * @return the number of labels
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of resources issued since the scope has been created.
+     *
+     * @return the number of issued resources
+     */
+    public long issued() {
+        return issued;
+    }
+
+    final int slot(final String label) {
+
+        if (label == null) {
+            throw new IllegalArgumentException("Blank node label must not be null.");
+        }
+
+        final int mask = labels.length - 1;
+
+        int index = mix(label.hashCode()) & mask;
+
+        while (stamps[index] == generation) {
+            if (labels[index].equals(label)) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+
+        final String value = prefix + issued++;
+
+        final RdfResource resource;
+        final String name;
+
+        if (skolem) {
+            resource = terms.createIRI(value);
+            name = value;
+
+        } else {
+            resource = terms.createBlankNode(value);
+            name = "_:" + value;
+        }
+
+        labels[index] = label;
+        resources[index] = resource;
+        names[index] = name;
+        stamps[index] = generation;
+
+        if (++size * 4 > labels.length * 3) {
+            grow();
+            return slot(label);
+        }
+
+        return index;
+    }
+
+    final void grow() {
+
+        final String[] oldLabels = labels;
+        final RdfResource[] oldResources = resources;
+        final String[] oldNames = names;
+        final int[] oldStamps = stamps;
+
+        final int capacity = oldLabels.length * 2;
+
+        labels = new String[capacity];
+        resources = new RdfResource[capacity];
+        names = new String[capacity];
+        stamps = new int[capacity];
+
+        final int mask = capacity - 1;
+
+        for (int old = 0; old < oldLabels.length; old++) {
+
+            if (oldStamps[old] != generation) {
+                continue;
+            }
+
+            int index = mix(oldLabels[old].hashCode()) & mask;
+
+            while (stamps[index] == generation) {
+                index = (index + 1) & mask;
+            }
+
+            labels[index] = oldLabels[old];
+            resources[index] = oldResources[old];
+            names[index] = oldNames[old];
+            stamps[index] = generation;
+        }
+    }
+
+    static final int mix(final int hash) {
+        final int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,323 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.flow;
+
+import com.apicatalog.rdf.api.RdfConsumerException;
+import com.apicatalog.rdf.api.RdfQuadConsumer;
+
+/**
+ * Passes quads through to a consumer and drops duplicates, using a bounded
+ * amount of memory.
+ * <p>
+ * A quad is reduced to a 64-bit fingerprint of its components kept in an
+ * open-addressing table. The table grows until it reaches the memory budget,
+ * while it has room deduplication is exact up to a fingerprint collision, a
+ * probability of about {@code n^2 / 2^65} for {@code n} distinct quads.
+ * <p>
+ * Once the table is full the filter is saturated and new fingerprints are not
+ * recorded in the table anymore. A quad found in the table is dropped, without
+ * a pre-filter other quads are forwarded and may be duplicates. A pre-filter is
+ * a Bloom filter taking an eighth of the budget. It records quads until it
+ * holds one per {@value #PREFILTER_BITS} bits, then it is only tested, so its
+ * false positive rate stays at about one percent. A saturated filter drops a
+ * quad the pre-filter may have seen, duplicates of recorded quads are removed
+ * and a unique quad is dropped with at most the pre-filter false positive
+ * rate.
+ */
+public final class DistinctQuadFilter implements RdfQuadConsumer {
+
+    static final long MIN_BUDGET = 1024;
+
+    static final int INITIAL_CAPACITY = 1024;
+
+    /** bits set per quad in the pre-filter */
+    static final int PREFILTER_HASHES = 4;
+
+    /** pre-filter bits per recorded quad */
+    static final int PREFILTER_BITS = 10;
+
+    final RdfQuadConsumer consumer;
+
+    /** fingerprints, 0 = empty slot */
+    long[] table;
+
+    int size;
+
+    /** the largest table capacity within the budget */
+    final int maxCapacity;
+
+    /** pre-filter bits or {@code null} */
+    final long[] prefilter;
+
+    /** the number of quads recorded in the pre-filter */
+    long recorded;
+
+    long forwarded;
+    long duplicates;
+    long overflow;
+
+    DistinctQuadFilter(final RdfQuadConsumer consumer, final long budget, final boolean prefilter) {
+
+        this.consumer = consumer;
+
+        final long tableBudget = prefilter ? budget - budget / 8 : budget;
+
+        long capacity = 16;
+        while (capacity * 2 * Long.BYTES <= tableBudget && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+
+        this.maxCapacity = (int) capacity;
+        this.table = new long[Math.min(INITIAL_CAPACITY, maxCapacity)];
+        this.size = 0;
+
+        this.prefilter = prefilter
+                ? new long[(int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, budget / 8 / Long.BYTES))]
+                : null;
+    }
+
+    /**
+     * Creates a new filter without a pre-filter.
+     *
+     * @param consumer a consumer receiving first occurrences of quads
+     * @param budget   a memory budget in bytes
+     * @return a new filter
+     */
+    public static DistinctQuadFilter create(final RdfQuadConsumer consumer, final long budget) {
+        return create(consumer, budget, false);
+    }
+
+    /**
+     * Creates a new filter.
+     *
+     * @param consumer  a consumer receiving first occurrences of quads
+     * @param budget    a memory budget in bytes
+     * @param prefilter {@code true} to keep removing duplicates once the budget
+     *                  is exhausted at the cost of dropping a unique quad with a
+     *                  probability of about one percent
+     * @return a new filter
+     */
+    public static DistinctQuadFilter create(final RdfQuadConsumer consumer, final long budget, final boolean prefilter) {
+
+        if (consumer == null) {
+            throw new IllegalArgumentException("Consumer must not be null.");
+        }
+        if (budget < MIN_BUDGET) {
+            throw new IllegalArgumentException("Memory budget must be at least [" + MIN_BUDGET + "] bytes, but was [" + budget + "].");
+        }
+
+        return new DistinctQuadFilter(consumer, budget, prefilter);
+    }
+
+    @Override
+    public RdfQuadConsumer quad(String subject, String predicate, String object, String datatype, String language, String direction, String graph) throws RdfConsumerException {
+
+        final long fingerprint = fingerprint(subject, predicate, object, datatype, language, direction, graph);
+
+        if (accept(fingerprint)) {
+            forwarded++;
+            consumer.quad(subject, predicate, object, datatype, language, direction, graph);
+
+        } else {
+            duplicates++;
+        }
+        return this;
+    }
+
+    final boolean accept(final long fingerprint) {
+
+        if (isSaturated()) {
+            overflow++;
+            if (contains(fingerprint)) {
+                return false;
+            }
+            // a quad the pre-filter has not seen is new, the pre-filter
+            // records quads while its false positive rate is bounded
+            return prefilter == null
+                    || !prefiltered(fingerprint, recorded * PREFILTER_BITS < (long) prefilter.length * Long.SIZE);
+        }
+
+        final boolean seen = prefilter == null || prefiltered(fingerprint, true);
+
+        // a quad the pre-filter has not seen is new, skip the lookup
+        if (!seen) {
+            insert(fingerprint);
+            return true;
+        }
+
+        if (contains(fingerprint)) {
+            return false;
+        }
+
+        insert(fingerprint);
+        return true;
+    }
+
+    /**
+     * Returns {@code true} if the table is full and new fingerprints are not
+     * recorded anymore.
+     *
+     * @return {@code true} if the memory budget is exhausted
+     */
+    public boolean isSaturated() {
+        return table.length == maxCapacity && size >= (maxCapacity >>> 2) * 3;
+    }
+
+    /**
+     * Returns the number of quads passed to the consumer.
+     *
+     * @return the number of forwarded quads
+     */
+    public long forwarded() {
+        return forwarded;
+    }
+
+    /**
+     * Returns the number of dropped quads.
+     *
+     * @return the number of dropped quads
+     */
+    public long duplicates() {
+        return duplicates;
+    }
+
+    /**
+     * Returns the number of quads received while the filter was saturated.
+     *
+     * @return the number of quads not deduplicated exactly
+     */
+    public long overflow() {
+        return overflow;
+    }
+
+    final boolean contains(final long fingerprint) {
+        final int mask = table.length - 1;
+        for (int slot = (int) fingerprint & mask;; slot = (slot + 1) & mask) {
+            final long entry = table[slot];
+            if (entry == 0) {
+                return false;
+            }
+            if (entry == fingerprint) {
+                return true;
+            }
+        }
+    }
+
+    final void insert(final long fingerprint) {
+
+        if (size >= (table.length >>> 2) * 3 && table.length < maxCapacity) {
+            grow();
+        }
+
+        final int mask = table.length - 1;
+
+        int slot = (int) fingerprint & mask;
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+
+        table[slot] = fingerprint;
+        size++;
+    }
+
+    final void grow() {
+
+        final long[] entries = table;
+
+        table = new long[entries.length << 1];
+
+        final int mask = table.length - 1;
+
+        for (final long entry : entries) {
+            if (entry != 0) {
+                int slot = (int) entry & mask;
+                while (table[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = entry;
+            }
+        }
+    }
+
+    /**
+     * Tests and optionally sets the pre-filter bits, returns {@code true} if
+     * all bits were set before.
+     */
+    final boolean prefiltered(final long fingerprint, final boolean record) {
+
+        final long bits = (long) prefilter.length * Long.SIZE;
+
+        final long h1 = fingerprint >>> 32;
+        final long h2 = fingerprint & 0xFFFFFFFFL;
+
+        boolean seen = true;
+
+        for (int i = 0; i < PREFILTER_HASHES; i++) {
+
+            final long bit = ((h1 + i * h2) & Long.MAX_VALUE) % bits;
+            final int index = (int) (bit >>> 6);
+            final long mask = 1L << bit;
+
+            if ((prefilter[index] & mask) == 0) {
+                if (!record) {
+                    return false;
+                }
+                prefilter[index] |= mask;
+                seen = false;
+            }
+        }
+        if (!seen) {
+            recorded++;
+        }
+        return seen;
+    }
+
+    static long fingerprint(String subject, String predicate, String object, String datatype, String language, String direction, String graph) {
+
+        long hash = 0xCBF29CE484222325L;
+
+        hash = hash(hash, subject);
+        hash = hash(hash, predicate);
+        hash = hash(hash, object);
+        hash = hash(hash, datatype);
+        hash = hash(hash, language);
+        hash = hash(hash, direction);
+        hash = hash(hash, graph);
+
+        // finalize, spreads the bits, 0 marks an empty slot
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+
+        return hash != 0 ? hash : 1;
+    }
+
+    static long hash(long hash, final String value) {
+
+        if (value == null) {
+            return (hash ^ 0xFFFFL) * 0x100000001B3L;
+        }
+
+        for (int index = 0; index < value.length(); index++) {
+            hash = (hash ^ value.charAt(index)) * 0x100000001B3L;
+        }
+
+        // a field separator
+        return (hash ^ 0x10000L) * 0x100000001B3L;
+    }
+}
@@ -0,0 +1,331 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.flow;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import com.apicatalog.rdf.api.RdfConsumerException;
+import com.apicatalog.rdf.api.RdfQuadConsumer;
+import com.apicatalog.rdf.model.RdfQuadSet;
+
+/**
+ * Hands quads received by a producer, e.g. a parser, over to a
+ * {@link QuadAcceptor} running on another thread, so parsing overlaps term
+ * interning and insertion.
+ * <p>
+ * Quads are collected into {@link QuadBatch}es passed through a bounded queue,
+ * a producer blocks when the insertion stage falls behind by the given number
+ * of batches. Batches are recycled, so no garbage is produced per batch.
+ * <p>
+ * The producer side is not thread-safe, quads must be passed by a single
+ * thread. {@link #close()} waits until all quads are inserted.
+ */
+public final class PipelinedQuadAcceptor implements RdfQuadConsumer, AutoCloseable {
+
+    public static final int DEFAULT_QUEUE_SIZE = 16;
+
+    /** marks the end of input */
+    static final QuadBatch END = new QuadBatch(1);
+
+    /** how often a blocked producer checks the insertion stage is alive */
+    static final long POLL_MILLIS = 100;
+
+    /** starts a virtual thread if available, {@code null} before Java 21 */
+    static final Method START_VIRTUAL_THREAD = startVirtualThread();
+
+    final QuadAcceptor acceptor;
+
+    /** batches to insert */
+    final BlockingQueue<QuadBatch> filled;
+
+    /** batches to reuse */
+    final BlockingQueue<QuadBatch> empty;
+
+    final CountDownLatch done;
+
+    /** the first failure of the insertion stage */
+    volatile Throwable failure;
+
+    /**
+     * set if the producer has stopped without passing the end of input, the
+     * insertion stage then ends once the queue is drained
+     */
+    volatile boolean abandoned;
+
+    QuadBatch batch;
+
+    boolean closed;
+
+    PipelinedQuadAcceptor(final QuadAcceptor acceptor, final int queueSize, final int batchSize) {
+        this.acceptor = acceptor;
+        this.filled = new ArrayBlockingQueue<>(queueSize + 1);
+        // queued batches, one being inserted and one being filled
+        this.empty = new ArrayBlockingQueue<>(queueSize + 2);
+        for (int index = 0; index < queueSize + 1; index++) {
+            empty.add(new QuadBatch(batchSize));
+        }
+        this.batch = new QuadBatch(batchSize);
+        this.done = new CountDownLatch(1);
+        this.failure = null;
+        this.closed = false;
+        this.abandoned = false;
+    }
+
+    /**
+     * Creates a new pipeline inserting quads on a new platform thread.
+     *
+     * @param acceptor an acceptor inserting quads
+     * @return a new pipeline
+     */
+    public static PipelinedQuadAcceptor create(final QuadAcceptor acceptor) {
+        return create(acceptor, PipelinedQuadAcceptor::startPlatformThread, DEFAULT_QUEUE_SIZE, QuadBatch.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new pipeline.
+     *
+     * @param acceptor  an acceptor inserting quads, used by the insertion stage
+     *                  only
+     * @param executor  an executor running the insertion stage, the stage
+     *                  occupies a thread until the pipeline is closed, see
+     *                  {@link #virtualThreads()}
+     * @param queueSize a maximal number of batches waiting for insertion
+     * @param batchSize a number of quads per batch
+     * @return a new pipeline
+     */
+    public static PipelinedQuadAcceptor create(final QuadAcceptor acceptor, final Executor executor, final int queueSize, final int batchSize) {
+
+        if (acceptor == null) {
+            throw new IllegalArgumentException("Acceptor must not be null.");
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor must not be null.");
+        }
+        if (queueSize <= 0) {
+            throw new IllegalArgumentException("Queue size must be a positive number, but was [" + queueSize + "].");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be a positive number, but was [" + batchSize + "].");
+        }
+
+        final PipelinedQuadAcceptor pipeline = new PipelinedQuadAcceptor(acceptor, queueSize, batchSize);
+
+        executor.execute(pipeline::insert);
+
+        return pipeline;
+    }
+
+    /**
+     * Returns an executor starting a new virtual thread per task on Java 21 and
+     * newer, a new platform daemon thread per task on older runtimes.
+     *
+     * @return an executor
+     */
+    public static Executor virtualThreads() {
+        return START_VIRTUAL_THREAD != null
+                ? PipelinedQuadAcceptor::startVirtualThread
+                : PipelinedQuadAcceptor::startPlatformThread;
+    }
+
+    @Override
+    public PipelinedQuadAcceptor quad(String subject, String predicate, String object, String datatype, String language, String direction, String graph) throws RdfConsumerException {
+
+        if (closed) {
+            throw new IllegalStateException("Pipeline is closed.");
+        }
+
+        batch.quad(subject, predicate, object, datatype, language, direction, graph);
+
+        if (batch.isFull()) {
+            batch = hand(batch);
+        }
+        return this;
+    }
+
+    /**
+     * Passes the remaining quads to the insertion stage and waits until all
+     * quads are inserted. Calling the method more than once has no effect.
+     *
+     * @throws RdfConsumerException if the insertion stage has failed or the
+     *                              thread has been interrupted
+     */
+    @Override
+    public void close() throws RdfConsumerException {
+
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+
+        boolean ended = false;
+
+        try {
+            if (!batch.isEmpty()) {
+                hand(batch);
+            }
+            put(END);
+            ended = true;
+            done.await();
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RdfConsumerException("Interrupted while waiting for quads insertion.", e);
+
+        } finally {
+            if (!ended) {
+                // never leave the insertion stage waiting for the end of input
+                abandoned = true;
+            }
+        }
+
+        check();
+    }
+
+    /**
+     * Returns the quads inserted so far, call {@link #close()} first to get all
+     * quads.
+     *
+     * @return the acceptor quad set
+     */
+    public RdfQuadSet get() {
+        return acceptor.get();
+    }
+
+    /**
+     * Passes a full batch to the insertion stage, blocks if the queue is full.
+     *
+     * @return an empty batch to fill
+     */
+    final QuadBatch hand(final QuadBatch full) throws RdfConsumerException {
+
+        check();
+
+        try {
+            put(full);
+
+            QuadBatch next = empty.poll();
+
+            while (next == null) {
+                alive();
+                next = empty.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            }
+            return next;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RdfConsumerException("Interrupted while passing quads to insertion.", e);
+        }
+    }
+
+    final void put(final QuadBatch batch) throws InterruptedException, RdfConsumerException {
+        while (!filled.offer(batch, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+            alive();
+        }
+    }
+
+    /**
+     * Fails if the insertion stage has ended, the producer would wait forever.
+     */
+    final void alive() throws RdfConsumerException {
+        if (done.getCount() == 0) {
+            check();
+            throw new RdfConsumerException("Quads insertion has ended unexpectedly.");
+        }
+    }
+
+    final void check() throws RdfConsumerException {
+        final Throwable cause = failure;
+        if (cause != null) {
+            throw new RdfConsumerException("Quads insertion has failed.", cause);
+        }
+    }
+
+    /**
+     * The insertion stage, runs until the end of input, a failure, or until the
+     * queue is drained after the producer has stopped without passing the end
+     * of input, e.g. when interrupted.
+     */
+    final void insert() {
+        try {
+            for (;;) {
+
+                final QuadBatch next = filled.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+
+                if (next == null) {
+                    if (abandoned) {
+                        break;
+                    }
+                    continue;
+                }
+
+                if (next == END) {
+                    break;
+                }
+
+                try {
+                    acceptor.quads(next);
+
+                } catch (Throwable e) {
+                    // a producer blocked on the queue sees the stage has ended
+                    failure = e;
+                    break;
+                }
+
+                next.clear();
+                empty.add(next);
+            }
+
+        } catch (InterruptedException e) {
+            failure = e;
+            Thread.currentThread().interrupt();
+
+        } finally {
+            done.countDown();
+        }
+    }
+
+    static final void startPlatformThread(final Runnable task) {
+        final Thread thread = new Thread(task, "quad-insertion");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    static final void startVirtualThread(final Runnable task) {
+        try {
+            START_VIRTUAL_THREAD.invoke(null, task);
+
+        } catch (ReflectiveOperationException e) {
+            // a preview feature before Java 21
+            startPlatformThread(task);
+        }
+    }
+
+    static final Method startVirtualThread() {
+        try {
+            // Java 21+, looked up to keep Java 8 compatibility
+            return Thread.class.getMethod("startVirtualThread", Runnable.class);
+
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
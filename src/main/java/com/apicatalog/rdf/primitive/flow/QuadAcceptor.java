@@ -1,6 +1,5 @@
 package com.apicatalog.rdf.primitive.flow;
 
-import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -12,7 +11,11 @@ import com.apicatalog.rdf.model.RdfQuadSet;
 import com.apicatalog.rdf.model.RdfResource;
 import com.apicatalog.rdf.model.RdfTerm;
 import com.apicatalog.rdf.model.RdfTermFactory;
+import com.apicatalog.rdf.model.RdfTriple;
+import com.apicatalog.rdf.primitive.ConcurrentTermHashMap;
 import com.apicatalog.rdf.primitive.TermHashMap;
+import com.apicatalog.rdf.primitive.metrics.MetricsListener;
+import com.apicatalog.rdf.primitive.set.ConcurrentQuadDataset;
 import com.apicatalog.rdf.primitive.set.QuadSet;
 
 public class QuadAcceptor implements RdfQuadConsumer, Supplier<RdfQuadSet> {
@@ -20,6 +23,8 @@ public class QuadAcceptor implements RdfQuadConsumer, Supplier<RdfQuadSet> {
     protected final RdfTermFactory terms;
     protected final RdfQuadSet quadSet;
     protected Function<String, String> blankNodeIssuer;
+    protected BlankNodeScope blankNodeScope;
+    protected MetricsListener metrics;
 
     public QuadAcceptor() {
         this(new QuadSet(), new TermHashMap());
@@ -37,6 +42,22 @@ public class QuadAcceptor implements RdfQuadConsumer, Supplier<RdfQuadSet> {
         this.quadSet = quadSet;
         this.terms = terms;
         this.blankNodeIssuer = Function.identity();
+        this.metrics = MetricsListener.NONE;
+    }
+
+    /**
+     * Creates an acceptor that can be shared by many producer threads, e.g.
+     * parsers of chunks of a single large input. Quads are collected in a
+     * {@link ConcurrentQuadDataset} and terms are interned by a
+     * {@link ConcurrentTermHashMap}.
+     * <p>
+     * A blank node issuer, if set, must be thread-safe too, a
+     * {@link BlankNodeScope} is not.
+     *
+     * @return a new thread-safe acceptor
+     */
+    public static QuadAcceptor concurrent() {
+        return new QuadAcceptor(new ConcurrentQuadDataset(), new ConcurrentTermHashMap());
     }
 
     @Override
@@ -45,42 +66,135 @@ public class QuadAcceptor implements RdfQuadConsumer, Supplier<RdfQuadSet> {
     }
 
     public QuadAcceptor quad(RdfResource subject, RdfResource predicate, RdfTerm object, RdfResource graph) {
-        quadSet.add(terms.createQuad(subject, predicate, object, graph));
-        return this;
+        return accept(terms.createQuad(
+                subject,
+                predicate,
+                object != null && object.isTriple()
+                        ? getTriple(object.asTriple())
+                        : object,
+                graph));
     }
 
+    /**
+     * Accepts the given quad, a triple term object is interned by the term
+     * factory first.
+     *
+     * @param quad a quad to accept
+     * @return this acceptor
+     */
     public QuadAcceptor quad(RdfQuad quad) {
-        quadSet.add(quad);
+        if (quad.object().isTriple()) {
+            return quad(quad.subject(), quad.predicate(), quad.object(), quad.graphName().orElse(null));
+        }
+        return accept(quad);
+    }
+
+    final QuadAcceptor accept(RdfQuad quad) {
+        if (quadSet.add(quad)) {
+            metrics.quadAccepted();
+        } else {
+            metrics.quadRejected();
+        }
         return this;
     }
 
     @Override
     public QuadAcceptor quad(String subject, String predicate, String object, String datatype, String language, String direction, String graph) throws RdfConsumerException {
-        final RdfTerm objectValue;
-        if (language != null || direction != null) {
-            objectValue = terms.createLangString(
-                    object,
-                    datatype,
-                    language,
-                    Optional.ofNullable(direction)
-                            .map(String::toUpperCase)
-                            .map(Direction::valueOf)
-                            .orElse(null));
-
-        } else if (datatype != null) {
-            objectValue = terms.createLiteral(object, datatype);
+        quad(getResource(subject),
+                getResource(predicate),
+                getObject(object, datatype, language, direction),
+                graph != null
+                        ? getResource(graph)
+                        : null);
+        return this;
+    }
 
-        } else {
-            objectValue = getResource(object);
+    /**
+     * Accepts all quads in the given batch. A subject, a predicate or a graph
+     * name repeated by consecutive quads is resolved only once.
+     *
+     * @param batch a batch of quads
+     * @return this acceptor
+     */
+    public QuadAcceptor quads(final QuadBatch batch) {
+
+        String lastSubject = null;
+        String lastPredicate = null;
+        String lastGraph = null;
+
+        RdfResource subject = null;
+        RdfResource predicate = null;
+        RdfResource graph = null;
+
+        for (int index = 0; index < batch.size; index++) {
+
+            final String subjectName = batch.subjects[index];
+            if (lastSubject == null || !lastSubject.equals(subjectName)) {
+                subject = getResource(subjectName);
+                lastSubject = subjectName;
+            }
+
+            final String predicateName = batch.predicates[index];
+            if (lastPredicate == null || !lastPredicate.equals(predicateName)) {
+                predicate = getResource(predicateName);
+                lastPredicate = predicateName;
+            }
+
+            final String graphName = batch.graphs[index];
+            if (graphName == null) {
+                graph = null;
+                lastGraph = null;
+
+            } else if (lastGraph == null || !lastGraph.equals(graphName)) {
+                graph = getResource(graphName);
+                lastGraph = graphName;
+            }
+
+            accept(terms.createQuad(
+                    subject,
+                    predicate,
+                    getObject(
+                            batch.objects[index],
+                            batch.datatypes[index],
+                            batch.languages[index],
+                            batch.directions[index]),
+                    graph));
         }
+        return this;
+    }
 
-        quad(getResource(subject),
-                getResource(predicate),
-                objectValue,
-                Optional.ofNullable(graph)
-                        .map(this::getResource)
-                        .orElse(null));
+    /**
+     * Sets a listener receiving accepted and rejected quads.
+     *
+     * @param metrics a listener, use {@link MetricsListener#NONE} to disable
+     * @return this acceptor
+     */
+    public QuadAcceptor metrics(MetricsListener metrics) {
+        if (metrics == null) {
+            throw new IllegalArgumentException("Metrics listener must not be null, use MetricsListener.NONE instead.");
+        }
+        this.metrics = metrics;
+        return this;
+    }
 
+    /**
+     * Sets a scope relabeling blank nodes, call {@link BlankNodeScope#reset()}
+     * between documents to keep their blank nodes apart.
+     * <p>
+     * The scope must issue resources by the term factory of this acceptor, e.g.
+     * {@code BlankNodeScope.labels(acceptor.terms())}, so issued blank nodes are
+     * interned with other terms. A scope takes precedence over a blank node
+     * issuer, the issuer is not applied while a scope is set.
+     *
+     * @param scope a scope or {@code null} to keep blank node labels
+     * @return this acceptor
+     * @throws IllegalArgumentException if the scope uses another term factory
+     */
+    public QuadAcceptor blankNodeScope(BlankNodeScope scope) {
+        if (scope != null && scope.terms != terms) {
+            throw new IllegalArgumentException("Blank node scope must use the acceptor term factory.");
+        }
+        this.blankNodeScope = scope;
         return this;
     }
 
@@ -95,10 +209,44 @@ public class QuadAcceptor implements RdfQuadConsumer, Supplier<RdfQuadSet> {
         this.blankNodeIssuer = blankNodeIssuer;
     }
 
+    protected final RdfTerm getObject(final String object, final String datatype, final String language, final String direction) {
+        if (language != null || direction != null) {
+            return terms.createLangString(
+                    object,
+                    datatype,
+                    language,
+                    direction(direction));
+        }
+        if (datatype != null) {
+            return terms.createLiteral(object, datatype);
+        }
+        return getResource(object);
+    }
+
+    protected final RdfTriple getTriple(final RdfTriple triple) {
+        return terms.createTriple(triple.subject(), triple.predicate(), triple.object());
+    }
+
     protected final RdfResource getResource(final String name) {
         if (RdfQuadConsumer.isBlank(name)) {
+            if (blankNodeScope != null) {
+                return blankNodeScope.resource(name);
+            }
             return terms.createBlankNode(blankNodeIssuer.apply(name.substring(2)));
         }
         return terms.createIRI(name);
     }
+
+    static Direction direction(final String direction) {
+        if (direction == null) {
+            return null;
+        }
+        if ("ltr".equals(direction)) {
+            return Direction.LTR;
+        }
+        if ("rtl".equals(direction)) {
+            return Direction.RTL;
+        }
+        return Direction.valueOf(direction.toUpperCase());
+    }
 }
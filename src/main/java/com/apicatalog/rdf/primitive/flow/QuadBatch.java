@@ -0,0 +1,167 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.flow;
+
+import java.util.Arrays;
+
+import com.apicatalog.rdf.api.RdfConsumerException;
+import com.apicatalog.rdf.api.RdfQuadConsumer;
+
+/**
+ * A fixed size block of quads kept as parallel arrays of quad components, one
+ * array per component.
+ * <p>
+ * A batch is filled as an {@link RdfQuadConsumer}, passed to
+ * {@link QuadAcceptor#quads(QuadBatch)} or replayed by
+ * {@link #provide(RdfQuadConsumer)}, and then {@link #clear()}ed and reused.
+ */
+public class QuadBatch implements RdfQuadConsumer {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    final String[] subjects;
+    final String[] predicates;
+    final String[] objects;
+    final String[] datatypes;
+    final String[] languages;
+    final String[] directions;
+    final String[] graphs;
+
+    int size;
+
+    public QuadBatch() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public QuadBatch(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Batch capacity must be a positive number, but was [" + capacity + "].");
+        }
+        this.subjects = new String[capacity];
+        this.predicates = new String[capacity];
+        this.objects = new String[capacity];
+        this.datatypes = new String[capacity];
+        this.languages = new String[capacity];
+        this.directions = new String[capacity];
+        this.graphs = new String[capacity];
+        this.size = 0;
+    }
+
+    /**
+     * Appends a quad to the batch.
+     *
+     * @throws IllegalStateException if the batch is full
+     */
+    @Override
+    public QuadBatch quad(String subject, String predicate, String object, String datatype, String language, String direction, String graph) {
+
+        if (size == subjects.length) {
+            throw new IllegalStateException("Batch is full, capacity [" + subjects.length + "].");
+        }
+
+        subjects[size] = subject;
+        predicates[size] = predicate;
+        objects[size] = object;
+        datatypes[size] = datatype;
+        languages[size] = language;
+        directions[size] = direction;
+        graphs[size] = graph;
+        size++;
+
+        return this;
+    }
+
+    /**
+     * Replays the quads in the batch, in the order they have been appended.
+     *
+     * @param consumer a consumer to receive the quads
+     * @throws RdfConsumerException if the consumer fails
+     */
+    public void provide(final RdfQuadConsumer consumer) throws RdfConsumerException {
+        for (int index = 0; index < size; index++) {
+            consumer.quad(
+                    subjects[index],
+                    predicates[index],
+                    objects[index],
+                    datatypes[index],
+                    languages[index],
+                    directions[index],
+                    graphs[index]);
+        }
+    }
+
+    /**
+     * Removes all quads, the batch can be reused.
+     */
+    public void clear() {
+        // release references only, arrays are reused
+        for (final String[] column : new String[][] { subjects, predicates, objects, datatypes, languages, directions, graphs }) {
+            Arrays.fill(column, 0, size, null);
+        }
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return subjects.length;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean isFull() {
+        return size == subjects.length;
+    }
+
+    public String subject(int index) {
+        return subjects[checkIndex(index)];
+    }
+
+    public String predicate(int index) {
+        return predicates[checkIndex(index)];
+    }
+
+    public String object(int index) {
+        return objects[checkIndex(index)];
+    }
+
+    public String datatype(int index) {
+        return datatypes[checkIndex(index)];
+    }
+
+    public String language(int index) {
+        return languages[checkIndex(index)];
+    }
+
+    public String direction(int index) {
+        return directions[checkIndex(index)];
+    }
+
+    public String graph(int index) {
+        return graphs[checkIndex(index)];
+    }
+
+    final int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index [" + index + "] is out of batch size [" + size + "].");
+        }
+        return index;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.flow;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.apicatalog.rdf.api.RdfConsumerException;
+import com.apicatalog.rdf.api.RdfQuadConsumer;
+
+/**
+ * An unbounded buffer of quads kept as a list of {@link QuadBatch}es.
+ */
+final class QuadBuffer implements RdfQuadConsumer {
+
+    final List<QuadBatch> batches;
+
+    QuadBatch last;
+
+    QuadBuffer() {
+        this.batches = new ArrayList<>();
+        this.last = null;
+    }
+
+    @Override
+    public QuadBuffer quad(String subject, String predicate, String object, String datatype, String language, String direction, String graph) {
+        if (last == null || last.isFull()) {
+            last = new QuadBatch();
+            batches.add(last);
+        }
+        last.quad(subject, predicate, object, datatype, language, direction, graph);
+        return this;
+    }
+
+    void provide(final RdfQuadConsumer consumer) throws RdfConsumerException {
+        for (final QuadBatch batch : batches) {
+            batch.provide(consumer);
+        }
+    }
+}
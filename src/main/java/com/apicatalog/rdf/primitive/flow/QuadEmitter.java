@@ -1,7 +1,13 @@
 package com.apicatalog.rdf.primitive.flow;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.Iterator;
-import java.util.Optional;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
 
 import com.apicatalog.rdf.api.RdfConsumerException;
 import com.apicatalog.rdf.api.RdfQuadConsumer;
@@ -14,100 +20,410 @@ import com.apicatalog.rdf.model.RdfQuadSet;
 import com.apicatalog.rdf.model.RdfResource;
 import com.apicatalog.rdf.model.RdfTerm;
 import com.apicatalog.rdf.model.RdfTriple;
+import com.apicatalog.rdf.primitive.Literal;
+import com.apicatalog.rdf.primitive.Quad;
+import com.apicatalog.rdf.primitive.Resource;
+import com.apicatalog.rdf.primitive.metrics.MetricsListener;
+import com.apicatalog.rdf.primitive.set.QuadDelta;
 
+/**
+ * Emits quads to a {@link RdfQuadConsumer}.
+ * <p>
+ * A consumer cannot receive a triple term, a triple term object is rejected
+ * unless an emitter is set to {@link #reifyTripleTerms()}.
+ */
 public class QuadEmitter {
 
+    static final String LTR = "ltr";
+    static final String RTL = "rtl";
+
     protected final RdfQuadConsumer consumer;
+    protected MetricsListener metrics;
+
+    /** {@code false} if triple terms are rejected */
+    boolean reify;
 
     protected QuadEmitter(RdfQuadConsumer consumer) {
         this.consumer = consumer;
+        this.metrics = MetricsListener.NONE;
+        this.reify = false;
     }
 
     public static QuadEmitter create(RdfQuadConsumer consumer) {
         return new QuadEmitter(consumer);
     }
 
+    /**
+     * Sets a listener receiving a number of emitted quads and time spent by each
+     * emit call.
+     *
+     * @param metrics a listener, use {@link MetricsListener#NONE} to disable
+     * @return this emitter
+     */
+    public QuadEmitter metrics(MetricsListener metrics) {
+        if (metrics == null) {
+            throw new IllegalArgumentException("Metrics listener must not be null, use MetricsListener.NONE instead.");
+        }
+        this.metrics = metrics;
+        return this;
+    }
+
+    /**
+     * Replaces triple term objects by blank nodes described by RDF reification
+     * statements, {@code rdf:type rdf:Statement}, {@code rdf:subject},
+     * {@code rdf:predicate}, and {@code rdf:object}, in the graph of the quad.
+     * <p>
+     * The output cannot be read back as triple terms and contains more quads
+     * than the input. Emitted data is scanned before each emission, triple
+     * terms are labeled {@code _:t} followed by a counter in order of
+     * appearance, skipping labels of blank nodes found in the data. A triple
+     * term is replaced by the same blank node within an emission, labels are
+     * not kept between emissions. The statements are emitted once per graph
+     * and emission. Parallel emission produces the same labels.
+     *
+     * @return this emitter
+     */
+    public QuadEmitter reifyTripleTerms() {
+        this.reify = true;
+        return this;
+    }
+
     public QuadEmitter emit(RdfDataset set) throws RdfConsumerException {
-        emit(consumer, set);
+        final TripleTermReifier reifier = reifier();
+        if (reifier != null) {
+            reifier.scan(set).issue();
+        }
+        if (metrics == MetricsListener.NONE) {
+            emit(consumer, set, reifier);
+        } else {
+            measure(counter -> emit(counter, set, reifier));
+        }
+        return this;
+    }
+
+    /**
+     * Emits the dataset graphs in parallel on the given pool, the output is the
+     * same as of {@link #emit(RdfDataset)}.
+     *
+     * @param set  a dataset to emit
+     * @param pool a pool emitting the graphs
+     * @return this emitter
+     * @throws RdfConsumerException if the consumer fails
+     * @see #emit(RdfQuadConsumer, RdfDataset, ForkJoinPool)
+     */
+    public QuadEmitter emit(RdfDataset set, ForkJoinPool pool) throws RdfConsumerException {
+        final TripleTermReifier reifier = reifier();
+        if (reifier != null) {
+            reifier.scan(set).issue();
+        }
+        if (metrics == MetricsListener.NONE) {
+            emit(set, pool, QuadBuffer::new, buffer -> buffer.provide(consumer), reifier);
+        } else {
+            measure(counter -> emit(set, pool, QuadBuffer::new, buffer -> buffer.provide(counter), reifier));
+        }
         return this;
     }
 
     public QuadEmitter emit(RdfGraph graph, RdfResource graphName) throws RdfConsumerException {
-        emit(consumer, graph, graphName);
+        final TripleTermReifier reifier = reifier();
+        if (reifier != null) {
+            reifier.scan(graph).scan(graphName).issue();
+        }
+        if (metrics == MetricsListener.NONE) {
+            emit(consumer, graph, graphName, reifier);
+        } else {
+            measure(counter -> emit(counter, graph, graphName, reifier));
+        }
         return this;
     }
 
     public QuadEmitter emit(RdfQuadSet set) throws RdfConsumerException {
-        emit(consumer, set);
+        final TripleTermReifier reifier = reifier();
+        if (reifier != null) {
+            reifier.scan(set).issue();
+        }
+        if (metrics == MetricsListener.NONE) {
+            emit(consumer, set, reifier);
+        } else {
+            measure(counter -> emit(counter, set, reifier));
+        }
         return this;
     }
 
-    public QuadEmitter emit(RdfQuad quad) throws RdfConsumerException {
-        emit(consumer, quad);
+    /**
+     * Emits quads added since a checkpoint to this emitter's consumer and
+     * removed quads to the given consumer, removals first.
+     *
+     * @param delta    changes to emit
+     * @param removals a consumer of removed quads
+     * @return this emitter
+     * @throws RdfConsumerException if a consumer fails
+     * @see #emit(RdfQuadConsumer, RdfQuadConsumer, QuadDelta)
+     */
+    public QuadEmitter emit(QuadDelta delta, RdfQuadConsumer removals) throws RdfConsumerException {
+        final TripleTermReifier reifier = reifier();
+        if (reifier != null) {
+            reifier.scan(delta.removed()).scan(delta.added()).issue();
+        }
+        if (metrics == MetricsListener.NONE) {
+            emit(consumer, removals, delta, reifier);
+        } else {
+            measure(counter -> emit(counter, removals, delta, reifier));
+        }
         return this;
     }
 
+    public QuadEmitter emit(RdfQuad quad) throws RdfConsumerException {
+        return emit(quad.subject(), quad.predicate(), quad.object(), graphName(quad));
+    }
+
     public QuadEmitter emit(RdfResource subject, RdfResource predicate, RdfTerm object, RdfResource graph) throws RdfConsumerException {
-        emit(consumer, subject, predicate, object, graph);
+        final TripleTermReifier reifier = reifier();
+        if (reifier != null) {
+            reifier.scan(subject).scan(object).scan(graph).issue();
+        }
+        if (metrics == MetricsListener.NONE) {
+            emit(consumer, subject, predicate, object, graph, reifier);
+        } else {
+            measure(counter -> emit(counter, subject, predicate, object, graph, reifier));
+        }
         return this;
     }
 
+    /**
+     * Returns a reifier of a single emission.
+     *
+     * @return a new reifier or {@code null} if triple terms are rejected
+     */
+    final TripleTermReifier reifier() {
+        return reify
+                ? new TripleTermReifier()
+                : null;
+    }
+
+    @FunctionalInterface
+    interface Emission {
+        void emit(RdfQuadConsumer consumer) throws RdfConsumerException;
+    }
+
+    final void measure(final Emission emission) throws RdfConsumerException {
+        final CountingConsumer counter = new CountingConsumer(consumer);
+        final long start = System.nanoTime();
+        try {
+            emission.emit(counter);
+        } finally {
+            metrics.quadsEmitted(counter.count, System.nanoTime() - start);
+        }
+    }
+
     public static void emit(RdfQuadConsumer consumer, RdfDataset set) throws RdfConsumerException {
+        emit(consumer, set, (TripleTermReifier) null);
+    }
+
+    static void emit(RdfQuadConsumer consumer, RdfDataset set, TripleTermReifier reifier) throws RdfConsumerException {
         RdfGraph graph = set.defaultGraph();
         if (graph != null) {
-            emit(consumer, graph, null);
+            emit(consumer, graph, null, reifier);
         }
 
         for (RdfResource graphName : set.graphNames()) {
             emit(consumer,
                     set.namedGraph(graphName).orElseThrow(IllegalArgumentException::new),
-                    graphName);
+                    graphName,
+                    reifier);
         }
     }
 
+    /**
+     * Emits the dataset graphs in parallel on the given pool. Each graph is
+     * emitted into its own buffer by a pool task, the buffers are replayed to the
+     * consumer on the calling thread in the order of
+     * {@link #emit(RdfQuadConsumer, RdfDataset)}, so the consumer receives the
+     * very same sequence of quads.
+     *
+     * @param consumer a consumer receiving the quads, called by the calling
+     *                 thread only
+     * @param set      a dataset to emit
+     * @param pool     a pool emitting the graphs
+     * @throws RdfConsumerException if the consumer fails
+     */
+    public static void emit(RdfQuadConsumer consumer, RdfDataset set, ForkJoinPool pool) throws RdfConsumerException {
+        emit(set, pool, QuadBuffer::new, buffer -> buffer.provide(consumer));
+    }
+
+    /**
+     * Emits the dataset graphs in parallel on the given pool into buffers
+     * created by the given supplier, one buffer per graph. A buffer can be any
+     * consumer, e.g. an N-Quads writer into a memory buffer, so quads are
+     * serialized in parallel too.
+     * <p>
+     * The buffers are drained on the calling thread in the order of
+     * {@link #emit(RdfQuadConsumer, RdfDataset)}. At most a few buffers per pool
+     * thread are pending at once.
+     *
+     * @param <T>     a buffer type
+     * @param set     a dataset to emit
+     * @param pool    a pool emitting the graphs
+     * @param buffers a supplier of empty buffers, called by pool threads
+     * @param drain   a function draining a filled buffer
+     * @throws RdfConsumerException if a buffer or the drain function fails
+     */
+    public static <T extends RdfQuadConsumer> void emit(RdfDataset set, ForkJoinPool pool, Supplier<T> buffers, Drain<T> drain) throws RdfConsumerException {
+        emit(set, pool, buffers, drain, null);
+    }
+
+    static <T extends RdfQuadConsumer> void emit(RdfDataset set, ForkJoinPool pool, Supplier<T> buffers, Drain<T> drain, TripleTermReifier reifier) throws RdfConsumerException {
+
+        final List<RdfResource> graphNames = new ArrayList<>(set.graphNames().size() + 1);
+
+        // the default graph first, null stands for the default graph
+        if (set.defaultGraph() != null) {
+            graphNames.add(null);
+        }
+        graphNames.addAll(set.graphNames());
+
+        final int window = Math.max(1, pool.getParallelism() * 4);
+
+        final Deque<ForkJoinTask<T>> pending = new ArrayDeque<>(window);
+
+        int next = 0;
+
+        try {
+            while (next < graphNames.size() || !pending.isEmpty()) {
+
+                while (next < graphNames.size() && pending.size() < window) {
+                    final RdfResource graphName = graphNames.get(next++);
+                    pending.add(pool.submit(() -> {
+                        final T buffer = buffers.get();
+                        emit(buffer,
+                                graphName != null
+                                        ? set.namedGraph(graphName).orElseThrow(IllegalArgumentException::new)
+                                        : set.defaultGraph(),
+                                graphName,
+                                reifier);
+                        return buffer;
+                    }));
+                }
+
+                final T buffer;
+
+                try {
+                    buffer = pending.removeFirst().join();
+
+                } catch (RuntimeException e) {
+                    // a checked exception thrown by a task is wrapped, once or
+                    // twice if rethrown to another thread
+                    for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                        if (cause instanceof RdfConsumerException) {
+                            throw (RdfConsumerException) cause;
+                        }
+                    }
+                    throw e;
+                }
+
+                drain.drain(buffer);
+            }
+
+        } finally {
+            for (final ForkJoinTask<T> task : pending) {
+                task.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Drains a buffer filled by a parallel emission.
+     *
+     * @param <T> a buffer type
+     */
+    @FunctionalInterface
+    public interface Drain<T> {
+        void drain(T buffer) throws RdfConsumerException;
+    }
+
     public static void emit(RdfQuadConsumer consumer, RdfGraph graph, RdfResource graphName) throws RdfConsumerException {
+        emit(consumer, graph, graphName, null);
+    }
+
+    static void emit(RdfQuadConsumer consumer, RdfGraph graph, RdfResource graphName, TripleTermReifier reifier) throws RdfConsumerException {
         final Iterator<RdfTriple> it = graph.stream().iterator();
         while (it.hasNext()) {
             RdfTriple quad = it.next();
-            emit(consumer, quad.subject(), quad.predicate(), quad.object(), graphName);
+            emit(consumer, quad.subject(), quad.predicate(), quad.object(), graphName, reifier);
         }
     }
 
     public static void emit(RdfQuadConsumer consumer, RdfQuadSet set) throws RdfConsumerException {
+        emit(consumer, set, (TripleTermReifier) null);
+    }
+
+    static void emit(RdfQuadConsumer consumer, RdfQuadSet set, TripleTermReifier reifier) throws RdfConsumerException {
         final Iterator<RdfQuad> it = set.stream().iterator();
         while (it.hasNext()) {
             RdfQuad quad = it.next();
-            emit(consumer, quad);
+            emit(consumer, quad.subject(), quad.predicate(), quad.object(), graphName(quad), reifier);
         }
     }
 
+    /**
+     * Emits changes recorded by a {@link com.apicatalog.rdf.primitive.set.TrackingQuadDataset},
+     * removed quads first, then added quads. The cost is proportional to the
+     * number of changes, not to the size of the dataset.
+     *
+     * @param additions a consumer of added quads
+     * @param removals  a consumer of removed quads
+     * @param delta     changes to emit
+     * @throws RdfConsumerException if a consumer fails
+     */
+    public static void emit(RdfQuadConsumer additions, RdfQuadConsumer removals, QuadDelta delta) throws RdfConsumerException {
+        emit(additions, removals, delta, null);
+    }
+
+    static void emit(RdfQuadConsumer additions, RdfQuadConsumer removals, QuadDelta delta, TripleTermReifier reifier) throws RdfConsumerException {
+        emit(removals, delta.removed(), reifier);
+        emit(additions, delta.added(), reifier);
+    }
+
     public static void emit(RdfQuadConsumer consumer, RdfQuad quad) throws RdfConsumerException {
         emit(consumer,
                 quad.subject(),
                 quad.predicate(),
                 quad.object(),
-                quad.graphName().orElse(null));
+                graphName(quad));
     }
 
     public static void emit(RdfQuadConsumer consumer, RdfResource subject, RdfResource predicate, RdfTerm object, RdfResource graph) throws RdfConsumerException {
+        emit(consumer, subject, predicate, object, graph, null);
+    }
+
+    static void emit(RdfQuadConsumer consumer, RdfResource subject, RdfResource predicate, RdfTerm object, RdfResource graph, TripleTermReifier reifier) throws RdfConsumerException {
 
         if (object.isLiteral()) {
 
             final RdfLiteral literal = object.asLiteral();
 
+            final String language;
+            final Direction direction;
+
+            if (literal instanceof Literal) {
+                language = ((Literal) literal).languageOrNull();
+                direction = ((Literal) literal).directionOrNull();
+
+            } else {
+                language = literal.language().orElse(null);
+                direction = literal.direction().orElse(null);
+            }
+
             consumer.quad(
                     resource(subject),
                     resource(predicate),
                     literal.lexicalValue(),
                     literal.datatype(),
-                    literal.language().orElse(null),
-                    literal.direction()
-                            .map(Direction::name)
-                            .map(String::toLowerCase)
-                            .orElse(null),
-                    Optional.ofNullable(graph)
-                            .map(QuadEmitter::resource)
-                            .orElse(null));
+                    language,
+                    direction(direction),
+                    graph != null
+                            ? resource(graph)
+                            : null);
             return;
         }
 
@@ -119,25 +435,87 @@ public class QuadEmitter {
                     null,
                     null,
                     null,
-                    Optional.ofNullable(graph)
-                            .map(QuadEmitter::resource)
-                            .orElse(null));
+                    graph != null
+                            ? resource(graph)
+                            : null);
             return;
         }
 
         if (object.isTriple()) {
-            throw new IllegalArgumentException("RDF triple terms are not supported, yet [" + subject + " " + predicate + " " + object + " " + graph + "].");
+
+            if (reifier == null) {
+                throw new IllegalArgumentException("RDF triple terms are not supported, yet [" + subject + " " + predicate + " " + object + " " + graph + "].");
+            }
+
+            final String graphName = graph != null
+                    ? resource(graph)
+                    : null;
+            consumer.quad(
+                    resource(subject),
+                    resource(predicate),
+                    reifier.reify(consumer, object.asTriple(), graphName),
+                    null,
+                    null,
+                    null,
+                    graphName);
+            return;
         }
 
         throw new IllegalStateException("An unknown object [" + subject + " " + predicate + " " + object + " " + graph + "].");
     }
 
+    static RdfResource graphName(final RdfQuad quad) {
+        return quad instanceof Quad
+                ? ((Quad) quad).graphNameOrNull()
+                : quad.graphName().orElse(null);
+    }
+
     static String resource(final RdfResource resource) {
 
+        // a primitive blank node caches its serialized form
+        if (resource instanceof Resource) {
+            return resource.isBlank()
+                    ? resource.toString()
+                    : resource.value();
+        }
+
         final String value = resource.value();
 
         return (resource.isBlank() && !RdfQuadConsumer.isBlank(value))
                 ? "_:" + value
                 : value;
     }
+
+    static String direction(final Direction direction) {
+        if (direction == null) {
+            return null;
+        }
+        switch (direction) {
+        case LTR:
+            return LTR;
+        case RTL:
+            return RTL;
+        default:
+            return direction.name().toLowerCase();
+        }
+    }
+
+    static final class CountingConsumer implements RdfQuadConsumer {
+
+        final RdfQuadConsumer consumer;
+
+        long count;
+
+        CountingConsumer(RdfQuadConsumer consumer) {
+            this.consumer = consumer;
+            this.count = 0;
+        }
+
+        @Override
+        public RdfQuadConsumer quad(String subject, String predicate, String object, String datatype, String language, String direction, String graph) throws RdfConsumerException {
+            consumer.quad(subject, predicate, object, datatype, language, direction, graph);
+            count++;
+            return this;
+        }
+    }
 }
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.flow;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.apicatalog.rdf.api.RdfConsumerException;
+import com.apicatalog.rdf.api.RdfQuadConsumer;
+import com.apicatalog.rdf.model.RdfDataset;
+import com.apicatalog.rdf.model.RdfGraph;
+import com.apicatalog.rdf.model.RdfLiteral;
+import com.apicatalog.rdf.model.RdfQuad;
+import com.apicatalog.rdf.model.RdfQuadSet;
+import com.apicatalog.rdf.model.RdfResource;
+import com.apicatalog.rdf.model.RdfTerm;
+import com.apicatalog.rdf.model.RdfTriple;
+
+/**
+ * Replaces triple terms by blank nodes described by RDF reification
+ * statements, see {@link QuadEmitter#reifyTripleTerms()}.
+ * <p>
+ * An instance serves a single emission. Emitted data is scanned first, then
+ * {@link #issue()} labels triple terms by a prefix followed by a counter in
+ * order of appearance, skipping labels of blank nodes found in the data. The
+ * labels are fixed before quads are emitted, so parallel emission of graphs
+ * issues the same labels as sequential emission.
+ * <p>
+ * Labels are read-only after {@link #issue()}, an instance is shared by
+ * parallel emission of graphs and is thread-safe.
+ */
+final class TripleTermReifier {
+
+    static final String RDF = "http://www.w3.org/1999/02/22-rdf-syntax-ns#";
+    static final String RDF_TYPE = RDF + "type";
+    static final String RDF_STATEMENT = RDF + "Statement";
+    static final String RDF_SUBJECT = RDF + "subject";
+    static final String RDF_PREDICATE = RDF + "predicate";
+    static final String RDF_OBJECT = RDF + "object";
+
+    /** a prefix of blank nodes standing for triple terms */
+    static final String PREFIX = "_:t";
+
+    /** labels of blank nodes in emitted data starting with the prefix */
+    final Set<String> reserved;
+
+    /** triple terms in order of appearance and issued blank nodes */
+    final Map<RdfTriple, String> labels;
+
+    /** triple terms described per graph */
+    final Map<String, Set<RdfTriple>> described;
+
+    TripleTermReifier() {
+        this.reserved = new HashSet<>();
+        this.labels = new LinkedHashMap<>();
+        this.described = new HashMap<>();
+    }
+
+    TripleTermReifier scan(final RdfDataset dataset) {
+        if (dataset.defaultGraph() != null) {
+            scan(dataset.defaultGraph());
+        }
+        for (final RdfResource graphName : dataset.graphNames()) {
+            scan(graphName);
+            scan(dataset.namedGraph(graphName).orElseThrow(IllegalArgumentException::new));
+        }
+        return this;
+    }
+
+    TripleTermReifier scan(final RdfGraph graph) {
+        final Iterator<RdfTriple> it = graph.stream().iterator();
+        while (it.hasNext()) {
+            final RdfTriple triple = it.next();
+            scan(triple.subject());
+            scan(triple.object());
+        }
+        return this;
+    }
+
+    TripleTermReifier scan(final RdfQuadSet set) {
+        final Iterator<RdfQuad> it = set.stream().iterator();
+        while (it.hasNext()) {
+            final RdfQuad quad = it.next();
+            scan(quad.subject());
+            scan(quad.object());
+            quad.graphName().ifPresent(this::scan);
+        }
+        return this;
+    }
+
+    TripleTermReifier scan(final RdfTerm term) {
+
+        if (term == null) {
+            return this;
+        }
+
+        if (term.isTriple()) {
+            // an outer triple term is labeled before nested ones
+            if (!labels.containsKey(term.asTriple())) {
+                labels.put(term.asTriple(), null);
+                scan(term.asTriple().subject());
+                scan(term.asTriple().object());
+            }
+            return this;
+        }
+
+        if (term.isResource() && term.asResource().isBlank()) {
+            final String name = QuadEmitter.resource(term.asResource());
+            if (name.startsWith(PREFIX)) {
+                reserved.add(name);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Labels scanned triple terms.
+     *
+     * @return this reifier
+     */
+    TripleTermReifier issue() {
+
+        long counter = 0;
+
+        for (final Map.Entry<RdfTriple, String> entry : labels.entrySet()) {
+            String label;
+            do {
+                label = PREFIX + counter++;
+            } while (reserved.contains(label));
+            entry.setValue(label);
+        }
+        return this;
+    }
+
+    /**
+     * Returns a blank node standing for the given triple term, reification
+     * statements are emitted to the given graph unless already emitted in the
+     * current emission, nested triple terms first.
+     */
+    String reify(final RdfQuadConsumer consumer, final RdfTriple triple, final String graph) throws RdfConsumerException {
+
+        final String label = labels.get(triple);
+
+        if (label == null) {
+            throw new IllegalStateException("A triple term [" + triple + "] has not been scanned.");
+        }
+
+        if (!describe(graph, triple)) {
+            return label;
+        }
+
+        final String subject = QuadEmitter.resource(triple.subject());
+        final String predicate = QuadEmitter.resource(triple.predicate());
+
+        final RdfTerm object = triple.object();
+
+        String value = null;
+        String datatype = null;
+        String language = null;
+        String direction = null;
+
+        if (object.isTriple()) {
+            value = reify(consumer, object.asTriple(), graph);
+
+        } else if (object.isLiteral()) {
+            final RdfLiteral literal = object.asLiteral();
+            value = literal.lexicalValue();
+            datatype = literal.datatype();
+            language = literal.language().orElse(null);
+            direction = QuadEmitter.direction(literal.direction().orElse(null));
+
+        } else if (object.isResource()) {
+            value = QuadEmitter.resource(object.asResource());
+
+        } else {
+            throw new IllegalStateException("An unknown object [" + triple + "].");
+        }
+
+        consumer.quad(label, RDF_TYPE, RDF_STATEMENT, null, null, null, graph);
+        consumer.quad(label, RDF_SUBJECT, subject, null, null, null, graph);
+        consumer.quad(label, RDF_PREDICATE, predicate, null, null, null, graph);
+        consumer.quad(label, RDF_OBJECT, value, datatype, language, direction, graph);
+
+        return label;
+    }
+
+    synchronized boolean describe(final String graph, final RdfTriple triple) {
+        return described.computeIfAbsent(graph, name -> new HashSet<>()).add(triple);
+    }
+}
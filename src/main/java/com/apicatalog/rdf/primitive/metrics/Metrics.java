@@ -0,0 +1,165 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import com.apicatalog.rdf.model.RdfDataset;
+
+/**
+ * A thread-safe {@link MetricsListener} collecting events into counters. The
+ * counters can be read directly or exposed over JMX by
+ * {@link #register(String)}.
+ *
+ * <pre>
+ * Metrics metrics = new Metrics();
+ *
+ * TermHashMap terms = new TermHashMap().metrics(metrics);
+ * QuadAcceptor acceptor = new QuadAcceptor(dataset, terms).metrics(metrics);
+ * </pre>
+ */
+public class Metrics implements MetricsListener, MetricsMBean {
+
+    protected final LongAdder quadsAccepted;
+    protected final LongAdder quadsRejected;
+    protected final LongAdder termHits;
+    protected final LongAdder termMisses;
+    protected final LongAdder quadsEmitted;
+    protected final LongAdder emissionNanos;
+
+    protected volatile RdfDataset dataset;
+
+    public Metrics() {
+        this.quadsAccepted = new LongAdder();
+        this.quadsRejected = new LongAdder();
+        this.termHits = new LongAdder();
+        this.termMisses = new LongAdder();
+        this.quadsEmitted = new LongAdder();
+        this.emissionNanos = new LongAdder();
+        this.dataset = null;
+    }
+
+    /**
+     * Sets a dataset whose named graphs are counted by {@link #getGraphCount()}.
+     *
+     * @param dataset a dataset or {@code null}
+     * @return this instance
+     */
+    public Metrics dataset(RdfDataset dataset) {
+        this.dataset = dataset;
+        return this;
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server under the name
+     * {@code com.apicatalog.rdf:type=Metrics,name=<name>}.
+     *
+     * @param name a name distinguishing the metrics
+     * @return the registered object name
+     * @throws JMException if the metrics cannot be registered
+     */
+    public ObjectName register(String name) throws JMException {
+        final ObjectName objectName = new ObjectName("com.apicatalog.rdf:type=Metrics,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+    @Override
+    public void quadAccepted() {
+        quadsAccepted.increment();
+    }
+
+    @Override
+    public void quadRejected() {
+        quadsRejected.increment();
+    }
+
+    @Override
+    public void termHit() {
+        termHits.increment();
+    }
+
+    @Override
+    public void termMiss() {
+        termMisses.increment();
+    }
+
+    @Override
+    public void quadsEmitted(long count, long nanos) {
+        quadsEmitted.add(count);
+        emissionNanos.add(nanos);
+    }
+
+    @Override
+    public long getQuadsAccepted() {
+        return quadsAccepted.sum();
+    }
+
+    @Override
+    public long getQuadsRejected() {
+        return quadsRejected.sum();
+    }
+
+    @Override
+    public long getTermHits() {
+        return termHits.sum();
+    }
+
+    @Override
+    public long getTermMisses() {
+        return termMisses.sum();
+    }
+
+    @Override
+    public long getQuadsEmitted() {
+        return quadsEmitted.sum();
+    }
+
+    @Override
+    public long getEmissionNanos() {
+        return emissionNanos.sum();
+    }
+
+    @Override
+    public double getQuadsEmittedPerSecond() {
+        final long nanos = emissionNanos.sum();
+        return nanos > 0
+                ? quadsEmitted.sum() * 1e9d / nanos
+                : 0d;
+    }
+
+    @Override
+    public int getGraphCount() {
+        final RdfDataset current = dataset;
+        return current != null
+                ? current.graphNames().size()
+                : 0;
+    }
+
+    @Override
+    public void reset() {
+        quadsAccepted.reset();
+        quadsRejected.reset();
+        termHits.reset();
+        termMisses.reset();
+        quadsEmitted.reset();
+        emissionNanos.reset();
+    }
+}
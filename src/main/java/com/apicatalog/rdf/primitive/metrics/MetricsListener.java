@@ -0,0 +1,65 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.metrics;
+
+/**
+ * Receives ingestion and emission events. All methods do nothing by default,
+ * an implementation overrides the events it is interested in.
+ * <p>
+ * Events are reported synchronously on a hot path, an implementation must be
+ * cheap and, if shared by many threads, thread-safe.
+ *
+ * @see Metrics
+ */
+public interface MetricsListener {
+
+    /** A listener ignoring all events. */
+    MetricsListener NONE = new MetricsListener() {
+    };
+
+    /**
+     * A quad has been added to a quad set.
+     */
+    default void quadAccepted() {
+    }
+
+    /**
+     * A quad has been rejected by a quad set, usually as a duplicate.
+     */
+    default void quadRejected() {
+    }
+
+    /**
+     * A term factory has returned an already interned term.
+     */
+    default void termHit() {
+    }
+
+    /**
+     * A term factory has created and interned a new term.
+     */
+    default void termMiss() {
+    }
+
+    /**
+     * Quads have been emitted.
+     *
+     * @param count a number of emitted quads
+     * @param nanos time spent emitting in nanoseconds
+     */
+    default void quadsEmitted(long count, long nanos) {
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.metrics;
+
+/**
+ * A management interface of {@link Metrics}.
+ */
+public interface MetricsMBean {
+
+    long getQuadsAccepted();
+
+    long getQuadsRejected();
+
+    long getTermHits();
+
+    long getTermMisses();
+
+    long getQuadsEmitted();
+
+    long getEmissionNanos();
+
+    double getQuadsEmittedPerSecond();
+
+    int getGraphCount();
+
+    void reset();
+}
@@ -0,0 +1,810 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.set;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.apicatalog.rdf.model.RdfDataset;
+import com.apicatalog.rdf.model.RdfGraph;
+import com.apicatalog.rdf.model.RdfQuad;
+import com.apicatalog.rdf.model.RdfQuadSet;
+import com.apicatalog.rdf.model.RdfResource;
+import com.apicatalog.rdf.model.RdfTerm;
+import com.apicatalog.rdf.model.RdfTriple;
+import com.apicatalog.rdf.primitive.Quad;
+import com.apicatalog.rdf.primitive.TermDictionary;
+
+/**
+ * A compact dataset storing quads as rows of term identifiers.
+ * <p>
+ * Terms are dictionary encoded by {@link TermDictionary}, a quad is kept as
+ * four {@code int} identifiers in primitive columns, and duplicates are
+ * detected by a primitive open-addressing table. {@link RdfQuad} instances are
+ * materialized on demand, e.g. when streamed.
+ * <p>
+ * Each row is linked into a subject, predicate, object and graph posting list.
+ * {@link #match(RdfResource, RdfResource, RdfTerm, RdfResource)} walks the
+ * shortest posting list of the bound positions, or probes the table when all
+ * positions are bound, so a lookup costs the length of the shortest list
+ * rather than the size of the dataset.
+ * <p>
+ * A removed row is marked and skipped, rows are compacted once removed rows
+ * outnumber quads, and a named graph is dropped when its last quad is removed.
+ * A graph view stays valid and shows quads added to the graph later.
+ * <p>
+ * Quads and graphs are streamed in insertion order, matches are returned in no
+ * particular order. The dataset must not be modified while a stream is
+ * consumed. This class is not thread-safe.
+ */
+public final class ColumnarQuadDataset implements RdfDataset, RdfQuadSet {
+
+    static final int DEFAULT_CAPACITY = 1024;
+
+    /** the default graph identifier */
+    static final int DEFAULT_GRAPH = -1;
+
+    /** a marker of a removed row, stored in the subject column */
+    static final int REMOVED = -1;
+
+    /** an identifier of a graph not present in the dataset */
+    static final int UNKNOWN = -2;
+
+    /** a wildcard matching any identifier */
+    static final int ANY = -3;
+
+    final TermDictionary terms;
+
+    /** columns, a row per quad */
+    int[] subjects;
+    int[] predicates;
+    int[] objects;
+    int[] graphs;
+
+    /**
+     * posting lists, the next row + 1 sharing the same term at the position, 0 =
+     * the end of the list
+     */
+    int[] nextBySubject;
+    int[] nextByPredicate;
+    int[] nextByObject;
+    int[] nextByGraph;
+
+    /**
+     * the first row + 1 of a posting list and the list length, indexed by term
+     * identifier
+     */
+    int[] subjectHeads;
+    int[] subjectCounts;
+    int[] predicateHeads;
+    int[] predicateCounts;
+    int[] objectHeads;
+    int[] objectCounts;
+
+    /**
+     * the first and the last row + 1 of a graph posting list and the graph size,
+     * indexed by graph identifier + 1, the default graph first
+     */
+    int[] graphHeads;
+    int[] graphTails;
+    int[] graphCounts;
+
+    /** number of rows, including removed ones */
+    int rows;
+
+    /** number of quads */
+    int size;
+
+    /** open-addressing table, a row + 1, 0 = empty slot */
+    int[] table;
+
+    final ColumnarGraph defaultGraph;
+
+    /** non-empty named graphs index */
+    final Map<RdfResource, ColumnarGraph> namedGraphs;
+
+    public ColumnarQuadDataset() {
+        this(new TermDictionary(), DEFAULT_CAPACITY);
+    }
+
+    public ColumnarQuadDataset(final TermDictionary terms) {
+        this(terms, DEFAULT_CAPACITY);
+    }
+
+    public ColumnarQuadDataset(final TermDictionary terms, final int initialCapacity) {
+        if (terms == null) {
+            throw new IllegalArgumentException("Term dictionary must not be null.");
+        }
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity must be a non-negative number, but was [" + initialCapacity + "].");
+        }
+        final int capacity = Math.max(16, initialCapacity);
+
+        this.terms = terms;
+        this.subjects = new int[capacity];
+        this.predicates = new int[capacity];
+        this.objects = new int[capacity];
+        this.graphs = new int[capacity];
+        this.nextBySubject = new int[capacity];
+        this.nextByPredicate = new int[capacity];
+        this.nextByObject = new int[capacity];
+        this.nextByGraph = new int[capacity];
+
+        final int termCapacity = Math.max(16, terms.size());
+
+        this.subjectHeads = new int[termCapacity];
+        this.subjectCounts = new int[termCapacity];
+        this.predicateHeads = new int[termCapacity];
+        this.predicateCounts = new int[termCapacity];
+        this.objectHeads = new int[termCapacity];
+        this.objectCounts = new int[termCapacity];
+        this.graphHeads = new int[termCapacity + 1];
+        this.graphTails = new int[termCapacity + 1];
+        this.graphCounts = new int[termCapacity + 1];
+
+        this.rows = 0;
+        this.size = 0;
+        this.table = new int[tableSize(capacity)];
+        this.defaultGraph = new ColumnarGraph(DEFAULT_GRAPH);
+        this.namedGraphs = new LinkedHashMap<>();
+    }
+
+    /**
+     * Returns the dictionary encoding terms of this dataset. Use the dictionary as
+     * {@link com.apicatalog.rdf.model.RdfTermFactory} to avoid duplicate term
+     * instances when populating the dataset.
+     *
+     * @return the term dictionary
+     */
+    public TermDictionary terms() {
+        return terms;
+    }
+
+    @Override
+    public RdfGraph defaultGraph() {
+        return defaultGraph;
+    }
+
+    @Override
+    public Set<RdfResource> graphNames() {
+        return Collections.unmodifiableSet(namedGraphs.keySet());
+    }
+
+    @Override
+    public Optional<RdfGraph> namedGraph(final RdfResource graphName) {
+        return Optional.ofNullable(namedGraphs.get(graphName));
+    }
+
+    @Override
+    public boolean add(final RdfQuad quad) {
+
+        if (quad == null) {
+            throw new IllegalArgumentException();
+        }
+
+        final RdfResource graphName = quad.graphName().orElse(null);
+
+        return add(
+                terms.encode(quad.subject()),
+                terms.encode(quad.predicate()),
+                terms.encode(quad.object()),
+                graphName != null
+                        ? terms.encode(graphName)
+                        : DEFAULT_GRAPH);
+    }
+
+    @Override
+    public boolean contains(final RdfQuad quad) {
+
+        if (quad == null) {
+            return false;
+        }
+
+        final int graph = graphId(quad.graphName().orElse(null));
+
+        if (graph == UNKNOWN) {
+            return false;
+        }
+
+        return contains(quad, graph);
+    }
+
+    @Override
+    public boolean remove(final RdfQuad quad) {
+
+        if (quad == null) {
+            return false;
+        }
+
+        final int graph = graphId(quad.graphName().orElse(null));
+
+        if (graph == UNKNOWN) {
+            return false;
+        }
+
+        return remove(quad, graph);
+    }
+
+    @Override
+    public Stream<RdfQuad> stream() {
+        return IntStream.range(0, rows)
+                .filter(row -> subjects[row] != REMOVED)
+                .mapToObj(this::quad);
+    }
+
+    @Override
+    public Stream<RdfQuad> match(final RdfResource subject, final RdfResource predicate, final RdfTerm object, final RdfResource graphName) {
+
+        final int graph = graphName != null
+                ? graphId(graphName)
+                : ANY;
+
+        if (graph == UNKNOWN) {
+            return Stream.empty();
+        }
+
+        return match(subject, predicate, object, graph);
+    }
+
+    /**
+     * Returns the number of quads in the dataset.
+     *
+     * @return the number of quads
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    final boolean add(final int subject, final int predicate, final int object, final int graph) {
+
+        final int hash = hash(subject, predicate, object, graph);
+        final int mask = table.length - 1;
+
+        int slot = hash & mask;
+
+        for (int entry = table[slot]; entry != 0; entry = table[slot]) {
+            if (matches(entry - 1, subject, predicate, object, graph)) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        if (rows == subjects.length) {
+            grow();
+        }
+
+        final int row = rows++;
+
+        subjects[row] = subject;
+        predicates[row] = predicate;
+        objects[row] = object;
+        graphs[row] = graph;
+
+        table[slot] = row + 1;
+        size++;
+
+        // keep load factor under 0.5
+        if (size << 1 > table.length) {
+            rehash(table.length << 1);
+        }
+
+        index(row);
+
+        return true;
+    }
+
+    /**
+     * Links the row into the posting lists.
+     */
+    final void index(final int row) {
+
+        final int subject = subjects[row];
+        final int predicate = predicates[row];
+        final int object = objects[row];
+
+        final int graph = graphs[row];
+
+        final int maxId = Math.max(Math.max(subject, graph), Math.max(predicate, object));
+
+        if (maxId >= subjectHeads.length) {
+            growHeads(Math.max(maxId + 1, terms.size()));
+        }
+
+        nextBySubject[row] = subjectHeads[subject];
+        subjectHeads[subject] = row + 1;
+        subjectCounts[subject]++;
+
+        nextByPredicate[row] = predicateHeads[predicate];
+        predicateHeads[predicate] = row + 1;
+        predicateCounts[predicate]++;
+
+        nextByObject[row] = objectHeads[object];
+        objectHeads[object] = row + 1;
+        objectCounts[object]++;
+
+        if (graph != DEFAULT_GRAPH && graphCounts[graph + 1] == 0) {
+            namedGraphs.computeIfAbsent(
+                    terms.decode(graph).asResource(),
+                    name -> new ColumnarGraph(graph));
+        }
+
+        // graph lists are appended to keep insertion order
+        nextByGraph[row] = 0;
+        if (graphTails[graph + 1] == 0) {
+            graphHeads[graph + 1] = row + 1;
+        } else {
+            nextByGraph[graphTails[graph + 1] - 1] = row + 1;
+        }
+        graphTails[graph + 1] = row + 1;
+        graphCounts[graph + 1]++;
+    }
+
+    final int find(final int subject, final int predicate, final int object, final int graph) {
+
+        final int mask = table.length - 1;
+
+        int slot = hash(subject, predicate, object, graph) & mask;
+
+        for (int entry = table[slot]; entry != 0; entry = table[slot]) {
+            if (matches(entry - 1, subject, predicate, object, graph)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns quads whose rows are, or are not, present in the given dataset.
+     * Both datasets must share the term dictionary, rows are then compared by
+     * identifiers and only emitted rows are decoded.
+     */
+    final Stream<RdfQuad> rows(final ColumnarQuadDataset other, final boolean present) {
+        return IntStream.range(0, rows)
+                .filter(row -> subjects[row] != REMOVED
+                        && (other.find(subjects[row], predicates[row], objects[row], graphs[row]) != -1) == present)
+                .mapToObj(this::quad);
+    }
+
+    final boolean contains(final RdfTriple triple, final int graph) {
+
+        final int subject = terms.indexOf(triple.subject());
+        final int predicate = terms.indexOf(triple.predicate());
+        final int object = terms.indexOf(triple.object());
+
+        return subject != -1
+                && predicate != -1
+                && object != -1
+                && find(subject, predicate, object, graph) != -1;
+    }
+
+    final boolean remove(final RdfTriple triple, final int graph) {
+
+        final int subject = terms.indexOf(triple.subject());
+        final int predicate = terms.indexOf(triple.predicate());
+        final int object = terms.indexOf(triple.object());
+
+        if (subject == -1 || predicate == -1 || object == -1) {
+            return false;
+        }
+
+        final int slot = find(subject, predicate, object, graph);
+
+        if (slot == -1) {
+            return false;
+        }
+
+        final int row = table[slot] - 1;
+
+        delete(slot);
+
+        // a removed row stays linked in the posting lists until compacted
+        subjects[row] = REMOVED;
+        size--;
+
+        subjectCounts[subject]--;
+        predicateCounts[predicate]--;
+        objectCounts[object]--;
+
+        if (--graphCounts[graph + 1] == 0 && graph != DEFAULT_GRAPH) {
+            namedGraphs.remove(terms.decode(graph));
+        }
+
+        if (rows - size > size) {
+            compact();
+        }
+        return true;
+    }
+
+    /**
+     * Drops removed rows, live rows keep their order and are linked into new
+     * posting lists.
+     */
+    final void compact() {
+
+        int live = 0;
+
+        for (int row = 0; row < rows; row++) {
+            if (subjects[row] != REMOVED) {
+                subjects[live] = subjects[row];
+                predicates[live] = predicates[row];
+                objects[live] = objects[row];
+                graphs[live] = graphs[row];
+                live++;
+            }
+        }
+
+        rows = live;
+
+        Arrays.fill(subjectHeads, 0);
+        Arrays.fill(subjectCounts, 0);
+        Arrays.fill(predicateHeads, 0);
+        Arrays.fill(predicateCounts, 0);
+        Arrays.fill(objectHeads, 0);
+        Arrays.fill(objectCounts, 0);
+        Arrays.fill(graphHeads, 0);
+        Arrays.fill(graphTails, 0);
+        Arrays.fill(graphCounts, 0);
+
+        rehash(table.length);
+
+        for (int row = 0; row < rows; row++) {
+            index(row);
+        }
+    }
+
+    final Stream<RdfQuad> match(final RdfResource subjectTerm, final RdfResource predicateTerm, final RdfTerm objectTerm, final int graph) {
+
+        final int subject = id(subjectTerm);
+        final int predicate = id(predicateTerm);
+        final int object = id(objectTerm);
+
+        if (subject == UNKNOWN || predicate == UNKNOWN || object == UNKNOWN) {
+            return Stream.empty();
+        }
+
+        // fully bound pattern
+        if (subject != ANY && predicate != ANY && object != ANY && graph != ANY) {
+            final int slot = find(subject, predicate, object, graph);
+            return slot != -1
+                    ? Stream.of(quad(table[slot] - 1))
+                    : Stream.empty();
+        }
+
+        // pick the shortest posting list
+        int head = 0;
+        int[] next = null;
+        int length = Integer.MAX_VALUE;
+
+        if (subject != ANY && subjectCounts[subject] < length) {
+            head = subjectHeads[subject];
+            next = nextBySubject;
+            length = subjectCounts[subject];
+        }
+        if (predicate != ANY && predicateCounts[predicate] < length) {
+            head = predicateHeads[predicate];
+            next = nextByPredicate;
+            length = predicateCounts[predicate];
+        }
+        if (object != ANY && objectCounts[object] < length) {
+            head = objectHeads[object];
+            next = nextByObject;
+            length = objectCounts[object];
+        }
+        if (graph != ANY && graphCounts[graph + 1] < length) {
+            head = graphHeads[graph + 1];
+            next = nextByGraph;
+            length = graphCounts[graph + 1];
+        }
+
+        if (length == 0) {
+            return Stream.empty();
+        }
+
+        final Iterator<RdfQuad> iterator = next != null
+                ? new PostingIterator(head, next, subject, predicate, object, graph)
+                : new ScanIterator();
+
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(
+                        iterator,
+                        Spliterator.DISTINCT | Spliterator.NONNULL),
+                false);
+    }
+
+    /**
+     * Removes an entry from the open-addressing table and shifts back entries of
+     * the same cluster to keep lookups correct without tombstones.
+     */
+    final void delete(int slot) {
+
+        final int mask = table.length - 1;
+
+        int next = (slot + 1) & mask;
+
+        while (table[next] != 0) {
+
+            final int row = table[next] - 1;
+            final int home = hash(subjects[row], predicates[row], objects[row], graphs[row]) & mask;
+
+            // move the entry if its home slot is not within (slot, next]
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                table[slot] = table[next];
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+        table[slot] = 0;
+    }
+
+    final boolean matches(final int row, final int subject, final int predicate, final int object, final int graph) {
+        return subjects[row] == subject
+                && predicates[row] == predicate
+                && objects[row] == object
+                && graphs[row] == graph;
+    }
+
+    final boolean matchesPattern(final int row, final int subject, final int predicate, final int object, final int graph) {
+        return subjects[row] != REMOVED
+                && (subject == ANY || subjects[row] == subject)
+                && (predicate == ANY || predicates[row] == predicate)
+                && (object == ANY || objects[row] == object)
+                && (graph == ANY || graphs[row] == graph);
+    }
+
+    final RdfQuad quad(final int row) {
+        return Quad.of(
+                terms.decode(subjects[row]).asResource(),
+                terms.decode(predicates[row]).asResource(),
+                terms.decode(objects[row]),
+                graphs[row] != DEFAULT_GRAPH
+                        ? terms.decode(graphs[row]).asResource()
+                        : null);
+    }
+
+    /**
+     * Returns the term identifier, {@link #ANY} if the term is {@code null}, or
+     * {@link #UNKNOWN} if the term is not present.
+     */
+    final int id(final RdfTerm term) {
+        if (term == null) {
+            return ANY;
+        }
+        final int id = terms.indexOf(term);
+        return id != -1 && id < subjectHeads.length
+                ? id
+                : UNKNOWN;
+    }
+
+    /**
+     * Returns the graph identifier or {@link #UNKNOWN} if the graph name is
+     * unknown.
+     */
+    final int graphId(final RdfResource graphName) {
+        if (graphName == null) {
+            return DEFAULT_GRAPH;
+        }
+        final ColumnarGraph graph = namedGraphs.get(graphName);
+        return graph != null
+                ? graph.id
+                : UNKNOWN;
+    }
+
+    final void grow() {
+        final int capacity = subjects.length << 1;
+        if (capacity < 0) {
+            throw new IllegalStateException("Dataset capacity exceeded.");
+        }
+        subjects = Arrays.copyOf(subjects, capacity);
+        predicates = Arrays.copyOf(predicates, capacity);
+        objects = Arrays.copyOf(objects, capacity);
+        graphs = Arrays.copyOf(graphs, capacity);
+        nextBySubject = Arrays.copyOf(nextBySubject, capacity);
+        nextByPredicate = Arrays.copyOf(nextByPredicate, capacity);
+        nextByObject = Arrays.copyOf(nextByObject, capacity);
+        nextByGraph = Arrays.copyOf(nextByGraph, capacity);
+    }
+
+    final void growHeads(final int minCapacity) {
+        int capacity = subjectHeads.length;
+        while (capacity < minCapacity) {
+            capacity <<= 1;
+        }
+        subjectHeads = Arrays.copyOf(subjectHeads, capacity);
+        subjectCounts = Arrays.copyOf(subjectCounts, capacity);
+        predicateHeads = Arrays.copyOf(predicateHeads, capacity);
+        predicateCounts = Arrays.copyOf(predicateCounts, capacity);
+        objectHeads = Arrays.copyOf(objectHeads, capacity);
+        objectCounts = Arrays.copyOf(objectCounts, capacity);
+        graphHeads = Arrays.copyOf(graphHeads, capacity + 1);
+        graphTails = Arrays.copyOf(graphTails, capacity + 1);
+        graphCounts = Arrays.copyOf(graphCounts, capacity + 1);
+    }
+
+    final void rehash(final int capacity) {
+        final int[] next = new int[capacity];
+        final int mask = capacity - 1;
+        for (int row = 0; row < rows; row++) {
+            if (subjects[row] == REMOVED) {
+                continue;
+            }
+            int slot = hash(subjects[row], predicates[row], objects[row], graphs[row]) & mask;
+            while (next[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            next[slot] = row + 1;
+        }
+        table = next;
+    }
+
+    static final int tableSize(final int capacity) {
+        int tableSize = 32;
+        while (tableSize < (capacity << 1)) {
+            tableSize <<= 1;
+        }
+        return tableSize;
+    }
+
+    static final int hash(final int subject, final int predicate, final int object, final int graph) {
+        int hash = subject * 0x9E3779B9;
+        hash = (hash ^ (hash >>> 15) ^ predicate) * 0x85EBCA6B;
+        hash = (hash ^ (hash >>> 13) ^ object) * 0xC2B2AE35;
+        hash = (hash ^ (hash >>> 16) ^ graph) * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Walks a posting list and returns the rows matching a pattern.
+     */
+    final class PostingIterator implements Iterator<RdfQuad> {
+
+        final int[] next;
+        final int subject;
+        final int predicate;
+        final int object;
+        final int graph;
+
+        /** the next matching row + 1, 0 = no more rows */
+        int row;
+
+        PostingIterator(int head, int[] next, int subject, int predicate, int object, int graph) {
+            this.next = next;
+            this.subject = subject;
+            this.predicate = predicate;
+            this.object = object;
+            this.graph = graph;
+            this.row = seek(head);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return row != 0;
+        }
+
+        @Override
+        public RdfQuad next() {
+            if (row == 0) {
+                throw new NoSuchElementException();
+            }
+            final RdfQuad quad = quad(row - 1);
+            row = seek(next[row - 1]);
+            return quad;
+        }
+
+        int seek(int entry) {
+            while (entry != 0 && !matchesPattern(entry - 1, subject, predicate, object, graph)) {
+                entry = next[entry - 1];
+            }
+            return entry;
+        }
+    }
+
+    /**
+     * Returns all rows, used when no position is bound.
+     */
+    final class ScanIterator implements Iterator<RdfQuad> {
+
+        int row = seek(0);
+
+        @Override
+        public boolean hasNext() {
+            return row < rows;
+        }
+
+        @Override
+        public RdfQuad next() {
+            if (row >= rows) {
+                throw new NoSuchElementException();
+            }
+            final RdfQuad quad = quad(row);
+            row = seek(row + 1);
+            return quad;
+        }
+
+        int seek(int row) {
+            while (row < rows && subjects[row] == REMOVED) {
+                row++;
+            }
+            return row;
+        }
+    }
+
+    /**
+     * A graph view backed by the dataset columns.
+     */
+    final class ColumnarGraph implements RdfGraph {
+
+        final int id;
+
+        ColumnarGraph(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean contains(final RdfTriple triple) {
+            return triple != null && ColumnarQuadDataset.this.contains(triple, id);
+        }
+
+        @Override
+        public Stream<RdfTriple> stream() {
+            return match(null, null, null);
+        }
+
+        @Override
+        public Stream<RdfTriple> match(final RdfResource subject, final RdfResource predicate, final RdfTerm object) {
+            return ColumnarQuadDataset.this.match(subject, predicate, object, id)
+                    .map(RdfTriple.class::cast);
+        }
+
+        @Override
+        public boolean add(final RdfTriple triple) {
+
+            if (triple == null) {
+                throw new IllegalArgumentException();
+            }
+
+            return ColumnarQuadDataset.this.add(
+                    terms.encode(triple.subject()),
+                    terms.encode(triple.predicate()),
+                    terms.encode(triple.object()),
+                    id);
+        }
+
+        @Override
+        public boolean remove(final RdfTriple triple) {
+            return triple != null && ColumnarQuadDataset.this.remove(triple, id);
+        }
+
+        public int size() {
+            return graphCounts[id + 1];
+        }
+    }
+}
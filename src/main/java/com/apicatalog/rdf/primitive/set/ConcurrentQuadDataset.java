@@ -0,0 +1,189 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.set;
+
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+import com.apicatalog.rdf.model.RdfDataset;
+import com.apicatalog.rdf.model.RdfGraph;
+import com.apicatalog.rdf.model.RdfQuad;
+import com.apicatalog.rdf.model.RdfQuadSet;
+import com.apicatalog.rdf.model.RdfResource;
+
+/**
+ * A thread-safe variant of {@link QuadDataset}, quads can be added and removed
+ * by many threads at once.
+ * <p>
+ * The quad set is the source of truth, a quad is added to or removed from the
+ * quad set and then mirrored to its graph. Both steps are guarded by a lock
+ * striped by quad, so changes of the same quad are never interleaved, while
+ * reads take no lock. A concurrent reader may briefly see a quad in
+ * {@link #stream()} before it appears in its graph. Iteration is weakly
+ * consistent.
+ */
+public final class ConcurrentQuadDataset extends AbstractSet<RdfQuad> implements RdfDataset, RdfQuadSet {
+
+    /** number of locks, a power of two */
+    static final int STRIPES = 64;
+
+    final Set<RdfQuad> quads;
+
+    /** locks guarding changes of quads */
+    final Object[] locks;
+
+    final ConcurrentTripleSet defaultGraph;
+
+    /** named graphs index */
+    final ConcurrentMap<RdfResource, ConcurrentTripleSet> graphs;
+
+    public ConcurrentQuadDataset() {
+        this.quads = ConcurrentHashMap.newKeySet();
+        this.graphs = new ConcurrentHashMap<>();
+        this.defaultGraph = new ConcurrentTripleSet();
+        this.locks = new Object[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    @Override
+    public RdfGraph defaultGraph() {
+        return defaultGraph;
+    }
+
+    @Override
+    public boolean add(final RdfQuad nquad) {
+
+        if (nquad == null) {
+            throw new IllegalArgumentException();
+        }
+
+        synchronized (lock(nquad)) {
+            if (quads.add(nquad)) {
+                graph(nquad, true).add(nquad);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Set<RdfResource> graphNames() {
+        return Collections.unmodifiableSet(graphs.keySet());
+    }
+
+    @Override
+    public Optional<RdfGraph> namedGraph(final RdfResource graphName) {
+        return Optional.ofNullable(graphs.get(graphName));
+    }
+
+    @Override
+    public boolean contains(RdfQuad quad) {
+        return quads.contains(quad);
+    }
+
+    @Override
+    public boolean contains(Object quad) {
+        return quads.contains(quad);
+    }
+
+    @Override
+    public Stream<RdfQuad> stream() {
+        return quads.stream();
+    }
+
+    @Override
+    public Iterator<RdfQuad> iterator() {
+
+        final Iterator<RdfQuad> it = quads.iterator();
+
+        return new Iterator<RdfQuad>() {
+
+            RdfQuad last = null;
+
+            @Override
+            public RdfQuad next() {
+                this.last = it.next();
+                return last;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public void remove() {
+                ConcurrentQuadDataset.this.remove(last);
+            }
+        };
+    }
+
+    @Override
+    public boolean remove(RdfQuad quad) {
+
+        if (quad == null) {
+            return false;
+        }
+
+        synchronized (lock(quad)) {
+            if (quads.remove(quad)) {
+                graph(quad, false).remove(quad);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean remove(Object quad) {
+        return quad instanceof RdfQuad && remove((RdfQuad) quad);
+    }
+
+    @Override
+    public int size() {
+        return quads.size();
+    }
+
+    final Object lock(final RdfQuad quad) {
+        final int hash = quad.hashCode();
+        return locks[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    final ConcurrentTripleSet graph(final RdfQuad quad, final boolean create) {
+
+        final RdfResource graphName = quad.graphName().orElse(null);
+
+        if (graphName == null) {
+            return defaultGraph;
+        }
+
+        if (create) {
+            final ConcurrentTripleSet graph = graphs.get(graphName);
+            return graph != null
+                    ? graph
+                    : graphs.computeIfAbsent(graphName, name -> new ConcurrentTripleSet());
+        }
+        return graphs.get(graphName);
+    }
+}
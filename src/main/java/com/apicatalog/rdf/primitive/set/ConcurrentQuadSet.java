@@ -0,0 +1,82 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.set;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import com.apicatalog.rdf.model.RdfQuad;
+import com.apicatalog.rdf.model.RdfQuadSet;
+
+/**
+ * A thread-safe variant of {@link QuadSet} backed by a
+ * {@link ConcurrentHashMap} key set. Iteration is weakly consistent.
+ */
+public final class ConcurrentQuadSet extends AbstractSet<RdfQuad> implements RdfQuadSet {
+
+    final Set<RdfQuad> quads;
+
+    public ConcurrentQuadSet() {
+        this.quads = ConcurrentHashMap.newKeySet();
+    }
+
+    public ConcurrentQuadSet(int initialCapacity) {
+        this.quads = ConcurrentHashMap.newKeySet(initialCapacity);
+    }
+
+    @Override
+    public Stream<RdfQuad> stream() {
+        return quads.stream();
+    }
+
+    @Override
+    public boolean contains(RdfQuad quad) {
+        return quads.contains(quad);
+    }
+
+    @Override
+    public boolean contains(Object quad) {
+        return quads.contains(quad);
+    }
+
+    @Override
+    public boolean add(RdfQuad quad) {
+        return quads.add(quad);
+    }
+
+    @Override
+    public boolean remove(RdfQuad quad) {
+        return quads.remove(quad);
+    }
+
+    @Override
+    public boolean remove(Object quad) {
+        return quads.remove(quad);
+    }
+
+    @Override
+    public Iterator<RdfQuad> iterator() {
+        return quads.iterator();
+    }
+
+    @Override
+    public int size() {
+        return quads.size();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.set;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import com.apicatalog.rdf.model.RdfGraph;
+import com.apicatalog.rdf.model.RdfTriple;
+
+/**
+ * A thread-safe variant of {@link TripleSet} backed by a
+ * {@link ConcurrentHashMap} key set. Iteration is weakly consistent.
+ */
+public final class ConcurrentTripleSet extends AbstractSet<RdfTriple> implements RdfGraph {
+
+    final Set<RdfTriple> triples;
+
+    public ConcurrentTripleSet() {
+        this.triples = ConcurrentHashMap.newKeySet();
+    }
+
+    @Override
+    public Stream<RdfTriple> stream() {
+        return triples.stream();
+    }
+
+    @Override
+    public boolean contains(RdfTriple triple) {
+        return triples.contains(triple);
+    }
+
+    @Override
+    public boolean contains(Object triple) {
+        return triples.contains(triple);
+    }
+
+    @Override
+    public boolean add(RdfTriple triple) {
+        return triples.add(triple);
+    }
+
+    @Override
+    public boolean remove(RdfTriple triple) {
+        return triples.remove(triple);
+    }
+
+    @Override
+    public boolean remove(Object triple) {
+        return triples.remove(triple);
+    }
+
+    @Override
+    public Iterator<RdfTriple> iterator() {
+        return triples.iterator();
+    }
+
+    @Override
+    public int size() {
+        return triples.size();
+    }
+}
@@ -0,0 +1,494 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.set;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.apicatalog.rdf.model.RdfDataset;
+import com.apicatalog.rdf.model.RdfGraph;
+import com.apicatalog.rdf.model.RdfQuad;
+import com.apicatalog.rdf.model.RdfQuadSet;
+import com.apicatalog.rdf.model.RdfResource;
+import com.apicatalog.rdf.model.RdfTerm;
+import com.apicatalog.rdf.model.RdfTriple;
+import com.apicatalog.rdf.primitive.IntRows;
+import com.apicatalog.rdf.primitive.Quad;
+import com.apicatalog.rdf.primitive.TermDictionary;
+import com.apicatalog.rdf.primitive.Triple;
+
+/**
+ * A compact immutable dataset, a frozen copy of another dataset or quad set.
+ * <p>
+ * Terms are kept in an array indexed by an open-addressing table, quads as
+ * rows of four term identifiers, graph, subject, predicate, and object, in a
+ * single sorted {@code int} array. A graph is a contiguous range of rows,
+ * {@link #contains(RdfQuad)} is a binary search within the range and a match
+ * with a bound subject, or subject and predicate, scans the matching rows only.
+ * {@link RdfQuad} and {@link RdfTriple} instances are materialized on demand.
+ * <p>
+ * An instance is immutable and safe to share across threads.
+ */
+public final class ImmutableQuadDataset implements RdfDataset, RdfQuadSet {
+
+    /** graph, subject, predicate, object */
+    static final int STRIDE = 4;
+
+    /** the default graph identifier, sorted first */
+    static final int DEFAULT_GRAPH = -1;
+
+    /** an identifier of a term not present in the dataset */
+    static final int UNKNOWN = -2;
+
+    /** a wildcard matching any identifier */
+    static final int ANY = -3;
+
+    /** identifier to term */
+    final RdfTerm[] terms;
+
+    /** open-addressing table, an identifier + 1, 0 = empty slot */
+    final int[] table;
+
+    /** sorted rows */
+    final int[] rows;
+
+    final int size;
+
+    final ImmutableGraph defaultGraph;
+
+    /** named graphs index */
+    final Map<RdfResource, ImmutableGraph> namedGraphs;
+
+    ImmutableQuadDataset(final RdfTerm[] terms, final int[] rows, final int size) {
+
+        this.terms = terms;
+        this.rows = rows;
+        this.size = size;
+
+        this.table = new int[tableSize(terms.length)];
+
+        final int mask = table.length - 1;
+
+        for (int id = 0; id < terms.length; id++) {
+            int slot = mix(terms[id].hashCode()) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = id + 1;
+        }
+
+        final Map<RdfResource, ImmutableGraph> graphs = new LinkedHashMap<>();
+
+        ImmutableGraph defaultGraph = new ImmutableGraph(DEFAULT_GRAPH, 0, 0);
+
+        for (int from = 0; from < size;) {
+
+            final int graph = rows[from * STRIDE];
+
+            int to = from + 1;
+            while (to < size && rows[to * STRIDE] == graph) {
+                to++;
+            }
+
+            if (graph == DEFAULT_GRAPH) {
+                defaultGraph = new ImmutableGraph(DEFAULT_GRAPH, from, to);
+
+            } else {
+                graphs.put(terms[graph].asResource(), new ImmutableGraph(graph, from, to));
+            }
+
+            from = to;
+        }
+
+        this.defaultGraph = defaultGraph;
+        this.namedGraphs = Collections.unmodifiableMap(graphs);
+    }
+
+    /**
+     * Creates an immutable copy of the given quads.
+     *
+     * @param quads quads to copy
+     * @return a new immutable dataset
+     */
+    public static ImmutableQuadDataset of(final RdfQuadSet quads) {
+
+        if (quads == null) {
+            throw new IllegalArgumentException("Quad set must not be null.");
+        }
+
+        final Builder builder = new Builder();
+
+        final Iterator<RdfQuad> it = quads.stream().iterator();
+
+        while (it.hasNext()) {
+            final RdfQuad quad = it.next();
+            builder.add(quad, quad.graphName().orElse(null));
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Creates an immutable copy of the given dataset graphs.
+     *
+     * @param dataset a dataset to copy
+     * @return a new immutable dataset
+     */
+    public static ImmutableQuadDataset ofGraphs(final RdfDataset dataset) {
+
+        if (dataset == null) {
+            throw new IllegalArgumentException("Dataset must not be null.");
+        }
+
+        final Builder builder = new Builder();
+
+        if (dataset.defaultGraph() != null) {
+            builder.add(dataset.defaultGraph(), null);
+        }
+
+        for (final RdfResource graphName : dataset.graphNames()) {
+            builder.add(dataset.namedGraph(graphName).orElseThrow(IllegalArgumentException::new), graphName);
+        }
+
+        return builder.build();
+    }
+
+    @Override
+    public RdfGraph defaultGraph() {
+        return defaultGraph;
+    }
+
+    @Override
+    public Set<RdfResource> graphNames() {
+        return namedGraphs.keySet();
+    }
+
+    @Override
+    public Optional<RdfGraph> namedGraph(final RdfResource graphName) {
+        return Optional.ofNullable(namedGraphs.get(graphName));
+    }
+
+    @Override
+    public boolean contains(final RdfQuad quad) {
+
+        if (quad == null) {
+            return false;
+        }
+
+        final RdfResource graphName = quad.graphName().orElse(null);
+
+        final ImmutableGraph graph = graphName != null
+                ? namedGraphs.get(graphName)
+                : defaultGraph;
+
+        return graph != null && graph.contains(quad);
+    }
+
+    @Override
+    public Stream<RdfQuad> stream() {
+        return IntStream.range(0, size).mapToObj(this::quad);
+    }
+
+    @Override
+    public Stream<RdfQuad> match(final RdfResource subject, final RdfResource predicate, final RdfTerm object, final RdfResource graphName) {
+
+        if (graphName != null) {
+            final ImmutableGraph graph = namedGraphs.get(graphName);
+            return graph != null
+                    ? graph.rows(subject, predicate, object).mapToObj(this::quad)
+                    : Stream.empty();
+        }
+
+        return Stream.concat(Stream.of(defaultGraph), namedGraphs.values().stream())
+                .flatMap(graph -> graph.rows(subject, predicate, object).mapToObj(this::quad));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    final RdfQuad quad(final int row) {
+        final int offset = row * STRIDE;
+        final int graph = rows[offset];
+        return Quad.of(
+                terms[rows[offset + 1]].asResource(),
+                terms[rows[offset + 2]].asResource(),
+                terms[rows[offset + 3]],
+                graph != DEFAULT_GRAPH
+                        ? terms[graph].asResource()
+                        : null);
+    }
+
+    final RdfTriple triple(final int row) {
+        final int offset = row * STRIDE;
+        return Triple.of(
+                terms[rows[offset + 1]].asResource(),
+                terms[rows[offset + 2]].asResource(),
+                terms[rows[offset + 3]]);
+    }
+
+    /**
+     * Returns rows present in the other dataset. Term identifiers are translated
+     * once per term, rows are then compared as integers.
+     */
+    final BitSet rowsIn(final ImmutableQuadDataset other) {
+
+        final int[] translated = new int[terms.length];
+
+        for (int id = 0; id < terms.length; id++) {
+            translated[id] = other.id(terms[id]);
+        }
+
+        final BitSet present = new BitSet(size);
+        final int[] key = new int[STRIDE];
+
+        next: for (int row = 0; row < size; row++) {
+
+            final int offset = row * STRIDE;
+
+            for (int column = 0; column < STRIDE; column++) {
+
+                final int id = rows[offset + column];
+
+                key[column] = id != DEFAULT_GRAPH
+                        ? translated[id]
+                        : DEFAULT_GRAPH;
+
+                if (key[column] == UNKNOWN) {
+                    continue next;
+                }
+            }
+
+            final int found = IntRows.lowerBound(other.rows, STRIDE, 0, other.size, key, STRIDE);
+
+            if (found < other.size && IntRows.compare(other.rows, STRIDE, found, key, STRIDE) == 0) {
+                present.set(row);
+            }
+        }
+        return present;
+    }
+
+    /**
+     * Returns quads of the rows set, or not set, in the given bits.
+     */
+    final Stream<RdfQuad> rows(final BitSet bits, final boolean set) {
+        return IntStream.range(0, size)
+                .filter(row -> bits.get(row) == set)
+                .mapToObj(this::quad);
+    }
+
+    /**
+     * Returns the identifier of the given term or {@link #UNKNOWN}.
+     */
+    final int id(final RdfTerm term) {
+
+        final int mask = table.length - 1;
+
+        for (int slot = mix(term.hashCode()) & mask;; slot = (slot + 1) & mask) {
+            final int entry = table[slot];
+            if (entry == 0) {
+                return UNKNOWN;
+            }
+            if (terms[entry - 1].equals(term)) {
+                return entry - 1;
+            }
+        }
+    }
+
+    static final int tableSize(final int capacity) {
+        int size = 16;
+        while (size < capacity * 2) {
+            size <<= 1;
+        }
+        return size;
+    }
+
+    static final int mix(final int hash) {
+        final int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Collects rows of interned term identifiers.
+     */
+    static final class Builder {
+
+        final TermDictionary dictionary;
+
+        int[] rows;
+
+        int count;
+
+        Builder() {
+            this.dictionary = new TermDictionary();
+            this.rows = new int[1024 * STRIDE];
+            this.count = 0;
+        }
+
+        void add(final RdfGraph graph, final RdfResource graphName) {
+            final Iterator<RdfTriple> it = graph.stream().iterator();
+            while (it.hasNext()) {
+                add(it.next(), graphName);
+            }
+        }
+
+        void add(final RdfTriple triple, final RdfResource graphName) {
+
+            if ((count + 1) * STRIDE > rows.length) {
+                rows = Arrays.copyOf(rows, rows.length * 2);
+            }
+
+            final int offset = count * STRIDE;
+
+            rows[offset] = graphName != null
+                    ? dictionary.encode(graphName)
+                    : DEFAULT_GRAPH;
+            rows[offset + 1] = dictionary.encode(triple.subject());
+            rows[offset + 2] = dictionary.encode(triple.predicate());
+            rows[offset + 3] = dictionary.encode(triple.object());
+
+            count++;
+        }
+
+        ImmutableQuadDataset build() {
+
+            IntRows.sort(rows, STRIDE, count);
+
+            final int size = IntRows.distinct(rows, STRIDE, count);
+
+            final RdfTerm[] terms = new RdfTerm[dictionary.size()];
+
+            for (int id = 0; id < terms.length; id++) {
+                terms[id] = dictionary.decode(id);
+            }
+
+            return new ImmutableQuadDataset(terms, Arrays.copyOf(rows, size * STRIDE), size);
+        }
+    }
+
+    /**
+     * A graph view, a range of rows.
+     */
+    final class ImmutableGraph implements RdfGraph {
+
+        final int id;
+        final int from;
+        final int to;
+
+        ImmutableGraph(final int id, final int from, final int to) {
+            this.id = id;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean contains(final RdfTriple triple) {
+
+            if (triple == null) {
+                return false;
+            }
+
+            final int subject = id(triple.subject());
+            if (subject == UNKNOWN) {
+                return false;
+            }
+            final int predicate = id(triple.predicate());
+            if (predicate == UNKNOWN) {
+                return false;
+            }
+            final int object = id(triple.object());
+            if (object == UNKNOWN) {
+                return false;
+            }
+
+            final int[] key = new int[] { id, subject, predicate, object };
+
+            final int row = IntRows.lowerBound(rows, STRIDE, from, to, key, STRIDE);
+
+            return row < to && IntRows.compare(rows, STRIDE, row, key, STRIDE) == 0;
+        }
+
+        @Override
+        public Stream<RdfTriple> stream() {
+            return IntStream.range(from, to).mapToObj(ImmutableQuadDataset.this::triple);
+        }
+
+        @Override
+        public Stream<RdfTriple> match(final RdfResource subject, final RdfResource predicate, final RdfTerm object) {
+            return rows(subject, predicate, object).mapToObj(ImmutableQuadDataset.this::triple);
+        }
+
+        public int size() {
+            return to - from;
+        }
+
+        /**
+         * Returns the rows matching the pattern, a bound subject, or subject and
+         * predicate, narrow the range by binary search.
+         */
+        IntStream rows(final RdfResource subject, final RdfResource predicate, final RdfTerm object) {
+
+            final int[] key = new int[] { id, ANY, ANY, ANY };
+
+            for (int column = 1; column < STRIDE; column++) {
+                final RdfTerm term = column == 1 ? subject : column == 2 ? predicate : object;
+                if (term != null) {
+                    key[column] = id(term);
+                    if (key[column] == UNKNOWN) {
+                        return IntStream.empty();
+                    }
+                }
+            }
+
+            // the longest bound prefix
+            int bound = 1;
+            while (bound < STRIDE && key[bound] != ANY) {
+                bound++;
+            }
+
+            final int prefix = bound;
+
+            final int low = IntRows.lowerBound(rows, STRIDE, from, to, key, prefix);
+            final int high = IntRows.upperBound(rows, STRIDE, low, to, key, prefix);
+
+            if (prefix == STRIDE) {
+                return IntStream.range(low, high);
+            }
+
+            return IntStream.range(low, high)
+                    .filter(row -> {
+                        for (int column = prefix; column < STRIDE; column++) {
+                            if (key[column] != ANY && rows[row * STRIDE + column] != key[column]) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    });
+        }
+    }
+}
@@ -15,6 +15,7 @@
  */
 package com.apicatalog.rdf.primitive.set;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
@@ -28,15 +29,25 @@ import com.apicatalog.rdf.model.RdfGraph;
 import com.apicatalog.rdf.model.RdfQuad;
 import com.apicatalog.rdf.model.RdfQuadSet;
 import com.apicatalog.rdf.model.RdfResource;
-
+import com.apicatalog.rdf.model.RdfTerm;
+import com.apicatalog.rdf.model.RdfTriple;
+import com.apicatalog.rdf.primitive.Quad;
+
+/**
+ * A linked hash set of quads indexed by graph, keeping the insertion order.
+ * <p>
+ * {@link #match(RdfResource, RdfResource, RdfTerm, RdfResource)} matches
+ * graphs separately, a pattern with a bound subject or predicate uses indexes
+ * of the graphs, see {@link OrderedTripleSet}.
+ */
 public final class OrderedQuadDataset extends LinkedHashSet<RdfQuad> implements RdfDataset, RdfQuadSet {
 
     private static final long serialVersionUID = 1506212509200399718L;
 
-    final RdfGraph defaultGraph;
+    final OrderedTripleSet defaultGraph;
 
     /** named graphs index */
-    final Map<RdfResource, RdfGraph> graphs;
+    final Map<RdfResource, OrderedTripleSet> graphs;
 
     public OrderedQuadDataset() {
         this.graphs = new HashMap<>();
@@ -59,7 +70,7 @@ public final class OrderedQuadDataset extends LinkedHashSet<RdfQuad> implements
 
         if (graphName.isPresent()) {
 
-            RdfGraph graph = graphs.get(graphName.get());
+            OrderedTripleSet graph = graphs.get(graphName.get());
 
             if (graph == null) {
 
@@ -105,6 +116,16 @@ public final class OrderedQuadDataset extends LinkedHashSet<RdfQuad> implements
         return super.stream();
     }
 
+    @Override
+    public Stream<RdfQuad> match(final RdfResource subject, final RdfResource predicate, final RdfTerm object, final RdfResource graphName) {
+
+        if (subject == null && predicate == null && graphName == null) {
+            return RdfQuadSet.super.match(subject, predicate, object, null);
+        }
+
+        return TripleIndex.match(defaultGraph, graphs, subject, predicate, object, graphName);
+    }
+
     @Override
     public Iterator<RdfQuad> iterator() {
 
@@ -141,6 +162,122 @@ public final class OrderedQuadDataset extends LinkedHashSet<RdfQuad> implements
 
     @Override
     public boolean remove(RdfQuad quad) {
-        return super.remove(quad);
+        return remove((Object) quad);
+    }
+
+    @Override
+    public boolean remove(Object quad) {
+
+        if (quad instanceof RdfQuad && super.remove(quad)) {
+
+            final Optional<RdfResource> graphName = ((RdfQuad) quad).graphName();
+
+            if (graphName.isPresent()) {
+                graphs.get(graphName.get()).remove(quad);
+
+            } else {
+                defaultGraph.remove(quad);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> quads) {
+
+        if (quads == this) {
+            final boolean modified = !isEmpty();
+            clear();
+            return modified;
+        }
+
+        boolean modified = false;
+
+        for (final Object quad : quads) {
+            modified |= remove(quad);
+        }
+        return modified;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        defaultGraph.clear();
+        // views of named graphs obtained earlier are emptied too
+        graphs.values().forEach(OrderedTripleSet::clear);
+        graphs.clear();
+    }
+
+    /**
+     * Removes all quads of the given graph in a single pass over the graph, a
+     * named graph is removed from {@link #graphNames()}.
+     *
+     * @param graphName a graph to remove, {@code null} for the default graph
+     * @return {@code true} if the dataset has changed
+     */
+    public boolean removeGraph(final RdfResource graphName) {
+
+        final OrderedTripleSet graph = graphName != null
+                ? graphs.remove(graphName)
+                : defaultGraph;
+
+        if (graph == null) {
+            return false;
+        }
+
+        for (final RdfTriple quad : graph) {
+            super.remove(quad);
+        }
+
+        // a view of the graph obtained earlier is emptied too
+        final boolean modified = graphName != null || !graph.isEmpty();
+        graph.clear();
+        return modified;
+    }
+
+    /**
+     * Replaces the given graph with triples of the given graph, existing quads
+     * of the graph are removed in a single pass.
+     *
+     * @param graphName a graph to replace, {@code null} for the default graph
+     * @param graph     triples of the new graph
+     * @return this dataset
+     */
+    public OrderedQuadDataset replaceGraph(final RdfResource graphName, final RdfGraph graph) {
+
+        if (graph == null) {
+            throw new IllegalArgumentException("Graph must not be null.");
+        }
+
+        final OrderedTripleSet existing = graphName != null ? graphs.get(graphName) : defaultGraph;
+
+        if (graph == existing) {
+            return this;
+        }
+
+        removeGraph(graphName);
+
+        // a view of the graph obtained earlier shows the new triples
+        if (graphName != null) {
+            graphs.put(graphName, existing != null ? existing : new OrderedTripleSet());
+        }
+
+        graph.stream().forEach(triple -> add(Quad.of(
+                triple.subject(),
+                triple.predicate(),
+                triple.object(),
+                graphName)));
+
+        return this;
+    }
+
+    /**
+     * Returns a view recording changes of this dataset.
+     *
+     * @return a new tracking dataset
+     */
+    public TrackingQuadDataset track() {
+        return TrackingQuadDataset.of(this);
     }
 }
@@ -15,16 +15,29 @@
  */
 package com.apicatalog.rdf.primitive.set;
 
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.stream.Stream;
 
 import com.apicatalog.rdf.model.RdfGraph;
+import com.apicatalog.rdf.model.RdfResource;
+import com.apicatalog.rdf.model.RdfTerm;
 import com.apicatalog.rdf.model.RdfTriple;
 
+/**
+ * A linked hash set of triples keeping the insertion order.
+ * <p>
+ * {@link #match(RdfResource, RdfResource, RdfTerm)} with a bound subject or
+ * predicate walks indexes built by the first such match, matches keep the
+ * insertion order, see {@link TripleSet}.
+ */
 public final class OrderedTripleSet extends LinkedHashSet<RdfTriple> implements RdfGraph {
 
     private static final long serialVersionUID = 3719269032259156466L;
 
+    /** triples by subject and by predicate, {@code null} until the first match */
+    transient TripleIndex index;
+
     @Override
     public Stream<RdfTriple> stream() {
         return super.stream();
@@ -35,8 +48,87 @@ public final class OrderedTripleSet extends LinkedHashSet<RdfTriple> implements
         return super.contains(triple);
     }
 
+    @Override
+    public boolean add(RdfTriple triple) {
+        if (super.add(triple)) {
+            if (index != null) {
+                index.add(triple);
+            }
+            return true;
+        }
+        return false;
+    }
+
     @Override
     public boolean remove(RdfTriple triple) {
-        return super.remove(triple);
+        return remove((Object) triple);
+    }
+
+    @Override
+    public boolean remove(Object triple) {
+        if (super.remove(triple)) {
+            if (index != null) {
+                index.remove((RdfTriple) triple);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        index = null;
+    }
+
+    @Override
+    public Iterator<RdfTriple> iterator() {
+
+        final Iterator<RdfTriple> it = super.iterator();
+
+        return new Iterator<RdfTriple>() {
+
+            RdfTriple last = null;
+
+            @Override
+            public RdfTriple next() {
+                this.last = it.next();
+                return last;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public void remove() {
+                it.remove();
+                if (index != null) {
+                    index.remove(last);
+                }
+            }
+        };
+    }
+
+    @Override
+    public Stream<RdfTriple> match(final RdfResource subject, final RdfResource predicate, final RdfTerm object) {
+
+        if (subject == null && predicate == null) {
+            return RdfGraph.super.match(subject, predicate, object);
+        }
+
+        if (index == null) {
+            index = new TripleIndex(this, true);
+        }
+
+        return index.match(subject, predicate, object);
+    }
+
+    @Override
+    public OrderedTripleSet clone() {
+        final OrderedTripleSet clone = (OrderedTripleSet) super.clone();
+        clone.index = null;
+        return clone;
     }
 }
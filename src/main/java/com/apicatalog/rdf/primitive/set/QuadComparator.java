@@ -0,0 +1,245 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.set;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import com.apicatalog.rdf.model.RdfLiteral;
+import com.apicatalog.rdf.model.RdfQuad;
+import com.apicatalog.rdf.model.RdfResource;
+import com.apicatalog.rdf.model.RdfTerm;
+import com.apicatalog.rdf.model.RdfTriple;
+import com.apicatalog.rdf.primitive.Literal;
+import com.apicatalog.rdf.primitive.Quad;
+
+/**
+ * Orders quads by their graph name, subject, predicate, and object in a given
+ * component order, e.g. {@code GSPO}.
+ * <p>
+ * Terms are ordered by kind, IRIs first, then blank nodes, literals, and triple
+ * terms. IRIs and blank nodes are ordered by their value, literals by their
+ * lexical value, datatype, language, and direction, triple terms by their
+ * components. The default graph precedes all named graphs.
+ */
+public final class QuadComparator implements Comparator<RdfQuad> {
+
+    static final int GRAPH = 0;
+    static final int SUBJECT = 1;
+    static final int PREDICATE = 2;
+    static final int OBJECT = 3;
+
+    /** graph, subject, predicate, object */
+    public static final QuadComparator GSPO = of("GSPO");
+
+    /** subject, predicate, object, graph */
+    public static final QuadComparator SPOG = of("SPOG");
+
+    /** component indices in comparison order */
+    final int[] order;
+
+    final String name;
+
+    QuadComparator(final int[] order, final String name) {
+        this.order = order;
+        this.name = name;
+    }
+
+    /**
+     * Creates a comparator for the given component order, a permutation of
+     * {@code G}, {@code S}, {@code P}, and {@code O}.
+     *
+     * @param order a component order, e.g. {@code "SPOG"}
+     * @return a new comparator
+     */
+    public static QuadComparator of(final String order) {
+
+        if (order == null) {
+            throw new IllegalArgumentException("Order must not be null.");
+        }
+
+        if (order.length() != 4) {
+            throw new IllegalArgumentException("Order must be a permutation of GSPO, but was [" + order + "].");
+        }
+
+        final int[] components = new int[4];
+        final boolean[] seen = new boolean[4];
+
+        for (int index = 0; index < 4; index++) {
+
+            final int component = "GSPO".indexOf(Character.toUpperCase(order.charAt(index)));
+
+            if (component == -1 || seen[component]) {
+                throw new IllegalArgumentException("Order must be a permutation of GSPO, but was [" + order + "].");
+            }
+
+            seen[component] = true;
+            components[index] = component;
+        }
+
+        return new QuadComparator(components, order.toUpperCase());
+    }
+
+    @Override
+    public int compare(final RdfQuad a, final RdfQuad b) {
+        for (final int component : order) {
+            final int result = compareTerms(component(a, component), component(b, component));
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Compares two terms, {@code null} precedes any term.
+     *
+     * @param a a term or {@code null}
+     * @param b a term or {@code null}
+     * @return a negative integer, zero, or a positive integer as the first term
+     *         is less than, equal to, or greater than the second
+     */
+    public static int compareTerms(final RdfTerm a, final RdfTerm b) {
+
+        if (a == b) {
+            return 0;
+        }
+        if (a == null) {
+            return -1;
+        }
+        if (b == null) {
+            return 1;
+        }
+
+        final int kind = kind(a) - kind(b);
+
+        if (kind != 0) {
+            return kind;
+        }
+
+        if (a.isResource()) {
+            return a.asResource().value().compareTo(b.asResource().value());
+        }
+
+        if (a.isLiteral()) {
+            return compareLiterals(a.asLiteral(), b.asLiteral());
+        }
+
+        final RdfTriple x = a.asTriple();
+        final RdfTriple y = b.asTriple();
+
+        int result = compareTerms(x.subject(), y.subject());
+        if (result != 0) {
+            return result;
+        }
+        result = compareTerms(x.predicate(), y.predicate());
+        if (result != 0) {
+            return result;
+        }
+        return compareTerms(x.object(), y.object());
+    }
+
+    static int compareLiterals(final RdfLiteral a, final RdfLiteral b) {
+
+        int result = a.lexicalValue().compareTo(b.lexicalValue());
+        if (result != 0) {
+            return result;
+        }
+
+        result = a.datatype().compareTo(b.datatype());
+        if (result != 0) {
+            return result;
+        }
+
+        result = compareNullable(language(a), language(b));
+        if (result != 0) {
+            return result;
+        }
+
+        return compareNullable(direction(a), direction(b));
+    }
+
+    static <T extends Comparable<T>> int compareNullable(final T a, final T b) {
+        if (a == b) {
+            return 0;
+        }
+        if (a == null) {
+            return -1;
+        }
+        if (b == null) {
+            return 1;
+        }
+        return a.compareTo(b);
+    }
+
+    static int kind(final RdfTerm term) {
+        if (term.isResource()) {
+            return term.asResource().isBlank() ? 1 : 0;
+        }
+        if (term.isLiteral()) {
+            return 2;
+        }
+        return 3;
+    }
+
+    static String language(final RdfLiteral literal) {
+        return literal instanceof Literal
+                ? ((Literal) literal).languageOrNull()
+                : literal.language().orElse(null);
+    }
+
+    static RdfLiteral.Direction direction(final RdfLiteral literal) {
+        return literal instanceof Literal
+                ? ((Literal) literal).directionOrNull()
+                : literal.direction().orElse(null);
+    }
+
+    static RdfTerm component(final RdfQuad quad, final int component) {
+        switch (component) {
+        case GRAPH:
+            return graphName(quad);
+        case SUBJECT:
+            return quad.subject();
+        case PREDICATE:
+            return quad.predicate();
+        default:
+            return quad.object();
+        }
+    }
+
+    static RdfResource graphName(final RdfQuad quad) {
+        return quad instanceof Quad
+                ? ((Quad) quad).graphNameOrNull()
+                : quad.graphName().orElse(null);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        return this == obj
+                || obj instanceof QuadComparator
+                        && Arrays.equals(order, ((QuadComparator) obj).order);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(order);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
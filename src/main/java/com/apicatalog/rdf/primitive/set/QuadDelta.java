@@ -0,0 +1,106 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.set;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import com.apicatalog.rdf.model.RdfQuad;
+import com.apicatalog.rdf.model.RdfQuadSet;
+
+/**
+ * Quads added and removed since a checkpoint, in order of the changes.
+ * <p>
+ * Changes cancel each other, a quad added and then removed, or removed and
+ * then added back, is not recorded at all, so a delta never grows beyond the
+ * number of quads actually changed.
+ *
+ * @see TrackingQuadDataset#checkpoint()
+ */
+public final class QuadDelta {
+
+    final Set<RdfQuad> added;
+    final Set<RdfQuad> removed;
+
+    QuadDelta() {
+        this.added = new LinkedHashSet<>();
+        this.removed = new LinkedHashSet<>();
+    }
+
+    void added(final RdfQuad quad) {
+        if (!removed.remove(quad)) {
+            added.add(quad);
+        }
+    }
+
+    void removed(final RdfQuad quad) {
+        if (!added.remove(quad)) {
+            removed.add(quad);
+        }
+    }
+
+    /**
+     * Returns quads added since the checkpoint.
+     *
+     * @return a read-only view
+     */
+    public RdfQuadSet added() {
+        return view(added);
+    }
+
+    /**
+     * Returns quads removed since the checkpoint.
+     *
+     * @return a read-only view
+     */
+    public RdfQuadSet removed() {
+        return view(removed);
+    }
+
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty();
+    }
+
+    /**
+     * Returns the number of changes, added and removed quads.
+     *
+     * @return the number of changes
+     */
+    public int size() {
+        return added.size() + removed.size();
+    }
+
+    static RdfQuadSet view(final Set<RdfQuad> quads) {
+        return new RdfQuadSet() {
+
+            @Override
+            public Stream<RdfQuad> stream() {
+                return quads.stream();
+            }
+
+            @Override
+            public boolean contains(RdfQuad quad) {
+                return quads.contains(quad);
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "QuadDelta[added=" + added.size() + ", removed=" + removed.size() + "]";
+    }
+}
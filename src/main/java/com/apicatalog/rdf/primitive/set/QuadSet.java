@@ -39,4 +39,13 @@ public final class QuadSet extends HashSet<RdfQuad> implements RdfQuadSet {
     public boolean remove(RdfQuad quad) {
         return super.remove(quad);
     }
+
+    /**
+     * Returns a compact immutable copy of this set.
+     *
+     * @return a new immutable dataset
+     */
+    public ImmutableQuadDataset freeze() {
+        return ImmutableQuadDataset.of(this);
+    }
 }
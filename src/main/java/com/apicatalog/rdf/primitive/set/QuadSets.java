@@ -0,0 +1,263 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.set;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.apicatalog.rdf.model.RdfQuad;
+import com.apicatalog.rdf.model.RdfQuadSet;
+import com.apicatalog.rdf.primitive.TermDictionary;
+
+/**
+ * Set operations between quad sets, results are lazy streams.
+ * <p>
+ * Two {@link SortedQuadDataset}s of the same order are merged in a single pass
+ * and the result is ordered. Two {@link ImmutableQuadDataset}s are compared
+ * row by row as integers, terms are translated once per distinct term. Two
+ * {@link ColumnarQuadDataset}s sharing a {@link TermDictionary} are compared
+ * by identifiers without any term lookup. Other sets are streamed and probed
+ * with {@link RdfQuadSet#contains(RdfQuad)}.
+ */
+public final class QuadSets {
+
+    static final int LEFT = 1;
+    static final int BOTH = 2;
+    static final int RIGHT = 4;
+
+    private QuadSets() {
+    }
+
+    /**
+     * Returns quads present in either of the sets.
+     *
+     * @param a a quad set
+     * @param b a quad set
+     * @return a stream of distinct quads
+     */
+    public static Stream<RdfQuad> union(final RdfQuadSet a, final RdfQuadSet b) {
+        return apply(a, b, LEFT | BOTH | RIGHT);
+    }
+
+    /**
+     * Returns quads present in both sets.
+     *
+     * @param a a quad set
+     * @param b a quad set
+     * @return a stream of distinct quads
+     */
+    public static Stream<RdfQuad> intersection(final RdfQuadSet a, final RdfQuadSet b) {
+        return apply(a, b, BOTH);
+    }
+
+    /**
+     * Returns quads of the first set not present in the second set.
+     *
+     * @param a a quad set
+     * @param b a quad set to subtract
+     * @return a stream of distinct quads
+     */
+    public static Stream<RdfQuad> difference(final RdfQuadSet a, final RdfQuadSet b) {
+        return apply(a, b, LEFT);
+    }
+
+    /**
+     * Returns quads present in exactly one of the sets.
+     *
+     * @param a a quad set
+     * @param b a quad set
+     * @return a stream of distinct quads
+     */
+    public static Stream<RdfQuad> symmetricDifference(final RdfQuadSet a, final RdfQuadSet b) {
+        return apply(a, b, LEFT | RIGHT);
+    }
+
+    static Stream<RdfQuad> apply(final RdfQuadSet a, final RdfQuadSet b, final int mode) {
+
+        if (a == null) {
+            throw new IllegalArgumentException("Quad set must not be null.");
+        }
+        if (b == null) {
+            throw new IllegalArgumentException("Quad set must not be null.");
+        }
+
+        if (a instanceof SortedQuadDataset
+                && b instanceof SortedQuadDataset
+                && ((SortedQuadDataset) a).comparator().equals(((SortedQuadDataset) b).comparator())) {
+            return merge((SortedQuadDataset) a, (SortedQuadDataset) b, mode);
+        }
+
+        if (a instanceof ImmutableQuadDataset && b instanceof ImmutableQuadDataset) {
+            return rows((ImmutableQuadDataset) a, (ImmutableQuadDataset) b, mode);
+        }
+
+        if (a instanceof ColumnarQuadDataset
+                && b instanceof ColumnarQuadDataset
+                && ((ColumnarQuadDataset) a).terms() == ((ColumnarQuadDataset) b).terms()) {
+            return rows((ColumnarQuadDataset) a, (ColumnarQuadDataset) b, mode);
+        }
+
+        Stream<RdfQuad> stream = Stream.empty();
+
+        if ((mode & (LEFT | BOTH)) == (LEFT | BOTH)) {
+            stream = a.stream();
+
+        } else if ((mode & LEFT) != 0) {
+            stream = a.stream().filter(quad -> !b.contains(quad));
+
+        } else if ((mode & BOTH) != 0) {
+            stream = a.stream().filter(b::contains);
+        }
+
+        if ((mode & RIGHT) != 0) {
+            stream = Stream.concat(stream, b.stream().filter(quad -> !a.contains(quad)));
+        }
+
+        return stream;
+    }
+
+    static Stream<RdfQuad> rows(final ImmutableQuadDataset a, final ImmutableQuadDataset b, final int mode) {
+
+        Stream<RdfQuad> stream = Stream.empty();
+
+        if ((mode & (LEFT | BOTH)) == (LEFT | BOTH)) {
+            stream = a.stream();
+
+        } else if ((mode & (LEFT | BOTH)) != 0) {
+            stream = a.rows(a.rowsIn(b), (mode & BOTH) != 0);
+        }
+
+        if ((mode & RIGHT) != 0) {
+            stream = Stream.concat(stream, b.rows(b.rowsIn(a), false));
+        }
+
+        return stream;
+    }
+
+    static Stream<RdfQuad> rows(final ColumnarQuadDataset a, final ColumnarQuadDataset b, final int mode) {
+
+        Stream<RdfQuad> stream = Stream.empty();
+
+        if ((mode & (LEFT | BOTH)) == (LEFT | BOTH)) {
+            stream = a.stream();
+
+        } else if ((mode & (LEFT | BOTH)) != 0) {
+            stream = a.rows(b, (mode & BOTH) != 0);
+        }
+
+        if ((mode & RIGHT) != 0) {
+            stream = Stream.concat(stream, b.rows(a, false));
+        }
+
+        return stream;
+    }
+
+    static Stream<RdfQuad> merge(final SortedQuadDataset a, final SortedQuadDataset b, final int mode) {
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(
+                        new MergeIterator(a.quads.iterator(), b.quads.iterator(), a.comparator(), mode),
+                        Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL),
+                false);
+    }
+
+    /**
+     * Merges two ordered iterators, emits quads of the sides selected by the
+     * mode.
+     */
+    static final class MergeIterator implements Iterator<RdfQuad> {
+
+        final Iterator<RdfQuad> left;
+        final Iterator<RdfQuad> right;
+        final QuadComparator comparator;
+        final int mode;
+
+        RdfQuad a;
+        RdfQuad b;
+
+        RdfQuad next;
+
+        MergeIterator(final Iterator<RdfQuad> left, final Iterator<RdfQuad> right, final QuadComparator comparator, final int mode) {
+            this.left = left;
+            this.right = right;
+            this.comparator = comparator;
+            this.mode = mode;
+            this.a = left.hasNext() ? left.next() : null;
+            this.b = right.hasNext() ? right.next() : null;
+            this.next = advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public RdfQuad next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            final RdfQuad quad = next;
+            next = advance();
+            return quad;
+        }
+
+        RdfQuad advance() {
+
+            while (a != null || b != null) {
+
+                final int order = a == null
+                        ? 1
+                        : b == null
+                                ? -1
+                                : comparator.compare(a, b);
+
+                final RdfQuad quad;
+                final int side;
+
+                if (order < 0) {
+                    quad = a;
+                    side = LEFT;
+                    a = left.hasNext() ? left.next() : null;
+
+                } else if (order > 0) {
+                    quad = b;
+                    side = RIGHT;
+                    b = right.hasNext() ? right.next() : null;
+
+                } else {
+                    quad = a;
+                    side = BOTH;
+                    a = left.hasNext() ? left.next() : null;
+                    b = right.hasNext() ? right.next() : null;
+                }
+
+                if ((mode & side) != 0) {
+                    return quad;
+                }
+
+                // nothing more to emit from the remaining side
+                if ((a == null && (mode & RIGHT) == 0) || (b == null && (mode & LEFT) == 0)) {
+                    return null;
+                }
+            }
+            return null;
+        }
+    }
+}
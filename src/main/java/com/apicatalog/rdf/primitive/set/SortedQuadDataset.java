@@ -0,0 +1,404 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.set;
+
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.apicatalog.rdf.model.RdfDataset;
+import com.apicatalog.rdf.model.RdfGraph;
+import com.apicatalog.rdf.model.RdfQuad;
+import com.apicatalog.rdf.model.RdfQuadSet;
+import com.apicatalog.rdf.model.RdfResource;
+import com.apicatalog.rdf.model.RdfTerm;
+import com.apicatalog.rdf.model.RdfTriple;
+import com.apicatalog.rdf.primitive.Quad;
+
+/**
+ * A dataset keeping quads sorted by a {@link QuadComparator}, {@link #stream()}
+ * and {@link #iterator()} return quads in order without sorting.
+ * <p>
+ * {@link #match(RdfResource, RdfResource, RdfTerm, RdfResource)} seeks to the
+ * first quad of the longest bound prefix of the component order and stops at
+ * the end of the range, e.g. with {@link QuadComparator#SPOG} all quads of a
+ * subject are a single range scan. Matched quads are returned in order too, so
+ * two sorted streams can be merge-joined. {@link #from(RdfQuad)} returns an
+ * ordered stream starting at a given quad.
+ * <p>
+ * An emptied named graph is hidden from {@link #graphNames()}, a view of the
+ * graph obtained earlier stays valid and shows quads added to the graph later.
+ */
+public final class SortedQuadDataset extends AbstractSet<RdfQuad> implements RdfDataset, RdfQuadSet {
+
+    final QuadComparator comparator;
+
+    final TreeSet<RdfQuad> quads;
+
+    final SortedGraph defaultGraph;
+
+    /** named graphs index, including emptied graphs */
+    final Map<RdfResource, SortedGraph> graphs;
+
+    /** names of non-empty named graphs */
+    final Set<RdfResource> graphNames;
+
+    public SortedQuadDataset() {
+        this(QuadComparator.GSPO);
+    }
+
+    public SortedQuadDataset(final QuadComparator comparator) {
+
+        if (comparator == null) {
+            throw new IllegalArgumentException("Comparator must not be null.");
+        }
+
+        this.comparator = comparator;
+        this.quads = new TreeSet<>(comparator);
+        this.graphs = new HashMap<>();
+        this.graphNames = new HashSet<>();
+        this.defaultGraph = new SortedGraph(null);
+    }
+
+    /**
+     * Returns the comparator defining the order of quads.
+     *
+     * @return the comparator
+     */
+    public QuadComparator comparator() {
+        return comparator;
+    }
+
+    @Override
+    public RdfGraph defaultGraph() {
+        return defaultGraph;
+    }
+
+    @Override
+    public boolean add(final RdfQuad nquad) {
+
+        if (nquad == null) {
+            throw new IllegalArgumentException();
+        }
+
+        if (quads.add(nquad)) {
+            final RdfResource graphName = QuadComparator.graphName(nquad);
+            if (graph(graphName, true).size++ == 0 && graphName != null) {
+                graphNames.add(graphName);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public Set<RdfResource> graphNames() {
+        return Collections.unmodifiableSet(graphNames);
+    }
+
+    @Override
+    public Optional<RdfGraph> namedGraph(final RdfResource graphName) {
+        return graphNames.contains(graphName)
+                ? Optional.of(graphs.get(graphName))
+                : Optional.empty();
+    }
+
+    @Override
+    public boolean contains(RdfQuad quad) {
+        return quad != null && quads.contains(quad);
+    }
+
+    @Override
+    public boolean contains(Object quad) {
+        return quad instanceof RdfQuad && contains((RdfQuad) quad);
+    }
+
+    @Override
+    public Stream<RdfQuad> stream() {
+        return quads.stream();
+    }
+
+    @Override
+    public Iterator<RdfQuad> iterator() {
+
+        final Iterator<RdfQuad> it = quads.iterator();
+
+        return new Iterator<RdfQuad>() {
+
+            RdfQuad last = null;
+
+            @Override
+            public RdfQuad next() {
+                this.last = it.next();
+                return last;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public void remove() {
+                it.remove();
+                removed(last);
+            }
+        };
+    }
+
+    @Override
+    public boolean remove(RdfQuad quad) {
+        if (quad != null && quads.remove(quad)) {
+            removed(quad);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean remove(Object quad) {
+        return quad instanceof RdfQuad && remove((RdfQuad) quad);
+    }
+
+    @Override
+    public void clear() {
+        quads.clear();
+        graphNames.clear();
+        graphs.values().forEach(graph -> graph.size = 0);
+        defaultGraph.size = 0;
+    }
+
+    @Override
+    public int size() {
+        return quads.size();
+    }
+
+    @Override
+    public Stream<RdfQuad> match(final RdfResource subject, final RdfResource predicate, final RdfTerm object, final RdfResource graphName) {
+        return scan(subject, predicate, object, graphName, graphName != null);
+    }
+
+    /**
+     * Returns an ordered stream of quads starting at the given quad, inclusive.
+     *
+     * @param quad the first quad, need not be present in the dataset
+     * @return an ordered stream of quads
+     */
+    public Stream<RdfQuad> from(final RdfQuad quad) {
+
+        if (quad == null) {
+            throw new IllegalArgumentException("Quad must not be null.");
+        }
+
+        return quads.tailSet(quad, true).stream();
+    }
+
+    final Stream<RdfQuad> scan(final RdfResource subject, final RdfResource predicate, final RdfTerm object, final RdfResource graphName, final boolean graphBound) {
+
+        final Bound bound = new Bound(subject, predicate, object, graphName);
+
+        final boolean[] bounds = new boolean[] { graphBound, subject != null, predicate != null, object != null };
+
+        // the longest bound prefix in the comparator order
+        int prefix = 0;
+        while (prefix < comparator.order.length && bounds[comparator.order[prefix]]) {
+            prefix++;
+        }
+
+        final Iterator<RdfQuad> range = new RangeIterator(
+                quads.tailSet(bound, true).iterator(),
+                bound,
+                prefix);
+
+        Stream<RdfQuad> stream = StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(range, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL),
+                false);
+
+        // components bound past the prefix
+        for (int index = prefix; index < comparator.order.length; index++) {
+            final int component = comparator.order[index];
+            if (bounds[component]) {
+                final RdfTerm term = QuadComparator.component(bound, component);
+                stream = stream.filter(quad -> QuadComparator.compareTerms(term, QuadComparator.component(quad, component)) == 0);
+            }
+        }
+
+        return stream;
+    }
+
+    final SortedGraph graph(final RdfResource graphName, final boolean create) {
+
+        if (graphName == null) {
+            return defaultGraph;
+        }
+
+        SortedGraph graph = graphs.get(graphName);
+
+        if (graph == null && create) {
+            graph = new SortedGraph(graphName);
+            graphs.put(graphName, graph);
+        }
+        return graph;
+    }
+
+    final void removed(final RdfQuad quad) {
+
+        final RdfResource graphName = QuadComparator.graphName(quad);
+        final SortedGraph graph = graph(graphName, false);
+
+        if (graph != null && --graph.size == 0 && graphName != null) {
+            graphNames.remove(graphName);
+        }
+    }
+
+    /**
+     * Iterates until a quad differs from the bound prefix.
+     */
+    final class RangeIterator implements Iterator<RdfQuad> {
+
+        final Iterator<RdfQuad> it;
+        final Bound bound;
+        final int prefix;
+
+        RdfQuad next;
+
+        RangeIterator(final Iterator<RdfQuad> it, final Bound bound, final int prefix) {
+            this.it = it;
+            this.bound = bound;
+            this.prefix = prefix;
+            this.next = advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public RdfQuad next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            final RdfQuad quad = next;
+            next = advance();
+            return quad;
+        }
+
+        RdfQuad advance() {
+
+            if (!it.hasNext()) {
+                return null;
+            }
+
+            final RdfQuad quad = it.next();
+
+            for (int index = 0; index < prefix; index++) {
+                final int component = comparator.order[index];
+                if (QuadComparator.compareTerms(
+                        QuadComparator.component(bound, component),
+                        QuadComparator.component(quad, component)) != 0) {
+                    return null;
+                }
+            }
+            return quad;
+        }
+    }
+
+    /**
+     * A graph view, quads of the graph are a range if the graph name leads the
+     * comparator order, otherwise quads are filtered.
+     */
+    final class SortedGraph implements RdfGraph {
+
+        final RdfResource graphName;
+
+        int size;
+
+        SortedGraph(final RdfResource graphName) {
+            this.graphName = graphName;
+            this.size = 0;
+        }
+
+        @Override
+        public boolean contains(final RdfTriple triple) {
+            return triple != null
+                    && quads.contains(Quad.of(triple.subject(), triple.predicate(), triple.object(), graphName));
+        }
+
+        @Override
+        public Stream<RdfTriple> stream() {
+            return match(null, null, null);
+        }
+
+        @Override
+        public Stream<RdfTriple> match(final RdfResource subject, final RdfResource predicate, final RdfTerm object) {
+            return scan(subject, predicate, object, graphName, true).map(RdfTriple.class::cast);
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * A search key, unbound components are {@code null} and precede any term.
+     */
+    static final class Bound implements RdfQuad {
+
+        final RdfResource subject;
+        final RdfResource predicate;
+        final RdfTerm object;
+        final RdfResource graphName;
+
+        Bound(final RdfResource subject, final RdfResource predicate, final RdfTerm object, final RdfResource graphName) {
+            this.subject = subject;
+            this.predicate = predicate;
+            this.object = object;
+            this.graphName = graphName;
+        }
+
+        @Override
+        public RdfResource subject() {
+            return subject;
+        }
+
+        @Override
+        public RdfResource predicate() {
+            return predicate;
+        }
+
+        @Override
+        public RdfTerm object() {
+            return object;
+        }
+
+        @Override
+        public Optional<RdfResource> graphName() {
+            return Optional.ofNullable(graphName);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.set;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.apicatalog.rdf.model.RdfDataset;
+import com.apicatalog.rdf.model.RdfGraph;
+import com.apicatalog.rdf.model.RdfQuad;
+import com.apicatalog.rdf.model.RdfQuadSet;
+import com.apicatalog.rdf.model.RdfResource;
+import com.apicatalog.rdf.model.RdfTerm;
+import com.apicatalog.rdf.model.RdfTriple;
+import com.apicatalog.rdf.primitive.Quad;
+
+/**
+ * A mutable dataset recording changes made through {@link #add(RdfQuad)} and
+ * {@link #remove(RdfQuad)} since the last {@link #checkpoint()}.
+ * <p>
+ * Graphs and graph names are read-only views, all changes must go through the
+ * dataset to be tracked. The wrapped dataset is not exposed and must not be
+ * modified directly.
+ */
+public final class TrackingQuadDataset implements RdfDataset, RdfQuadSet {
+
+    final RdfDataset dataset;
+    final RdfQuadSet quads;
+
+    QuadDelta delta;
+
+    TrackingQuadDataset(final RdfDataset dataset, final RdfQuadSet quads) {
+        this.dataset = dataset;
+        this.quads = quads;
+        this.delta = new QuadDelta();
+    }
+
+    /**
+     * Starts tracking changes of the given mutable dataset.
+     *
+     * @param <T>     a dataset type
+     * @param dataset a dataset to track
+     * @return a new tracking dataset
+     */
+    public static <T extends RdfDataset & RdfQuadSet> TrackingQuadDataset of(final T dataset) {
+
+        if (dataset == null) {
+            throw new IllegalArgumentException("Dataset must not be null.");
+        }
+
+        return new TrackingQuadDataset(dataset, dataset);
+    }
+
+    /**
+     * Returns changes recorded since the last checkpoint and starts recording a
+     * new delta.
+     *
+     * @return changes since the last checkpoint
+     */
+    public QuadDelta checkpoint() {
+        final QuadDelta changes = delta;
+        delta = new QuadDelta();
+        return changes;
+    }
+
+    /**
+     * Returns changes recorded since the last checkpoint, the delta is updated
+     * by subsequent changes until the next checkpoint.
+     *
+     * @return changes since the last checkpoint
+     */
+    public QuadDelta delta() {
+        return delta;
+    }
+
+    @Override
+    public boolean add(final RdfQuad quad) {
+        if (quads.add(quad)) {
+            delta.added(quad);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean remove(final RdfQuad quad) {
+        if (quads.remove(quad)) {
+            delta.removed(quad);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(final RdfQuad quad) {
+        return quads.contains(quad);
+    }
+
+    @Override
+    public Stream<RdfQuad> stream() {
+        return quads.stream();
+    }
+
+    @Override
+    public Stream<RdfQuad> match(final RdfResource subject, final RdfResource predicate, final RdfTerm object, final RdfResource graphName) {
+        return quads.match(subject, predicate, object, graphName);
+    }
+
+    @Override
+    public RdfGraph defaultGraph() {
+        final RdfGraph graph = dataset.defaultGraph();
+        return graph != null
+                ? new ReadOnlyGraph(graph)
+                : null;
+    }
+
+    @Override
+    public Set<RdfResource> graphNames() {
+        return Collections.unmodifiableSet(dataset.graphNames());
+    }
+
+    @Override
+    public Optional<RdfGraph> namedGraph(final RdfResource graphName) {
+        return dataset.namedGraph(graphName).map(ReadOnlyGraph::new);
+    }
+
+    /**
+     * Removes all quads of the given graph, each removal is recorded.
+     *
+     * @param graphName a graph to remove, {@code null} for the default graph
+     * @return {@code true} if the dataset has changed
+     */
+    public boolean removeGraph(final RdfResource graphName) {
+
+        final RdfGraph graph = graphName != null
+                ? dataset.namedGraph(graphName).orElse(null)
+                : dataset.defaultGraph();
+
+        if (graph == null) {
+            return false;
+        }
+
+        // collect first, the graph is backed by the dataset
+        final List<RdfQuad> removed = graph.stream()
+                .map(triple -> Quad.of(triple.subject(), triple.predicate(), triple.object(), graphName))
+                .collect(Collectors.toList());
+
+        boolean modified = false;
+
+        for (final RdfQuad quad : removed) {
+            modified |= remove(quad);
+        }
+        return modified;
+    }
+
+    /**
+     * Replaces the given graph with triples of the given graph, only quads
+     * actually removed or added are recorded.
+     *
+     * @param graphName a graph to replace, {@code null} for the default graph
+     * @param graph     triples of the new graph
+     * @return this dataset
+     */
+    public TrackingQuadDataset replaceGraph(final RdfResource graphName, final RdfGraph graph) {
+
+        if (graph == null) {
+            throw new IllegalArgumentException("Graph must not be null.");
+        }
+
+        final List<RdfQuad> added = graph.stream()
+                .map(triple -> Quad.of(triple.subject(), triple.predicate(), triple.object(), graphName))
+                .collect(Collectors.toList());
+
+        removeGraph(graphName);
+
+        for (final RdfQuad quad : added) {
+            add(quad);
+        }
+        return this;
+    }
+
+    static final class ReadOnlyGraph implements RdfGraph {
+
+        final RdfGraph graph;
+
+        ReadOnlyGraph(final RdfGraph graph) {
+            this.graph = graph;
+        }
+
+        @Override
+        public boolean contains(final RdfTriple triple) {
+            return graph.contains(triple);
+        }
+
+        @Override
+        public Stream<RdfTriple> stream() {
+            return graph.stream();
+        }
+
+        @Override
+        public Stream<RdfTriple> match(final RdfResource subject, final RdfResource predicate, final RdfTerm object) {
+            return graph.match(subject, predicate, object);
+        }
+    }
+}
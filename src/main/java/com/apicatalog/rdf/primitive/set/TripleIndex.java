@@ -0,0 +1,125 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.set;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import com.apicatalog.rdf.model.RdfGraph;
+import com.apicatalog.rdf.model.RdfQuad;
+import com.apicatalog.rdf.model.RdfResource;
+import com.apicatalog.rdf.model.RdfTerm;
+import com.apicatalog.rdf.model.RdfTriple;
+import com.apicatalog.rdf.primitive.Quad;
+
+/**
+ * Subject and predicate indexes of a graph, shared by {@link TripleSet} and
+ * {@link OrderedTripleSet}, and matching of datasets keeping a set of triples
+ * per graph, {@link QuadDataset} and {@link OrderedQuadDataset}.
+ */
+final class TripleIndex {
+
+    /** keeps the insertion order of indexed triples */
+    final boolean ordered;
+
+    /** triples by subject and by predicate */
+    final Map<RdfResource, Set<RdfTriple>> subjects;
+    final Map<RdfResource, Set<RdfTriple>> predicates;
+
+    TripleIndex(final Iterable<RdfTriple> triples, final boolean ordered) {
+        this.ordered = ordered;
+        this.subjects = new HashMap<>();
+        this.predicates = new HashMap<>();
+        for (final RdfTriple triple : triples) {
+            add(triple);
+        }
+    }
+
+    void add(final RdfTriple triple) {
+        subjects.computeIfAbsent(triple.subject(), key -> ordered ? new LinkedHashSet<>() : new HashSet<>()).add(triple);
+        predicates.computeIfAbsent(triple.predicate(), key -> ordered ? new LinkedHashSet<>() : new HashSet<>()).add(triple);
+    }
+
+    void remove(final RdfTriple triple) {
+        remove(subjects, triple.subject(), triple);
+        remove(predicates, triple.predicate(), triple);
+    }
+
+    /**
+     * Matches triples with a bound subject or predicate.
+     */
+    Stream<RdfTriple> match(final RdfResource subject, final RdfResource predicate, final RdfTerm object) {
+
+        Set<RdfTriple> candidates = subject != null
+                ? subjects.get(subject)
+                : null;
+
+        if (predicate != null && (subject == null || candidates != null)) {
+            final Set<RdfTriple> byPredicate = predicates.get(predicate);
+            if (candidates == null || byPredicate == null || byPredicate.size() < candidates.size()) {
+                candidates = byPredicate;
+            }
+        }
+
+        if (candidates == null) {
+            return Stream.empty();
+        }
+
+        return candidates.stream().filter(triple -> (subject == null || subject.equals(triple.subject()))
+                && (predicate == null || predicate.equals(triple.predicate()))
+                && (object == null || object.equals(triple.object())));
+    }
+
+    static void remove(final Map<RdfResource, Set<RdfTriple>> index, final RdfResource key, final RdfTriple triple) {
+        final Set<RdfTriple> triples = index.get(key);
+        if (triples != null && triples.remove(triple) && triples.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    /**
+     * Matches graphs of a dataset separately, a pattern without a bound
+     * subject, predicate or graph name is left to the caller.
+     */
+    static Stream<RdfQuad> match(final RdfGraph defaultGraph, final Map<RdfResource, ? extends RdfGraph> graphs, final RdfResource subject, final RdfResource predicate, final RdfTerm object, final RdfResource graphName) {
+
+        if (graphName != null) {
+            final RdfGraph graph = graphs.get(graphName);
+            return graph != null
+                    ? match(graph, graphName, subject, predicate, object)
+                    : Stream.empty();
+        }
+
+        return Stream.concat(
+                match(defaultGraph, null, subject, predicate, object),
+                graphs.entrySet().stream().flatMap(graph -> match(graph.getValue(), graph.getKey(), subject, predicate, object)));
+    }
+
+    /**
+     * Matches a graph, a triple added through a graph view becomes a quad of
+     * the graph.
+     */
+    static Stream<RdfQuad> match(final RdfGraph graph, final RdfResource graphName, final RdfResource subject, final RdfResource predicate, final RdfTerm object) {
+        return graph.match(subject, predicate, object)
+                .map(triple -> triple instanceof RdfQuad
+                        ? (RdfQuad) triple
+                        : Quad.of(triple.subject(), triple.predicate(), triple.object(), graphName));
+    }
+}
@@ -0,0 +1,312 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.store;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Supplier;
+
+import com.apicatalog.rdf.api.RdfConsumerException;
+import com.apicatalog.rdf.api.RdfQuadConsumer;
+import com.apicatalog.rdf.model.RdfDataset;
+import com.apicatalog.rdf.model.RdfGraph;
+import com.apicatalog.rdf.model.RdfLiteral.Direction;
+import com.apicatalog.rdf.model.RdfQuadSet;
+import com.apicatalog.rdf.model.RdfResource;
+import com.apicatalog.rdf.model.RdfTerm;
+import com.apicatalog.rdf.primitive.LangString;
+import com.apicatalog.rdf.primitive.Quad;
+import com.apicatalog.rdf.primitive.Resource;
+import com.apicatalog.rdf.primitive.Triple;
+import com.apicatalog.rdf.primitive.TypedLiteral;
+import com.apicatalog.rdf.primitive.flow.QuadEmitter;
+
+/**
+ * Reads a dataset written by {@link BinaryQuadWriter}.
+ * <p>
+ * Terms are decoded once, each quad is then assembled from the decoded terms
+ * without any parsing.
+ */
+public final class BinaryQuadReader implements Closeable {
+
+    final DataInputStream input;
+
+    public BinaryQuadReader(final InputStream input) {
+        if (input == null) {
+            throw new IllegalArgumentException("Input must not be null.");
+        }
+        this.input = new DataInputStream(new BufferedInputStream(input, 64 * 1024));
+    }
+
+    /**
+     * Adds the read quads to the given set.
+     *
+     * @param quads a set to populate
+     * @return the number of read quads
+     * @throws IOException if the input cannot be read or is not valid
+     */
+    public int read(final RdfQuadSet quads) throws IOException {
+
+        if (quads == null) {
+            throw new IllegalArgumentException("Quad set must not be null.");
+        }
+
+        try {
+            return read(new Visitor() {
+
+                RdfResource graphName;
+
+                @Override
+                public void graph(RdfResource graphName) {
+                    this.graphName = graphName;
+                }
+
+                @Override
+                public void triple(RdfResource subject, RdfResource predicate, RdfTerm object) {
+                    quads.add(Quad.of(subject, predicate, object, graphName));
+                }
+            });
+
+        } catch (RdfConsumerException e) {
+            // never thrown, no consumer involved
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Sets the read graphs to the given dataset, e.g. a
+     * {@link com.apicatalog.rdf.primitive.set.GraphDataset}.
+     *
+     * @param dataset a dataset to populate
+     * @param graphs  a supplier of empty mutable graphs
+     * @return the number of read quads
+     * @throws IOException if the input cannot be read or is not valid
+     */
+    public int read(final RdfDataset dataset, final Supplier<? extends RdfGraph> graphs) throws IOException {
+
+        if (dataset == null) {
+            throw new IllegalArgumentException("Dataset must not be null.");
+        }
+        if (graphs == null) {
+            throw new IllegalArgumentException("Graph supplier must not be null.");
+        }
+
+        try {
+            return read(new Visitor() {
+
+                RdfGraph graph;
+
+                @Override
+                public void graph(RdfResource graphName) {
+                    graph = graphs.get();
+                    if (graphName == null) {
+                        dataset.defaultGraph(graph);
+                    } else {
+                        dataset.namedGraph(graphName, graph);
+                    }
+                }
+
+                @Override
+                public void triple(RdfResource subject, RdfResource predicate, RdfTerm object) {
+                    graph.add(Triple.of(subject, predicate, object));
+                }
+            });
+
+        } catch (RdfConsumerException e) {
+            // never thrown, no consumer involved
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Emits the read quads to the given consumer.
+     *
+     * @param consumer a consumer
+     * @return the number of read quads
+     * @throws IOException          if the input cannot be read or is not valid
+     * @throws RdfConsumerException if the consumer fails
+     */
+    public int provide(final RdfQuadConsumer consumer) throws IOException, RdfConsumerException {
+
+        if (consumer == null) {
+            throw new IllegalArgumentException("Consumer must not be null.");
+        }
+
+        return read(new Visitor() {
+
+            RdfResource graphName;
+
+            @Override
+            public void graph(RdfResource graphName) {
+                this.graphName = graphName;
+            }
+
+            @Override
+            public void triple(RdfResource subject, RdfResource predicate, RdfTerm object) throws RdfConsumerException {
+                QuadEmitter.emit(consumer, subject, predicate, object, graphName);
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+
+    interface Visitor {
+
+        void graph(RdfResource graphName);
+
+        void triple(RdfResource subject, RdfResource predicate, RdfTerm object) throws RdfConsumerException;
+    }
+
+    final int read(final Visitor visitor) throws IOException, RdfConsumerException {
+
+        if (input.readInt() != BinaryQuadWriter.MAGIC) {
+            throw new IOException("Not a binary dataset, an invalid magic number.");
+        }
+
+        final int version = VarInts.read(input);
+
+        if (version != BinaryQuadWriter.VERSION) {
+            throw new IOException("An unsupported binary dataset version [" + version + "], expected [" + BinaryQuadWriter.VERSION + "].");
+        }
+
+        final String[] labels = new String[VarInts.read(input)];
+
+        for (int index = 0; index < labels.length; index++) {
+            labels[index] = VarInts.readString(input);
+        }
+
+        final RdfTerm[] terms = new RdfTerm[VarInts.read(input)];
+
+        for (int id = 0; id < terms.length; id++) {
+            terms[id] = readTerm(terms, id, labels);
+        }
+
+        final int graphs = VarInts.read(input);
+
+        int quads = 0;
+
+        for (int index = 0; index < graphs; index++) {
+
+            final int graph = VarInts.read(input) - 1;
+
+            visitor.graph(graph != -1 ? term(terms, graph).asResource() : null);
+
+            final int rows = VarInts.read(input);
+
+            int subject = 0;
+            int predicate = 0;
+            int object = 0;
+
+            for (int row = 0; row < rows; row++) {
+
+                final int delta = VarInts.read(input);
+
+                subject += delta;
+
+                if (row == 0 || delta != 0) {
+                    predicate = VarInts.read(input);
+                    object = VarInts.read(input);
+
+                } else {
+                    final int predicateDelta = VarInts.read(input);
+
+                    if (predicateDelta != 0) {
+                        predicate += predicateDelta;
+                        object = VarInts.read(input);
+
+                    } else {
+                        object += VarInts.read(input) + 1;
+                    }
+                }
+
+                visitor.triple(
+                        term(terms, subject).asResource(),
+                        term(terms, predicate).asResource(),
+                        term(terms, object));
+            }
+
+            quads += rows;
+        }
+
+        final int expected = VarInts.read(input);
+
+        if (expected != quads || input.readInt() != BinaryQuadWriter.MAGIC) {
+            throw new IOException("A corrupted binary dataset, expected [" + expected + "] quads but read [" + quads + "].");
+        }
+
+        return quads;
+    }
+
+    final RdfTerm readTerm(final RdfTerm[] terms, final int id, final String[] labels) throws IOException {
+
+        final byte kind = input.readByte();
+
+        switch (kind) {
+        case BinaryQuadWriter.IRI:
+            return Resource.createIRI(VarInts.readString(input));
+
+        case BinaryQuadWriter.BLANK_NODE:
+            return Resource.createBlankNode(VarInts.readString(input));
+
+        case BinaryQuadWriter.LITERAL: {
+            final String lexicalValue = VarInts.readString(input);
+            return TypedLiteral.of(lexicalValue, label(labels, VarInts.read(input)));
+        }
+
+        case BinaryQuadWriter.LANG_STRING: {
+            final String lexicalValue = VarInts.readString(input);
+            final String datatype = label(labels, VarInts.read(input));
+            final int language = VarInts.read(input);
+            final byte direction = input.readByte();
+            return LangString.of(
+                    lexicalValue,
+                    datatype,
+                    language > 0 ? label(labels, language - 1) : null,
+                    direction > 0 ? Direction.values()[direction - 1] : null);
+        }
+
+        case BinaryQuadWriter.TRIPLE: {
+            final RdfTerm subject = term(terms, VarInts.read(input));
+            final RdfTerm predicate = term(terms, VarInts.read(input));
+            final RdfTerm object = term(terms, VarInts.read(input));
+            return Triple.of(subject.asResource(), predicate.asResource(), object);
+        }
+
+        default:
+            throw new IOException("An unknown term kind [" + kind + "] of term [" + id + "].");
+        }
+    }
+
+    static RdfTerm term(final RdfTerm[] terms, final int id) throws IOException {
+        if (id < 0 || id >= terms.length || terms[id] == null) {
+            throw new IOException("A term identifier [" + id + "] is out of range [0, " + terms.length + ").");
+        }
+        return terms[id];
+    }
+
+    static String label(final String[] labels, final int index) throws IOException {
+        if (index < 0 || index >= labels.length) {
+            throw new IOException("A label index [" + index + "] is out of range [0, " + labels.length + ").");
+        }
+        return labels[index];
+    }
+}
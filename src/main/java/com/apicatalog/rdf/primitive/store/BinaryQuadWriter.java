@@ -0,0 +1,842 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.store;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import com.apicatalog.rdf.api.RdfConsumerException;
+import com.apicatalog.rdf.api.RdfQuadConsumer;
+import com.apicatalog.rdf.model.RdfDataset;
+import com.apicatalog.rdf.model.RdfGraph;
+import com.apicatalog.rdf.model.RdfLiteral;
+import com.apicatalog.rdf.model.RdfLiteral.Direction;
+import com.apicatalog.rdf.model.RdfQuad;
+import com.apicatalog.rdf.model.RdfQuadSet;
+import com.apicatalog.rdf.model.RdfResource;
+import com.apicatalog.rdf.model.RdfTerm;
+import com.apicatalog.rdf.model.RdfTriple;
+import com.apicatalog.rdf.primitive.IntRows;
+import com.apicatalog.rdf.primitive.Literal;
+import com.apicatalog.rdf.primitive.Quad;
+import com.apicatalog.rdf.primitive.TermDictionary;
+
+/**
+ * Writes a dataset in a compact binary format read by {@link BinaryQuadReader}.
+ * <p>
+ * The format, all integers are variable length encoded:
+ *
+ * <pre>
+ * header   magic "TRDF", version
+ * labels   count, datatypes and language tags as UTF-8 strings
+ * terms    count, a kind and a payload per term, identifiers are positions
+ *            IRI, blank node  value
+ *            literal          lexical value, datatype label
+ *            lang string      lexical value, datatype label, language label + 1, direction
+ *            triple           subject, predicate, object identifiers
+ * graphs   count, a section per graph
+ *            graph identifier + 1, 0 = the default graph, a number of rows,
+ *            rows sorted by subject, predicate, object, delta encoded
+ * footer   a number of quads, magic "TRDF"
+ * index    fixed size, a term record offset per term, 8 bytes each, and
+ *            per graph its identifier + 1, a section offset, a number of rows
+ * trailer  fixed size, a number of terms, graphs, the index offset, magic "TRDX"
+ * </pre>
+ *
+ * A row starts with a subject delta, a predicate and an object follow as
+ * identifiers if the subject differs from the previous row, otherwise as a
+ * predicate delta followed by an object identifier, or, if the predicate is the
+ * same too, by an object delta.
+ * <p>
+ * Offsets are relative to the start of the document, the index and the
+ * trailer allow random access by {@link MappedBinaryDataset}, a sequential
+ * reader stops at the footer.
+ * <p>
+ * Term identifiers are positions in the terms section, which precedes the
+ * graphs, so all terms are dictionary encoded on the heap before the first
+ * byte is written. Rows of graph, subject, predicate and object identifiers,
+ * 16 bytes per quad, are buffered up to a run size. A writer created with a
+ * directory sorts a full buffer and spills it to a temporary file as a run,
+ * runs are merged, at most {@link #MAX_FAN_IN} at once, when the document is
+ * written, so heap use is proportional to the number of distinct terms and the
+ * run size. A writer without a directory keeps all rows on the heap.
+ * <p>
+ * Quads received as a {@link RdfQuadConsumer} are written as a document by
+ * {@link #finish()}. Temporary files are removed when a document is written
+ * and by {@link #close()}.
+ */
+public final class BinaryQuadWriter implements RdfQuadConsumer, Closeable {
+
+    static final int MAGIC = 0x54524446;
+    static final int VERSION = 1;
+
+    static final int INDEX_MAGIC = 0x54524458;
+
+    /** terms, graphs, index offset, magic */
+    static final int TRAILER_BYTES = 4 + 4 + 8 + 4;
+
+    static final byte IRI = 1;
+    static final byte BLANK_NODE = 2;
+    static final byte LITERAL = 3;
+    static final byte LANG_STRING = 4;
+    static final byte TRIPLE = 5;
+
+    public static final int DEFAULT_RUN_SIZE = 1 << 20;
+
+    static final int MAX_FAN_IN = 64;
+
+    /** a row of graph identifier + 1, subject, predicate, object */
+    static final int STRIDE = 4;
+
+    final CountingOutputStream counter;
+
+    final DataOutputStream output;
+
+    /** a directory for runs or {@code null} to keep rows on the heap */
+    final Path directory;
+
+    final int runSize;
+
+    /** quads received as a consumer, {@code null} if none */
+    Sections pending;
+
+    /**
+     * Creates a new writer keeping all rows on the heap.
+     *
+     * @param output an output
+     */
+    public BinaryQuadWriter(final OutputStream output) {
+        this(output, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a new writer spilling runs of {@link #DEFAULT_RUN_SIZE} quads.
+     *
+     * @param output    an output
+     * @param directory a directory for temporary files, {@code null} to keep
+     *                  all rows on the heap
+     */
+    public BinaryQuadWriter(final OutputStream output, final Path directory) {
+        this(output, directory, DEFAULT_RUN_SIZE);
+    }
+
+    /**
+     * Creates a new writer.
+     *
+     * @param output    an output
+     * @param directory a directory for temporary files, {@code null} to keep
+     *                  all rows on the heap
+     * @param runSize   a number of quads kept in memory before a run is spilled
+     */
+    public BinaryQuadWriter(final OutputStream output, final Path directory, final int runSize) {
+        if (output == null) {
+            throw new IllegalArgumentException("Output must not be null.");
+        }
+        if (runSize <= 0) {
+            throw new IllegalArgumentException("Run size must be a positive number, but was [" + runSize + "].");
+        }
+        this.counter = new CountingOutputStream(new BufferedOutputStream(output, 64 * 1024));
+        this.output = new DataOutputStream(counter);
+        this.directory = directory;
+        this.runSize = runSize;
+        this.pending = null;
+    }
+
+    /**
+     * Writes the given dataset graph by graph.
+     *
+     * @param dataset a dataset to write
+     * @return this writer
+     * @throws IOException if the output cannot be written
+     */
+    public BinaryQuadWriter write(final RdfDataset dataset) throws IOException {
+
+        if (dataset == null) {
+            throw new IllegalArgumentException("Dataset must not be null.");
+        }
+
+        try (final Sections sections = sections()) {
+
+            if (dataset.defaultGraph() != null) {
+                sections.add(dataset.defaultGraph(), null);
+            }
+
+            for (final RdfResource graphName : dataset.graphNames()) {
+                sections.add(dataset.namedGraph(graphName).orElseThrow(IllegalArgumentException::new), graphName);
+            }
+
+            sections.write(output, counter);
+        }
+        output.flush();
+        return this;
+    }
+
+    /**
+     * Writes the given quads grouped by graph.
+     *
+     * @param quads quads to write
+     * @return this writer
+     * @throws IOException if the output cannot be written
+     */
+    public BinaryQuadWriter write(final RdfQuadSet quads) throws IOException {
+
+        if (quads == null) {
+            throw new IllegalArgumentException("Quad set must not be null.");
+        }
+
+        try (final Sections sections = sections()) {
+
+            final Iterator<RdfQuad> it = quads.stream().iterator();
+
+            while (it.hasNext()) {
+                final RdfQuad quad = it.next();
+                sections.add(quad, quad instanceof Quad
+                        ? ((Quad) quad).graphNameOrNull()
+                        : quad.graphName().orElse(null));
+            }
+
+            sections.write(output, counter);
+        }
+        output.flush();
+        return this;
+    }
+
+    @Override
+    public RdfQuadConsumer quad(String subject, String predicate, String object, String datatype, String language, String direction, String graph) throws RdfConsumerException {
+
+        if (pending == null) {
+            pending = sections();
+        }
+
+        final TermDictionary dictionary = pending.dictionary;
+
+        final RdfTerm value;
+
+        if (language != null || direction != null) {
+            value = dictionary.createLangString(object, datatype, language, direction(direction));
+
+        } else if (datatype != null) {
+            value = dictionary.createLiteral(object, datatype);
+
+        } else {
+            value = resource(dictionary, object);
+        }
+
+        try {
+            pending.add(
+                    graph != null ? dictionary.indexOf(resource(dictionary, graph)) : -1,
+                    dictionary.indexOf(resource(dictionary, subject)),
+                    dictionary.indexOf(resource(dictionary, predicate)),
+                    dictionary.indexOf(value));
+
+        } catch (IOException e) {
+            throw new RdfConsumerException("Cannot spill a sorted run to [" + directory + "].", e);
+        }
+        return this;
+    }
+
+    /**
+     * Writes quads received by {@link #quad(String, String, String, String, String, String, String)}
+     * since the last document as a new document, grouped by graph.
+     *
+     * @return this writer
+     * @throws IOException if the output or a run cannot be written
+     */
+    public BinaryQuadWriter finish() throws IOException {
+
+        try (final Sections sections = pending != null ? pending : sections()) {
+            pending = null;
+            sections.write(output, counter);
+        }
+        output.flush();
+        return this;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (pending != null) {
+                pending.close();
+                pending = null;
+            }
+        } finally {
+            output.close();
+        }
+    }
+
+    final Sections sections() {
+        return new Sections(directory, runSize);
+    }
+
+    static RdfResource resource(final TermDictionary dictionary, final String name) {
+        if (RdfQuadConsumer.isBlank(name)) {
+            return dictionary.createBlankNode(name.substring(2));
+        }
+        return dictionary.createIRI(name);
+    }
+
+    static Direction direction(final String direction) {
+        if (direction == null) {
+            return null;
+        }
+        if ("ltr".equals(direction)) {
+            return Direction.LTR;
+        }
+        if ("rtl".equals(direction)) {
+            return Direction.RTL;
+        }
+        return Direction.valueOf(direction.toUpperCase());
+    }
+
+    /**
+     * Dictionary encoded graphs collected before writing.
+     */
+    static final class Sections implements Closeable {
+
+        final TermDictionary dictionary;
+
+        /** graph identifiers + 1 of written sections, 0 = the default graph */
+        final BitSet graphs;
+
+        final Path directory;
+
+        final int runSize;
+
+        /** buffered rows, allocated on demand up to the run size */
+        int[] rows;
+
+        int size;
+
+        final List<Path> runs;
+
+        Sections(final Path directory, final int runSize) {
+            this.dictionary = new TermDictionary();
+            this.graphs = new BitSet();
+            this.directory = directory;
+            this.runSize = runSize;
+            this.rows = new int[0];
+            this.size = 0;
+            this.runs = new ArrayList<>();
+        }
+
+        void add(final RdfGraph graph, final RdfResource graphName) throws IOException {
+
+            final int graphId = graphName != null ? dictionary.encode(graphName) : -1;
+
+            // an empty graph has a section too
+            graphs.set(graphId + 1);
+
+            final Iterator<RdfTriple> it = graph.stream().iterator();
+            while (it.hasNext()) {
+                add(it.next(), graphId);
+            }
+        }
+
+        void add(final RdfTriple triple, final RdfResource graphName) throws IOException {
+            add(triple, graphName != null ? dictionary.encode(graphName) : -1);
+        }
+
+        void add(final RdfTriple triple, final int graph) throws IOException {
+            add(graph,
+                    dictionary.encode(triple.subject()),
+                    dictionary.encode(triple.predicate()),
+                    dictionary.encode(triple.object()));
+        }
+
+        void add(final int graph, final int subject, final int predicate, final int object) throws IOException {
+
+            if (size == runSize && directory != null) {
+                spill();
+            }
+
+            if ((size + 1) * STRIDE > rows.length) {
+                rows = Arrays.copyOf(rows, (int) Math.min(
+                        Math.max(64L, (long) size * 2) * STRIDE,
+                        Math.min((long) runSize, Integer.MAX_VALUE / STRIDE) * STRIDE));
+            }
+
+            final int offset = size * STRIDE;
+
+            rows[offset] = graph + 1;
+            rows[offset + 1] = subject;
+            rows[offset + 2] = predicate;
+            rows[offset + 3] = object;
+
+            graphs.set(graph + 1);
+            size++;
+        }
+
+        /**
+         * Sorts buffered rows and writes unique ones as a run.
+         */
+        void spill() throws IOException {
+
+            IntRows.sort(rows, STRIDE, size);
+            final int unique = IntRows.distinct(rows, STRIDE, size);
+
+            final Path run = Files.createTempFile(directory, "rows", ".run");
+            runs.add(run);
+
+            try (final RunWriter writer = new RunWriter(Files.newOutputStream(run))) {
+                for (int row = 0; row < unique; row++) {
+                    writer.write(rows, row * STRIDE);
+                }
+            }
+            size = 0;
+        }
+
+        /**
+         * Returns a source of sorted unique rows, merges runs into a single run
+         * if rows have been spilled.
+         */
+        RowSource rows() throws IOException {
+
+            if (runs.isEmpty()) {
+                IntRows.sort(rows, STRIDE, size);
+                size = IntRows.distinct(rows, STRIDE, size);
+                return () -> new RowCursor() {
+
+                    int index = -1;
+
+                    @Override
+                    public boolean next() {
+                        return ++index < size;
+                    }
+
+                    @Override
+                    public int get(final int column) {
+                        return rows[index * STRIDE + column];
+                    }
+
+                    @Override
+                    public void close() {
+                    }
+                };
+            }
+
+            if (size > 0) {
+                spill();
+            }
+
+            // the buffer is not needed anymore
+            rows = new int[0];
+
+            while (runs.size() > 1) {
+
+                final List<Path> inputs = new ArrayList<>(runs.subList(0, Math.min(MAX_FAN_IN, runs.size())));
+
+                // tracked before merging, removed on close if the merge fails
+                final Path output = Files.createTempFile(directory, "rows", ".run");
+                runs.add(output);
+
+                merge(inputs, output);
+
+                runs.removeAll(inputs);
+
+                for (final Path input : inputs) {
+                    Files.deleteIfExists(input);
+                }
+            }
+
+            final Path run = runs.get(0);
+
+            return () -> new RunReader(Files.newInputStream(run));
+        }
+
+        void write(final DataOutputStream output, final CountingOutputStream counter) throws IOException {
+
+            final long start = counter.count;
+
+            output.writeInt(MAGIC);
+            VarInts.write(output, VERSION);
+
+            // datatypes and language tags
+            final Map<String, Integer> labels = new HashMap<>();
+            final List<String> values = new ArrayList<>();
+
+            for (int id = 0; id < dictionary.size(); id++) {
+                final RdfTerm term = dictionary.decode(id);
+                if (term.isLiteral()) {
+                    label(labels, values, term.asLiteral().datatype());
+                    final String language = language(term.asLiteral());
+                    if (language != null) {
+                        label(labels, values, language);
+                    }
+                }
+            }
+
+            VarInts.write(output, values.size());
+            for (final String value : values) {
+                VarInts.writeString(output, value);
+            }
+
+            VarInts.write(output, dictionary.size());
+
+            final long[] termOffsets = new long[dictionary.size()];
+
+            for (int id = 0; id < dictionary.size(); id++) {
+                termOffsets[id] = counter.count - start;
+                writeTerm(output, dictionary, labels, dictionary.decode(id));
+            }
+
+            final RowSource source = rows();
+
+            // rows per graph, indexed by graph identifier + 1
+            final int[] graphRows = new int[graphs.length()];
+
+            try (final RowCursor cursor = source.open()) {
+                while (cursor.next()) {
+                    graphRows[cursor.get(0)]++;
+                }
+            }
+
+            VarInts.write(output, graphs.cardinality());
+
+            final long[] graphOffsets = new long[graphRows.length];
+
+            int total = 0;
+
+            try (final RowCursor cursor = source.open()) {
+
+                boolean more = cursor.next();
+
+                for (int graph = graphs.nextSetBit(0); graph >= 0; graph = graphs.nextSetBit(graph + 1)) {
+
+                    graphOffsets[graph] = counter.count - start;
+
+                    VarInts.write(output, graph);
+                    VarInts.write(output, graphRows[graph]);
+
+                    int subject = 0;
+                    int predicate = 0;
+                    int object = 0;
+
+                    boolean first = true;
+
+                    for (; more && cursor.get(0) == graph; more = cursor.next()) {
+
+                        final int s = cursor.get(1);
+                        final int p = cursor.get(2);
+                        final int o = cursor.get(3);
+
+                        VarInts.write(output, s - subject);
+
+                        if (s != subject || first) {
+                            VarInts.write(output, p);
+                            VarInts.write(output, o);
+
+                        } else if (p != predicate) {
+                            VarInts.write(output, p - predicate);
+                            VarInts.write(output, o);
+
+                        } else {
+                            VarInts.write(output, 0);
+                            VarInts.write(output, o - object - 1);
+                        }
+
+                        subject = s;
+                        predicate = p;
+                        object = o;
+                        first = false;
+                    }
+
+                    total += graphRows[graph];
+                }
+            }
+
+            VarInts.write(output, total);
+            output.writeInt(MAGIC);
+
+            final long indexOffset = counter.count - start;
+
+            for (final long offset : termOffsets) {
+                output.writeLong(offset);
+            }
+
+            for (int graph = graphs.nextSetBit(0); graph >= 0; graph = graphs.nextSetBit(graph + 1)) {
+                output.writeInt(graph);
+                output.writeLong(graphOffsets[graph]);
+                output.writeInt(graphRows[graph]);
+            }
+
+            output.writeInt(termOffsets.length);
+            output.writeInt(graphs.cardinality());
+            output.writeLong(indexOffset);
+            output.writeInt(INDEX_MAGIC);
+        }
+
+        @Override
+        public void close() throws IOException {
+            IOException failure = null;
+            for (final Path run : runs) {
+                try {
+                    Files.deleteIfExists(run);
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+            runs.clear();
+            rows = new int[0];
+            size = 0;
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        static void label(final Map<String, Integer> labels, final List<String> values, final String value) {
+            if (!labels.containsKey(value)) {
+                labels.put(value, values.size());
+                values.add(value);
+            }
+        }
+    }
+
+    /**
+     * Merges sorted runs into the given run and drops duplicates.
+     */
+    static void merge(final List<Path> runs, final Path output) throws IOException {
+
+        final PriorityQueue<RunReader> queue = new PriorityQueue<>(
+                Math.max(1, runs.size()),
+                (a, b) -> compare(a.row, b.row));
+
+        try {
+            for (final Path run : runs) {
+                final RunReader reader = new RunReader(Files.newInputStream(run));
+                if (reader.next()) {
+                    queue.add(reader);
+                } else {
+                    reader.close();
+                }
+            }
+
+            try (final RunWriter writer = new RunWriter(Files.newOutputStream(output))) {
+
+                final int[] last = new int[STRIDE];
+                boolean first = true;
+
+                while (!queue.isEmpty()) {
+
+                    final RunReader reader = queue.poll();
+
+                    if (first || compare(last, reader.row) != 0) {
+                        writer.write(reader.row, 0);
+                        System.arraycopy(reader.row, 0, last, 0, STRIDE);
+                        first = false;
+                    }
+
+                    if (reader.next()) {
+                        queue.add(reader);
+                    } else {
+                        reader.close();
+                    }
+                }
+            }
+
+        } finally {
+            for (final RunReader reader : queue) {
+                reader.close();
+            }
+        }
+    }
+
+    static int compare(final int[] a, final int[] b) {
+        for (int column = 0; column < STRIDE; column++) {
+            final int result = Integer.compare(a[column], b[column]);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    static void writeTerm(final DataOutputStream output, final TermDictionary dictionary, final Map<String, Integer> labels, final RdfTerm term) throws IOException {
+
+        if (term.isResource()) {
+            final RdfResource resource = term.asResource();
+            output.writeByte(resource.isBlank() ? BLANK_NODE : IRI);
+            VarInts.writeString(output, resource.value());
+            return;
+        }
+
+        if (term.isLiteral()) {
+
+            final RdfLiteral literal = term.asLiteral();
+            final String language = language(literal);
+            final RdfLiteral.Direction direction = literal instanceof Literal
+                    ? ((Literal) literal).directionOrNull()
+                    : literal.direction().orElse(null);
+
+            if (language == null && direction == null) {
+                output.writeByte(LITERAL);
+                VarInts.writeString(output, literal.lexicalValue());
+                VarInts.write(output, labels.get(literal.datatype()));
+                return;
+            }
+
+            output.writeByte(LANG_STRING);
+            VarInts.writeString(output, literal.lexicalValue());
+            VarInts.write(output, labels.get(literal.datatype()));
+            VarInts.write(output, language != null ? labels.get(language) + 1 : 0);
+            output.writeByte(direction != null ? direction.ordinal() + 1 : 0);
+            return;
+        }
+
+        final RdfTriple triple = term.asTriple();
+        output.writeByte(TRIPLE);
+        VarInts.write(output, dictionary.indexOf(triple.subject()));
+        VarInts.write(output, dictionary.indexOf(triple.predicate()));
+        VarInts.write(output, dictionary.indexOf(triple.object()));
+    }
+
+    static String language(final RdfLiteral literal) {
+        return literal instanceof Literal
+                ? ((Literal) literal).languageOrNull()
+                : literal.language().orElse(null);
+    }
+
+    /**
+     * Opens cursors over sorted unique rows.
+     */
+    @FunctionalInterface
+    interface RowSource {
+        RowCursor open() throws IOException;
+    }
+
+    /**
+     * Iterates rows of graph identifier + 1, subject, predicate, object.
+     */
+    interface RowCursor extends Closeable {
+
+        boolean next() throws IOException;
+
+        int get(int column);
+    }
+
+    /**
+     * Writes sorted rows as a run, the first column incremented by one, a zero
+     * ends the run.
+     */
+    static final class RunWriter implements Closeable {
+
+        final DataOutputStream output;
+
+        RunWriter(final OutputStream output) {
+            this.output = new DataOutputStream(new BufferedOutputStream(output, 64 * 1024));
+        }
+
+        void write(final int[] rows, final int offset) throws IOException {
+            VarInts.write(output, rows[offset] + 1);
+            VarInts.write(output, rows[offset + 1]);
+            VarInts.write(output, rows[offset + 2]);
+            VarInts.write(output, rows[offset + 3]);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                VarInts.write(output, 0);
+
+            } finally {
+                output.close();
+            }
+        }
+    }
+
+    /**
+     * Reads a run row by row.
+     */
+    static final class RunReader implements RowCursor {
+
+        final DataInputStream input;
+
+        /** the current row */
+        final int[] row;
+
+        RunReader(final InputStream input) {
+            this.input = new DataInputStream(new BufferedInputStream(input, 64 * 1024));
+            this.row = new int[STRIDE];
+        }
+
+        @Override
+        public boolean next() throws IOException {
+
+            final int graph = VarInts.read(input);
+
+            if (graph == 0) {
+                return false;
+            }
+
+            row[0] = graph - 1;
+            row[1] = VarInts.read(input);
+            row[2] = VarInts.read(input);
+            row[3] = VarInts.read(input);
+            return true;
+        }
+
+        @Override
+        public int get(final int column) {
+            return row[column];
+        }
+
+        @Override
+        public void close() throws IOException {
+            input.close();
+        }
+    }
+
+    /**
+     * Counts written bytes, {@link DataOutputStream#size()} overflows at 2GB.
+     */
+    static final class CountingOutputStream extends FilterOutputStream {
+
+        long count;
+
+        CountingOutputStream(final OutputStream output) {
+            super(output);
+            this.count = 0;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+            out.write(bytes, offset, length);
+            count += length;
+        }
+    }
+}
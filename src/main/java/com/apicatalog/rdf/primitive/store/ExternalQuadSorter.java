@@ -0,0 +1,545 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.store;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import com.apicatalog.rdf.api.RdfConsumerException;
+import com.apicatalog.rdf.api.RdfQuadConsumer;
+import com.apicatalog.rdf.primitive.IntRows;
+
+/**
+ * Sorts and deduplicates quads of any size with bounded heap.
+ * <p>
+ * Quads are buffered in memory up to a run size, then sorted and spilled to a
+ * temporary file as a run. A run is written in blocks of rows, each block
+ * carries its own dictionary of the strings it uses and rows of dictionary
+ * identifiers. {@link #provide(RdfQuadConsumer)} merges the runs, at most
+ * {@link #MAX_FAN_IN} at once, reading a block per run at a time, and emits
+ * unique quads ordered by graph, subject, predicate, object, datatype,
+ * language, and direction, the default graph first. Heap use is proportional
+ * to the run size and does not depend on the input size.
+ * <p>
+ * Temporary files are removed by {@link #close()}.
+ */
+public final class ExternalQuadSorter implements RdfQuadConsumer, Closeable {
+
+    public static final int DEFAULT_RUN_SIZE = 1 << 20;
+
+    static final int MAX_FAN_IN = 64;
+
+    static final int BLOCK_SIZE = 4096;
+
+    /** quad components, in the sort order */
+    static final int GRAPH = 0;
+    static final int SUBJECT = 1;
+    static final int PREDICATE = 2;
+    static final int OBJECT = 3;
+    static final int DATATYPE = 4;
+    static final int LANGUAGE = 5;
+    static final int DIRECTION = 6;
+
+    static final int COLUMNS = 7;
+
+    final Path directory;
+
+    final int runSize;
+
+    /** buffered quads, a row of components per quad, allocated on demand */
+    String[] buffer;
+
+    int size;
+
+    final List<Path> runs;
+
+    ExternalQuadSorter(final Path directory, final int runSize) {
+        this.directory = directory;
+        this.runSize = runSize;
+        this.buffer = new String[0];
+        this.size = 0;
+        this.runs = new ArrayList<>();
+    }
+
+    /**
+     * Creates a new sorter spilling runs of {@link #DEFAULT_RUN_SIZE} quads.
+     *
+     * @param directory a directory for temporary files
+     * @return a new sorter
+     */
+    public static ExternalQuadSorter create(final Path directory) {
+        return create(directory, DEFAULT_RUN_SIZE);
+    }
+
+    /**
+     * Creates a new sorter.
+     *
+     * @param directory a directory for temporary files
+     * @param runSize   a number of quads kept in memory before a run is spilled
+     * @return a new sorter
+     */
+    public static ExternalQuadSorter create(final Path directory, final int runSize) {
+
+        if (directory == null) {
+            throw new IllegalArgumentException("Directory must not be null.");
+        }
+        if (runSize <= 0) {
+            throw new IllegalArgumentException("Run size must be a positive number, but was [" + runSize + "].");
+        }
+
+        return new ExternalQuadSorter(directory, runSize);
+    }
+
+    @Override
+    public RdfQuadConsumer quad(String subject, String predicate, String object, String datatype, String language, String direction, String graph) throws RdfConsumerException {
+
+        if (size == runSize) {
+            try {
+                spill();
+
+            } catch (IOException e) {
+                throw new RdfConsumerException("Cannot spill a sorted run to [" + directory + "].", e);
+            }
+        }
+
+        if ((size + 1) * COLUMNS > buffer.length) {
+            buffer = Arrays.copyOf(buffer, (int) (Math.min(Math.max(64L, size * 2L), runSize) * COLUMNS));
+        }
+
+        final int offset = size * COLUMNS;
+
+        buffer[offset + GRAPH] = graph;
+        buffer[offset + SUBJECT] = subject;
+        buffer[offset + PREDICATE] = predicate;
+        buffer[offset + OBJECT] = object;
+        buffer[offset + DATATYPE] = datatype;
+        buffer[offset + LANGUAGE] = language;
+        buffer[offset + DIRECTION] = direction;
+
+        size++;
+        return this;
+    }
+
+    /**
+     * Emits unique quads in order to the given consumer.
+     *
+     * @param consumer a consumer
+     * @throws IOException          if a run cannot be written or read
+     * @throws RdfConsumerException if the consumer fails
+     */
+    public void provide(final RdfQuadConsumer consumer) throws IOException, RdfConsumerException {
+
+        if (runs.isEmpty()) {
+            // everything fits in memory
+            final int[] order = sort();
+            String[] last = null;
+            for (final int row : order) {
+                final String[] quad = Arrays.copyOfRange(buffer, row * COLUMNS, row * COLUMNS + COLUMNS);
+                if (last == null || compare(last, quad) != 0) {
+                    emit(consumer, quad);
+                    last = quad;
+                }
+            }
+            return;
+        }
+
+        if (size > 0) {
+            spill();
+        }
+
+        // reduce the number of runs to a single merge pass
+        while (runs.size() > MAX_FAN_IN) {
+
+            final List<Path> inputs = new ArrayList<>(runs.subList(0, MAX_FAN_IN));
+            final Path output = Files.createTempFile(directory, "quads", ".run");
+
+            // tracked before merging, removed by close() if not deleted here
+            runs.add(output);
+
+            try (final RunWriter writer = new RunWriter(Files.newOutputStream(output))) {
+                merge(inputs, writer::write);
+
+            } catch (final Exception e) {
+                try {
+                    Files.deleteIfExists(output);
+                    runs.remove(output);
+
+                } catch (IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+                throw e;
+            }
+
+            runs.removeAll(inputs);
+
+            for (final Path input : inputs) {
+                Files.deleteIfExists(input);
+            }
+        }
+
+        // a consumer failure aborts the merge
+        merge(runs, quad -> emit(consumer, quad));
+    }
+
+    /**
+     * Returns the number of runs spilled to disk.
+     *
+     * @return the number of runs
+     */
+    public int runs() {
+        return runs.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (final Path run : runs) {
+            try {
+                Files.deleteIfExists(run);
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        runs.clear();
+        size = 0;
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    static void emit(final RdfQuadConsumer consumer, final String[] quad) throws RdfConsumerException {
+        consumer.quad(
+                quad[SUBJECT],
+                quad[PREDICATE],
+                quad[OBJECT],
+                quad[DATATYPE],
+                quad[LANGUAGE],
+                quad[DIRECTION],
+                quad[GRAPH]);
+    }
+
+    final void spill() throws IOException {
+
+        final int[] order = sort();
+
+        final Path run = Files.createTempFile(directory, "quads", ".run");
+        runs.add(run);
+
+        try (final RunWriter writer = new RunWriter(Files.newOutputStream(run))) {
+            for (final int row : order) {
+                writer.write(Arrays.copyOfRange(buffer, row * COLUMNS, row * COLUMNS + COLUMNS));
+            }
+        }
+
+        Arrays.fill(buffer, 0, size * COLUMNS, null);
+        size = 0;
+    }
+
+    /**
+     * Returns buffered rows in order. Strings are replaced by their positions
+     * in the sorted distinct strings, rows are then sorted as integers with a
+     * row number as the last column.
+     */
+    final int[] sort() {
+
+        String[] strings = new String[size * COLUMNS];
+        int count = 0;
+
+        for (int index = 0; index < size * COLUMNS; index++) {
+            if (buffer[index] != null) {
+                strings[count++] = buffer[index];
+            }
+        }
+
+        Arrays.sort(strings, 0, count);
+
+        int distinct = 0;
+        for (int index = 0; index < count; index++) {
+            if (distinct == 0 || !strings[distinct - 1].equals(strings[index])) {
+                strings[distinct++] = strings[index];
+            }
+        }
+        strings = Arrays.copyOf(strings, distinct);
+
+        final int stride = COLUMNS + 1;
+
+        final int[] rows = new int[size * stride];
+
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < COLUMNS; column++) {
+                final String value = buffer[row * COLUMNS + column];
+                rows[row * stride + column] = value != null
+                        ? Arrays.binarySearch(strings, value)
+                        : -1;
+            }
+            rows[row * stride + COLUMNS] = row;
+        }
+
+        IntRows.sort(rows, stride, size);
+
+        final int[] order = new int[size];
+        for (int row = 0; row < size; row++) {
+            order[row] = rows[row * stride + COLUMNS];
+        }
+        return order;
+    }
+
+    @FunctionalInterface
+    interface Sink {
+        void accept(String[] quad) throws IOException, RdfConsumerException;
+    }
+
+    /**
+     * Merges sorted runs and drops duplicates, a sink failure stops the merge.
+     */
+    static void merge(final List<Path> runs, final Sink sink) throws IOException, RdfConsumerException {
+
+        final PriorityQueue<RunReader> queue = new PriorityQueue<>(
+                Math.max(1, runs.size()),
+                (a, b) -> compare(a.quad, b.quad));
+
+        try {
+            for (final Path run : runs) {
+                final RunReader reader = new RunReader(Files.newInputStream(run));
+                if (reader.next()) {
+                    queue.add(reader);
+                } else {
+                    reader.close();
+                }
+            }
+
+            String[] last = null;
+
+            while (!queue.isEmpty()) {
+
+                final RunReader reader = queue.poll();
+
+                if (last == null || compare(last, reader.quad) != 0) {
+                    last = reader.quad;
+                    sink.accept(last);
+                }
+
+                if (reader.next()) {
+                    queue.add(reader);
+                } else {
+                    reader.close();
+                }
+            }
+
+        } finally {
+            for (final RunReader reader : queue) {
+                reader.close();
+            }
+        }
+    }
+
+    static int compare(final String[] a, final String[] b) {
+        for (int column = 0; column < COLUMNS; column++) {
+            final String x = a[column];
+            final String y = b[column];
+            if (x != y) {
+                if (x == null) {
+                    return -1;
+                }
+                if (y == null) {
+                    return 1;
+                }
+                final int result = x.compareTo(y);
+                if (result != 0) {
+                    return result;
+                }
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Writes sorted quads in blocks, each block starts with a dictionary of its
+     * strings followed by rows of identifiers, 0 = {@code null}. A block of no
+     * rows ends the run.
+     */
+    static final class RunWriter implements Closeable {
+
+        final DataOutputStream output;
+
+        final String[][] block;
+
+        int size;
+
+        String[] last;
+
+        RunWriter(final OutputStream output) {
+            this.output = new DataOutputStream(new BufferedOutputStream(output, 64 * 1024));
+            this.block = new String[BLOCK_SIZE][];
+            this.size = 0;
+            this.last = null;
+        }
+
+        void write(final String[] quad) throws IOException {
+
+            // sorted input, duplicates are adjacent
+            if (last != null && compare(last, quad) == 0) {
+                return;
+            }
+
+            last = quad;
+            block[size++] = quad;
+
+            if (size == BLOCK_SIZE) {
+                flushBlock();
+            }
+        }
+
+        void flushBlock() throws IOException {
+
+            final Map<String, Integer> dictionary = new HashMap<>();
+            final List<String> strings = new ArrayList<>();
+
+            final int[] ids = new int[size * COLUMNS];
+
+            for (int row = 0; row < size; row++) {
+                for (int column = 0; column < COLUMNS; column++) {
+                    final String value = block[row][column];
+                    if (value != null) {
+                        Integer id = dictionary.get(value);
+                        if (id == null) {
+                            strings.add(value);
+                            id = strings.size();
+                            dictionary.put(value, id);
+                        }
+                        ids[row * COLUMNS + column] = id;
+                    }
+                }
+            }
+
+            VarInts.write(output, size);
+            VarInts.write(output, strings.size());
+
+            for (final String value : strings) {
+                VarInts.writeString(output, value);
+            }
+
+            for (final int id : ids) {
+                VarInts.write(output, id);
+            }
+
+            Arrays.fill(block, 0, size, null);
+            size = 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if (size > 0) {
+                    flushBlock();
+                }
+                VarInts.write(output, 0);
+
+            } finally {
+                output.close();
+            }
+        }
+    }
+
+    /**
+     * Reads a run block by block.
+     */
+    static final class RunReader implements Closeable {
+
+        final DataInputStream input;
+
+        String[] dictionary;
+
+        int[] ids;
+
+        int rows;
+
+        int row;
+
+        /** the current quad */
+        String[] quad;
+
+        RunReader(final InputStream input) {
+            this.input = new DataInputStream(new BufferedInputStream(input, 64 * 1024));
+            this.dictionary = new String[0];
+            this.ids = new int[0];
+            this.rows = 0;
+            this.row = 0;
+        }
+
+        boolean next() throws IOException {
+
+            if (row == rows && !readBlock()) {
+                quad = null;
+                return false;
+            }
+
+            quad = new String[COLUMNS];
+
+            for (int column = 0; column < COLUMNS; column++) {
+                final int id = ids[row * COLUMNS + column];
+                quad[column] = id != 0 ? dictionary[id - 1] : null;
+            }
+
+            row++;
+            return true;
+        }
+
+        boolean readBlock() throws IOException {
+
+            rows = VarInts.read(input);
+            row = 0;
+
+            if (rows == 0) {
+                return false;
+            }
+
+            dictionary = new String[VarInts.read(input)];
+
+            for (int id = 0; id < dictionary.length; id++) {
+                dictionary[id] = VarInts.readString(input);
+            }
+
+            if (ids.length < rows * COLUMNS) {
+                ids = new int[rows * COLUMNS];
+            }
+
+            for (int index = 0; index < rows * COLUMNS; index++) {
+                ids[index] = VarInts.read(input);
+            }
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            input.close();
+        }
+    }
+}
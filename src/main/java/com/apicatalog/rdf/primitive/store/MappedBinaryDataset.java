@@ -0,0 +1,592 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.store;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.apicatalog.rdf.model.RdfDataset;
+import com.apicatalog.rdf.model.RdfGraph;
+import com.apicatalog.rdf.model.RdfLiteral;
+import com.apicatalog.rdf.model.RdfQuad;
+import com.apicatalog.rdf.model.RdfQuadSet;
+import com.apicatalog.rdf.model.RdfResource;
+import com.apicatalog.rdf.model.RdfTerm;
+import com.apicatalog.rdf.model.RdfTriple;
+import com.apicatalog.rdf.primitive.LangString;
+import com.apicatalog.rdf.primitive.Quad;
+import com.apicatalog.rdf.primitive.Resource;
+import com.apicatalog.rdf.primitive.Triple;
+import com.apicatalog.rdf.primitive.TypedLiteral;
+
+/**
+ * A read-only dataset view over a file written by {@link BinaryQuadWriter},
+ * the file is mapped into memory and nothing but the trailer, labels, and
+ * graph names is read on open.
+ * <p>
+ * Quads are decoded on iteration, their terms are flyweights holding a term
+ * identifier only, a term record is decoded from the mapped file when a term
+ * value is first accessed. Recently used flyweights are cached.
+ * {@link #contains(RdfQuad)} and pattern matching scan the rows of a graph.
+ * <p>
+ * An instance is not safe for concurrent use.
+ */
+public final class MappedBinaryDataset implements RdfDataset, RdfQuadSet, Closeable {
+
+    static final int CACHE_SIZE = 4096;
+
+    final MappedBuffer buffer;
+
+    final String[] labels;
+
+    final int termCount;
+
+    /** a position of term offsets */
+    final long termIndex;
+
+    final int size;
+
+    final MappedGraph defaultGraph;
+
+    /** named graphs index */
+    final Map<RdfResource, MappedGraph> graphs;
+
+    /** recently used flyweights */
+    final MappedTerm[] cache;
+
+    MappedBinaryDataset(final MappedBuffer buffer) throws IOException {
+
+        this.buffer = buffer;
+        this.cache = new MappedTerm[CACHE_SIZE];
+
+        final long length = buffer.capacity();
+
+        if (length < 5 + BinaryQuadWriter.TRAILER_BYTES || buffer.getInt(0) != BinaryQuadWriter.MAGIC) {
+            throw new IOException("Not a binary dataset, an invalid magic number.");
+        }
+
+        final long trailer = length - BinaryQuadWriter.TRAILER_BYTES;
+
+        if (buffer.getInt(trailer + 16) != BinaryQuadWriter.INDEX_MAGIC) {
+            throw new IOException("A binary dataset without an index, an invalid trailer.");
+        }
+
+        final Cursor cursor = new Cursor(buffer, 4);
+
+        final int version = cursor.readVarInt();
+
+        if (version != BinaryQuadWriter.VERSION) {
+            throw new IOException("An unsupported binary dataset version [" + version + "], expected [" + BinaryQuadWriter.VERSION + "].");
+        }
+
+        this.labels = new String[cursor.readVarInt()];
+
+        for (int index = 0; index < labels.length; index++) {
+            labels[index] = cursor.readString();
+        }
+
+        this.termCount = buffer.getInt(trailer);
+        this.termIndex = buffer.getLong(trailer + 8);
+
+        final int graphCount = buffer.getInt(trailer + 4);
+
+        final Map<RdfResource, MappedGraph> named = new LinkedHashMap<>();
+
+        MappedGraph defaultGraph = new MappedGraph(null, 0, 0);
+
+        long position = termIndex + termCount * (long) Long.BYTES;
+
+        int quads = 0;
+
+        for (int index = 0; index < graphCount; index++) {
+
+            final int graph = buffer.getInt(position) - 1;
+            final long offset = buffer.getLong(position + 4);
+            final int rows = buffer.getInt(position + 12);
+
+            position += 16;
+            quads += rows;
+
+            if (graph == -1) {
+                defaultGraph = new MappedGraph(null, offset, rows);
+
+            } else {
+                final RdfResource graphName = decode(graph).asResource();
+                named.put(graphName, new MappedGraph(graphName, offset, rows));
+            }
+        }
+
+        this.size = quads;
+        this.defaultGraph = defaultGraph;
+        this.graphs = Collections.unmodifiableMap(named);
+    }
+
+    /**
+     * Maps the given file written by {@link BinaryQuadWriter}.
+     *
+     * @param file a file to map
+     * @return a new read-only dataset
+     * @throws IOException if the file cannot be mapped or is not valid
+     */
+    public static MappedBinaryDataset open(final Path file) throws IOException {
+
+        if (file == null) {
+            throw new IllegalArgumentException("File must not be null.");
+        }
+
+        final MappedBuffer buffer = MappedBuffer.read(file);
+
+        try {
+            return new MappedBinaryDataset(buffer);
+
+        } catch (IOException | RuntimeException e) {
+            buffer.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public RdfGraph defaultGraph() {
+        return defaultGraph;
+    }
+
+    @Override
+    public Set<RdfResource> graphNames() {
+        return graphs.keySet();
+    }
+
+    @Override
+    public Optional<RdfGraph> namedGraph(final RdfResource graphName) {
+        return Optional.ofNullable(graphs.get(graphName));
+    }
+
+    @Override
+    public boolean contains(final RdfQuad quad) {
+
+        if (quad == null) {
+            return false;
+        }
+
+        final RdfResource graphName = quad.graphName().orElse(null);
+
+        final MappedGraph graph = graphName != null
+                ? graphs.get(graphName)
+                : defaultGraph;
+
+        return graph != null && graph.contains(quad);
+    }
+
+    @Override
+    public Stream<RdfQuad> stream() {
+        return Stream.concat(Stream.of(defaultGraph), graphs.values().stream())
+                .flatMap(MappedGraph::quads);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer.close();
+    }
+
+    /**
+     * Returns a flyweight of the given term.
+     */
+    final RdfTerm term(final int id) throws IOException {
+
+        if (id < 0 || id >= termCount) {
+            throw new IOException("A term identifier [" + id + "] is out of range [0, " + termCount + ").");
+        }
+
+        final int index = id & (CACHE_SIZE - 1);
+
+        MappedTerm term = cache[index];
+
+        if (term != null && term.id == id) {
+            return (RdfTerm) term;
+        }
+
+        final byte kind = buffer.get(buffer.getLong(termIndex + id * (long) Long.BYTES));
+
+        switch (kind) {
+        case BinaryQuadWriter.IRI:
+        case BinaryQuadWriter.BLANK_NODE:
+            term = new MappedResource(this, id, kind == BinaryQuadWriter.BLANK_NODE);
+            break;
+
+        case BinaryQuadWriter.LITERAL:
+        case BinaryQuadWriter.LANG_STRING:
+            term = new MappedLiteral(this, id);
+            break;
+
+        case BinaryQuadWriter.TRIPLE:
+            term = new MappedTriple(this, id);
+            break;
+
+        default:
+            throw new IOException("An unknown term kind [" + kind + "] of term [" + id + "].");
+        }
+
+        cache[index] = term;
+        return (RdfTerm) term;
+    }
+
+    /**
+     * Decodes the term record with the given identifier.
+     */
+    final RdfTerm decode(final int id) throws IOException {
+
+        final Cursor cursor = new Cursor(buffer, buffer.getLong(termIndex + id * (long) Long.BYTES));
+
+        final byte kind = cursor.readByte();
+
+        switch (kind) {
+        case BinaryQuadWriter.IRI:
+            return Resource.createIRI(cursor.readString());
+
+        case BinaryQuadWriter.BLANK_NODE:
+            return Resource.createBlankNode(cursor.readString());
+
+        case BinaryQuadWriter.LITERAL: {
+            final String lexicalValue = cursor.readString();
+            return TypedLiteral.of(lexicalValue, BinaryQuadReader.label(labels, cursor.readVarInt()));
+        }
+
+        case BinaryQuadWriter.LANG_STRING: {
+            final String lexicalValue = cursor.readString();
+            final String datatype = BinaryQuadReader.label(labels, cursor.readVarInt());
+            final int language = cursor.readVarInt();
+            final byte direction = cursor.readByte();
+            return LangString.of(
+                    lexicalValue,
+                    datatype,
+                    language > 0 ? BinaryQuadReader.label(labels, language - 1) : null,
+                    direction > 0 ? RdfLiteral.Direction.values()[direction - 1] : null);
+        }
+
+        case BinaryQuadWriter.TRIPLE: {
+            final RdfTerm subject = decode(cursor.readVarInt());
+            final RdfTerm predicate = decode(cursor.readVarInt());
+            final RdfTerm object = decode(cursor.readVarInt());
+            return Triple.of(subject.asResource(), predicate.asResource(), object);
+        }
+
+        default:
+            throw new IOException("An unknown term kind [" + kind + "] of term [" + id + "].");
+        }
+    }
+
+    /**
+     * A graph section view.
+     */
+    final class MappedGraph implements RdfGraph {
+
+        final RdfResource graphName;
+        final long offset;
+        final int rows;
+
+        MappedGraph(final RdfResource graphName, final long offset, final int rows) {
+            this.graphName = graphName;
+            this.offset = offset;
+            this.rows = rows;
+        }
+
+        @Override
+        public boolean contains(final RdfTriple triple) {
+            return triple != null
+                    && match(triple.subject(), triple.predicate(), triple.object()).findAny().isPresent();
+        }
+
+        @Override
+        public Stream<RdfTriple> stream() {
+            return quads().map(RdfTriple.class::cast);
+        }
+
+        public int size() {
+            return rows;
+        }
+
+        Stream<RdfQuad> quads() {
+            if (rows == 0) {
+                return Stream.empty();
+            }
+            return StreamSupport.stream(
+                    Spliterators.spliterator(new RowIterator(this), rows, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL),
+                    false);
+        }
+    }
+
+    /**
+     * Decodes delta encoded rows of a graph section.
+     */
+    final class RowIterator implements Iterator<RdfQuad> {
+
+        final MappedGraph graph;
+        final Cursor cursor;
+
+        int remaining;
+
+        int subject;
+        int predicate;
+        int object;
+
+        boolean first;
+
+        RowIterator(final MappedGraph graph) {
+            this.graph = graph;
+            this.cursor = new Cursor(buffer, graph.offset);
+            this.first = true;
+            try {
+                // graph identifier, number of rows
+                cursor.readVarInt();
+                this.remaining = cursor.readVarInt();
+
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public RdfQuad next() {
+
+            if (remaining == 0) {
+                throw new NoSuchElementException();
+            }
+
+            try {
+                final int delta = cursor.readVarInt();
+
+                subject += delta;
+
+                if (first || delta != 0) {
+                    predicate = cursor.readVarInt();
+                    object = cursor.readVarInt();
+
+                } else {
+                    final int predicateDelta = cursor.readVarInt();
+
+                    if (predicateDelta != 0) {
+                        predicate += predicateDelta;
+                        object = cursor.readVarInt();
+
+                    } else {
+                        object += cursor.readVarInt() + 1;
+                    }
+                }
+
+                first = false;
+                remaining--;
+
+                return Quad.of(
+                        term(subject).asResource(),
+                        term(predicate).asResource(),
+                        term(object),
+                        graph.graphName);
+
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * Reads values at a moving position of a mapped buffer.
+     */
+    static final class Cursor {
+
+        final MappedBuffer buffer;
+
+        long position;
+
+        Cursor(final MappedBuffer buffer, final long position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        byte readByte() throws IOException {
+            if (position >= buffer.capacity()) {
+                throw new IOException("Unexpected end of a binary dataset at [" + position + "].");
+            }
+            return buffer.get(position++);
+        }
+
+        int readVarInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                final int b = readByte() & 0xFF;
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed binary dataset, a variable length integer is too long.");
+        }
+
+        String readString() throws IOException {
+            final int length = readVarInt();
+            if (position + length > buffer.capacity()) {
+                throw new IOException("Unexpected end of a binary dataset at [" + position + "].");
+            }
+            final byte[] bytes = new byte[length];
+            buffer.get(position, bytes, 0, length);
+            position += length;
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * A term identifier, the term record is decoded on first access.
+     */
+    abstract static class MappedTerm {
+
+        final MappedBinaryDataset dataset;
+        final int id;
+
+        RdfTerm term;
+
+        MappedTerm(final MappedBinaryDataset dataset, final int id) {
+            this.dataset = dataset;
+            this.id = id;
+        }
+
+        final RdfTerm term() {
+            if (term == null) {
+                try {
+                    term = dataset.decode(id);
+
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return term;
+        }
+
+        @Override
+        public final int hashCode() {
+            return term().hashCode();
+        }
+
+        @Override
+        public final boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj instanceof MappedTerm && ((MappedTerm) obj).dataset == dataset) {
+                return ((MappedTerm) obj).id == id;
+            }
+            return term().equals(obj);
+        }
+
+        @Override
+        public final String toString() {
+            return term().toString();
+        }
+    }
+
+    static final class MappedResource extends MappedTerm implements RdfResource {
+
+        final boolean blankNode;
+
+        MappedResource(final MappedBinaryDataset dataset, final int id, final boolean blankNode) {
+            super(dataset, id);
+            this.blankNode = blankNode;
+        }
+
+        @Override
+        public String value() {
+            return term().asResource().value();
+        }
+
+        @Override
+        public boolean isBlank() {
+            return blankNode;
+        }
+
+        @Override
+        public boolean isIRI() {
+            return !blankNode;
+        }
+    }
+
+    static final class MappedLiteral extends MappedTerm implements RdfLiteral {
+
+        MappedLiteral(final MappedBinaryDataset dataset, final int id) {
+            super(dataset, id);
+        }
+
+        @Override
+        public String lexicalValue() {
+            return term().asLiteral().lexicalValue();
+        }
+
+        @Override
+        public String datatype() {
+            return term().asLiteral().datatype();
+        }
+
+        @Override
+        public Optional<String> language() {
+            return term().asLiteral().language();
+        }
+
+        @Override
+        public Optional<Direction> direction() {
+            return term().asLiteral().direction();
+        }
+    }
+
+    static final class MappedTriple extends MappedTerm implements RdfTriple {
+
+        MappedTriple(final MappedBinaryDataset dataset, final int id) {
+            super(dataset, id);
+        }
+
+        @Override
+        public RdfResource subject() {
+            return term().asTriple().subject();
+        }
+
+        @Override
+        public RdfResource predicate() {
+            return term().asTriple().predicate();
+        }
+
+        @Override
+        public RdfTerm object() {
+            return term().asTriple().object();
+        }
+    }
+}
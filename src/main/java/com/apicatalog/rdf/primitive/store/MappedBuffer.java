@@ -0,0 +1,250 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.store;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A file mapped into memory as a sequence of chunks, addressed by
+ * {@code long} positions, so a file is not limited by the 2GB limit of a
+ * single {@link MappedByteBuffer}.
+ * <p>
+ * A writable buffer grows on demand, the file is extended by doubling its
+ * size. Values may span chunk boundaries. All values are big-endian.
+ */
+final class MappedBuffer implements Closeable {
+
+    static final int CHUNK_BITS = 30;
+    static final long CHUNK_SIZE = 1L << CHUNK_BITS;
+    static final long CHUNK_MASK = CHUNK_SIZE - 1;
+
+    static final long MIN_CAPACITY = 4096;
+
+    final FileChannel channel;
+    final boolean writable;
+
+    MappedByteBuffer[] chunks;
+
+    /** mapped size in bytes */
+    long capacity;
+
+    MappedBuffer(FileChannel channel, boolean writable) {
+        this.channel = channel;
+        this.writable = writable;
+        this.chunks = new MappedByteBuffer[0];
+        this.capacity = 0;
+    }
+
+    /**
+     * Maps an existing file for reading only.
+     *
+     * @param path a file to map
+     * @return a new buffer
+     * @throws IOException if the file cannot be mapped
+     */
+    static MappedBuffer read(final Path path) throws IOException {
+        final MappedBuffer buffer = new MappedBuffer(FileChannel.open(path, StandardOpenOption.READ), false);
+        try {
+            buffer.map(buffer.channel.size());
+            return buffer;
+
+        } catch (IOException e) {
+            buffer.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Maps a file for reading and writing, the file is created if it does not
+     * exist.
+     *
+     * @param path        a file to map
+     * @param minCapacity initial capacity in bytes
+     * @return a new buffer
+     * @throws IOException if the file cannot be mapped
+     */
+    static MappedBuffer write(final Path path, final long minCapacity) throws IOException {
+        final MappedBuffer buffer = new MappedBuffer(FileChannel.open(path,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE), true);
+        try {
+            buffer.map(Math.max(buffer.channel.size(), Math.max(MIN_CAPACITY, minCapacity)));
+            return buffer;
+
+        } catch (IOException e) {
+            buffer.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Ensures the buffer can hold at least the given number of bytes.
+     */
+    void ensure(final long size) throws IOException {
+        if (size <= capacity) {
+            return;
+        }
+        if (!writable) {
+            throw new IOException("Read-only buffer cannot grow to [" + size + "] bytes.");
+        }
+        long next = Math.max(capacity, MIN_CAPACITY);
+        while (next < size) {
+            next <<= 1;
+        }
+        map(next);
+    }
+
+    void map(final long size) throws IOException {
+
+        final int count = (int) ((size + CHUNK_MASK) >>> CHUNK_BITS);
+
+        final MappedByteBuffer[] next = Arrays.copyOf(chunks, count);
+
+        // the last chunk is usually partial, remap it with the new size
+        final int first = Math.max(0, chunks.length - 1);
+
+        for (int index = first; index < count; index++) {
+            final long position = ((long) index) << CHUNK_BITS;
+            next[index] = channel.map(
+                    writable ? MapMode.READ_WRITE : MapMode.READ_ONLY,
+                    position,
+                    Math.min(CHUNK_SIZE, size - position));
+        }
+
+        chunks = next;
+        capacity = size;
+    }
+
+    long capacity() {
+        return capacity;
+    }
+
+    byte get(final long position) {
+        return chunks[(int) (position >>> CHUNK_BITS)].get((int) (position & CHUNK_MASK));
+    }
+
+    void put(final long position, final byte value) {
+        chunks[(int) (position >>> CHUNK_BITS)].put((int) (position & CHUNK_MASK), value);
+    }
+
+    int getInt(final long position) {
+        final int offset = (int) (position & CHUNK_MASK);
+        if (offset <= CHUNK_SIZE - Integer.BYTES) {
+            return chunks[(int) (position >>> CHUNK_BITS)].getInt(offset);
+        }
+        return ((get(position) & 0xFF) << 24)
+                | ((get(position + 1) & 0xFF) << 16)
+                | ((get(position + 2) & 0xFF) << 8)
+                | (get(position + 3) & 0xFF);
+    }
+
+    void putInt(final long position, final int value) {
+        final int offset = (int) (position & CHUNK_MASK);
+        if (offset <= CHUNK_SIZE - Integer.BYTES) {
+            chunks[(int) (position >>> CHUNK_BITS)].putInt(offset, value);
+            return;
+        }
+        put(position, (byte) (value >>> 24));
+        put(position + 1, (byte) (value >>> 16));
+        put(position + 2, (byte) (value >>> 8));
+        put(position + 3, (byte) value);
+    }
+
+    long getLong(final long position) {
+        final int offset = (int) (position & CHUNK_MASK);
+        if (offset <= CHUNK_SIZE - Long.BYTES) {
+            return chunks[(int) (position >>> CHUNK_BITS)].getLong(offset);
+        }
+        return ((long) getInt(position) << 32) | (getInt(position + 4) & 0xFFFFFFFFL);
+    }
+
+    void putLong(final long position, final long value) {
+        final int offset = (int) (position & CHUNK_MASK);
+        if (offset <= CHUNK_SIZE - Long.BYTES) {
+            chunks[(int) (position >>> CHUNK_BITS)].putLong(offset, value);
+            return;
+        }
+        putInt(position, (int) (value >>> 32));
+        putInt(position + 4, (int) value);
+    }
+
+    void get(long position, final byte[] bytes, int offset, int length) {
+        while (length > 0) {
+            final ByteBuffer chunk = ((ByteBuffer) chunks[(int) (position >>> CHUNK_BITS)]).duplicate();
+            final int index = (int) (position & CHUNK_MASK);
+            final int count = Math.min(length, chunk.capacity() - index);
+            // Buffer cast keeps Java 8 binary compatibility
+            ((Buffer) chunk).position(index);
+            chunk.get(bytes, offset, count);
+            position += count;
+            offset += count;
+            length -= count;
+        }
+    }
+
+    void put(long position, final byte[] bytes, int offset, int length) {
+        while (length > 0) {
+            final ByteBuffer chunk = ((ByteBuffer) chunks[(int) (position >>> CHUNK_BITS)]).duplicate();
+            final int index = (int) (position & CHUNK_MASK);
+            final int count = Math.min(length, chunk.capacity() - index);
+            // Buffer cast keeps Java 8 binary compatibility
+            ((Buffer) chunk).position(index);
+            chunk.put(bytes, offset, count);
+            position += count;
+            offset += count;
+            length -= count;
+        }
+    }
+
+    /**
+     * Sets the given range to zero.
+     */
+    void clear(long position, final long length) {
+        final byte[] zeros = new byte[(int) Math.min(length, 64 * 1024)];
+        final long end = position + length;
+        while (position < end) {
+            final int count = (int) Math.min(zeros.length, end - position);
+            put(position, zeros, 0, count);
+            position += count;
+        }
+    }
+
+    void force() {
+        if (writable) {
+            for (final MappedByteBuffer chunk : chunks) {
+                chunk.force();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        // mapped chunks are released by the garbage collector
+        chunks = new MappedByteBuffer[0];
+        capacity = 0;
+        channel.close();
+    }
+}
@@ -0,0 +1,879 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.store;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.apicatalog.rdf.model.RdfDataset;
+import com.apicatalog.rdf.model.RdfGraph;
+import com.apicatalog.rdf.model.RdfLiteral;
+import com.apicatalog.rdf.model.RdfLiteral.Direction;
+import com.apicatalog.rdf.model.RdfQuad;
+import com.apicatalog.rdf.model.RdfQuadSet;
+import com.apicatalog.rdf.model.RdfResource;
+import com.apicatalog.rdf.model.RdfTerm;
+import com.apicatalog.rdf.model.RdfTriple;
+import com.apicatalog.rdf.primitive.LangString;
+import com.apicatalog.rdf.primitive.Quad;
+import com.apicatalog.rdf.primitive.Resource;
+import com.apicatalog.rdf.primitive.Triple;
+import com.apicatalog.rdf.primitive.TypedLiteral;
+
+/**
+ * A persistent dataset kept in memory-mapped files.
+ * <p>
+ * A store is a directory holding a term dictionary, quad rows of term
+ * identifiers and open-addressing hash tables for both, all accessed through
+ * {@link java.nio.channels.FileChannel#map}. Opening an existing store reads a
+ * small header only, {@link #stream()} and {@link #contains(RdfQuad)} are
+ * served directly from the mapped pages, and terms are decoded on demand.
+ * <p>
+ * Rows of a graph are chained in insertion order, a graph is streamed by
+ * following its chain, without visiting rows of other graphs.
+ * <p>
+ * Quads can be added but not removed. Changes are written through to the
+ * mapped pages, call {@link #flush()} or {@link #close()} to force them to the
+ * storage device. This class is not thread-safe.
+ */
+public final class MappedQuadStore implements RdfDataset, RdfQuadSet, Closeable {
+
+    static final int MAGIC = 0x54525153;
+    static final int VERSION = 1;
+
+    static final String META_FILE = "store.meta";
+    static final String TERM_DATA_FILE = "terms.dat";
+    static final String TERM_OFFSET_FILE = "terms.off";
+    static final String TERM_TABLE_FILE = "terms.idx";
+    static final String QUAD_DATA_FILE = "quads.dat";
+    static final String QUAD_TABLE_FILE = "quads.idx";
+    static final String GRAPH_DATA_FILE = "graphs.dat";
+    static final String QUAD_CHAIN_FILE = "quads.next";
+
+    /** header layout */
+    static final int META_MAGIC = 0;
+    static final int META_VERSION = 4;
+    static final int META_TERMS = 8;
+    static final int META_QUADS = 12;
+    static final int META_GRAPHS = 16;
+    static final int META_TERM_TABLE = 20;
+    static final int META_QUAD_TABLE = 24;
+    static final int META_TERM_BYTES = 32;
+    static final int META_DEFAULT_HEAD = 40;
+    static final int META_DEFAULT_TAIL = 44;
+    static final int META_SIZE = 64;
+
+    /** term kinds */
+    static final byte IRI = 1;
+    static final byte BLANK_NODE = 2;
+    static final byte LITERAL = 3;
+    static final byte LANG_STRING = 4;
+    static final byte TRIPLE = 5;
+
+    /** a quad row: subject, predicate, object, graph */
+    static final int ROW_BYTES = 16;
+
+    /** a named graph record: graph, the first and the last row + 1 */
+    static final int GRAPH_BYTES = 12;
+
+    static final int DEFAULT_GRAPH = -1;
+
+    static final int INITIAL_TABLE_CAPACITY = 1024;
+
+    static final int CACHE_SIZE = 4096;
+
+    final MappedBuffer meta;
+    final MappedBuffer termData;
+    final MappedBuffer termOffsets;
+    final MappedBuffer termTable;
+    final MappedBuffer quadData;
+    final MappedBuffer quadTable;
+    final MappedBuffer graphData;
+
+    /** the next row + 1 of the same graph per row, 0 = the end of the chain */
+    final MappedBuffer quadChain;
+
+    int termCount;
+    long termBytes;
+    int quadCount;
+    int graphCount;
+    int termTableCapacity;
+    int quadTableCapacity;
+
+    /** a direct-mapped cache of decoded terms */
+    final RdfTerm[] cache;
+    final int[] cacheIds;
+
+    final StoreGraph defaultGraph;
+
+    /** named graphs index */
+    final Map<RdfResource, StoreGraph> namedGraphs;
+
+    final ByteArrayOutputStream recordBytes;
+    final DataOutputStream record;
+
+    MappedQuadStore(final MappedBuffer meta,
+            final MappedBuffer termData,
+            final MappedBuffer termOffsets,
+            final MappedBuffer termTable,
+            final MappedBuffer quadData,
+            final MappedBuffer quadTable,
+            final MappedBuffer graphData,
+            final MappedBuffer quadChain) {
+        this.meta = meta;
+        this.termData = termData;
+        this.termOffsets = termOffsets;
+        this.termTable = termTable;
+        this.quadData = quadData;
+        this.quadTable = quadTable;
+        this.graphData = graphData;
+        this.quadChain = quadChain;
+        this.cache = new RdfTerm[CACHE_SIZE];
+        this.cacheIds = new int[CACHE_SIZE];
+        this.defaultGraph = new StoreGraph(DEFAULT_GRAPH, -1);
+        this.namedGraphs = new LinkedHashMap<>();
+        this.recordBytes = new ByteArrayOutputStream();
+        this.record = new DataOutputStream(recordBytes);
+    }
+
+    /**
+     * Opens a store located in the given directory. A new empty store is created
+     * if the directory does not contain a store.
+     *
+     * @param directory a store directory
+     * @return an opened store
+     * @throws IOException if the store cannot be opened or is not valid
+     */
+    public static MappedQuadStore open(final Path directory) throws IOException {
+
+        Files.createDirectories(directory);
+
+        final boolean exists = Files.exists(directory.resolve(META_FILE));
+
+        // a rejected store is never mapped for writing
+        if (exists) {
+            validate(directory.resolve(META_FILE));
+        }
+
+        final MappedBuffer[] buffers = new MappedBuffer[8];
+
+        try {
+            buffers[0] = MappedBuffer.write(directory.resolve(META_FILE), META_SIZE);
+            buffers[1] = MappedBuffer.write(directory.resolve(TERM_DATA_FILE), 0);
+            buffers[2] = MappedBuffer.write(directory.resolve(TERM_OFFSET_FILE), 0);
+            buffers[3] = MappedBuffer.write(directory.resolve(TERM_TABLE_FILE), INITIAL_TABLE_CAPACITY * Integer.BYTES);
+            buffers[4] = MappedBuffer.write(directory.resolve(QUAD_DATA_FILE), 0);
+            buffers[5] = MappedBuffer.write(directory.resolve(QUAD_TABLE_FILE), INITIAL_TABLE_CAPACITY * Integer.BYTES);
+            buffers[6] = MappedBuffer.write(directory.resolve(GRAPH_DATA_FILE), 0);
+            buffers[7] = MappedBuffer.write(directory.resolve(QUAD_CHAIN_FILE), 0);
+
+            final MappedQuadStore store = new MappedQuadStore(
+                    buffers[0],
+                    buffers[1],
+                    buffers[2],
+                    buffers[3],
+                    buffers[4],
+                    buffers[5],
+                    buffers[6],
+                    buffers[7]);
+
+            if (exists) {
+                store.load();
+            } else {
+                store.init();
+            }
+            return store;
+
+        } catch (IOException | RuntimeException e) {
+            // nothing is flushed, a partially opened store is left untouched
+            release(buffers, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Checks the header of an existing store without mapping it for writing.
+     */
+    static void validate(final Path metaFile) throws IOException {
+        try (final MappedBuffer meta = MappedBuffer.read(metaFile)) {
+
+            if (meta.capacity() < META_SIZE) {
+                throw new IOException("Not a quad store, a header of [" + meta.capacity() + "] bytes is too short.");
+            }
+            if (meta.getInt(META_MAGIC) != MAGIC) {
+                throw new IOException("Not a quad store, an invalid magic number [" + Integer.toHexString(meta.getInt(META_MAGIC)) + "].");
+            }
+            if (meta.getInt(META_VERSION) != VERSION) {
+                throw new IOException("An unsupported quad store version [" + meta.getInt(META_VERSION) + "], expected [" + VERSION + "].");
+            }
+        }
+    }
+
+    /**
+     * Closes the given buffers without flushing them.
+     */
+    static void release(final MappedBuffer[] buffers, final Throwable failure) {
+        for (final MappedBuffer buffer : buffers) {
+            if (buffer != null) {
+                try {
+                    buffer.close();
+                } catch (IOException e) {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+    }
+
+    void init() {
+        termCount = 0;
+        termBytes = 0;
+        quadCount = 0;
+        graphCount = 0;
+        termTableCapacity = INITIAL_TABLE_CAPACITY;
+        quadTableCapacity = INITIAL_TABLE_CAPACITY;
+
+        termTable.clear(0, termTableCapacity * (long) Integer.BYTES);
+        quadTable.clear(0, quadTableCapacity * (long) Integer.BYTES);
+
+        meta.putInt(META_MAGIC, MAGIC);
+        meta.putInt(META_VERSION, VERSION);
+        meta.putInt(META_DEFAULT_HEAD, 0);
+        meta.putInt(META_DEFAULT_TAIL, 0);
+        writeMeta();
+    }
+
+    void load() throws IOException {
+
+        termCount = meta.getInt(META_TERMS);
+        termBytes = meta.getLong(META_TERM_BYTES);
+        quadCount = meta.getInt(META_QUADS);
+        graphCount = meta.getInt(META_GRAPHS);
+        termTableCapacity = meta.getInt(META_TERM_TABLE);
+        quadTableCapacity = meta.getInt(META_QUAD_TABLE);
+
+        for (int index = 0; index < graphCount; index++) {
+            final int id = graphData.getInt(index * (long) GRAPH_BYTES);
+            namedGraphs.put(term(id).asResource(), new StoreGraph(id, index));
+        }
+    }
+
+    void writeMeta() {
+        meta.putInt(META_TERMS, termCount);
+        meta.putLong(META_TERM_BYTES, termBytes);
+        meta.putInt(META_QUADS, quadCount);
+        meta.putInt(META_GRAPHS, graphCount);
+        meta.putInt(META_TERM_TABLE, termTableCapacity);
+        meta.putInt(META_QUAD_TABLE, quadTableCapacity);
+    }
+
+    @Override
+    public RdfGraph defaultGraph() {
+        return defaultGraph;
+    }
+
+    @Override
+    public Set<RdfResource> graphNames() {
+        return Collections.unmodifiableSet(namedGraphs.keySet());
+    }
+
+    @Override
+    public Optional<RdfGraph> namedGraph(final RdfResource graphName) {
+        return Optional.ofNullable(namedGraphs.get(graphName));
+    }
+
+    @Override
+    public boolean add(final RdfQuad quad) {
+
+        if (quad == null) {
+            throw new IllegalArgumentException();
+        }
+
+        final RdfResource graphName = quad.graphName().orElse(null);
+
+        try {
+            return add(quad, graphName != null
+                    ? encode(graphName)
+                    : DEFAULT_GRAPH);
+
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean contains(final RdfQuad quad) {
+
+        if (quad == null) {
+            return false;
+        }
+
+        final RdfResource graphName = quad.graphName().orElse(null);
+
+        if (graphName == null) {
+            return contains(quad, DEFAULT_GRAPH);
+        }
+
+        final StoreGraph graph = namedGraphs.get(graphName);
+
+        return graph != null && contains(quad, graph.id);
+    }
+
+    @Override
+    public Stream<RdfQuad> stream() {
+        return IntStream.range(0, quadCount).mapToObj(this::quad);
+    }
+
+    /**
+     * Returns the number of quads in the store.
+     *
+     * @return the number of quads
+     */
+    public int size() {
+        return quadCount;
+    }
+
+    /**
+     * Forces all changes to the storage device.
+     */
+    public void flush() {
+        writeMeta();
+        termData.force();
+        termOffsets.force();
+        termTable.force();
+        quadData.force();
+        quadTable.force();
+        graphData.force();
+        quadChain.force();
+        meta.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (meta.writable && meta.capacity() > 0) {
+            flush();
+        }
+        IOException exception = null;
+        for (final MappedBuffer buffer : new MappedBuffer[] { termData, termOffsets, termTable, quadData, quadTable, graphData, quadChain, meta }) {
+            try {
+                buffer.close();
+            } catch (IOException e) {
+                exception = e;
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    final boolean add(final RdfTriple triple, final int graph) throws IOException {
+
+        final int subject = encode(triple.subject());
+        final int predicate = encode(triple.predicate());
+        final int object = encode(triple.object());
+
+        final long mask = quadTableCapacity - 1;
+
+        long slot = hash(subject, predicate, object, graph) & mask;
+
+        for (int entry = quadTable.getInt(slot * Integer.BYTES); entry != 0; entry = quadTable.getInt(slot * Integer.BYTES)) {
+            if (matches(entry - 1, subject, predicate, object, graph)) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        final int row = quadCount;
+        final long position = row * (long) ROW_BYTES;
+
+        quadData.ensure(position + ROW_BYTES);
+        quadData.putInt(position, subject);
+        quadData.putInt(position + 4, predicate);
+        quadData.putInt(position + 8, object);
+        quadData.putInt(position + 12, graph);
+
+        quadTable.putInt(slot * Integer.BYTES, row + 1);
+        quadCount++;
+
+        StoreGraph storeGraph = defaultGraph;
+
+        if (graph != DEFAULT_GRAPH) {
+            final RdfResource graphName = term(graph).asResource();
+            storeGraph = namedGraphs.get(graphName);
+            if (storeGraph == null) {
+                graphData.ensure((graphCount + 1) * (long) GRAPH_BYTES);
+                graphData.putInt(graphCount * (long) GRAPH_BYTES, graph);
+                graphData.putInt(graphCount * (long) GRAPH_BYTES + 4, 0);
+                graphData.putInt(graphCount * (long) GRAPH_BYTES + 8, 0);
+                storeGraph = new StoreGraph(graph, graphCount++);
+                namedGraphs.put(graphName, storeGraph);
+            }
+        }
+
+        storeGraph.append(row);
+
+        // keep load factor under 0.5
+        if (quadCount << 1 > quadTableCapacity) {
+            rehashQuads(quadTableCapacity << 1);
+        }
+
+        writeMeta();
+        return true;
+    }
+
+    final boolean contains(final RdfTriple triple, final int graph) {
+
+        final int subject = find(triple.subject());
+        if (subject == -1) {
+            return false;
+        }
+        final int predicate = find(triple.predicate());
+        if (predicate == -1) {
+            return false;
+        }
+        final int object = find(triple.object());
+        if (object == -1) {
+            return false;
+        }
+
+        final long mask = quadTableCapacity - 1;
+
+        long slot = hash(subject, predicate, object, graph) & mask;
+
+        for (int entry = quadTable.getInt(slot * Integer.BYTES); entry != 0; entry = quadTable.getInt(slot * Integer.BYTES)) {
+            if (matches(entry - 1, subject, predicate, object, graph)) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    final boolean matches(final int row, final int subject, final int predicate, final int object, final int graph) {
+        final long position = row * (long) ROW_BYTES;
+        return quadData.getInt(position) == subject
+                && quadData.getInt(position + 4) == predicate
+                && quadData.getInt(position + 8) == object
+                && quadData.getInt(position + 12) == graph;
+    }
+
+    final RdfQuad quad(final int row) {
+        final long position = row * (long) ROW_BYTES;
+        final int graph = quadData.getInt(position + 12);
+        return Quad.of(
+                term(quadData.getInt(position)).asResource(),
+                term(quadData.getInt(position + 4)).asResource(),
+                term(quadData.getInt(position + 8)),
+                graph != DEFAULT_GRAPH
+                        ? term(graph).asResource()
+                        : null);
+    }
+
+    /**
+     * Returns the identifier of the given term, the term is appended to the
+     * dictionary if not present yet.
+     */
+    final int encode(final RdfTerm term) throws IOException {
+
+        final int hash = hash(term);
+
+        final int id = find(term, hash);
+
+        if (id != -1) {
+            return id;
+        }
+
+        // encode nested terms first
+        int subject = 0, predicate = 0, object = 0;
+
+        if (term.isTriple()) {
+            subject = encode(term.asTriple().subject());
+            predicate = encode(term.asTriple().predicate());
+            object = encode(term.asTriple().object());
+        }
+
+        recordBytes.reset();
+        record.writeInt(hash);
+
+        if (term.isResource()) {
+            record.writeByte(term.asResource().isBlank() ? BLANK_NODE : IRI);
+            writeString(term.asResource().value());
+
+        } else if (term.isLiteral()) {
+
+            final RdfLiteral literal = term.asLiteral();
+            final String langTag = literal.language().orElse(null);
+            final Direction direction = literal.direction().orElse(null);
+
+            if (langTag != null || direction != null) {
+                record.writeByte(LANG_STRING);
+                writeString(literal.lexicalValue());
+                writeString(literal.datatype());
+                writeString(langTag);
+                record.writeByte(direction != null ? direction.ordinal() + 1 : 0);
+
+            } else {
+                record.writeByte(LITERAL);
+                writeString(literal.lexicalValue());
+                writeString(literal.datatype());
+            }
+
+        } else if (term.isTriple()) {
+            record.writeByte(TRIPLE);
+            record.writeInt(subject);
+            record.writeInt(predicate);
+            record.writeInt(object);
+
+        } else {
+            throw new IllegalArgumentException("An unknown term [" + term + "].");
+        }
+
+        record.flush();
+
+        final byte[] bytes = recordBytes.toByteArray();
+
+        termData.ensure(termBytes + bytes.length);
+        termData.put(termBytes, bytes, 0, bytes.length);
+
+        final int newId = termCount;
+
+        termOffsets.ensure((newId + 1) * (long) Long.BYTES);
+        termOffsets.putLong(newId * (long) Long.BYTES, termBytes);
+
+        termBytes += bytes.length;
+        termCount++;
+
+        insertTerm(newId, hash, termTableCapacity);
+
+        // keep load factor under 0.5
+        if (termCount << 1 > termTableCapacity) {
+            rehashTerms(termTableCapacity << 1);
+        }
+
+        writeMeta();
+        return newId;
+    }
+
+    /**
+     * Returns the identifier of the given term or {@code -1} if not present.
+     */
+    final int find(final RdfTerm term) {
+        return find(term, hash(term));
+    }
+
+    final int find(final RdfTerm term, final int hash) {
+
+        final long mask = termTableCapacity - 1;
+
+        long slot = mix(hash) & mask;
+
+        for (int entry = termTable.getInt(slot * Integer.BYTES); entry != 0; entry = termTable.getInt(slot * Integer.BYTES)) {
+            final int id = entry - 1;
+            if (termData.getInt(termOffsets.getLong(id * (long) Long.BYTES)) == hash
+                    && term(id).equals(term)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    final void insertTerm(final int id, final int hash, final int capacity) {
+        final long mask = capacity - 1;
+        long slot = mix(hash) & mask;
+        while (termTable.getInt(slot * Integer.BYTES) != 0) {
+            slot = (slot + 1) & mask;
+        }
+        termTable.putInt(slot * Integer.BYTES, id + 1);
+    }
+
+    final void rehashTerms(final int capacity) throws IOException {
+
+        termTable.ensure(capacity * (long) Integer.BYTES);
+        termTable.clear(0, capacity * (long) Integer.BYTES);
+
+        for (int id = 0; id < termCount; id++) {
+            insertTerm(id, termData.getInt(termOffsets.getLong(id * (long) Long.BYTES)), capacity);
+        }
+
+        termTableCapacity = capacity;
+    }
+
+    final void rehashQuads(final int capacity) throws IOException {
+
+        quadTable.ensure(capacity * (long) Integer.BYTES);
+        quadTable.clear(0, capacity * (long) Integer.BYTES);
+
+        final long mask = capacity - 1;
+
+        for (int row = 0; row < quadCount; row++) {
+            final long position = row * (long) ROW_BYTES;
+            long slot = hash(
+                    quadData.getInt(position),
+                    quadData.getInt(position + 4),
+                    quadData.getInt(position + 8),
+                    quadData.getInt(position + 12)) & mask;
+            while (quadTable.getInt(slot * Integer.BYTES) != 0) {
+                slot = (slot + 1) & mask;
+            }
+            quadTable.putInt(slot * Integer.BYTES, row + 1);
+        }
+
+        quadTableCapacity = capacity;
+    }
+
+    /**
+     * Decodes the term with the given identifier.
+     */
+    final RdfTerm term(final int id) {
+
+        final int index = id & (CACHE_SIZE - 1);
+
+        RdfTerm term = cache[index];
+
+        if (term != null && cacheIds[index] == id) {
+            return term;
+        }
+
+        long position = termOffsets.getLong(id * (long) Long.BYTES) + Integer.BYTES;
+
+        final byte kind = termData.get(position++);
+
+        switch (kind) {
+        case IRI:
+            term = Resource.createIRI(readString(position));
+            break;
+
+        case BLANK_NODE:
+            term = Resource.createBlankNode(readString(position));
+            break;
+
+        case LITERAL: {
+            final String lexicalValue = readString(position);
+            position += stringLength(position);
+            term = TypedLiteral.of(lexicalValue, readString(position));
+            break;
+        }
+
+        case LANG_STRING: {
+            final String lexicalValue = readString(position);
+            position += stringLength(position);
+            final String datatype = readString(position);
+            position += stringLength(position);
+            final String langTag = readString(position);
+            position += stringLength(position);
+            final byte direction = termData.get(position);
+            term = LangString.of(lexicalValue, datatype, langTag, direction > 0
+                    ? Direction.values()[direction - 1]
+                    : null);
+            break;
+        }
+
+        case TRIPLE:
+            term = Triple.of(
+                    term(termData.getInt(position)).asResource(),
+                    term(termData.getInt(position + 4)).asResource(),
+                    term(termData.getInt(position + 8)));
+            break;
+
+        default:
+            throw new IllegalStateException("An unknown term kind [" + kind + "] of term [" + id + "].");
+        }
+
+        cache[index] = term;
+        cacheIds[index] = id;
+
+        return term;
+    }
+
+    final void writeString(final String value) throws IOException {
+        if (value == null) {
+            record.writeInt(-1);
+            return;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        record.writeInt(bytes.length);
+        record.write(bytes);
+    }
+
+    final String readString(final long position) {
+        final int length = termData.getInt(position);
+        if (length == -1) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        termData.get(position + Integer.BYTES, bytes, 0, length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    final int stringLength(final long position) {
+        return Integer.BYTES + Math.max(0, termData.getInt(position));
+    }
+
+    /**
+     * A term hash code stable across runs, the value is persisted.
+     */
+    static final int hash(final RdfTerm term) {
+
+        if (term.isResource()) {
+            return 31 * (31 + Objects.hashCode(term.asResource().value())) + Boolean.hashCode(term.asResource().isBlank());
+        }
+
+        if (term.isLiteral()) {
+            final RdfLiteral literal = term.asLiteral();
+            int hash = 31 + Objects.hashCode(literal.lexicalValue());
+            hash = 31 * hash + Objects.hashCode(literal.datatype());
+            if (literal.language().isPresent() || literal.direction().isPresent()) {
+                hash = 31 * hash + Objects.hashCode(literal.language().orElse(null));
+                hash = 31 * hash + literal.direction().map(direction -> direction.ordinal() + 1).orElse(0);
+            }
+            return hash;
+        }
+
+        if (term.isTriple()) {
+            final RdfTriple triple = term.asTriple();
+            return 31 * (31 * (31 + hash(triple.subject())) + hash(triple.predicate())) + hash(triple.object());
+        }
+
+        throw new IllegalArgumentException("An unknown term [" + term + "].");
+    }
+
+    static final int hash(final int subject, final int predicate, final int object, final int graph) {
+        int hash = subject * 0x9E3779B9;
+        hash = (hash ^ (hash >>> 15) ^ predicate) * 0x85EBCA6B;
+        hash = (hash ^ (hash >>> 13) ^ object) * 0xC2B2AE35;
+        hash = (hash ^ (hash >>> 16) ^ graph) * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    static final int mix(final int hash) {
+        final int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * A graph view backed by the mapped quad rows.
+     */
+    final class StoreGraph implements RdfGraph {
+
+        final int id;
+
+        /** the position of the first and the last row + 1 of the chain */
+        final MappedBuffer buffer;
+        final long head;
+        final long tail;
+
+        StoreGraph(int id, int index) {
+            this.id = id;
+            if (index == -1) {
+                this.buffer = meta;
+                this.head = META_DEFAULT_HEAD;
+                this.tail = META_DEFAULT_TAIL;
+            } else {
+                this.buffer = graphData;
+                this.head = index * (long) GRAPH_BYTES + 4;
+                this.tail = index * (long) GRAPH_BYTES + 8;
+            }
+        }
+
+        /**
+         * Appends the row to the chain.
+         */
+        void append(final int row) throws IOException {
+
+            quadChain.ensure((row + 1) * (long) Integer.BYTES);
+            quadChain.putInt(row * (long) Integer.BYTES, 0);
+
+            final int last = buffer.getInt(tail);
+
+            if (last == 0) {
+                buffer.putInt(head, row + 1);
+            } else {
+                quadChain.putInt((last - 1) * (long) Integer.BYTES, row + 1);
+            }
+            buffer.putInt(tail, row + 1);
+        }
+
+        @Override
+        public boolean contains(final RdfTriple triple) {
+            return triple != null && MappedQuadStore.this.contains(triple, id);
+        }
+
+        @Override
+        public Stream<RdfTriple> stream() {
+
+            final Iterator<RdfTriple> iterator = new Iterator<RdfTriple>() {
+
+                /** the next row + 1, 0 = no more rows */
+                int row = buffer.getInt(head);
+
+                @Override
+                public boolean hasNext() {
+                    return row != 0;
+                }
+
+                @Override
+                public RdfTriple next() {
+                    if (row == 0) {
+                        throw new NoSuchElementException();
+                    }
+                    final RdfQuad quad = quad(row - 1);
+                    row = quadChain.getInt((row - 1) * (long) Integer.BYTES);
+                    return quad;
+                }
+            };
+
+            return StreamSupport.stream(
+                    Spliterators.spliteratorUnknownSize(
+                            iterator,
+                            Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL),
+                    false);
+        }
+
+        @Override
+        public boolean add(final RdfTriple triple) {
+
+            if (triple == null) {
+                throw new IllegalArgumentException();
+            }
+
+            try {
+                return MappedQuadStore.this.add(triple, id);
+
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -19,6 +19,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -32,15 +33,19 @@ import org.junit.jupiter.params.provider.MethodSource;
 
 import com.apicatalog.rdf.NQuadsTestCase.Type;
 import com.apicatalog.rdf.api.RdfConsumerException;
+import com.apicatalog.rdf.api.RdfQuadConsumer;
 import com.apicatalog.rdf.model.RdfDataset;
-import com.apicatalog.rdf.model.RdfQuadSet;
 import com.apicatalog.rdf.nquads.NQuadsReader;
 import com.apicatalog.rdf.nquads.NQuadsReaderException;
 import com.apicatalog.rdf.nquads.NQuadsWriter;
 import com.apicatalog.rdf.primitive.flow.QuadAcceptor;
+import com.apicatalog.rdf.primitive.flow.QuadBatch;
 import com.apicatalog.rdf.primitive.flow.QuadEmitter;
+import com.apicatalog.rdf.primitive.set.ColumnarQuadDataset;
 import com.apicatalog.rdf.primitive.set.OrderedQuadDataset;
 import com.apicatalog.rdf.primitive.set.OrderedQuadSet;
+import com.apicatalog.rdf.primitive.store.BinaryQuadReader;
+import com.apicatalog.rdf.primitive.store.BinaryQuadWriter;
 
 import jakarta.json.Json;
 import jakarta.json.JsonObject;
@@ -54,60 +59,89 @@ class ReadWriteTest {
     @ParameterizedTest(name = "{0}")
     @MethodSource("data")
     void testOrderedQuadSet(NQuadsTestCase testCase) throws IOException, URISyntaxException {
-
-        assertNotNull(testCase);
-        assertNotNull(testCase.getName());
-        assertNotNull(testCase.getType());
-
-        try (final InputStream is = ReadWriteTest.class.getResourceAsStream(TEST_CASE_BASE_PATH + testCase.getName() + ".nq")) {
-
-            final String input = isToString(is);
-            assertNotNull(input);
-
+        assertReadWrite(testCase, input -> {
             final QuadAcceptor datasetProvider = new QuadAcceptor(new OrderedQuadSet());
             new NQuadsReader(new StringReader(input)).provide(datasetProvider);
+            return datasetProvider.get();
+        }, QuadEmitter::emit);
+    }
 
-            final RdfQuadSet dataset = datasetProvider.get();
-
-            assertNotNull(dataset);
-
-            final StringWriter writer = new StringWriter();
-
-            QuadEmitter.emit(new NQuadsWriter(writer), dataset);
-
-            final String result = writer.toString();
-            assertNotNull(result);
-
-            assertEquals(Type.POSITIVE, testCase.getType());
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("data")
+    void testOrderedQuadDataset(NQuadsTestCase testCase) throws IOException, URISyntaxException {
+        assertReadWrite(testCase, input -> {
+            final OrderedQuadDataset dataset = new OrderedQuadDataset();
+            new NQuadsReader(new StringReader(input)).provide(new QuadAcceptor(dataset));
+            return dataset;
+        }, (writer, dataset) -> QuadEmitter.emit(writer, (RdfDataset) dataset));
+    }
 
-            String expected = input;
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("data")
+    void testColumnarQuadDataset(NQuadsTestCase testCase) throws IOException, URISyntaxException {
+        assertReadWrite(testCase, input -> {
+            final ColumnarQuadDataset dataset = new ColumnarQuadDataset();
+            new NQuadsReader(new StringReader(input)).provide(new QuadAcceptor(dataset, dataset.terms()));
+            return dataset;
+        }, (writer, dataset) -> QuadEmitter.emit(writer, (RdfDataset) dataset));
+    }
 
-            try (final InputStream out = ReadWriteTest.class.getResourceAsStream(TEST_CASE_BASE_PATH + testCase.getName() + ".out.nq")) {
-                if (out != null) {
-                    expected = isToString(out);
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("data")
+    void testQuadBatch(NQuadsTestCase testCase) throws IOException, URISyntaxException {
+        assertReadWrite(testCase, input -> {
+            final QuadAcceptor acceptor = new QuadAcceptor(new OrderedQuadSet());
+            final QuadBatch batch = new QuadBatch(3);
+            new NQuadsReader(new StringReader(input)).provide((subject, predicate, object, datatype, language, direction, graph) -> {
+                if (batch.isFull()) {
+                    acceptor.quads(batch);
+                    batch.clear();
                 }
-            }
+                return batch.quad(subject, predicate, object, datatype, language, direction, graph);
+            });
+            acceptor.quads(batch);
+            return acceptor.get();
+        }, QuadEmitter::emit);
+    }
 
-            final boolean match = expected.equals(result);
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("data")
+    void testBinary(NQuadsTestCase testCase) throws IOException, URISyntaxException {
+        assertReadWrite(testCase, input -> {
+            final OrderedQuadSet set = new OrderedQuadSet();
+            new NQuadsReader(new StringReader(input)).provide(new QuadAcceptor(set));
+
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (BinaryQuadWriter writer = new BinaryQuadWriter(bytes)) {
+                writer.write(set);
+            } catch (IOException e) {
+                throw new RdfConsumerException(e);
+            }
 
-            if (!match) {
-                System.out.println(testCase.getName());
-                System.out.println("Expected:");
-                System.out.println(expected);
-                System.out.println("Result:");
-                System.out.println(result);
+            final OrderedQuadSet result = new OrderedQuadSet();
+            try (BinaryQuadReader reader = new BinaryQuadReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+                assertEquals(set.size(), reader.read(result));
+            } catch (IOException e) {
+                throw new RdfConsumerException(e);
             }
 
-            assertTrue(match);
+            // the binary format orders quads by graph and term identifiers
+            assertEquals(set, result);
+            return set;
+        }, QuadEmitter::emit);
+    }
 
-        } catch (IllegalArgumentException | NQuadsReaderException | RdfConsumerException e) {
-            assertEquals(Type.NEGATIVE, testCase.getType());
-        }
+    @FunctionalInterface
+    interface Reader<T> {
+        T read(String input) throws NQuadsReaderException, RdfConsumerException;
     }
 
-    @ParameterizedTest(name = "{0}")
-    @MethodSource("data")
-    void testOrderedQuadDataset(NQuadsTestCase testCase) throws IOException, URISyntaxException {
+    @FunctionalInterface
+    interface Writer<T> {
+        void write(RdfQuadConsumer consumer, T dataset) throws RdfConsumerException;
+    }
+
+    static final <T> void assertReadWrite(NQuadsTestCase testCase, Reader<T> reader, Writer<T> writer) throws IOException {
 
         assertNotNull(testCase);
         assertNotNull(testCase.getName());
@@ -118,17 +152,15 @@ class ReadWriteTest {
             final String input = isToString(is);
             assertNotNull(input);
 
-            final OrderedQuadDataset dataset = new OrderedQuadDataset();
-            final QuadAcceptor datasetProvider = new QuadAcceptor(dataset);
-            new NQuadsReader(new StringReader(input)).provide(datasetProvider);
+            final T dataset = reader.read(input);
 
             assertNotNull(dataset);
 
-            final StringWriter writer = new StringWriter();
+            final StringWriter output = new StringWriter();
 
-            QuadEmitter.emit(new NQuadsWriter(writer), (RdfDataset)dataset);
+            writer.write(new NQuadsWriter(output), dataset);
 
-            final String result = writer.toString();
+            final String result = output.toString();
             assertNotNull(result);
 
             assertEquals(Type.POSITIVE, testCase.getType());
@@ -157,6 +189,7 @@ class ReadWriteTest {
             assertEquals(Type.NEGATIVE, testCase.getType());
         }
     }
+
     static final Stream<NQuadsTestCase> data() throws IOException {
         return load(TEST_CASE_BASE_PATH, "manifest.json");
     }
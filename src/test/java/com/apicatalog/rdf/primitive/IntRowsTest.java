@@ -0,0 +1,106 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class IntRowsTest {
+
+    static final int STRIDE = 3;
+
+    @Test
+    void testSort() {
+
+        final Random random = new Random(42);
+
+        final int count = 10000;
+        final int[] rows = new int[count * STRIDE];
+
+        for (int index = 0; index < rows.length; index++) {
+            rows[index] = random.nextInt(5);
+        }
+
+        final int[] expected = reference(rows, count);
+
+        IntRows.sort(rows, STRIDE, count);
+
+        assertArrayEquals(expected, rows);
+        assertEquals(125, IntRows.distinct(rows, STRIDE, count));
+    }
+
+    @Test
+    void testEqualRows() {
+
+        // all rows equal, a two-way partition is quadratic
+        final int count = 1_000_000;
+        final int[] rows = new int[count * STRIDE];
+        Arrays.fill(rows, 7);
+
+        IntRows.sort(rows, STRIDE, count);
+
+        assertEquals(1, IntRows.distinct(rows, STRIDE, count));
+    }
+
+    @Test
+    void testSorted() {
+
+        final int count = 100000;
+        final int[] rows = new int[count * STRIDE];
+
+        for (int row = 0; row < count; row++) {
+            rows[row * STRIDE] = count - row;
+            rows[row * STRIDE + 1] = row % 2;
+        }
+
+        IntRows.sort(rows, STRIDE, count);
+
+        for (int row = 1; row < count; row++) {
+            assertTrue(IntRows.compare(rows, STRIDE, row - 1, row) <= 0);
+        }
+    }
+
+    static int[] reference(final int[] rows, final int count) {
+
+        final int[][] copy = new int[count][];
+
+        for (int row = 0; row < count; row++) {
+            copy[row] = Arrays.copyOfRange(rows, row * STRIDE, row * STRIDE + STRIDE);
+        }
+
+        Arrays.sort(copy, (a, b) -> {
+            for (int column = 0; column < STRIDE; column++) {
+                final int result = Integer.compare(a[column], b[column]);
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return 0;
+        });
+
+        final int[] sorted = new int[count * STRIDE];
+        for (int row = 0; row < count; row++) {
+            System.arraycopy(copy[row], 0, sorted, row * STRIDE, STRIDE);
+        }
+        return sorted;
+    }
+}
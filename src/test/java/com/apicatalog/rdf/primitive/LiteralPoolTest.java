@@ -0,0 +1,83 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+import com.apicatalog.rdf.model.RdfLiteral;
+
+class LiteralPoolTest {
+
+    static final String RDF_LANG_STRING = "http://www.w3.org/1999/02/22-rdf-syntax-ns#langString";
+
+    @Test
+    void testSharedInstances() {
+
+        final RdfLiteral a = LangString.of("a", new String(RDF_LANG_STRING), new String("en-uk"));
+        final RdfLiteral b = LangString.of("b", new String(RDF_LANG_STRING), new String("en-uk"));
+
+        assertSame(a.datatype(), b.datatype());
+        assertSame(a.language().get(), b.language().get());
+
+        // kept as is by default
+        assertEquals("en-uk", a.language().get());
+
+        final Literal c = Literal.of("c", new String("http://example.org/datatype"));
+        final RdfLiteral d = new TermHashMap().createLiteral("d", new String("http://example.org/datatype"));
+
+        assertSame(c.datatype(), d.datatype());
+        assertSame(TypedLiteral.XSD_INTEGER, Literal.of("x", new String(TypedLiteral.XSD_INTEGER)).datatype());
+    }
+
+    @Test
+    void testNormalizing() {
+
+        final TermHashMap terms = new TermHashMap(LiteralPool.normalizing());
+
+        final RdfLiteral a = terms.createLangString("a", RDF_LANG_STRING, "EN-gb", null);
+        final RdfLiteral b = terms.createLangString("a", RDF_LANG_STRING, "en-GB", null);
+
+        assertEquals("en-GB", a.language().get());
+        assertSame(a.language().get(), b.language().get());
+        assertEquals(a, b);
+
+        assertNotEquals(LangString.of("a", RDF_LANG_STRING, "EN-gb"), LangString.of("a", RDF_LANG_STRING, "en-GB"));
+
+        assertEquals("zh-Hant-TW", LiteralPool.normalizeLanguage("ZH-hant-tw"));
+        assertEquals("en-US-x-twain-ab", LiteralPool.normalizeLanguage("en-us-X-Twain-AB"));
+        assertEquals("sgn-BE-FR", LiteralPool.normalizeLanguage("sgn-be-fr"));
+    }
+
+    @Test
+    void testLimit() {
+
+        final LiteralPool pool = LiteralPool.create(false, 20);
+
+        for (int i = 0; i < 100; i++) {
+            pool.language("x" + i);
+        }
+
+        final String tag = new String("y");
+        assertSame(tag, pool.language(tag));
+        assertNotSame(tag, pool.language(new String("y")));
+        assertEquals(20, pool.languages.size());
+    }
+}
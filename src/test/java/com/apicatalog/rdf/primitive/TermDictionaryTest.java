@@ -0,0 +1,130 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+import com.apicatalog.rdf.model.RdfLiteral;
+import com.apicatalog.rdf.model.RdfLiteral.Direction;
+import com.apicatalog.rdf.model.RdfResource;
+import com.apicatalog.rdf.model.RdfTriple;
+
+class TermDictionaryTest {
+
+    static final String XSD_INTEGER = "http://www.w3.org/2001/XMLSchema#integer";
+    static final String RDF_LANG_STRING = "http://www.w3.org/1999/02/22-rdf-syntax-ns#langString";
+
+    @Test
+    void testInterning() {
+
+        final TermDictionary dictionary = new TermDictionary();
+
+        final RdfResource iri = dictionary.createIRI("http://example.org/a");
+        final RdfResource blank = dictionary.createBlankNode("b0");
+        final RdfLiteral literal = dictionary.createLiteral("1", XSD_INTEGER);
+        final RdfLiteral langString = dictionary.createLangString("hello", RDF_LANG_STRING, "en", Direction.LTR);
+
+        assertSame(iri, dictionary.createIRI("http://example.org/a"));
+        assertSame(blank, dictionary.createBlankNode("b0"));
+        assertSame(literal, dictionary.createLiteral("1", XSD_INTEGER));
+        assertSame(langString, dictionary.createLangString("hello", RDF_LANG_STRING, "en", Direction.LTR));
+
+        assertNotEquals(dictionary.encode(iri), dictionary.encode(dictionary.createBlankNode("http://example.org/a")));
+        assertNotEquals(dictionary.encode(langString), dictionary.encode(dictionary.createLangString("hello", RDF_LANG_STRING, "en", null)));
+
+        assertEquals(6, dictionary.size());
+    }
+
+    @Test
+    void testEncodeDecode() {
+
+        final TermDictionary dictionary = new TermDictionary(0);
+
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(i, dictionary.encode(Literal.of(Integer.toString(i), XSD_INTEGER)));
+        }
+
+        assertEquals(10000, dictionary.size());
+
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(Integer.toString(i), dictionary.decode(i).asLiteral().lexicalValue());
+            assertEquals(i, dictionary.indexOf(Literal.of(Integer.toString(i), XSD_INTEGER)));
+        }
+
+        assertEquals(-1, dictionary.indexOf(Literal.of("10000", XSD_INTEGER)));
+
+        // create methods must return terms added while the dictionary grows
+        for (int i = 0; i < 10000; i++) {
+            assertEquals("http://example.org/" + i, dictionary.createIRI("http://example.org/" + i).value());
+        }
+        assertEquals(-1, dictionary.indexOf(Resource.createIRI("http://example.org/a")));
+    }
+
+    @Test
+    void testTripleTerms() {
+
+        final TermDictionary dictionary = new TermDictionary();
+
+        final RdfTriple triple = dictionary.createTriple(
+                Resource.createIRI("http://example.org/s"),
+                Resource.createIRI("http://example.org/p"),
+                Literal.of("1", XSD_INTEGER));
+
+        assertSame(triple, dictionary.createTriple(
+                dictionary.createIRI("http://example.org/s"),
+                dictionary.createIRI("http://example.org/p"),
+                dictionary.createLiteral("1", XSD_INTEGER)));
+
+        assertSame(triple.subject(), dictionary.createIRI("http://example.org/s"));
+        assertEquals(dictionary.encode(triple), dictionary.indexOf(Triple.of(
+                Resource.createIRI("http://example.org/s"),
+                Resource.createIRI("http://example.org/p"),
+                Literal.of("1", XSD_INTEGER))));
+    }
+
+    @Test
+    void testHashCodeEquality() {
+
+        final TermDictionary dictionary = new TermDictionary();
+
+        final Object[][] pairs = new Object[][] {
+                { dictionary.createIRI("http://example.org/a"), Resource.createIRI("http://example.org/a") },
+                { dictionary.createBlankNode("b1"), Resource.createBlankNode("b1") },
+                { dictionary.createLiteral("1", XSD_INTEGER), Literal.of("1", XSD_INTEGER) },
+                { dictionary.createLangString("a", RDF_LANG_STRING, "en", Direction.RTL), LangString.of("a", RDF_LANG_STRING, "en", Direction.RTL) },
+                { dictionary.createTriple(
+                        dictionary.createIRI("http://example.org/a"),
+                        dictionary.createIRI("http://example.org/b"),
+                        dictionary.createBlankNode("b1")),
+                        Triple.of(
+                                Resource.createIRI("http://example.org/a"),
+                                Resource.createIRI("http://example.org/b"),
+                                Resource.createBlankNode("b1")) },
+        };
+
+        for (final Object[] pair : pairs) {
+            assertEquals(pair[0], pair[1]);
+            assertEquals(pair[1], pair[0]);
+            assertEquals(pair[0].hashCode(), pair[1].hashCode());
+        }
+
+        assertNotEquals(dictionary.createIRI("http://example.org/a"), dictionary.createIRI("http://example.org/b"));
+    }
+}
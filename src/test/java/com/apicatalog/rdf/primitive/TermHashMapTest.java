@@ -0,0 +1,55 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+import com.apicatalog.rdf.model.RdfResource;
+import com.apicatalog.rdf.model.RdfTermFactory;
+import com.apicatalog.rdf.model.RdfTriple;
+
+class TermHashMapTest {
+
+    static final String XSD_INTEGER = "http://www.w3.org/2001/XMLSchema#integer";
+
+    @Test
+    void testTripleTerms() {
+        testTripleTerms(new TermHashMap());
+        testTripleTerms(new ConcurrentTermHashMap());
+    }
+
+    static void testTripleTerms(final RdfTermFactory terms) {
+
+        final RdfResource s = terms.createIRI("http://example.org/s");
+        final RdfResource p = terms.createIRI("http://example.org/p");
+
+        final RdfTriple triple = terms.createTriple(s, p, terms.createLiteral("1", XSD_INTEGER));
+
+        assertSame(triple, terms.createTriple(s, p, terms.createLiteral("1", XSD_INTEGER)));
+        assertNotSame(triple, terms.createTriple(s, p, terms.createLiteral("2", XSD_INTEGER)));
+
+        // a nested triple term is interned too
+        final RdfTriple nested = terms.createTriple(s, p, Triple.of(s, p, Literal.of("1", XSD_INTEGER)));
+
+        assertSame(triple, nested.object());
+        assertSame(nested, terms.createTriple(s, p, Triple.of(s, p, Literal.of("1", XSD_INTEGER))));
+        assertEquals(Triple.of(s, p, Triple.of(s, p, Literal.of("1", XSD_INTEGER))), nested);
+    }
+}
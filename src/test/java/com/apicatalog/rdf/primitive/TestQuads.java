@@ -0,0 +1,68 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive;
+
+import com.apicatalog.rdf.model.RdfLiteral.Direction;
+import com.apicatalog.rdf.model.RdfQuad;
+import com.apicatalog.rdf.model.RdfResource;
+
+/**
+ * Quads shared by the dataset and store tests.
+ */
+public final class TestQuads {
+
+    public static final String XSD_INTEGER = "http://www.w3.org/2001/XMLSchema#integer";
+
+    public static final String RDF_LANG_STRING = "http://www.w3.org/1999/02/22-rdf-syntax-ns#langString";
+
+    public static final RdfResource P = Resource.createIRI("http://example.org/p");
+
+    private TestQuads() {
+    }
+
+    /**
+     * Returns a quad with an IRI subject and an integer object.
+     */
+    public static RdfQuad quad(int subject, int object, int graph) {
+        return Quad.of(
+                Resource.createIRI("http://example.org/s" + subject),
+                P,
+                Literal.of(Integer.toString(object), XSD_INTEGER),
+                graph(graph));
+    }
+
+    /**
+     * Returns a quad mixing IRI and blank node subjects, integer and language
+     * string objects.
+     */
+    public static RdfQuad mixedQuad(int subject, int object, int graph) {
+        return Quad.of(
+                subject % 2 == 0
+                        ? Resource.createIRI("http://example.org/s" + subject)
+                        : Resource.createBlankNode("b" + subject),
+                P,
+                object % 3 == 0
+                        ? LangString.of("ž" + object, RDF_LANG_STRING, "en", object % 2 == 0 ? Direction.RTL : null)
+                        : Literal.of(Integer.toString(object), XSD_INTEGER),
+                graph(graph));
+    }
+
+    static RdfResource graph(int graph) {
+        return graph > 0
+                ? Resource.createIRI("http://example.org/g" + graph)
+                : null;
+    }
+}
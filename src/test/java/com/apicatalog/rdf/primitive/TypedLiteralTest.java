@@ -0,0 +1,135 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+
+import com.apicatalog.rdf.model.RdfLiteral;
+
+class TypedLiteralTest {
+
+    @Test
+    void testValues() {
+
+        assertEquals(-42L, ((IntegerLiteral) TypedLiteral.of("-42", TypedLiteral.XSD_INTEGER)).longValue());
+        assertEquals(new BigInteger("123456789012345678901234567890"), ((IntegerLiteral) TypedLiteral.of("123456789012345678901234567890", TypedLiteral.XSD_INTEGER)).value());
+        assertThrows(ArithmeticException.class, () -> ((IntegerLiteral) TypedLiteral.of("99999999999999999999", TypedLiteral.XSD_INTEGER)).longValue());
+
+        assertEquals(new BigDecimal("1.50"), ((DecimalLiteral) TypedLiteral.of("1.50", TypedLiteral.XSD_DECIMAL)).decimalValue());
+        assertEquals(-0.5d, ((DoubleLiteral) TypedLiteral.of("-5E-1", TypedLiteral.XSD_DOUBLE)).doubleValue());
+        assertEquals(Double.NEGATIVE_INFINITY, ((DoubleLiteral) TypedLiteral.of("-INF", TypedLiteral.XSD_DOUBLE)).doubleValue());
+        assertTrue(((BooleanLiteral) TypedLiteral.of("1", TypedLiteral.XSD_BOOLEAN)).booleanValue());
+
+        final DateTimeLiteral dateTime = (DateTimeLiteral) TypedLiteral.of("2024-02-29T10:15:30.5+02:00", TypedLiteral.XSD_DATE_TIME);
+        assertEquals(OffsetDateTime.of(2024, 2, 29, 10, 15, 30, 500_000_000, ZoneOffset.ofHours(2)), dateTime.value());
+
+        final DateTimeLiteral local = (DateTimeLiteral) TypedLiteral.of("2024-02-29T10:15:30", TypedLiteral.XSD_DATE_TIME);
+        assertEquals(LocalDateTime.of(2024, 2, 29, 10, 15, 30), local.value());
+        assertNull(local.offsetOrNull());
+
+        final DateLiteral date = (DateLiteral) TypedLiteral.of("2024-02-29Z", TypedLiteral.XSD_DATE);
+        assertEquals(LocalDate.of(2024, 2, 29), date.localDate());
+        assertEquals(ZoneOffset.UTC, date.offsetOrNull());
+
+        final DateLiteral negative = (DateLiteral) TypedLiteral.of("-0044-03-15-05:30", TypedLiteral.XSD_DATE);
+        assertEquals(LocalDate.of(-44, 3, 15), negative.localDate());
+        assertEquals(ZoneOffset.ofHoursMinutes(-5, -30), negative.offsetOrNull());
+
+        assertEquals(1e3, ((DoubleLiteral) TypedLiteral.of(".1E+4", TypedLiteral.XSD_DOUBLE)).doubleValue());
+        assertTrue(Double.isNaN(((DoubleLiteral) TypedLiteral.of("NaN", TypedLiteral.XSD_DOUBLE)).doubleValue()));
+        assertFalse(((BooleanLiteral) TypedLiteral.of("false", TypedLiteral.XSD_BOOLEAN)).booleanValue());
+    }
+
+    @Test
+    void testLazyValue() {
+
+        final DateTimeLiteral dateTime = (DateTimeLiteral) TypedLiteral.of("2024-02-29T10:15:30.123456789Z", TypedLiteral.XSD_DATE_TIME);
+
+        // parsed on the first access, then kept
+        assertNull(dateTime.value);
+        assertSame(dateTime.value(), dateTime.value());
+        assertEquals(OffsetDateTime.of(2024, 2, 29, 10, 15, 30, 123_456_789, ZoneOffset.UTC), dateTime.value());
+        assertEquals(LocalDateTime.of(2024, 2, 29, 10, 15, 30, 123_456_789), dateTime.localDateTime());
+
+        final IntegerLiteral integer = (IntegerLiteral) TypedLiteral.of("9223372036854775807", TypedLiteral.XSD_INTEGER);
+        assertNull(integer.value);
+        assertTrue(integer.isLong());
+        assertSame(integer.value(), integer.value());
+    }
+
+    @Test
+    void testIllTyped() {
+        final String[][] values = {
+                { "1.0", TypedLiteral.XSD_INTEGER },
+                { "", TypedLiteral.XSD_INTEGER },
+                { "1e5", TypedLiteral.XSD_DECIMAL },
+                { "Infinity", TypedLiteral.XSD_DOUBLE },
+                { "1d", TypedLiteral.XSD_DOUBLE },
+                { "yes", TypedLiteral.XSD_BOOLEAN },
+                { "2023-02-29T00:00:00", TypedLiteral.XSD_DATE_TIME },
+                { "2023-02-28+2", TypedLiteral.XSD_DATE },
+                { "2024-02-29T10:15", TypedLiteral.XSD_DATE_TIME },
+                { "2024-02-29T24:00:00", TypedLiteral.XSD_DATE_TIME },
+                { "2024-02-29T10:15:30.", TypedLiteral.XSD_DATE_TIME },
+                { "2024-02-29T10:15:30+15:00", TypedLiteral.XSD_DATE_TIME },
+                { "2024-13-01", TypedLiteral.XSD_DATE },
+                { "-0000-01-01", TypedLiteral.XSD_DATE },
+                { "1e", TypedLiteral.XSD_DOUBLE },
+                { "1.2.3", TypedLiteral.XSD_DOUBLE },
+        };
+        for (final String[] value : values) {
+            final RdfLiteral literal = TypedLiteral.of(value[0], value[1]);
+            assertSame(Literal.class, literal.getClass(), value[0]);
+            assertEquals(value[0], literal.lexicalValue());
+        }
+    }
+
+    @Test
+    void testEquality() {
+
+        final Literal typed = TypedLiteral.of("007", "http://www.w3.org/2001/XMLSchema#integer");
+        final Literal plain = Literal.of("007", "http://www.w3.org/2001/XMLSchema#integer");
+
+        assertTrue(typed instanceof IntegerLiteral);
+        assertSame(TypedLiteral.XSD_INTEGER, typed.datatype());
+        assertEquals("007", typed.lexicalValue());
+
+        assertEquals(typed, plain);
+        assertEquals(plain, typed);
+        assertEquals(plain.hashCode(), typed.hashCode());
+
+        // not equal by value, RDF literal term equality is lexical
+        assertFalse(typed.equals(TypedLiteral.of("7", TypedLiteral.XSD_INTEGER)));
+
+        final TermDictionary dictionary = new TermDictionary();
+        assertSame(dictionary.createLiteral("007", TypedLiteral.XSD_INTEGER), dictionary.intern(plain));
+        assertTrue(new TermHashMap().createLiteral("true", TypedLiteral.XSD_BOOLEAN) instanceof BooleanLiteral);
+    }
+}
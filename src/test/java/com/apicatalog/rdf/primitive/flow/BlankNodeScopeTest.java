@@ -0,0 +1,125 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.flow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.apicatalog.rdf.api.RdfConsumerException;
+import com.apicatalog.rdf.api.RdfQuadConsumer;
+import com.apicatalog.rdf.model.RdfResource;
+import com.apicatalog.rdf.primitive.TermHashMap;
+import com.apicatalog.rdf.primitive.set.QuadSet;
+
+class BlankNodeScopeTest {
+
+    @Test
+    void testLabels() {
+
+        final BlankNodeScope scope = BlankNodeScope.labels(new TermHashMap());
+
+        final RdfResource b0 = scope.resource("_:x");
+
+        assertTrue(b0.isBlank());
+        assertEquals("b0", b0.value());
+        assertSame(b0, scope.resource("_:x"));
+        assertEquals("_:b0", scope.name("_:x"));
+        assertEquals("b1", scope.resource("_:y").value());
+
+        // grow the table
+        for (int i = 0; i < 1000; i++) {
+            scope.resource("_:n" + i);
+        }
+        assertSame(b0, scope.resource("_:x"));
+        assertEquals(1002, scope.size());
+
+        scope.reset();
+
+        assertEquals(0, scope.size());
+        assertEquals("b1002", scope.resource("_:x").value());
+        assertEquals(1003, scope.issued());
+    }
+
+    @Test
+    void testSkolem() {
+
+        final BlankNodeScope scope = BlankNodeScope.skolem(new TermHashMap(), "https://example.org/.well-known/genid/");
+
+        final RdfResource iri = scope.resource("_:x");
+
+        assertTrue(iri.isIRI());
+        assertEquals("https://example.org/.well-known/genid/0", iri.value());
+        assertEquals("https://example.org/.well-known/genid/0", scope.name("_:x"));
+    }
+
+    @Test
+    void testAcceptor() throws RdfConsumerException {
+
+        final QuadSet set = new QuadSet();
+        final QuadAcceptor acceptor = new QuadAcceptor(set);
+        final BlankNodeScope scope = BlankNodeScope.labels(acceptor.terms());
+
+        // a scope must intern issued blank nodes by the acceptor factory
+        assertThrows(IllegalArgumentException.class, () -> acceptor.blankNodeScope(BlankNodeScope.labels(new TermHashMap())));
+
+        acceptor.blankNodeScope(scope);
+
+        // two documents using the same labels
+        for (int document = 0; document < 2; document++) {
+            acceptor.quad("_:a", "http://example.org/p", "_:b", null, null, null, "_:g");
+            acceptor.quad("_:a", "http://example.org/p", "1", "http://www.w3.org/2001/XMLSchema#integer", null, null, null);
+            scope.reset();
+        }
+
+        assertEquals(4, set.size());
+        assertEquals(6, scope.issued());
+
+        // issued blank nodes are interned by the acceptor factory
+        set.stream().forEach(quad -> assertSame(acceptor.terms().createBlankNode(quad.subject().value()), quad.subject()));
+    }
+
+    @Test
+    void testRelabel() throws RdfConsumerException {
+
+        final List<String> names = new ArrayList<>();
+        final BlankNodeScope scope = BlankNodeScope.labels(new TermHashMap(), "d");
+
+        final RdfQuadConsumer consumer = scope.relabel((subject, predicate, object, datatype, language, direction, graph) -> {
+            names.add(subject);
+            names.add(object);
+            names.add(graph);
+            return null;
+        });
+
+        consumer.quad("_:a", "http://example.org/p", "_:a", null, null, null, "_:g");
+        consumer.quad("http://example.org/s", "http://example.org/p", "_:a", "http://www.w3.org/2001/XMLSchema#string", null, null, null);
+
+        assertEquals("_:d0", names.get(0));
+        assertEquals("_:d0", names.get(1));
+        assertEquals("_:d1", names.get(2));
+        assertEquals("http://example.org/s", names.get(3));
+        assertEquals("_:a", names.get(4));
+        assertNotEquals(names.get(0), names.get(2));
+    }
+}
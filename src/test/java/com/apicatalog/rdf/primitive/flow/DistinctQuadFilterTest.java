@@ -0,0 +1,127 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.flow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.apicatalog.rdf.api.RdfConsumerException;
+import com.apicatalog.rdf.primitive.set.QuadSet;
+
+class DistinctQuadFilterTest {
+
+    static final String XSD_INTEGER = "http://www.w3.org/2001/XMLSchema#integer";
+
+    static void provide(DistinctQuadFilter filter, int count, int distinct) throws RdfConsumerException {
+        for (int i = 0; i < count; i++) {
+            final int n = i % distinct;
+            filter.quad(
+                    "http://example.org/s" + (n % 100),
+                    "http://example.org/p",
+                    Integer.toString(n),
+                    XSD_INTEGER,
+                    null,
+                    null,
+                    n % 3 == 0 ? null : "http://example.org/g" + (n % 3));
+        }
+    }
+
+    @Test
+    void testDistinct() throws RdfConsumerException {
+
+        final QuadSet set = new QuadSet();
+        final DistinctQuadFilter filter = DistinctQuadFilter.create(new QuadAcceptor(set), 16 * 1024 * 1024);
+
+        provide(filter, 100000, 20000);
+
+        assertEquals(20000, filter.forwarded());
+        assertEquals(80000, filter.duplicates());
+        assertEquals(0, filter.overflow());
+        assertEquals(20000, set.size());
+        assertFalse(filter.isSaturated());
+    }
+
+    @Test
+    void testDistinctComponents() throws RdfConsumerException {
+
+        final QuadSet set = new QuadSet();
+        final DistinctQuadFilter filter = DistinctQuadFilter.create(new QuadAcceptor(set), 1024 * 1024);
+
+        filter.quad("http://example.org/s", "http://example.org/p", "a", "http://www.w3.org/1999/02/22-rdf-syntax-ns#langString", "en", null, null);
+        filter.quad("http://example.org/s", "http://example.org/p", "a", "http://www.w3.org/1999/02/22-rdf-syntax-ns#langString", "en", null, null);
+        filter.quad("http://example.org/s", "http://example.org/p", "a", "http://www.w3.org/1999/02/22-rdf-syntax-ns#langString", "en", "ltr", null);
+        filter.quad("http://example.org/s", "http://example.org/p", "a", "http://www.w3.org/2001/XMLSchema#string", null, null, null);
+        filter.quad("http://example.org/s", "http://example.org/p", "http://example.org/a", null, null, null, null);
+        filter.quad("http://example.org/s", "http://example.org/p", "http://example.org/a", null, null, null, "http://example.org/a");
+
+        assertEquals(5, set.size());
+        assertEquals(1, filter.duplicates());
+    }
+
+    @Test
+    void testSaturated() throws RdfConsumerException {
+
+        final QuadSet set = new QuadSet();
+        final DistinctQuadFilter filter = DistinctQuadFilter.create(new QuadAcceptor(set), 4096);
+
+        provide(filter, 10000, 5000);
+
+        assertTrue(filter.isSaturated());
+        assertTrue(filter.overflow() > 0);
+        // duplicates pass, no unique quad is lost
+        assertEquals(5000, set.size());
+        assertTrue(filter.forwarded() > 5000);
+    }
+
+    @Test
+    void testPrefilter() throws RdfConsumerException {
+
+        final QuadSet set = new QuadSet();
+        final DistinctQuadFilter filter = DistinctQuadFilter.create(new QuadAcceptor(set), 256 * 1024, true);
+
+        provide(filter, 40000, 20000);
+
+        assertTrue(filter.isSaturated());
+        // duplicates are removed, a unique quad may be dropped
+        assertEquals(set.size(), filter.forwarded());
+        assertTrue(set.size() > 19900);
+    }
+
+    @Test
+    void testPrefilterSaturated() throws RdfConsumerException {
+
+        final QuadSet set = new QuadSet();
+        final DistinctQuadFilter filter = DistinctQuadFilter.create(new QuadAcceptor(set), 4096, true);
+
+        provide(filter, 40000, 20000);
+
+        assertTrue(filter.isSaturated());
+        // the pre-filter stops recording, duplicates pass and unique quads
+        // are dropped at a bounded rate
+        assertTrue(filter.forwarded() > set.size());
+        assertTrue(set.size() > 19500);
+    }
+
+    @Test
+    void testInvalidBudget() {
+        assertThrows(IllegalArgumentException.class, () -> DistinctQuadFilter.create(new QuadAcceptor(), 100));
+        assertThrows(IllegalArgumentException.class, () -> DistinctQuadFilter.create(null, 1024));
+    }
+}
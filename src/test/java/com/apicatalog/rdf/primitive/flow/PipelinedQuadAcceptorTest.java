@@ -0,0 +1,134 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.flow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import com.apicatalog.rdf.api.RdfConsumerException;
+import com.apicatalog.rdf.api.RdfQuadConsumer;
+import com.apicatalog.rdf.model.RdfQuad;
+import com.apicatalog.rdf.model.RdfQuadSet;
+import com.apicatalog.rdf.primitive.set.QuadDataset;
+import com.apicatalog.rdf.primitive.set.QuadSet;
+
+class PipelinedQuadAcceptorTest {
+
+    static final String XSD_INTEGER = "http://www.w3.org/2001/XMLSchema#integer";
+
+    static void provide(RdfQuadConsumer consumer, int count) throws RdfConsumerException {
+        for (int i = 0; i < count; i++) {
+            consumer.quad(
+                    "http://example.org/s" + (i % 100),
+                    "http://example.org/p",
+                    Integer.toString(i % 5000),
+                    XSD_INTEGER,
+                    null,
+                    null,
+                    i % 3 == 0 ? null : "http://example.org/g" + (i % 3));
+        }
+    }
+
+    @Test
+    void testPipeline() throws RdfConsumerException {
+
+        final QuadDataset expected = new QuadDataset();
+        provide(new QuadAcceptor(expected), 20000);
+
+        final QuadDataset dataset = new QuadDataset();
+
+        try (PipelinedQuadAcceptor pipeline = PipelinedQuadAcceptor.create(new QuadAcceptor(dataset))) {
+            provide(pipeline, 20000);
+        }
+
+        assertEquals(expected, dataset);
+    }
+
+    @Test
+    void testBackpressure() throws RdfConsumerException {
+
+        final QuadSet set = new QuadSet();
+
+        final PipelinedQuadAcceptor pipeline = PipelinedQuadAcceptor.create(
+                new QuadAcceptor(set),
+                PipelinedQuadAcceptor.virtualThreads(),
+                1,
+                7);
+
+        provide(pipeline, 10000);
+        pipeline.close();
+        pipeline.close();
+
+        assertEquals(10000, set.size());
+        assertEquals(set, pipeline.get());
+        assertThrows(IllegalStateException.class, () -> provide(pipeline, 1));
+    }
+
+    @Test
+    void testFailure() throws InterruptedException {
+
+        final QuadSet set = new QuadSet();
+
+        // fails when full
+        final RdfQuadSet bounded = new RdfQuadSet() {
+
+            @Override
+            public boolean contains(RdfQuad quad) {
+                return set.contains(quad);
+            }
+
+            @Override
+            public Stream<RdfQuad> stream() {
+                return set.stream();
+            }
+
+            @Override
+            public boolean add(RdfQuad quad) {
+                if (set.size() == 100) {
+                    throw new IllegalStateException("Full.");
+                }
+                return set.add(quad);
+            }
+        };
+
+        final Thread[] worker = new Thread[1];
+
+        final RdfConsumerException e = assertThrows(RdfConsumerException.class, () -> {
+            try (PipelinedQuadAcceptor pipeline = PipelinedQuadAcceptor.create(
+                    new QuadAcceptor(bounded),
+                    task -> {
+                        worker[0] = new Thread(task);
+                        worker[0].start();
+                    },
+                    2,
+                    16)) {
+                provide(pipeline, 100000);
+            }
+        });
+
+        assertEquals(IllegalStateException.class, e.getCause().getClass());
+        assertEquals(100, set.size());
+
+        // the insertion stage must not wait for more input
+        worker[0].join(10000);
+        assertFalse(worker[0].isAlive());
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.flow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import com.apicatalog.rdf.api.RdfConsumerException;
+import com.apicatalog.rdf.api.RdfQuadConsumer;
+import com.apicatalog.rdf.model.RdfDataset;
+import com.apicatalog.rdf.model.RdfQuad;
+import com.apicatalog.rdf.model.RdfResource;
+import com.apicatalog.rdf.model.RdfTriple;
+import com.apicatalog.rdf.nquads.NQuadsWriter;
+import com.apicatalog.rdf.primitive.Literal;
+import com.apicatalog.rdf.primitive.Quad;
+import com.apicatalog.rdf.primitive.Resource;
+import com.apicatalog.rdf.primitive.Triple;
+import com.apicatalog.rdf.primitive.set.OrderedQuadDataset;
+import com.apicatalog.rdf.primitive.set.TrackingQuadDataset;
+
+class QuadEmitterTest {
+
+    static final String XSD_INTEGER = "http://www.w3.org/2001/XMLSchema#integer";
+
+    static RdfDataset dataset(int graphs) throws RdfConsumerException {
+        final OrderedQuadDataset dataset = new OrderedQuadDataset();
+        final QuadAcceptor acceptor = new QuadAcceptor(dataset);
+        for (int i = 0; i < graphs * 10; i++) {
+            acceptor.quad(
+                    "http://example.org/s" + (i % 7),
+                    "http://example.org/p",
+                    Integer.toString(i),
+                    XSD_INTEGER,
+                    null,
+                    null,
+                    i % (graphs + 1) == 0 ? null : "http://example.org/g" + (i % (graphs + 1)));
+        }
+        return dataset;
+    }
+
+    @Test
+    void testParallelEmit() throws RdfConsumerException {
+
+        final RdfDataset dataset = dataset(500);
+
+        final StringWriter expected = new StringWriter();
+        QuadEmitter.emit(new NQuadsWriter(expected), dataset);
+
+        final StringWriter result = new StringWriter();
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            QuadEmitter.emit(new NQuadsWriter(result), dataset, pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(expected.toString(), result.toString());
+    }
+
+    @Test
+    void testParallelSerialization() throws RdfConsumerException {
+
+        final RdfDataset dataset = dataset(100);
+
+        final StringWriter expected = new StringWriter();
+        QuadEmitter.create(new NQuadsWriter(expected)).emit(dataset);
+
+        // each graph is serialized by a pool thread
+        final StringBuilder result = new StringBuilder();
+        QuadEmitter.emit(dataset, ForkJoinPool.commonPool(), NQuadsBuffer::new, buffer -> result.append(buffer.output));
+
+        assertEquals(expected.toString(), result.toString());
+    }
+
+    @Test
+    void testParallelFailure() throws RdfConsumerException {
+
+        final RdfDataset dataset = dataset(10);
+
+        assertThrows(RdfConsumerException.class, () -> QuadEmitter.emit(
+                dataset,
+                ForkJoinPool.commonPool(),
+                () -> (s, p, o, dt, l, d, g) -> {
+                    throw new RdfConsumerException("A buffer failure.");
+                },
+                buffer -> {
+                }));
+    }
+
+    @Test
+    void testDelta() throws RdfConsumerException {
+
+        final TrackingQuadDataset dataset = new OrderedQuadDataset().track();
+        final QuadAcceptor acceptor = new QuadAcceptor(dataset);
+
+        acceptor.quad("http://example.org/s", "http://example.org/p", "1", XSD_INTEGER, null, null, null);
+        acceptor.quad("http://example.org/s", "http://example.org/p", "2", XSD_INTEGER, null, null, "http://example.org/g");
+
+        dataset.checkpoint();
+
+        acceptor.quad("http://example.org/s", "http://example.org/p", "3", XSD_INTEGER, null, null, null);
+        dataset.remove(dataset.stream().findFirst().get());
+
+        final StringWriter additions = new StringWriter();
+        final StringWriter removals = new StringWriter();
+
+        QuadEmitter.create(new NQuadsWriter(additions)).emit(dataset.checkpoint(), new NQuadsWriter(removals));
+
+        assertEquals("<http://example.org/s> <http://example.org/p> \"3\"^^<http://www.w3.org/2001/XMLSchema#integer> .\n", additions.toString());
+        assertEquals("<http://example.org/s> <http://example.org/p> \"1\"^^<http://www.w3.org/2001/XMLSchema#integer> .\n", removals.toString());
+    }
+
+    @Test
+    void testTripleTerms() throws RdfConsumerException {
+
+        final OrderedQuadDataset dataset = new OrderedQuadDataset();
+        final QuadAcceptor acceptor = new QuadAcceptor(dataset);
+
+        final RdfResource p = Resource.createIRI("http://example.org/p");
+
+        final RdfTriple nested = Triple.of(
+                Resource.createIRI("http://example.org/s"),
+                p,
+                Triple.of(Resource.createBlankNode("b0"), p, Literal.of("1", XSD_INTEGER)));
+
+        acceptor.quad(Resource.createIRI("http://example.org/a"), p, nested, null);
+        acceptor.quad(Quad.of(Resource.createIRI("http://example.org/b"), p, nested, null));
+
+        final List<RdfQuad> quads = new ArrayList<>(dataset);
+
+        // the triple terms are interned by the acceptor term factory
+        assertSame(quads.get(0).object(), quads.get(1).object());
+        assertEquals(nested, quads.get(0).object());
+
+        // triple terms are rejected by default
+        assertThrows(IllegalArgumentException.class, () -> QuadEmitter.emit(new NQuadsWriter(new StringWriter()), (RdfDataset) dataset));
+
+        final List<String[]> emitted = new ArrayList<>();
+
+        final QuadEmitter emitter = QuadEmitter.create((subject, predicate, object, datatype, language, direction, graph) -> {
+            emitted.add(new String[] { subject, predicate, object, datatype });
+            return null;
+        }).reifyTripleTerms();
+
+        emitter.emit((RdfDataset) dataset);
+
+        // two quads, the reification of the triple term and of the nested one
+        assertEquals(10, emitted.size());
+
+        // the nested triple term is reified first
+        assertEquals("_:t1", emitted.get(0)[0]);
+        assertEquals("_:t0", emitted.get(4)[0]);
+        assertEquals("_:t0", emitted.get(8)[2]);
+        assertEquals("_:t0", emitted.get(9)[2]);
+        assertEquals("http://example.org/b", emitted.get(9)[0]);
+
+        assertEquals(TripleTermReifier.RDF_STATEMENT, emitted.get(0)[2]);
+        assertEquals("_:b0", emitted.get(1)[2]);
+        assertEquals("1", emitted.get(3)[2]);
+        assertEquals(XSD_INTEGER, emitted.get(3)[3]);
+        assertEquals("_:t1", emitted.get(7)[2]);
+        assertEquals(TripleTermReifier.RDF_OBJECT, emitted.get(7)[1]);
+
+        // the same triple term is replaced by the same blank node
+        final StringWriter output = new StringWriter();
+        QuadEmitter.create(new NQuadsWriter(output)).reifyTripleTerms().emit(quads.get(1));
+
+        assertTrue(output.toString().startsWith("_:t1 "));
+        assertTrue(output.toString().endsWith("<http://example.org/b> <http://example.org/p> _:t0 .\n"));
+    }
+
+    @Test
+    void testTripleTermLabels() throws RdfConsumerException {
+
+        final RdfResource p = Resource.createIRI("http://example.org/p");
+        final RdfTriple triple = Triple.of(Resource.createIRI("http://example.org/s"), p, Literal.of("1", XSD_INTEGER));
+
+        final OrderedQuadDataset dataset = new OrderedQuadDataset();
+        dataset.add(Quad.of(Resource.createBlankNode("t0"), p, triple, null));
+
+        final StringWriter output = new StringWriter();
+        final QuadEmitter emitter = QuadEmitter.create(new NQuadsWriter(output)).reifyTripleTerms();
+
+        emitter.emit((RdfDataset) dataset);
+
+        // an input blank node label is never issued
+        assertTrue(output.toString().endsWith("_:t0 <http://example.org/p> _:t1 .\n"));
+
+        // labels are issued per emission
+        final StringWriter next = new StringWriter();
+        QuadEmitter.create(new NQuadsWriter(next)).reifyTripleTerms().emit(Resource.createBlankNode("t1"), p, triple, null);
+
+        assertTrue(next.toString().endsWith("_:t1 <http://example.org/p> _:t0 .\n"));
+    }
+
+    @Test
+    void testParallelTripleTerms() throws RdfConsumerException {
+
+        final RdfResource p = Resource.createIRI("http://example.org/p");
+
+        final OrderedQuadDataset dataset = new OrderedQuadDataset();
+        for (int i = 0; i < 50; i++) {
+            final RdfTriple triple = Triple.of(
+                    Resource.createIRI("http://example.org/s" + (i % 7)),
+                    p,
+                    Triple.of(Resource.createBlankNode("t" + i), p, Literal.of(Integer.toString(i % 5), XSD_INTEGER)));
+            dataset.add(Quad.of(Resource.createIRI("http://example.org/s" + i), p, triple, Resource.createIRI("http://example.org/g" + (i % 6))));
+            dataset.add(Quad.of(Resource.createIRI("http://example.org/s" + i), p, triple, null));
+        }
+
+        final StringWriter expected = new StringWriter();
+        QuadEmitter.create(new NQuadsWriter(expected)).reifyTripleTerms().emit((RdfDataset) dataset);
+
+        final StringWriter result = new StringWriter();
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            QuadEmitter.create(new NQuadsWriter(result)).reifyTripleTerms().emit(dataset, pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(expected.toString(), result.toString());
+    }
+
+    static final class NQuadsBuffer implements RdfQuadConsumer {
+
+        final StringWriter output = new StringWriter();
+        final NQuadsWriter writer = new NQuadsWriter(output);
+
+        @Override
+        public RdfQuadConsumer quad(String subject, String predicate, String object, String datatype, String language, String direction, String graph) throws RdfConsumerException {
+            writer.quad(subject, predicate, object, datatype, language, direction, graph);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.stream.IntStream;
+
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.Test;
+
+import com.apicatalog.rdf.api.RdfConsumerException;
+import com.apicatalog.rdf.model.RdfDataset;
+import com.apicatalog.rdf.primitive.ConcurrentTermHashMap;
+import com.apicatalog.rdf.primitive.TermHashMap;
+import com.apicatalog.rdf.primitive.flow.QuadAcceptor;
+import com.apicatalog.rdf.primitive.flow.QuadEmitter;
+import com.apicatalog.rdf.primitive.set.ConcurrentQuadDataset;
+import com.apicatalog.rdf.primitive.set.QuadDataset;
+
+class MetricsTest {
+
+    static final String XSD_INTEGER = "http://www.w3.org/2001/XMLSchema#integer";
+
+    @Test
+    void testCounters() throws Exception {
+
+        final Metrics metrics = new Metrics();
+
+        final QuadDataset dataset = new QuadDataset();
+
+        metrics.dataset(dataset);
+
+        final QuadAcceptor acceptor = new QuadAcceptor(dataset, new TermHashMap().metrics(metrics)).metrics(metrics);
+
+        for (int i = 0; i < 100; i++) {
+            acceptor.quad("http://example.org/s" + (i % 10), "http://example.org/p", Integer.toString(i % 50), XSD_INTEGER, null, null, "_:g" + (i % 5));
+        }
+
+        assertEquals(50, metrics.getQuadsAccepted());
+        assertEquals(50, metrics.getQuadsRejected());
+
+        // subjects, a predicate and graph names
+        assertEquals(10 + 1 + 5, metrics.getTermMisses());
+        assertEquals(300 - 16, metrics.getTermHits());
+
+        assertEquals(5, metrics.getGraphCount());
+
+        QuadEmitter.create((s, p, o, dt, l, d, g) -> null).metrics(metrics).emit((RdfDataset) dataset);
+
+        assertEquals(50, metrics.getQuadsEmitted());
+        assertTrue(metrics.getEmissionNanos() > 0);
+        assertTrue(metrics.getQuadsEmittedPerSecond() > 0);
+
+        final ObjectName name = metrics.register("test");
+        try {
+            assertEquals(50L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "QuadsAccepted"));
+        } finally {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        }
+
+        metrics.reset();
+        assertEquals(0, metrics.getQuadsAccepted());
+    }
+
+    @Test
+    void testDisabled() throws RdfConsumerException {
+
+        final QuadAcceptor acceptor = new QuadAcceptor(new TermHashMap().metrics(MetricsListener.NONE)).metrics(MetricsListener.NONE);
+
+        acceptor.quad("http://example.org/s", "http://example.org/p", "http://example.org/o", null, null, null, null);
+
+        assertEquals(1, acceptor.get().stream().count());
+    }
+
+    @Test
+    void testConcurrentTerms() {
+
+        final Metrics metrics = new Metrics();
+
+        final QuadAcceptor acceptor = new QuadAcceptor(new ConcurrentQuadDataset(), new ConcurrentTermHashMap().metrics(metrics)).metrics(metrics);
+
+        IntStream.range(0, 10000).parallel().forEach(i -> {
+            try {
+                acceptor.quad("http://example.org/s" + (i % 10), "http://example.org/p", Integer.toString(i % 50), XSD_INTEGER, null, null, "_:g" + (i % 5));
+
+            } catch (RdfConsumerException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertEquals(50, metrics.getQuadsAccepted());
+
+        // a term is created once by one of the threads
+        assertEquals(10 + 1 + 5, metrics.getTermMisses());
+        assertEquals(30000 - 16, metrics.getTermHits());
+    }
+
+    @Test
+    void testNullListener() {
+        assertThrows(IllegalArgumentException.class, () -> new TermHashMap().metrics(null));
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentTermHashMap().metrics(null));
+        assertThrows(IllegalArgumentException.class, () -> new QuadAcceptor().metrics(null));
+        assertThrows(IllegalArgumentException.class, () -> QuadEmitter.create((s, p, o, dt, l, d, g) -> null).metrics(null));
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static com.apicatalog.rdf.primitive.TestQuads.P;
+import static com.apicatalog.rdf.primitive.TestQuads.quad;
+
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.apicatalog.rdf.model.RdfGraph;
+import com.apicatalog.rdf.model.RdfQuad;
+import com.apicatalog.rdf.model.RdfQuadSet;
+import com.apicatalog.rdf.model.RdfResource;
+import com.apicatalog.rdf.model.RdfTerm;
+import com.apicatalog.rdf.primitive.Resource;
+
+class ColumnarQuadDatasetTest {
+
+    @Test
+    void testAddContainsRemove() {
+
+        final ColumnarQuadDataset dataset = new ColumnarQuadDataset();
+
+        for (int i = 0; i < 5000; i++) {
+            assertTrue(dataset.add(quad(i % 100, i, i % 3)));
+        }
+        for (int i = 0; i < 5000; i++) {
+            assertFalse(dataset.add(quad(i % 100, i, i % 3)));
+        }
+
+        assertEquals(5000, dataset.size());
+        assertEquals(2, dataset.graphNames().size());
+        assertEquals(5000, dataset.stream().count());
+
+        for (int i = 0; i < 5000; i += 2) {
+            assertTrue(dataset.remove(quad(i % 100, i, i % 3)));
+        }
+
+        assertEquals(2500, dataset.size());
+        assertEquals(2500, dataset.stream().count());
+
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(i % 2 == 1, dataset.contains(quad(i % 100, i, i % 3)));
+        }
+
+        assertFalse(dataset.contains(quad(1, 1, 5)));
+        assertEquals(2500, dataset.defaultGraph().stream().count()
+                + dataset.graphNames().stream()
+                        .map(dataset::namedGraph)
+                        .mapToLong(graph -> graph.get().stream().count())
+                        .sum());
+    }
+
+    @Test
+    void testMatch() {
+
+        final ColumnarQuadDataset dataset = new ColumnarQuadDataset();
+        final QuadSet expected = new QuadSet();
+
+        for (int i = 0; i < 3000; i++) {
+            final RdfQuad quad = quad(i % 50, i % 70, i % 4);
+            dataset.add(quad);
+            expected.add(quad);
+        }
+
+        dataset.remove(quad(1, 1, 1));
+        expected.remove(quad(1, 1, 1));
+
+        final RdfQuad pattern = quad(1, 1, 1);
+        final RdfResource graph = pattern.graphName().get();
+
+        assertMatch(expected, dataset, null, null, null, null);
+        assertMatch(expected, dataset, pattern.subject(), null, null, null);
+        assertMatch(expected, dataset, null, P, null, null);
+        assertMatch(expected, dataset, null, null, pattern.object(), null);
+        assertMatch(expected, dataset, null, null, null, graph);
+        assertMatch(expected, dataset, pattern.subject(), null, pattern.object(), null);
+        assertMatch(expected, dataset, pattern.subject(), P, null, graph);
+        assertMatch(expected, dataset, pattern.subject(), P, pattern.object(), graph);
+        assertMatch(expected, dataset, quad(2, 2, 2).subject(), P, quad(2, 2, 2).object(), quad(2, 2, 2).graphName().get());
+        assertMatch(expected, dataset, Resource.createIRI("http://example.org/unknown"), null, null, null);
+
+        assertEquals(
+                expected.stream().filter(q -> !q.graphName().isPresent() && q.subject().equals(pattern.subject())).count(),
+                dataset.defaultGraph().match(pattern.subject(), null, null).count());
+    }
+
+    @Test
+    void testCompact() {
+
+        final ColumnarQuadDataset dataset = new ColumnarQuadDataset();
+
+        for (int i = 0; i < 1000; i++) {
+            dataset.add(quad(i % 10, i, i % 2));
+        }
+
+        final RdfGraph graph = dataset.namedGraph(quad(0, 0, 1).graphName().get()).get();
+
+        // remove the named graph, rows are compacted
+        for (int i = 1; i < 1000; i += 2) {
+            assertTrue(dataset.remove(quad(i % 10, i, 1)));
+        }
+        for (int i = 0; i < 600; i += 2) {
+            assertTrue(dataset.remove(quad(i % 10, i, 0)));
+        }
+
+        assertEquals(200, dataset.size());
+        assertTrue(dataset.rows < 1000);
+        assertTrue(dataset.graphNames().isEmpty());
+        assertEquals(0, graph.stream().count());
+        assertEquals(40, dataset.match(quad(0, 0, 0).subject(), null, null, null).count());
+        assertEquals(dataset.stream().collect(Collectors.toList()), dataset.defaultGraph().stream().collect(Collectors.toList()));
+
+        // a view of a dropped graph shows quads added later
+        assertTrue(dataset.add(quad(1, 1, 1)));
+        assertEquals(1, dataset.graphNames().size());
+        assertEquals(1, graph.stream().count());
+        assertTrue(graph.contains(quad(1, 1, 1)));
+        assertEquals(201, dataset.size());
+    }
+
+    static void assertMatch(RdfQuadSet expected, RdfQuadSet dataset, RdfResource subject, RdfResource predicate, RdfTerm object, RdfResource graph) {
+        assertEquals(
+                expected.match(subject, predicate, object, graph).collect(Collectors.toSet()),
+                dataset.match(subject, predicate, object, graph).collect(Collectors.toSet()));
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import com.apicatalog.rdf.model.RdfDataset;
+import com.apicatalog.rdf.model.RdfQuad;
+import com.apicatalog.rdf.model.RdfResource;
+import com.apicatalog.rdf.model.RdfTriple;
+import com.apicatalog.rdf.primitive.Literal;
+import com.apicatalog.rdf.primitive.Quad;
+import com.apicatalog.rdf.primitive.Resource;
+import com.apicatalog.rdf.primitive.flow.QuadAcceptor;
+
+class ConcurrentQuadDatasetTest {
+
+    static final String XSD_INTEGER = "http://www.w3.org/2001/XMLSchema#integer";
+
+    @Test
+    void testParallelAccept() throws Exception {
+
+        final QuadAcceptor acceptor = QuadAcceptor.concurrent();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            final List<Future<?>> tasks = new ArrayList<>();
+
+            // each task accepts an overlapping range of quads
+            for (int task = 0; task < 8; task++) {
+                final int offset = task * 1000;
+                tasks.add(executor.submit(() -> {
+                    for (int i = offset; i < offset + 2000; i++) {
+                        acceptor.quad(
+                                "http://example.org/s" + (i % 100),
+                                "http://example.org/p",
+                                Integer.toString(i),
+                                XSD_INTEGER,
+                                null,
+                                null,
+                                i % 3 == 0 ? null : "_:g" + (i % 3));
+                    }
+                    return null;
+                }));
+            }
+
+            for (final Future<?> task : tasks) {
+                task.get();
+            }
+
+        } finally {
+            executor.shutdown();
+        }
+
+        final ConcurrentQuadDataset dataset = (ConcurrentQuadDataset) acceptor.get();
+
+        assertEquals(9000, dataset.size());
+        assertEquals(9000, dataset.stream().count());
+        assertEquals(2, ((RdfDataset) dataset).graphNames().size());
+
+        assertEquals(3000, dataset.defaultGraph().stream().count());
+
+        // terms are interned across threads
+        final RdfQuad first = dataset.stream().filter(q -> q.subject().value().equals("http://example.org/s1")).findFirst().get();
+        assertTrue(dataset.stream()
+                .filter(q -> q.subject().value().equals("http://example.org/s1"))
+                .allMatch(q -> q.subject() == first.subject() && q.predicate() == first.predicate()));
+        assertSame(first.subject(), acceptor.terms().createIRI("http://example.org/s1"));
+
+        dataset.stream().filter(q -> q.graphName().isPresent()).limit(10).forEach(q -> assertTrue(dataset.remove(q)));
+        assertEquals(8990, dataset.size());
+        assertEquals(5990, dataset.graphNames().stream().map(dataset::namedGraph).mapToLong(g -> g.get().stream().count()).sum());
+    }
+
+    @Test
+    void testParallelAddRemove() throws Exception {
+
+        final ConcurrentQuadDataset dataset = new ConcurrentQuadDataset();
+
+        final RdfResource p = Resource.createIRI("http://example.org/p");
+        final RdfResource g = Resource.createIRI("http://example.org/g");
+
+        final List<RdfQuad> quads = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            quads.add(Quad.of(Resource.createIRI("http://example.org/s" + i), p, Literal.of(Integer.toString(i), XSD_INTEGER), i % 2 == 0 ? g : null));
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            final List<Future<?>> tasks = new ArrayList<>();
+
+            // adders and removers race on the same quads
+            for (int task = 0; task < 8; task++) {
+                final boolean adds = task % 2 == 0;
+                tasks.add(executor.submit(() -> {
+                    for (int round = 0; round < 200; round++) {
+                        for (final RdfQuad quad : quads) {
+                            if (adds) {
+                                dataset.add(quad);
+                            } else {
+                                dataset.remove(quad);
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            for (final Future<?> task : tasks) {
+                task.get();
+            }
+
+        } finally {
+            executor.shutdown();
+        }
+
+        // every quad is in its graph and every graph quad is in the dataset
+        final Set<RdfTriple> graphs = new HashSet<>();
+        dataset.defaultGraph().stream().forEach(graphs::add);
+        dataset.namedGraph(g).ifPresent(graph -> graph.stream().forEach(graphs::add));
+
+        assertEquals(new HashSet<>(dataset), graphs);
+    }
+}
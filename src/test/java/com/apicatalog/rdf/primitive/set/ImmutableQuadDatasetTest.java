@@ -0,0 +1,140 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static com.apicatalog.rdf.primitive.TestQuads.P;
+import static com.apicatalog.rdf.primitive.TestQuads.quad;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.apicatalog.rdf.model.RdfGraph;
+import com.apicatalog.rdf.model.RdfQuad;
+import com.apicatalog.rdf.model.RdfResource;
+import com.apicatalog.rdf.model.RdfTriple;
+import com.apicatalog.rdf.primitive.Resource;
+import com.apicatalog.rdf.primitive.Triple;
+
+class ImmutableQuadDatasetTest {
+
+    @Test
+    void testFreeze() {
+
+        final QuadDataset expected = new QuadDataset();
+
+        for (int i = 0; i < 5000; i++) {
+            expected.add(quad(i % 100, i % 700, i % 3));
+        }
+
+        final ImmutableQuadDataset dataset = expected.freeze();
+
+        assertEquals(expected.size(), dataset.size());
+        assertEquals(expected, dataset.stream().collect(Collectors.toSet()));
+        assertEquals(expected.graphNames(), dataset.graphNames());
+
+        for (int i = 0; i < 5000; i++) {
+            assertTrue(dataset.contains(quad(i % 100, i % 700, i % 3)));
+        }
+        assertFalse(dataset.contains(quad(1, 2, 1)));
+        assertFalse(dataset.contains(quad(1, 1, 5)));
+        assertFalse(dataset.contains(quad(1000, 1, 0)));
+
+        assertEquals(
+                triples(expected.defaultGraph()),
+                triples(dataset.defaultGraph()));
+
+        for (final RdfResource graphName : expected.graphNames()) {
+            assertEquals(
+                    triples(expected.namedGraph(graphName).get()),
+                    triples(dataset.namedGraph(graphName).get()));
+        }
+
+        assertThrows(UnsupportedOperationException.class, () -> dataset.add(quad(1, 2, 1)));
+    }
+
+    static Set<RdfTriple> triples(RdfGraph graph) {
+        // quad datasets keep quads in graphs
+        return graph.stream()
+                .map(triple -> Triple.of(triple.subject(), triple.predicate(), triple.object()))
+                .collect(Collectors.toSet());
+    }
+
+    @Test
+    void testOfGraphs() {
+
+        final QuadDataset graphs = new QuadDataset();
+
+        for (int i = 0; i < 1000; i++) {
+            graphs.add(quad(i % 10, i, i % 4));
+        }
+
+        final ImmutableQuadDataset dataset = ImmutableQuadDataset.ofGraphs(graphs);
+
+        assertEquals(1000, dataset.size());
+        assertEquals(3, dataset.graphNames().size());
+        assertTrue(dataset.defaultGraph().contains(Triple.of(quad(0, 0, 0).subject(), P, quad(0, 0, 0).object())));
+    }
+
+    @Test
+    void testMatch() {
+
+        final QuadSet expected = new QuadSet();
+
+        for (int i = 0; i < 3000; i++) {
+            expected.add(quad(i % 50, i % 70, i % 4));
+        }
+
+        final ImmutableQuadDataset dataset = expected.freeze();
+
+        final RdfQuad pattern = quad(1, 1, 1);
+        final RdfResource graph = pattern.graphName().get();
+
+        ColumnarQuadDatasetTest.assertMatch(expected, dataset, null, null, null, null);
+        ColumnarQuadDatasetTest.assertMatch(expected, dataset, pattern.subject(), null, null, null);
+        ColumnarQuadDatasetTest.assertMatch(expected, dataset, null, P, null, null);
+        ColumnarQuadDatasetTest.assertMatch(expected, dataset, null, null, pattern.object(), null);
+        ColumnarQuadDatasetTest.assertMatch(expected, dataset, null, null, null, graph);
+        ColumnarQuadDatasetTest.assertMatch(expected, dataset, pattern.subject(), null, pattern.object(), null);
+        ColumnarQuadDatasetTest.assertMatch(expected, dataset, pattern.subject(), P, null, graph);
+        ColumnarQuadDatasetTest.assertMatch(expected, dataset, pattern.subject(), P, pattern.object(), graph);
+        ColumnarQuadDatasetTest.assertMatch(expected, dataset, Resource.createIRI("http://example.org/unknown"), null, null, null);
+
+        final RdfTriple triple = Triple.of(pattern.subject(), P, pattern.object());
+
+        assertEquals(
+                expected.stream().filter(q -> q.graphName().map(graph::equals).orElse(false) && q.subject().equals(pattern.subject())).count(),
+                dataset.namedGraph(graph).get().match(pattern.subject(), null, null).count());
+
+        assertEquals(expected.contains(pattern), dataset.namedGraph(graph).get().contains(triple));
+    }
+
+    @Test
+    void testEmpty() {
+
+        final ImmutableQuadDataset dataset = new QuadSet().freeze();
+
+        assertEquals(0, dataset.size());
+        assertTrue(dataset.graphNames().isEmpty());
+        assertEquals(0, dataset.defaultGraph().stream().count());
+        assertFalse(dataset.contains(quad(1, 1, 0)));
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.apicatalog.rdf.model.RdfGraph;
+import com.apicatalog.rdf.model.RdfQuad;
+import com.apicatalog.rdf.model.RdfQuadSet;
+import com.apicatalog.rdf.model.RdfResource;
+import com.apicatalog.rdf.model.RdfTriple;
+import com.apicatalog.rdf.primitive.Quad;
+import com.apicatalog.rdf.primitive.Resource;
+import com.apicatalog.rdf.primitive.Triple;
+
+class QuadDatasetTest {
+
+    static final RdfResource S = Resource.createIRI("http://example.org/s");
+    static final RdfResource P = Resource.createIRI("http://example.org/p");
+    static final RdfResource G1 = Resource.createIRI("http://example.org/g1");
+    static final RdfResource G2 = Resource.createIRI("http://example.org/g2");
+
+    static RdfQuad quad(int object, RdfResource graphName) {
+        return Quad.of(S, P, Resource.createIRI("http://example.org/o" + object), graphName);
+    }
+
+    static <T extends RdfQuadSet> T populate(T dataset) {
+        for (int i = 0; i < 10; i++) {
+            dataset.add(quad(i, null));
+            dataset.add(quad(i, G1));
+            dataset.add(quad(i, G2));
+        }
+        return dataset;
+    }
+
+    static Set<RdfTriple> triples(RdfGraph graph) {
+        return graph.stream()
+                .map(triple -> Triple.of(triple.subject(), triple.predicate(), triple.object()))
+                .collect(Collectors.toSet());
+    }
+
+    @Test
+    void testRemove() {
+
+        final QuadDataset dataset = populate(new QuadDataset());
+
+        assertTrue(dataset.remove(quad(0, G1)));
+        assertTrue(dataset.remove((Object) quad(0, null)));
+        assertFalse(dataset.remove(quad(0, G1)));
+
+        assertEquals(28, dataset.size());
+        assertEquals(9, triples(dataset.namedGraph(G1).get()).size());
+        assertEquals(9, triples(dataset.defaultGraph()).size());
+
+        // re-adding a removed quad must succeed
+        assertTrue(dataset.add(quad(0, G1)));
+        assertTrue(dataset.add(quad(0, null)));
+        assertEquals(30, dataset.size());
+
+        assertTrue(dataset.removeAll(Arrays.asList(quad(1, G1), quad(1, G2), quad(11, G2))));
+        assertEquals(28, dataset.size());
+        assertEquals(9, triples(dataset.namedGraph(G2).get()).size());
+        assertTrue(dataset.add(quad(1, G2)));
+
+        dataset.clear();
+        assertTrue(dataset.isEmpty());
+        assertTrue(dataset.graphNames().isEmpty());
+        assertTrue(triples(dataset.defaultGraph()).isEmpty());
+        assertTrue(dataset.add(quad(0, null)));
+    }
+
+    @Test
+    void testRemoveGraph() {
+
+        final QuadDataset dataset = populate(new QuadDataset());
+
+        assertTrue(dataset.removeGraph(G1));
+        assertFalse(dataset.removeGraph(G1));
+
+        assertEquals(20, dataset.size());
+        assertEquals(Collections.singleton(G2), dataset.graphNames());
+        assertFalse(dataset.namedGraph(G1).isPresent());
+        assertFalse(dataset.contains(quad(0, G1)));
+
+        assertTrue(dataset.removeGraph(null));
+        assertFalse(dataset.removeGraph(null));
+
+        assertEquals(10, dataset.size());
+        assertTrue(triples(dataset.defaultGraph()).isEmpty());
+
+        assertTrue(dataset.add(quad(0, G1)));
+        assertTrue(dataset.add(quad(0, null)));
+        assertEquals(12, dataset.size());
+    }
+
+    @Test
+    void testReplaceGraph() {
+
+        final QuadDataset dataset = populate(new QuadDataset());
+
+        final TripleSet graph = new TripleSet();
+        graph.add(Triple.of(S, P, Resource.createIRI("http://example.org/x")));
+        graph.add(Triple.of(S, P, Resource.createIRI("http://example.org/o0")));
+
+        dataset.replaceGraph(G1, graph);
+
+        assertEquals(22, dataset.size());
+        assertEquals(graph, triples(dataset.namedGraph(G1).get()));
+        assertTrue(dataset.contains(Quad.of(S, P, Resource.createIRI("http://example.org/x"), G1)));
+        assertFalse(dataset.contains(quad(1, G1)));
+
+        dataset.replaceGraph(null, graph);
+        assertEquals(14, dataset.size());
+        assertEquals(graph, triples(dataset.defaultGraph()));
+
+        // replacing a graph by itself keeps the graph
+        dataset.replaceGraph(G2, dataset.namedGraph(G2).get());
+        assertEquals(14, dataset.size());
+
+        dataset.replaceGraph(G2, new TripleSet());
+        assertEquals(4, dataset.size());
+        assertTrue(dataset.graphNames().contains(G2));
+    }
+
+    @Test
+    void testGraphViews() {
+
+        final QuadDataset dataset = populate(new QuadDataset());
+
+        final RdfGraph g1 = dataset.namedGraph(G1).get();
+        final RdfGraph g2 = dataset.namedGraph(G2).get();
+
+        // a removed graph is empty
+        assertTrue(dataset.removeGraph(G1));
+        assertEquals(0, g1.stream().count());
+
+        // a replaced graph shows the new triples
+        final TripleSet graph = new TripleSet();
+        graph.add(Triple.of(S, P, Resource.createIRI("http://example.org/x")));
+
+        dataset.replaceGraph(G2, graph);
+        assertEquals(graph, triples(g2));
+
+        dataset.clear();
+        assertEquals(0, g2.stream().count());
+
+        final OrderedQuadDataset ordered = populate(new OrderedQuadDataset());
+
+        final RdfGraph o1 = ordered.namedGraph(G1).get();
+        final RdfGraph o2 = ordered.namedGraph(G2).get();
+
+        assertTrue(ordered.removeGraph(G1));
+        assertEquals(0, o1.stream().count());
+
+        ordered.replaceGraph(G2, graph);
+        assertEquals(graph, triples(o2));
+    }
+
+    @Test
+    void testMatch() {
+
+        final QuadDataset dataset = populate(new QuadDataset());
+
+        final RdfResource o1 = Resource.createIRI("http://example.org/o1");
+
+        assertEquals(30, dataset.match(S, null, null, null).count());
+        assertEquals(10, dataset.match(null, P, null, G1).count());
+        assertEquals(3, dataset.match(S, P, o1, null).count());
+        assertEquals(3, dataset.match(null, null, o1, null).count());
+        assertEquals(Collections.singletonList(quad(1, G2)), dataset.match(S, null, o1, G2).collect(Collectors.toList()));
+        assertEquals(0, dataset.match(P, null, null, null).count());
+        assertEquals(0, dataset.match(S, null, null, S).count());
+
+        // the indexes follow changes after the first match
+        assertTrue(dataset.remove(quad(1, G2)));
+        assertTrue(dataset.removeIf(quad -> quad.object().equals(o1) && !quad.graphName().isPresent()));
+        assertTrue(dataset.add(Quad.of(P, S, o1, G2)));
+
+        assertEquals(1, dataset.match(S, P, o1, null).count());
+        assertEquals(Collections.singletonList(Quad.of(P, S, o1, G2)), dataset.match(P, null, null, null).collect(Collectors.toList()));
+
+        dataset.clear();
+        assertTrue(dataset.add(quad(1, null)));
+        assertEquals(1, dataset.match(S, null, null, null).count());
+    }
+
+    @Test
+    void testMatchGraphView() {
+
+        final RdfResource x = Resource.createIRI("http://example.org/x");
+
+        final QuadDataset dataset = populate(new QuadDataset());
+        ((TripleSet) dataset.defaultGraph()).add(Triple.of(x, P, x));
+        ((TripleSet) dataset.namedGraph(G1).get()).add(Triple.of(x, P, x));
+
+        // triples added through a view are matched as quads of the graph
+        assertEquals(Arrays.asList(Quad.of(x, P, x, null), Quad.of(x, P, x, G1)),
+                dataset.match(x, null, null, null).sorted(Comparator.comparing(quad -> quad.graphName().isPresent())).collect(Collectors.toList()));
+
+        final OrderedQuadDataset ordered = populate(new OrderedQuadDataset());
+        ((OrderedTripleSet) ordered.namedGraph(G2).get()).add(Triple.of(x, P, x));
+
+        assertEquals(Collections.singletonList(Quad.of(x, P, x, G2)), ordered.match(x, null, null, G2).collect(Collectors.toList()));
+
+        // an ordered dataset matches in insertion order
+        assertEquals(Arrays.asList(quad(0, G1), quad(1, G1), quad(2, G1)), ordered.match(S, P, null, G1).limit(3).collect(Collectors.toList()));
+        assertEquals(11, ordered.match(null, P, null, null).filter(quad -> quad.graphName().equals(Optional.of(G2))).count());
+    }
+
+    @Test
+    void testOrdered() {
+
+        final OrderedQuadDataset dataset = populate(new OrderedQuadDataset());
+
+        assertTrue(dataset.remove(quad(0, G1)));
+        assertTrue(dataset.add(quad(0, G1)));
+
+        assertTrue(dataset.removeGraph(G2));
+        assertEquals(20, dataset.size());
+
+        final OrderedTripleSet graph = new OrderedTripleSet();
+        graph.add(Triple.of(S, P, Resource.createIRI("http://example.org/x")));
+
+        dataset.replaceGraph(null, graph);
+
+        final List<RdfQuad> quads = dataset.stream().collect(Collectors.toList());
+
+        assertEquals(11, quads.size());
+        assertEquals(quad(1, G1), quads.get(0));
+        assertEquals(quad(0, G1), quads.get(9));
+        assertEquals(Quad.of(S, P, Resource.createIRI("http://example.org/x"), null), quads.get(10));
+
+        dataset.removeIf(quad -> quad.graphName().isPresent());
+        assertEquals(new HashSet<>(graph), triples(dataset.defaultGraph()));
+        assertTrue(triples(dataset.namedGraph(G1).get()).isEmpty());
+    }
+}
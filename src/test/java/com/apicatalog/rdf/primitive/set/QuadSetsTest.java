@@ -0,0 +1,177 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static com.apicatalog.rdf.primitive.TestQuads.P;
+import static com.apicatalog.rdf.primitive.TestQuads.RDF_LANG_STRING;
+import static com.apicatalog.rdf.primitive.TestQuads.quad;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import com.apicatalog.rdf.model.RdfLiteral.Direction;
+import com.apicatalog.rdf.model.RdfQuad;
+import com.apicatalog.rdf.model.RdfQuadSet;
+import com.apicatalog.rdf.model.RdfResource;
+import com.apicatalog.rdf.model.RdfTerm;
+import com.apicatalog.rdf.primitive.LangString;
+import com.apicatalog.rdf.primitive.Quad;
+import com.apicatalog.rdf.primitive.Resource;
+import com.apicatalog.rdf.primitive.TermDictionary;
+import com.apicatalog.rdf.primitive.Triple;
+
+class QuadSetsTest {
+
+    /**
+     * Returns a quad with a blank node, a language string or a triple term.
+     */
+    static RdfQuad term(int index, int graph) {
+
+        final RdfResource blank = Resource.createBlankNode("b" + index);
+        final RdfTerm langString = LangString.of("v" + index, RDF_LANG_STRING, "en", index % 2 == 0 ? Direction.LTR : null);
+        final RdfResource graphName = graph > 0
+                ? Resource.createBlankNode("g" + graph)
+                : null;
+
+        switch (index % 3) {
+        case 0:
+            return Quad.of(blank, P, langString, graphName);
+
+        case 1:
+            return Quad.of(Resource.createIRI("http://example.org/s" + index), P, Triple.of(blank, P, langString), graphName);
+
+        default:
+            return Quad.of(blank, P, Triple.of(blank, P, Triple.of(blank, P, langString)), graphName);
+        }
+    }
+
+    @Test
+    void testOperations() {
+
+        final QuadSet a = new QuadSet();
+        final QuadSet b = new QuadSet();
+
+        for (int i = 0; i < 2000; i++) {
+            a.add(quad(i % 40, i, i % 3));
+        }
+        for (int i = 1000; i < 3000; i++) {
+            b.add(quad(i % 40, i, i % 3));
+        }
+        // a term unknown to the other side
+        b.add(quad(1000, 1, 0));
+
+        for (int i = 0; i < 60; i++) {
+            a.add(term(i, i % 2));
+        }
+        for (int i = 30; i < 90; i++) {
+            b.add(term(i, i % 2));
+        }
+
+        final TermDictionary terms = new TermDictionary();
+        final ColumnarQuadDataset columnarA = new ColumnarQuadDataset(terms);
+        final ColumnarQuadDataset columnarB = new ColumnarQuadDataset(terms);
+        final ColumnarQuadDataset separateB = new ColumnarQuadDataset();
+        a.forEach(columnarA::add);
+        b.forEach(columnarB::add);
+        b.forEach(separateB::add);
+        // removed rows are skipped
+        columnarA.add(quad(5000, 1, 0));
+        columnarA.remove(quad(5000, 1, 0));
+
+        final SortedQuadDataset sortedA = new SortedQuadDataset();
+        final SortedQuadDataset sortedB = new SortedQuadDataset();
+        a.forEach(sortedA::add);
+        b.forEach(sortedB::add);
+
+        final SortedQuadDataset spogA = new SortedQuadDataset(QuadComparator.of("SPOG"));
+        a.forEach(spogA::add);
+
+        final RdfQuadSet[][] pairs = new RdfQuadSet[][] {
+                { a, b },
+                { sortedA, sortedB },
+                { spogA, sortedB },
+                { a.freeze(), b.freeze() },
+                { a.freeze(), sortedB },
+                { columnarA, columnarB },
+                { columnarA, separateB },
+        };
+
+        for (final RdfQuadSet[] pair : pairs) {
+            assertOperation(a, b, pair[0], pair[1], QuadSets::union, (x, y) -> x || y);
+            assertOperation(a, b, pair[0], pair[1], QuadSets::intersection, (x, y) -> x && y);
+            assertOperation(a, b, pair[0], pair[1], QuadSets::difference, (x, y) -> x && !y);
+            assertOperation(a, b, pair[0], pair[1], QuadSets::symmetricDifference, (x, y) -> x != y);
+
+            assertOperation(b, a, pair[1], pair[0], QuadSets::difference, (x, y) -> x && !y);
+            assertOperation(a, a, pair[0], pair[0], QuadSets::symmetricDifference, (x, y) -> x != y);
+            assertOperation(a, new QuadSet(), pair[0], new QuadSet(), QuadSets::intersection, (x, y) -> x && y);
+        }
+    }
+
+    @Test
+    void testMergeOrder() {
+
+        final SortedQuadDataset a = new SortedQuadDataset(QuadComparator.SPOG);
+        final SortedQuadDataset b = new SortedQuadDataset(QuadComparator.of("spog"));
+
+        for (int i = 0; i < 500; i++) {
+            a.add(quad(i % 17, i, 0));
+            b.add(quad(i % 13, i + 250, 1));
+        }
+
+        final List<RdfQuad> union = QuadSets.union(a, b).collect(Collectors.toList());
+        final List<RdfQuad> sorted = new ArrayList<>(union);
+        sorted.sort(QuadComparator.SPOG);
+
+        assertEquals(1000, union.size());
+        assertEquals(sorted, union);
+    }
+
+    @Test
+    void testNull() {
+        assertThrows(IllegalArgumentException.class, () -> QuadSets.union(null, new QuadSet()));
+        assertThrows(IllegalArgumentException.class, () -> QuadSets.union(new QuadSet(), null));
+    }
+
+    static void assertOperation(
+            Set<RdfQuad> a,
+            Set<RdfQuad> b,
+            RdfQuadSet left,
+            RdfQuadSet right,
+            BiFunction<RdfQuadSet, RdfQuadSet, Stream<RdfQuad>> operation,
+            BiFunction<Boolean, Boolean, Boolean> predicate) {
+
+        final Set<RdfQuad> expected = new HashSet<>();
+
+        Stream.concat(a.stream(), b.stream())
+                .filter(quad -> predicate.apply(a.contains(quad), b.contains(quad)))
+                .forEach(expected::add);
+
+        final List<RdfQuad> result = operation.apply(left, right).collect(Collectors.toList());
+
+        assertEquals(expected.size(), result.size());
+        assertEquals(expected, new HashSet<>(result));
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static com.apicatalog.rdf.primitive.TestQuads.P;
+import static com.apicatalog.rdf.primitive.TestQuads.XSD_INTEGER;
+import static com.apicatalog.rdf.primitive.TestQuads.quad;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.apicatalog.rdf.model.RdfLiteral;
+import com.apicatalog.rdf.model.RdfQuad;
+import com.apicatalog.rdf.model.RdfResource;
+import com.apicatalog.rdf.model.RdfTerm;
+import com.apicatalog.rdf.primitive.LangString;
+import com.apicatalog.rdf.primitive.Literal;
+import com.apicatalog.rdf.primitive.Quad;
+import com.apicatalog.rdf.primitive.Resource;
+import com.apicatalog.rdf.primitive.Triple;
+
+class SortedQuadDatasetTest {
+
+    @Test
+    void testOrder() {
+
+        for (final QuadComparator comparator : new QuadComparator[] { QuadComparator.GSPO, QuadComparator.SPOG, QuadComparator.of("posg") }) {
+
+            final SortedQuadDataset dataset = new SortedQuadDataset(comparator);
+            final List<RdfQuad> expected = new ArrayList<>();
+
+            for (int i = 0; i < 2000; i++) {
+                final RdfQuad quad = quad((i * 7) % 100, (i * 13) % 300, i % 3);
+                if (dataset.add(quad)) {
+                    expected.add(quad);
+                }
+            }
+
+            expected.sort(comparator);
+
+            assertEquals(expected, dataset.stream().collect(Collectors.toList()));
+            assertEquals(expected, new ArrayList<>(dataset));
+            assertEquals(expected.size(), dataset.size());
+        }
+    }
+
+    @Test
+    void testTermOrder() {
+
+        final RdfTerm[] terms = new RdfTerm[] {
+                null,
+                Resource.createIRI("http://example.org/a"),
+                Resource.createIRI("http://example.org/b"),
+                Resource.createBlankNode("_:a"),
+                LangString.of("a", "http://www.w3.org/1999/02/22-rdf-syntax-ns#langString", "en", (RdfLiteral.Direction) null),
+                Literal.of("a", "http://www.w3.org/2001/XMLSchema#string"),
+                Literal.of("b", "http://www.w3.org/2001/XMLSchema#string"),
+                Triple.of(Resource.createIRI("http://example.org/a"), P, Resource.createIRI("http://example.org/a")),
+        };
+
+        for (int i = 0; i < terms.length; i++) {
+            for (int j = 0; j < terms.length; j++) {
+                assertEquals(Integer.signum(Integer.compare(i, j)), Integer.signum(QuadComparator.compareTerms(terms[i], terms[j])));
+            }
+        }
+    }
+
+    @Test
+    void testMatch() {
+
+        final QuadSet expected = new QuadSet();
+
+        for (int i = 0; i < 3000; i++) {
+            expected.add(quad(i % 50, i % 70, i % 4));
+        }
+
+        for (final QuadComparator comparator : new QuadComparator[] { QuadComparator.GSPO, QuadComparator.SPOG, QuadComparator.of("OPSG") }) {
+
+            final SortedQuadDataset dataset = new SortedQuadDataset(comparator);
+            expected.forEach(dataset::add);
+
+            final RdfQuad pattern = quad(1, 1, 1);
+            final RdfResource graph = pattern.graphName().get();
+
+            ColumnarQuadDatasetTest.assertMatch(expected, dataset, null, null, null, null);
+            ColumnarQuadDatasetTest.assertMatch(expected, dataset, pattern.subject(), null, null, null);
+            ColumnarQuadDatasetTest.assertMatch(expected, dataset, null, P, null, null);
+            ColumnarQuadDatasetTest.assertMatch(expected, dataset, null, null, pattern.object(), null);
+            ColumnarQuadDatasetTest.assertMatch(expected, dataset, null, null, null, graph);
+            ColumnarQuadDatasetTest.assertMatch(expected, dataset, pattern.subject(), null, pattern.object(), null);
+            ColumnarQuadDatasetTest.assertMatch(expected, dataset, pattern.subject(), P, null, graph);
+            ColumnarQuadDatasetTest.assertMatch(expected, dataset, pattern.subject(), P, pattern.object(), graph);
+            ColumnarQuadDatasetTest.assertMatch(expected, dataset, Resource.createIRI("http://example.org/unknown"), null, null, null);
+
+            // matches are ordered
+            final List<RdfQuad> matched = dataset.match(pattern.subject(), null, null, null).collect(Collectors.toList());
+            final List<RdfQuad> sorted = new ArrayList<>(matched);
+            sorted.sort(comparator);
+            assertEquals(sorted, matched);
+
+            assertEquals(
+                    expected.stream().filter(q -> !q.graphName().isPresent() && q.subject().equals(pattern.subject())).count(),
+                    dataset.defaultGraph().match(pattern.subject(), null, null).count());
+
+            assertEquals(
+                    expected.stream().filter(q -> q.graphName().map(graph::equals).orElse(false)).count(),
+                    dataset.namedGraph(graph).get().stream().count());
+
+            assertTrue(dataset.namedGraph(graph).get().contains(Triple.of(pattern.subject(), P, pattern.object())));
+        }
+    }
+
+    @Test
+    void testFrom() {
+
+        final SortedQuadDataset dataset = new SortedQuadDataset(QuadComparator.SPOG);
+
+        for (int i = 0; i < 100; i++) {
+            dataset.add(quad(i % 10, i, 0));
+        }
+
+        final RdfQuad from = Quad.of(quad(5, 0, 0).subject(), P, Literal.of("0", XSD_INTEGER), null);
+
+        assertEquals(
+                dataset.stream().filter(quad -> QuadComparator.SPOG.compare(quad, from) >= 0).collect(Collectors.toList()),
+                dataset.from(from).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testRemove() {
+
+        final SortedQuadDataset dataset = new SortedQuadDataset();
+
+        for (int i = 0; i < 100; i++) {
+            dataset.add(quad(i % 10, i, i % 2));
+        }
+
+        assertEquals(1, dataset.graphNames().size());
+
+        final SortedQuadDataset.SortedGraph graph = (SortedQuadDataset.SortedGraph) dataset.namedGraph(quad(1, 1, 1).graphName().get()).get();
+
+        final Iterator<RdfQuad> it = dataset.iterator();
+        while (it.hasNext()) {
+            if (it.next().graphName().isPresent()) {
+                it.remove();
+            }
+        }
+
+        assertEquals(50, dataset.size());
+        assertTrue(dataset.graphNames().isEmpty());
+        assertFalse(dataset.namedGraph(quad(1, 1, 1).graphName().get()).isPresent());
+        assertEquals(0, graph.size());
+
+        // a view of an emptied graph shows quads added later
+        assertTrue(dataset.add(quad(1, 1, 1)));
+        assertEquals(1, graph.size());
+        assertEquals(1, graph.stream().count());
+        assertEquals(1, dataset.graphNames().size());
+        assertTrue(dataset.remove(quad(1, 1, 1)));
+
+        assertTrue(dataset.remove(quad(0, 0, 0)));
+        assertFalse(dataset.remove(quad(0, 0, 0)));
+        assertEquals(49, dataset.defaultGraph().stream().count());
+
+        dataset.clear();
+        assertEquals(0, dataset.defaultGraph().stream().count());
+
+        assertTrue(dataset.add(quad(1, 1, 1)));
+        assertEquals(1, graph.size());
+    }
+
+    @Test
+    void testInvalidOrder() {
+        assertThrows(IllegalArgumentException.class, () -> QuadComparator.of("GSPP"));
+        assertThrows(IllegalArgumentException.class, () -> QuadComparator.of("GSP"));
+        assertThrows(IllegalArgumentException.class, () -> QuadComparator.of(null));
+    }
+}
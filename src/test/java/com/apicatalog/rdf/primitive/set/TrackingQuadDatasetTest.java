@@ -0,0 +1,116 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static com.apicatalog.rdf.primitive.TestQuads.quad;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.apicatalog.rdf.primitive.Triple;
+
+class TrackingQuadDatasetTest {
+
+    @Test
+    void testCheckpoint() {
+
+        final SortedQuadDataset dataset = new SortedQuadDataset();
+
+        for (int i = 0; i < 100; i++) {
+            dataset.add(quad(i % 10, i, i % 2));
+        }
+
+        final TrackingQuadDataset tracking = TrackingQuadDataset.of(dataset);
+
+        assertTrue(tracking.delta().isEmpty());
+
+        assertTrue(tracking.add(quad(1, 1000, 1)));
+        assertFalse(tracking.add(quad(1, 1, 1)));
+        assertTrue(tracking.remove(quad(2, 2, 0)));
+        assertFalse(tracking.remove(quad(2, 2000, 0)));
+
+        // changes cancel each other
+        assertTrue(tracking.add(quad(3, 3000, 0)));
+        assertTrue(tracking.remove(quad(3, 3000, 0)));
+        assertTrue(tracking.remove(quad(4, 4, 0)));
+        assertTrue(tracking.add(quad(4, 4, 0)));
+
+        final QuadDelta delta = tracking.checkpoint();
+
+        assertEquals(2, delta.size());
+        assertEquals(Arrays.asList(quad(1, 1000, 1)), delta.added().stream().collect(Collectors.toList()));
+        assertEquals(Arrays.asList(quad(2, 2, 0)), delta.removed().stream().collect(Collectors.toList()));
+
+        assertTrue(tracking.delta().isEmpty());
+        assertEquals(100, dataset.size());
+        assertTrue(dataset.contains(quad(1, 1000, 1)));
+        assertFalse(tracking.contains(quad(2, 2, 0)));
+
+        tracking.remove(quad(1, 1000, 1));
+
+        assertEquals(1, tracking.checkpoint().removed().stream().count());
+        assertEquals(2, delta.size());
+    }
+
+    @Test
+    void testReadOnlyGraphs() {
+
+        final TrackingQuadDataset tracking = new OrderedQuadDataset().track();
+
+        tracking.add(quad(1, 1, 1));
+
+        assertTrue(tracking.namedGraph(quad(1, 1, 1).graphName().get()).get().contains(quad(1, 1, 1)));
+        assertThrows(UnsupportedOperationException.class, () -> tracking.defaultGraph().add(Triple.of(quad(1, 1, 0).subject(), quad(1, 1, 0).predicate(), quad(1, 1, 0).object())));
+        assertEquals(1, tracking.delta().size());
+    }
+
+    @Test
+    void testReplaceGraph() {
+
+        final QuadDataset dataset = new QuadDataset();
+
+        for (int i = 0; i < 10; i++) {
+            dataset.add(quad(i, i, 1));
+            dataset.add(quad(i, i, 0));
+        }
+
+        final TrackingQuadDataset tracking = dataset.track();
+
+        final TripleSet graph = new TripleSet();
+        graph.add(Triple.of(quad(0, 0, 0).subject(), quad(0, 0, 0).predicate(), quad(0, 0, 0).object()));
+        graph.add(Triple.of(quad(0, 100, 0).subject(), quad(0, 100, 0).predicate(), quad(0, 100, 0).object()));
+
+        // a kept quad is removed and added again, the changes cancel
+        tracking.replaceGraph(null, graph);
+
+        assertEquals(12, dataset.size());
+        assertEquals(Arrays.asList(quad(0, 100, 0)), tracking.delta().added().stream().collect(Collectors.toList()));
+        assertEquals(9, tracking.delta().removed().stream().count());
+
+        assertTrue(tracking.removeGraph(quad(0, 0, 1).graphName().get()));
+        assertFalse(tracking.removeGraph(quad(0, 0, 1).graphName().get()));
+
+        assertEquals(2, dataset.size());
+        assertEquals(19, tracking.delta().removed().stream().count());
+        assertThrows(UnsupportedOperationException.class, () -> tracking.graphNames().clear());
+    }
+}
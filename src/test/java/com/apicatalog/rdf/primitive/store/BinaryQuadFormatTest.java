@@ -0,0 +1,221 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.store;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.apicatalog.rdf.api.RdfConsumerException;
+import com.apicatalog.rdf.model.RdfLiteral.Direction;
+import com.apicatalog.rdf.model.RdfDataset;
+import com.apicatalog.rdf.model.RdfQuadSet;
+import com.apicatalog.rdf.model.RdfResource;
+import com.apicatalog.rdf.nquads.NQuadsWriter;
+import com.apicatalog.rdf.primitive.LangString;
+import com.apicatalog.rdf.primitive.Literal;
+import com.apicatalog.rdf.primitive.Quad;
+import com.apicatalog.rdf.primitive.Resource;
+import com.apicatalog.rdf.primitive.Triple;
+import com.apicatalog.rdf.primitive.flow.QuadAcceptor;
+import com.apicatalog.rdf.primitive.flow.QuadEmitter;
+import com.apicatalog.rdf.primitive.set.GraphDataset;
+import com.apicatalog.rdf.primitive.set.QuadDataset;
+import com.apicatalog.rdf.primitive.set.QuadSet;
+import com.apicatalog.rdf.primitive.set.TripleSet;
+
+class BinaryQuadFormatTest {
+
+    static final String XSD_INTEGER = "http://www.w3.org/2001/XMLSchema#integer";
+    static final String RDF_LANG_STRING = "http://www.w3.org/1999/02/22-rdf-syntax-ns#langString";
+
+    static QuadDataset dataset() {
+
+        final QuadDataset dataset = new QuadDataset();
+
+        final RdfResource p = Resource.createIRI("http://example.org/p");
+
+        for (int i = 0; i < 5000; i++) {
+            final RdfResource subject = i % 11 == 0
+                    ? Resource.createBlankNode("_:b" + (i % 50))
+                    : Resource.createIRI("http://example.org/s" + (i % 300));
+            final RdfResource graph = i % 3 == 0
+                    ? null
+                    : Resource.createIRI("http://example.org/g" + (i % 3));
+
+            dataset.add(Quad.of(subject, p, Literal.of(Integer.toString(i), XSD_INTEGER), graph));
+            dataset.add(Quad.of(subject, p, LangString.of("v" + (i % 7), RDF_LANG_STRING, "en", i % 2 == 0 ? Direction.LTR : null), graph));
+        }
+
+        return dataset;
+    }
+
+    static byte[] write(QuadDataset dataset) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (BinaryQuadWriter writer = new BinaryQuadWriter(output)) {
+            writer.write((RdfDataset) dataset);
+        }
+        return output.toByteArray();
+    }
+
+    @Test
+    void testQuadSet() throws IOException {
+
+        final QuadDataset dataset = dataset();
+
+        dataset.add(Quad.of(
+                Resource.createIRI("http://example.org/s"),
+                Resource.createIRI("http://example.org/q"),
+                Triple.of(Resource.createIRI("http://example.org/s"), Resource.createIRI("http://example.org/p"), Resource.createBlankNode("_:b1")),
+                null));
+
+        final byte[] bytes = write(dataset);
+
+        final QuadSet result = new QuadSet();
+
+        try (BinaryQuadReader reader = new BinaryQuadReader(new ByteArrayInputStream(bytes))) {
+            assertEquals(dataset.size(), reader.read(result));
+        }
+
+        assertEquals(dataset, result);
+    }
+
+    @Test
+    void testDataset() throws IOException {
+
+        final QuadDataset dataset = dataset();
+
+        final GraphDataset result = new GraphDataset();
+
+        try (BinaryQuadReader reader = new BinaryQuadReader(new ByteArrayInputStream(write(dataset)))) {
+            reader.read(result, TripleSet::new);
+        }
+
+        assertEquals(dataset.graphNames(), result.graphNames());
+        assertEquals(dataset.defaultGraph().stream().count(), result.defaultGraph().stream().count());
+
+        for (final RdfResource graphName : dataset.graphNames()) {
+            assertEquals(
+                    dataset.namedGraph(graphName).get().stream().count(),
+                    result.namedGraph(graphName).get().stream().count());
+        }
+    }
+
+    @Test
+    void testSize() throws IOException, RdfConsumerException {
+
+        final QuadDataset dataset = dataset();
+
+        final StringWriter text = new StringWriter();
+        QuadEmitter.emit(new NQuadsWriter(text), (RdfQuadSet) dataset);
+
+        final byte[] bytes = write(dataset);
+
+        assertTrue(bytes.length * 4 < text.toString().length());
+    }
+
+    @Test
+    void testQuadSetWriter() throws IOException, RdfConsumerException {
+
+        final QuadSet quads = new QuadSet();
+        dataset().forEach(quads::add);
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (BinaryQuadWriter writer = new BinaryQuadWriter(output)) {
+            writer.write(quads);
+        }
+
+        final StringWriter expected = new StringWriter();
+        final StringWriter result = new StringWriter();
+
+        QuadEmitter.emit(new NQuadsWriter(expected), quads);
+
+        try (BinaryQuadReader reader = new BinaryQuadReader(new ByteArrayInputStream(output.toByteArray()))) {
+            assertEquals(quads.size(), reader.provide(new NQuadsWriter(result)));
+        }
+
+        assertEquals(sorted(expected.toString()), sorted(result.toString()));
+    }
+
+    @Test
+    void testRuns(@TempDir Path directory) throws IOException {
+
+        final QuadDataset dataset = dataset();
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (BinaryQuadWriter writer = new BinaryQuadWriter(output, directory, 100)) {
+            writer.write((RdfDataset) dataset);
+        }
+
+        // the same document as written from the heap, runs are removed
+        assertArrayEquals(write(dataset), output.toByteArray());
+        assertEquals(0, Files.list(directory).count());
+    }
+
+    @Test
+    void testConsumer(@TempDir Path directory) throws IOException, RdfConsumerException {
+
+        final QuadDataset dataset = dataset();
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (BinaryQuadWriter writer = new BinaryQuadWriter(output, directory, 1000)) {
+            // each quad twice
+            QuadEmitter.emit(writer, (RdfQuadSet) dataset);
+            QuadEmitter.emit(writer, (RdfQuadSet) dataset);
+            writer.finish();
+        }
+
+        assertEquals(0, Files.list(directory).count());
+
+        // blank nodes as read by a consumer
+        final QuadSet expected = new QuadSet();
+        QuadEmitter.emit(new QuadAcceptor(expected), (RdfQuadSet) dataset);
+
+        final QuadSet result = new QuadSet();
+
+        try (BinaryQuadReader reader = new BinaryQuadReader(new ByteArrayInputStream(output.toByteArray()))) {
+            assertEquals(dataset.size(), reader.read(result));
+        }
+
+        assertEquals(expected, result);
+    }
+
+    @Test
+    void testInvalid() throws IOException {
+
+        final byte[] bytes = write(dataset());
+
+        assertThrows(IOException.class, () -> new BinaryQuadReader(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4, 5 })).read(new QuadSet()));
+        assertThrows(IOException.class, () -> new BinaryQuadReader(new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length / 2))).read(new QuadSet()));
+    }
+
+    static String sorted(String lines) {
+        return Arrays.stream(lines.split("\n")).sorted().collect(Collectors.joining("\n"));
+    }
+}
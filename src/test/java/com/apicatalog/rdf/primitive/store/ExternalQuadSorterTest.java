@@ -0,0 +1,159 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.apicatalog.rdf.api.RdfConsumerException;
+import com.apicatalog.rdf.api.RdfQuadConsumer;
+
+class ExternalQuadSorterTest {
+
+    static final String XSD_INTEGER = "http://www.w3.org/2001/XMLSchema#integer";
+    static final String RDF_LANG_STRING = "http://www.w3.org/1999/02/22-rdf-syntax-ns#langString";
+
+    @Test
+    void testInMemory(@TempDir Path directory) throws IOException, RdfConsumerException {
+        assertSorted(directory, 5000, 2000, 0);
+    }
+
+    @Test
+    void testRuns(@TempDir Path directory) throws IOException, RdfConsumerException {
+        assertSorted(directory, 500, 20000, 40);
+    }
+
+    @Test
+    void testMultiPassMerge(@TempDir Path directory) throws IOException, RdfConsumerException {
+        // 200 runs are merged down to 11 before the last pass
+        assertSorted(directory, 100, 20000, 11);
+    }
+
+    @Test
+    void testLargeRunSize(@TempDir Path directory) throws IOException, RdfConsumerException {
+        // the buffer grows with quads, not with the run size
+        assertSorted(directory, 1 << 28, 2000, 0);
+    }
+
+    @Test
+    void testClose(@TempDir Path directory) throws IOException, RdfConsumerException {
+
+        final ExternalQuadSorter sorter = ExternalQuadSorter.create(directory, 10);
+
+        for (int i = 0; i < 100; i++) {
+            sorter.quad("http://example.org/s", "http://example.org/p", Integer.toString(i), XSD_INTEGER, null, null, null);
+        }
+
+        assertEquals(9, sorter.runs());
+
+        sorter.close();
+
+        try (final Stream<Path> files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void testConsumerFailure(@TempDir Path directory) throws IOException, RdfConsumerException {
+
+        try (final ExternalQuadSorter sorter = ExternalQuadSorter.create(directory, 10)) {
+
+            for (int i = 0; i < 100; i++) {
+                sorter.quad("http://example.org/s", "http://example.org/p", Integer.toString(i), XSD_INTEGER, null, null, null);
+            }
+
+            final int[] calls = new int[1];
+
+            // the merge stops at the first failure
+            assertThrows(RdfConsumerException.class, () -> sorter.provide((subject, predicate, object, datatype, language, direction, graph) -> {
+                calls[0]++;
+                throw new RdfConsumerException("failure");
+            }));
+
+            assertEquals(1, calls[0]);
+        }
+    }
+
+    @Test
+    void testInvalidRunSize(@TempDir Path directory) {
+        assertThrows(IllegalArgumentException.class, () -> ExternalQuadSorter.create(directory, 0));
+        assertThrows(IllegalArgumentException.class, () -> ExternalQuadSorter.create(null));
+    }
+
+    static void assertSorted(Path directory, int runSize, int count, int runs) throws IOException, RdfConsumerException {
+
+        final Random random = new Random(42);
+
+        final TreeSet<String[]> expected = new TreeSet<>(ExternalQuadSorter::compare);
+
+        try (final ExternalQuadSorter sorter = ExternalQuadSorter.create(directory, runSize)) {
+
+            for (int i = 0; i < count; i++) {
+
+                final int n = random.nextInt(count / 2);
+
+                final String[] quad = new String[] {
+                        n % 5 == 0 ? null : "http://example.org/g" + (n % 5),
+                        n % 7 == 0 ? "_:b" + (n % 13) : "http://example.org/s" + (n % 97),
+                        "http://example.org/p" + (n % 3),
+                        Integer.toString(n),
+                        n % 2 == 0 ? XSD_INTEGER : RDF_LANG_STRING,
+                        n % 2 == 0 ? null : "en",
+                        n % 4 == 1 ? "ltr" : null,
+                };
+
+                expected.add(quad);
+
+                sorter.quad(quad[1], quad[2], quad[3], quad[4], quad[5], quad[6], quad[0]);
+            }
+
+            final List<String[]> result = new ArrayList<>();
+
+            sorter.provide(collect(result));
+
+            assertEquals(runs, sorter.runs());
+            assertEquals(expected.size(), result.size());
+
+            int index = 0;
+            for (final String[] quad : expected) {
+                assertEquals(0, ExternalQuadSorter.compare(quad, result.get(index++)));
+            }
+        }
+
+        try (final Stream<Path> files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    static RdfQuadConsumer collect(List<String[]> result) {
+        return (subject, predicate, object, datatype, language, direction, graph) -> {
+            result.add(new String[] { graph, subject, predicate, object, datatype, language, direction });
+            return null;
+        };
+    }
+}
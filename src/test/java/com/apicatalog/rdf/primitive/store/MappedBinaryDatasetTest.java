@@ -0,0 +1,143 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.apicatalog.rdf.model.RdfDataset;
+import com.apicatalog.rdf.model.RdfQuad;
+import com.apicatalog.rdf.model.RdfTriple;
+import com.apicatalog.rdf.primitive.Literal;
+import com.apicatalog.rdf.primitive.Quad;
+import com.apicatalog.rdf.primitive.Resource;
+import com.apicatalog.rdf.primitive.Triple;
+import com.apicatalog.rdf.primitive.set.QuadDataset;
+
+class MappedBinaryDatasetTest {
+
+    @TempDir
+    Path folder;
+
+    Path write(final QuadDataset dataset) throws IOException {
+        final Path file = folder.resolve("dataset.bin");
+        try (BinaryQuadWriter writer = new BinaryQuadWriter(Files.newOutputStream(file))) {
+            writer.write((RdfDataset) dataset);
+        }
+        return file;
+    }
+
+    @Test
+    void testRead() throws IOException {
+
+        final QuadDataset source = BinaryQuadFormatTest.dataset();
+
+        try (MappedBinaryDataset dataset = MappedBinaryDataset.open(write(source))) {
+
+            assertEquals(source.size(), dataset.size());
+            assertEquals(source.graphNames(), dataset.graphNames());
+
+            final Set<RdfQuad> quads = dataset.stream().collect(Collectors.toSet());
+
+            assertEquals(source.size(), quads.size());
+            assertEquals(source, quads);
+
+            assertEquals(
+                    source.defaultGraph().stream().map(this::triple).collect(Collectors.toSet()),
+                    dataset.defaultGraph().stream().map(this::triple).collect(Collectors.toSet()));
+
+            for (final RdfQuad quad : source) {
+                assertTrue(dataset.contains(quad));
+            }
+
+            assertFalse(dataset.contains(Quad.of(
+                    Resource.createIRI("http://example.org/s1"),
+                    Resource.createIRI("http://example.org/p"),
+                    Literal.of("5001", BinaryQuadFormatTest.XSD_INTEGER),
+                    null)));
+
+            assertFalse(dataset.namedGraph(Resource.createIRI("http://example.org/g0")).isPresent());
+            assertEquals(
+                    source.namedGraph(Resource.createIRI("http://example.org/g1")).get().match(Resource.createIRI("http://example.org/s1"), null, null).count(),
+                    dataset.namedGraph(Resource.createIRI("http://example.org/g1")).get().match(Resource.createIRI("http://example.org/s1"), null, null).count());
+        }
+    }
+
+    @Test
+    void testLazyTerms() throws IOException {
+
+        final QuadDataset source = new QuadDataset();
+        source.add(Quad.of(
+                Resource.createIRI("http://example.org/s"),
+                Resource.createIRI("http://example.org/p"),
+                Triple.of(
+                        Resource.createBlankNode("_:b0"),
+                        Resource.createIRI("http://example.org/p"),
+                        Literal.of("1", BinaryQuadFormatTest.XSD_INTEGER)),
+                Resource.createIRI("http://example.org/g")));
+
+        try (MappedBinaryDataset dataset = MappedBinaryDataset.open(write(source))) {
+
+            final RdfQuad quad = dataset.stream().findFirst().get();
+            final MappedBinaryDataset.MappedTerm subject = (MappedBinaryDataset.MappedTerm) quad.subject();
+
+            // kind is known without decoding
+            assertTrue(quad.subject().isIRI());
+            assertTrue(quad.object().isTriple());
+            assertNull(subject.term);
+
+            assertEquals("http://example.org/s", quad.subject().value());
+            assertEquals(Resource.createIRI("http://example.org/s"), subject.term);
+
+            assertEquals(Resource.createBlankNode("_:b0"), quad.object().asTriple().subject());
+            assertEquals(source, Collections.singleton(quad));
+            assertEquals(quad.object().hashCode(), source.iterator().next().object().hashCode());
+        }
+    }
+
+    @Test
+    void testInvalid() throws IOException {
+
+        final Path file = write(BinaryQuadFormatTest.dataset());
+
+        final byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+
+        assertThrows(IOException.class, () -> MappedBinaryDataset.open(file));
+
+        Files.write(file, new byte[3]);
+
+        assertThrows(IOException.class, () -> MappedBinaryDataset.open(file));
+    }
+
+    RdfTriple triple(final RdfTriple triple) {
+        return Triple.of(triple.subject(), triple.predicate(), triple.object());
+    }
+}
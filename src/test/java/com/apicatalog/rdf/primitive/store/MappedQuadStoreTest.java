@@ -0,0 +1,158 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.apicatalog.rdf.primitive.store;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static com.apicatalog.rdf.primitive.TestQuads.P;
+import static com.apicatalog.rdf.primitive.TestQuads.XSD_INTEGER;
+import static com.apicatalog.rdf.primitive.TestQuads.mixedQuad;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.apicatalog.rdf.model.RdfQuad;
+import com.apicatalog.rdf.model.RdfResource;
+import com.apicatalog.rdf.primitive.Literal;
+import com.apicatalog.rdf.primitive.Quad;
+import com.apicatalog.rdf.primitive.Resource;
+import com.apicatalog.rdf.primitive.Triple;
+import com.apicatalog.rdf.primitive.set.OrderedQuadSet;
+
+class MappedQuadStoreTest {
+
+    @Test
+    void testPersistence(@TempDir Path directory) throws IOException {
+
+        final OrderedQuadSet expected = new OrderedQuadSet();
+
+        try (MappedQuadStore store = MappedQuadStore.open(directory)) {
+            for (int i = 0; i < 5000; i++) {
+                assertTrue(store.add(mixedQuad(i % 100, i, i % 3)));
+                expected.add(mixedQuad(i % 100, i, i % 3));
+            }
+            for (int i = 0; i < 5000; i += 7) {
+                assertFalse(store.add(mixedQuad(i % 100, i, i % 3)));
+            }
+
+            final RdfQuad nested = Quad.of(
+                    Resource.createIRI("http://example.org/s"),
+                    P,
+                    Triple.of(Resource.createIRI("http://example.org/a"), P, Literal.of("1", XSD_INTEGER)),
+                    null);
+
+            assertTrue(store.add(nested));
+            assertTrue(store.contains(nested));
+            expected.add(nested);
+        }
+
+        try (MappedQuadStore store = MappedQuadStore.open(directory)) {
+
+            assertEquals(5001, store.size());
+            assertEquals(2, store.graphNames().size());
+
+            assertEquals(expected, store.stream().collect(Collectors.toCollection(OrderedQuadSet::new)));
+
+            for (int i = 0; i < 5000; i++) {
+                assertTrue(store.contains(mixedQuad(i % 100, i, i % 3)));
+            }
+
+            assertFalse(store.contains(mixedQuad(1, 1, 5)));
+            assertFalse(store.contains(mixedQuad(1, 5001, 1)));
+
+            assertEquals(1667, store.namedGraph(Resource.createIRI("http://example.org/g1")).get().stream().count());
+
+            assertTrue(store.add(mixedQuad(1, 5001, 1)));
+            assertTrue(store.contains(mixedQuad(1, 5001, 1)));
+        }
+    }
+
+    @Test
+    void testGraphs(@TempDir Path directory) throws IOException {
+
+        final OrderedQuadSet expected = new OrderedQuadSet();
+
+        try (MappedQuadStore store = MappedQuadStore.open(directory)) {
+            for (int i = 0; i < 3000; i++) {
+                store.add(mixedQuad(i % 100, i, i % 3));
+                expected.add(mixedQuad(i % 100, i, i % 3));
+            }
+        }
+
+        for (int run = 0; run < 2; run++) {
+            try (MappedQuadStore store = MappedQuadStore.open(directory)) {
+
+                assertGraph(expected, store, null);
+                assertGraph(expected, store, Resource.createIRI("http://example.org/g1"));
+                assertGraph(expected, store, Resource.createIRI("http://example.org/g2"));
+
+                assertTrue(store.add(mixedQuad(run, 3000 + run, 1)));
+                expected.add(mixedQuad(run, 3000 + run, 1));
+            }
+        }
+    }
+
+    @Test
+    void testRejectedStore(@TempDir Path directory) throws IOException {
+
+        try (MappedQuadStore store = MappedQuadStore.open(directory)) {
+            store.add(mixedQuad(1, 1, 1));
+        }
+
+        final Path meta = directory.resolve(MappedQuadStore.META_FILE);
+
+        try (MappedBuffer buffer = MappedBuffer.write(meta, MappedQuadStore.META_SIZE)) {
+            buffer.putInt(MappedQuadStore.META_VERSION, MappedQuadStore.VERSION + 1);
+        }
+
+        final byte[] header = Files.readAllBytes(meta);
+
+        assertThrows(IOException.class, () -> MappedQuadStore.open(directory));
+
+        // the rejected store is left untouched
+        assertArrayEquals(header, Files.readAllBytes(meta));
+    }
+
+    @Test
+    void testForeignFile(@TempDir Path directory) throws IOException {
+
+        final Path meta = directory.resolve(MappedQuadStore.META_FILE);
+        Files.write(meta, new byte[] { 1, 2, 3 });
+
+        assertThrows(IOException.class, () -> MappedQuadStore.open(directory));
+
+        assertArrayEquals(new byte[] { 1, 2, 3 }, Files.readAllBytes(meta));
+    }
+
+    static void assertGraph(OrderedQuadSet expected, MappedQuadStore store, RdfResource graphName) {
+        assertEquals(
+                expected.stream()
+                        .filter(quad -> Objects.equals(graphName, quad.graphName().orElse(null)))
+                        .collect(Collectors.toList()),
+                (graphName != null ? store.namedGraph(graphName).get() : store.defaultGraph())
+                        .stream()
+                        .collect(Collectors.toList()));
+    }
+}